@@ -0,0 +1,45 @@
+package com.hrms.benchmark;
+
+import com.hrms.dto.RankingResult;
+import com.hrms.entity.Job;
+import com.hrms.entity.Resume;
+import com.hrms.service.impl.EnhancedAIServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量评估排序基准测试，评分缓存容量远小于简历数量，测量的基本是完整评分加排序的耗时
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@State(Scope.Benchmark)
+public class BatchRankingBenchmark {
+    
+    @Param({"100", "10000", "100000"})
+    private int resumeCount;
+    
+    @Param({"0", "50"})
+    private int topK;
+    
+    private EnhancedAIServiceImpl enhancedAIService;
+    private List<Resume> resumes;
+    private Job job;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        ResumeCorpus corpus = new ResumeCorpus(7);
+        resumes = corpus.resumes(resumeCount);
+        job = corpus.job(1);
+        enhancedAIService = BenchmarkFixtures.enhancedAIService(16);
+    }
+    
+    @Benchmark
+    public RankingResult batchEvaluateAndRank() {
+        return enhancedAIService.batchEvaluateAndRank(resumes, job, topK);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.hrms.benchmark;
+
+import com.hrms.repository.AIEvaluationCriteriaRepository;
+import com.hrms.repository.AIEvaluationHistoryRepository;
+import com.hrms.repository.CandidateRepository;
+import com.hrms.repository.JobRepository;
+import com.hrms.repository.ResumeRepository;
+import com.hrms.service.JwtService;
+import com.hrms.service.ai.CriteriaRegistry;
+import com.hrms.service.ai.JobSkillIndex;
+import com.hrms.service.ai.KeywordMatcher;
+import com.hrms.service.ai.MatchScoreCache;
+import com.hrms.service.ai.ParallelRanker;
+import com.hrms.service.ai.ScreeningPrefilter;
+import com.hrms.service.cache.ClusterEvents;
+import com.hrms.service.embedding.EmbeddingIndexService;
+import com.hrms.service.impl.AIServiceImpl;
+import com.hrms.service.impl.EnhancedAIServiceImpl;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 在不启动 Spring 容器的情况下组装被测服务，仓库接口用返回空结果的代理代替
+ */
+public final class BenchmarkFixtures {
+    
+    private BenchmarkFixtures() {}
+    
+    public static AIServiceImpl aiService() {
+        AIServiceImpl service = new AIServiceImpl();
+        inject(service, "keywordMatcher", keywordMatcher(criteriaRegistry()));
+        return service;
+    }
+    
+    /**
+     * @param cacheSize 匹配评分缓存条数，基准测试通常取较小值以测量未命中时的评分开销
+     */
+    public static EnhancedAIServiceImpl enhancedAIService(int cacheSize) {
+        CriteriaRegistry registry = criteriaRegistry();
+        KeywordMatcher matcher = keywordMatcher(registry);
+        
+        MatchScoreCache cache = new MatchScoreCache();
+        inject(cache, "maxSize", cacheSize);
+        cache.init();
+        
+        EnhancedAIServiceImpl service = new EnhancedAIServiceImpl();
+        inject(service, "criteriaRepository", emptyRepository(AIEvaluationCriteriaRepository.class));
+        inject(service, "historyRepository", emptyRepository(AIEvaluationHistoryRepository.class));
+        inject(service, "criteriaRegistry", registry);
+        inject(service, "keywordMatcher", matcher);
+        inject(service, "parallelRanker", parallelRanker());
+        inject(service, "matchScoreCache", cache);
+        inject(service, "embeddingIndexService", embeddingIndexService());
+        inject(service, "screeningPrefilter", screeningPrefilter(matcher));
+        inject(service, "resumeRepository", emptyRepository(ResumeRepository.class));
+        return service;
+    }
+    
+    /**
+     * 粗筛使用与线上相同的默认阈值，仓库中没有候选人时只按简历提取的学历和技能判断
+     */
+    public static ScreeningPrefilter screeningPrefilter(KeywordMatcher matcher) {
+        JobSkillIndex jobSkillIndex = new JobSkillIndex();
+        inject(jobSkillIndex, "jobRepository", emptyRepository(JobRepository.class));
+        inject(jobSkillIndex, "keywordMatcher", matcher);
+        inject(jobSkillIndex, "clusterEvents", new ClusterEvents());
+        jobSkillIndex.load();
+        
+        ScreeningPrefilter prefilter = new ScreeningPrefilter();
+        inject(prefilter, "candidateRepository", emptyRepository(CandidateRepository.class));
+        inject(prefilter, "jobSkillIndex", jobSkillIndex);
+        inject(prefilter, "enabled", true);
+        inject(prefilter, "experienceToleranceYears", 1);
+        inject(prefilter, "salaryTolerance", 0.2);
+        inject(prefilter, "minSkillOverlap", 1);
+        return prefilter;
+    }
+    
+    /**
+     * 向量索引为空，评分说明中的语义相似度按简历文本现算
+     */
+    public static EmbeddingIndexService embeddingIndexService() {
+        EmbeddingIndexService service = new EmbeddingIndexService();
+        inject(service, "resumeRepository", emptyRepository(ResumeRepository.class));
+        inject(service, "jobRepository", emptyRepository(JobRepository.class));
+        inject(service, "nprobe", 8);
+        inject(service, "bruteForceThreshold", 2000);
+        service.init();
+        return service;
+    }
+    
+    public static ParallelRanker parallelRanker() {
+        ParallelRanker ranker = new ParallelRanker();
+        inject(ranker, "parallelism", Integer.getInteger("ranking.parallelism", 0));
+        inject(ranker, "parallelThreshold", 32);
+        ranker.init();
+        return ranker;
+    }
+    
+    public static JwtService jwtService() {
+        JwtService service = new JwtService();
+        inject(service, "secret", "hrms-jwt-secret-key-for-benchmark-only-0123456789");
+        inject(service, "expiration", 86_400_000L);
+        return service;
+    }
+    
+    private static CriteriaRegistry criteriaRegistry() {
+        CriteriaRegistry registry = new CriteriaRegistry();
+        inject(registry, "criteriaRepository", emptyRepository(AIEvaluationCriteriaRepository.class));
+        registry.init();
+        return registry;
+    }
+    
+    private static KeywordMatcher keywordMatcher(CriteriaRegistry registry) {
+        KeywordMatcher matcher = new KeywordMatcher();
+        inject(matcher, "criteriaRegistry", registry);
+        matcher.init();
+        return matcher;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> T emptyRepository(Class<T> type) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            if (returnType.isAssignableFrom(List.class) && Iterable.class.isAssignableFrom(returnType)) {
+                return Collections.emptyList();
+            }
+            if (Optional.class.equals(returnType)) {
+                return Optional.empty();
+            }
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("toString")) {
+                return type.getSimpleName() + "(benchmark)";
+            }
+            if (returnType.equals(long.class)) {
+                return 0L;
+            }
+            if (returnType.equals(boolean.class)) {
+                return false;
+            }
+            return null;
+        });
+    }
+    
+    static void inject(Object target, String fieldName, Object value) {
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                // 继续在父类中查找
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new IllegalArgumentException(target.getClass().getSimpleName() + " 没有字段 " + fieldName);
+    }
+}
\ No newline at end of file
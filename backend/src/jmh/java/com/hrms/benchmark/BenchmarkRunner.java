@@ -0,0 +1,29 @@
+package com.hrms.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口，结果以 JSON 格式写入文件，便于不同版本之间对比
+ * <p>
+ * 用法：BenchmarkRunner [结果文件] [基准测试名称正则]
+ */
+public final class BenchmarkRunner {
+    
+    private BenchmarkRunner() {}
+    
+    public static void main(String[] args) throws RunnerException {
+        String resultFile = args.length > 0 ? args[0] : "target/jmh-result.json";
+        String include = args.length > 1 ? args[1] : BenchmarkRunner.class.getPackageName() + ".*Benchmark.*";
+        
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package com.hrms.benchmark;
+
+import com.hrms.entity.Job;
+import com.hrms.entity.Resume;
+import com.hrms.service.embedding.Neighbors;
+import com.hrms.service.embedding.TextEmbedder;
+import com.hrms.service.embedding.VectorIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 语义召回基准测试：IVF 检索与全量扫描的耗时，以及 IVF 相对全量扫描的 recall@K（构建时输出）
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class EmbeddingRecallBenchmark {
+    
+    private static final int QUERIES = 64;
+    private static final int K = 50;
+    
+    @Param({"20000"})
+    private int size;
+    
+    @Param({"4", "8", "16"})
+    private int nprobe;
+    
+    private VectorIndex ivfIndex;
+    private VectorIndex exactIndex;
+    private float[][] queries;
+    private int cursor;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        ResumeCorpus corpus = new ResumeCorpus(42);
+        ivfIndex = new VectorIndex(TextEmbedder.DIMENSIONS, nprobe, 2000);
+        exactIndex = new VectorIndex(TextEmbedder.DIMENSIONS, nprobe, Integer.MAX_VALUE);
+        List<Resume> resumes = corpus.resumes(size);
+        for (Resume resume : resumes) {
+            float[] vector = TextEmbedder.embed(resume.getParsedContent() + "\n" + resume.getExtractedSkills()
+                    + "\n" + resume.getExtractedExperience());
+            ivfIndex.put(resume.getId(), vector);
+            exactIndex.put(resume.getId(), vector);
+        }
+        ivfIndex.retrain();
+        
+        queries = new float[QUERIES][];
+        double recall = 0;
+        for (int q = 0; q < QUERIES; q++) {
+            Job job = corpus.job(q + 1);
+            queries[q] = TextEmbedder.embed(job.getTitle() + "\n" + job.getRequirements() + "\n" + job.getDescription());
+            Set<Long> exact = new HashSet<>();
+            for (long id : exactIndex.search(queries[q], K).getIds()) {
+                exact.add(id);
+            }
+            int hits = 0;
+            for (long id : ivfIndex.search(queries[q], K).getIds()) {
+                if (exact.contains(id)) {
+                    hits++;
+                }
+            }
+            recall += exact.isEmpty() ? 1 : (double) hits / exact.size();
+        }
+        System.out.printf("%n向量数 %d，nprobe %d，recall@%d = %.3f%n", size, nprobe, K, recall / QUERIES);
+    }
+    
+    private float[] nextQuery() {
+        cursor = (cursor + 1) & (QUERIES - 1);
+        return queries[cursor];
+    }
+    
+    @Benchmark
+    public Neighbors searchIvf() {
+        return ivfIndex.search(nextQuery(), K);
+    }
+    
+    @Benchmark
+    public Neighbors searchBruteForce() {
+        return exactIndex.search(nextQuery(), K);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.hrms.benchmark;
+
+import com.hrms.service.JwtService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT 校验基准测试，每个请求经过认证过滤器时都会执行一次
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+    
+    private static final String USERNAME = "recruiter@example.com";
+    
+    private JwtService jwtService;
+    private String token;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = BenchmarkFixtures.jwtService();
+        token = jwtService.generateToken(USERNAME);
+    }
+    
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtService.validateToken(token, USERNAME);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.hrms.benchmark;
+
+import com.hrms.entity.Job;
+import com.hrms.entity.Resume;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 基准测试用的合成简历/职位语料，中英文混合，固定随机种子保证每次生成结果一致
+ */
+public final class ResumeCorpus {
+    
+    private static final String[] SURNAMES = {"张", "王", "李", "赵", "刘", "陈", "杨", "黄", "周", "吴"};
+    private static final String[] GIVEN_NAMES = {"伟", "芳", "娜", "敏", "静", "磊", "洋", "勇", "杰", "婷"};
+    private static final String[] DEGREES = {"博士", "硕士", "本科", "专科"};
+    private static final String[] SCHOOLS = {"清华大学", "浙江大学", "复旦大学", "华中科技大学", "Stanford University"};
+    private static final String[] COMPANIES = {"阿里巴巴", "腾讯", "字节跳动", "美团", "Microsoft", "Amazon"};
+    private static final String[] INDUSTRIES = {"IT", "Finance", "Healthcare", "Education", "Marketing", "Manufacturing"};
+    
+    private static final String[] SKILLS = {
+        "Java", "Python", "JavaScript", "TypeScript", "Go", "Rust", "React", "Vue", "Spring", "SpringBoot",
+        "MySQL", "PostgreSQL", "Redis", "MongoDB", "Docker", "Kubernetes", "Kafka", "Elasticsearch", "Linux", "Git"
+    };
+    
+    private static final String[] SENTENCES = {
+        "负责核心交易系统的架构设计与开发，带领%d人团队完成微服务改造。",
+        "主导数据平台建设，优化了查询性能，将接口响应时间降低%d%%。",
+        "与产品、测试团队密切协作，推进敏捷开发流程，使用Jira和Confluence管理项目进度。",
+        "Designed and implemented a distributed cache layer that served %d requests per second.",
+        "解决了线上高并发场景下的数据一致性问题，改进了发布流程。",
+        "Led a cross-functional team of %d engineers and mentored junior developers.",
+        "参与开源项目，维护个人技术博客，github 上有多个项目获得上百 star。",
+        "具备良好的沟通表达能力和学习能力，积极主动，责任心强。",
+        "通过CET-6，英语流利，能阅读英文技术文档，fluent English in daily work.",
+        "持有PMP认证，熟悉Scrum敏捷管理方法。"
+    };
+    
+    private final Random random;
+    
+    public ResumeCorpus(long seed) {
+        this.random = new Random(seed);
+    }
+    
+    /**
+     * 生成指定数量的简历
+     */
+    public List<Resume> resumes(int count) {
+        List<Resume> resumes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            resumes.add(resume(i + 1L));
+        }
+        return resumes;
+    }
+    
+    public Resume resume(long id) {
+        String name = pick(SURNAMES) + pick(GIVEN_NAMES) + pick(GIVEN_NAMES);
+        String degree = pick(DEGREES);
+        int years = 1 + random.nextInt(15);
+        String skills = skillList(4 + random.nextInt(8));
+        
+        StringBuilder content = new StringBuilder(2048);
+        content.append("姓名：").append(name).append('\n');
+        content.append("联系方式：1").append(3 + random.nextInt(7)).append(String.format("%09d", random.nextInt(1_000_000_000))).append('\n');
+        content.append("邮箱：candidate").append(id).append("@example.com\n");
+        content.append("教育背景：").append(pick(SCHOOLS)).append(' ').append(degree).append(" 计算机科学专业\n");
+        content.append("工作经验：").append(years).append("年\n");
+        content.append("专业技能：").append(skills).append('\n');
+        content.append("项目经历：\n");
+        int paragraphs = 3 + random.nextInt(6);
+        for (int p = 0; p < paragraphs; p++) {
+            content.append(pick(COMPANIES)).append(" - ")
+                    .append(String.format(pick(SENTENCES), 5 + random.nextInt(95)))
+                    .append('\n');
+        }
+        
+        Resume resume = new Resume();
+        resume.setId(id);
+        resume.setCandidateId(id);
+        resume.setFileName(name + "_简历.pdf");
+        resume.setFilePath("/uploads/resumes/" + id + ".pdf");
+        resume.setFileSize((long) content.length());
+        resume.setFileType("PDF");
+        resume.setStatus(Resume.ResumeStatus.PROCESSED);
+        resume.setParsedContent(content.toString());
+        resume.setExtractedName(name);
+        resume.setExtractedEducation(degree);
+        resume.setExtractedExperience(years + "年");
+        resume.setExtractedSkills(skills);
+        return resume;
+    }
+    
+    public Job job(long id) {
+        Job job = new Job();
+        job.setId(id);
+        job.setTitle(random.nextBoolean() ? "高级Java开发工程师" : "Technical Lead / 技术经理");
+        job.setDepartment(pick(INDUSTRIES));
+        job.setDescription("负责核心业务系统的设计与开发，参与技术方案评审，带领团队完成项目交付。");
+        job.setRequirements("本科及以上学历，5年以上开发经验，熟悉 " + skillList(6)
+                + "，具备良好的沟通能力和团队合作精神，有大规模分布式系统经验者优先。");
+        job.setSalaryMin(BigDecimal.valueOf(20000));
+        job.setSalaryMax(BigDecimal.valueOf(40000));
+        return job;
+    }
+    
+    private String skillList(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(i % 2 == 0 ? "，" : ", ");
+            }
+            sb.append(pick(SKILLS));
+        }
+        return sb.toString();
+    }
+    
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.hrms.benchmark;
+
+import com.hrms.dto.MatchScore;
+import com.hrms.entity.Job;
+import com.hrms.entity.Resume;
+import com.hrms.service.impl.AIServiceImpl;
+import com.hrms.service.impl.EnhancedAIServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单份简历的评分、技能提取基准测试
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ScoringBenchmark {
+    
+    private static final int CORPUS_SIZE = 1024;
+    
+    private AIServiceImpl aiService;
+    private EnhancedAIServiceImpl enhancedAIService;
+    private EnhancedAIServiceImpl cachedEnhancedAIService;
+    
+    private List<Resume> resumes;
+    private Job job;
+    private int cursor;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        ResumeCorpus corpus = new ResumeCorpus(42);
+        resumes = corpus.resumes(CORPUS_SIZE);
+        job = corpus.job(1);
+        aiService = BenchmarkFixtures.aiService();
+        // 缓存容量远小于语料数量，轮询语料时基本都是未命中
+        enhancedAIService = BenchmarkFixtures.enhancedAIService(16);
+        cachedEnhancedAIService = BenchmarkFixtures.enhancedAIService(CORPUS_SIZE);
+    }
+    
+    private Resume nextResume() {
+        cursor = (cursor + 1) & (CORPUS_SIZE - 1);
+        return resumes.get(cursor);
+    }
+    
+    @Benchmark
+    public Map<String, Object> analyzeResumeQuality() {
+        return aiService.analyzeResumeQuality(nextResume().getParsedContent());
+    }
+    
+    @Benchmark
+    public Map<String, Object> extractSkills() {
+        return aiService.extractSkills(nextResume().getParsedContent());
+    }
+    
+    @Benchmark
+    public Map<String, Object> enhancedAnalyzeResumeQuality() {
+        return enhancedAIService.enhancedAnalyzeResumeQuality(nextResume().getParsedContent(), "IT", "senior");
+    }
+    
+    @Benchmark
+    public MatchScore enhancedCalculateMatchScore() {
+        return enhancedAIService.enhancedCalculateMatchScore(nextResume(), job);
+    }
+    
+    @Benchmark
+    public MatchScore enhancedCalculateMatchScoreCached() {
+        return cachedEnhancedAIService.enhancedCalculateMatchScore(nextResume(), job);
+    }
+}
\ No newline at end of file
@@ -1,28 +1,38 @@
 package com.hrms.config;
 
+import com.hrms.service.http.HttpClientMetrics;
+import com.hrms.service.http.PlatformHttpSettingsRegistry;
+import com.hrms.service.http.PooledHttpClientRequestFactory;
+import com.hrms.service.thirdparty.limit.PlatformRateLimitInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
-
 @Configuration
 public class RestTemplateConfig {
     
+    @Autowired
+    private PlatformRateLimitInterceptor platformRateLimitInterceptor;
+    
+    @Autowired
+    private PlatformHttpSettingsRegistry httpSettingsRegistry;
+    
+    @Autowired
+    private HttpClientMetrics httpClientMetrics;
+    
     @Bean
     public RestTemplate restTemplate() {
         RestTemplate restTemplate = new RestTemplate();
         restTemplate.setRequestFactory(clientHttpRequestFactory());
+        restTemplate.getInterceptors().add(platformRateLimitInterceptor);
         return restTemplate;
     }
     
-    @Bean
+    @Bean(destroyMethod = "shutdown")
     public ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout((int) Duration.ofSeconds(30).toMillis());
-        factory.setReadTimeout((int) Duration.ofSeconds(60).toMillis());
-        return factory;
+        // 所有出站请求共用按主机划分的连接池，超时可按平台在 configJson 中单独配置
+        return new PooledHttpClientRequestFactory(httpSettingsRegistry, httpClientMetrics);
     }
 }
\ No newline at end of file
@@ -43,6 +43,7 @@ public class SecurityConfig {
                     new AntPathRequestMatcher("/"),
                     new AntPathRequestMatcher("/h2-console/**"),
                     new AntPathRequestMatcher("/actuator/health"),
+                    new AntPathRequestMatcher("/webhooks/**"),  // 平台推送，靠签名校验
                     new AntPathRequestMatcher("/jobs/active")  // 允许获取活跃职位列表不需要认证
                 ).permitAll()
                 .anyRequest().authenticated())
@@ -5,11 +5,17 @@ import com.hrms.entity.Job;
 import com.hrms.service.AIService;
 import com.hrms.service.ResumeService;
 import com.hrms.service.JobService;
+import com.hrms.service.analytics.AnalyticsMetrics;
+import com.hrms.service.analytics.AnalyticsRollupService;
+import com.hrms.service.analytics.RollupTotals;
+import com.hrms.service.ingest.ResumeIngestionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,20 +33,41 @@ public class AIController {
     @Autowired
     private JobService jobService;
     
+    @Autowired
+    private ResumeIngestionService resumeIngestionService;
+    
+    @Autowired
+    private AnalyticsRollupService analyticsService;
+    
+    /**
+     * 上传简历并异步解析，返回 202 和简历ID，通过 GET /parse-resume/{resumeId} 查询进度
+     */
     @PostMapping("/parse-resume")
-    public ResponseEntity<?> parseResume(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<?> parseResume(@RequestParam("file") MultipartFile file,
+                                         @RequestParam("candidateId") Long candidateId) {
         try {
-            // 保存文件并获取路径
-            String filePath = saveUploadedFile(file);
-            String fileType = getFileExtension(file.getOriginalFilename());
+            Resume resume = resumeIngestionService.submit(file, candidateId);
+            
+            Map<String, Object> result = new HashMap<>();
+            result.put("resumeId", resume.getId());
+            result.put("status", resume.getStatus());
             
-            // 解析简历
-            Map<String, Object> result = aiService.parseResume(filePath, fileType);
+            return ResponseEntity.accepted().body(createSuccessResponse("简历已接收，正在解析", result));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse("简历上传失败", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/parse-resume/{resumeId}")
+    public ResponseEntity<?> getParseProgress(@PathVariable Long resumeId) {
+        try {
+            Map<String, Object> result = resumeIngestionService.getProgress(resumeId);
             
-            return ResponseEntity.ok(createSuccessResponse("简历解析成功", result));
+            return ResponseEntity.ok(createSuccessResponse("获取解析进度成功", result));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
-                    .body(createErrorResponse("简历解析失败", e.getMessage()));
+                    .body(createErrorResponse("获取解析进度失败", e.getMessage()));
         }
     }
     
@@ -167,21 +194,42 @@ public class AIController {
         }
     }
     
+    /**
+     * 简历解析统计，按简历创建时间筛选，不传时间范围时统计全部
+     */
     @GetMapping("/analytics/summary")
-    public ResponseEntity<?> getAnalyticsSummary() {
+    public ResponseEntity<?> getAnalyticsSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
         try {
             Map<String, Object> summary = new HashMap<>();
             
-            // 这里应该实现真实的统计逻辑
-            summary.put("totalResumes", 156);
-            summary.put("analyzedResumes", 142);
-            summary.put("averageQualityScore", 75.6);
-            summary.put("topSkills", java.util.Arrays.asList("Java", "Python", "React", "Spring", "MySQL"));
+            Map<String, Long> statusCounts = analyticsService.counts(AnalyticsMetrics.RESUME_STATUS, startTime, endTime);
+            summary.put("totalResumes", statusCounts.values().stream().mapToLong(Long::longValue).sum());
+            summary.put("analyzedResumes", statusCounts.getOrDefault(Resume.ResumeStatus.PROCESSED.name(), 0L));
+            
+            RollupTotals scores = analyticsService.total(AnalyticsMetrics.RESUME_SCORE, startTime, endTime);
+            summary.put("averageQualityScore", scores.getAverage() != null
+                    ? Math.round(scores.getAverage() * 10) / 10.0 : 0.0);
+            
+            summary.put("topSkills", analyticsService.counts(AnalyticsMetrics.RESUME_SKILL, startTime, endTime)
+                    .entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(5)
+                    .map(Map.Entry::getKey)
+                    .toList());
+            
+            // 预聚合按十分一档计数：80 分以上优秀，70-79 良好，60-69 一般，60 分以下较差
+            Map<String, Long> bands = analyticsService.counts(AnalyticsMetrics.RESUME_SCORE, startTime, endTime);
+            long excellent = bands.getOrDefault("90", 0L) + bands.getOrDefault("80", 0L);
+            long good = bands.getOrDefault("70", 0L);
+            long average = bands.getOrDefault("60", 0L);
+            long poor = scores.getCount() - excellent - good - average;
             summary.put("qualityDistribution", Map.of(
-                "excellent", 45,
-                "good", 67,
-                "average", 30,
-                "poor", 14
+                "excellent", excellent,
+                "good", good,
+                "average", average,
+                "poor", poor
             ));
             
             return ResponseEntity.ok(createSuccessResponse("统计数据获取成功", summary));
@@ -191,16 +239,34 @@ public class AIController {
         }
     }
     
-    private String saveUploadedFile(MultipartFile file) {
-        // 这里应该实现实际的文件保存逻辑
-        // 返回保存后的文件路径
-        return "/uploads/" + System.currentTimeMillis() + "_" + file.getOriginalFilename();
+    /**
+     * 查询任意预聚合指标在时间范围内按维度的合计，时间按小时对齐
+     */
+    @GetMapping("/analytics/rollups")
+    public ResponseEntity<?> getAnalyticsRollups(
+            @RequestParam String metric,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startTime,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endTime) {
+        try {
+            Map<String, RollupTotals> rollups = analyticsService.query(metric, startTime, endTime);
+            return ResponseEntity.ok(createSuccessResponse("统计数据获取成功", rollups));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse("统计数据获取失败", e.getMessage()));
+        }
     }
     
-    private String getFileExtension(String filename) {
-        if (filename == null) return "";
-        int lastDot = filename.lastIndexOf('.');
-        return lastDot == -1 ? "" : filename.substring(lastDot + 1).toLowerCase();
+    /**
+     * 从业务表重建统计预聚合，用于初始化或修正批量更新造成的偏差
+     */
+    @PostMapping("/analytics/rebuild")
+    public ResponseEntity<?> rebuildAnalytics() {
+        try {
+            return ResponseEntity.ok(createSuccessResponse("统计预聚合重建完成", analyticsService.rebuild()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse("统计预聚合重建失败", e.getMessage()));
+        }
     }
     
     private Map<String, Object> createSuccessResponse(String message, Object data) {
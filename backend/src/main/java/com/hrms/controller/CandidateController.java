@@ -1,5 +1,6 @@
 package com.hrms.controller;
 
+import com.hrms.dto.CursorPage;
 import com.hrms.entity.Candidate;
 import com.hrms.service.CandidateService;
 import com.hrms.service.JwtService;
@@ -47,6 +48,7 @@ public class CandidateController {
     
     /**
      * 获取所有候选人（分页）
+     * 传 keyset=true 或 cursor 时改用游标分页：按上一页返回的 nextCursor 续读，不统计总数，除非 withTotal=true
      */
     @GetMapping
     public ResponseEntity<?> getAllCandidates(
@@ -54,12 +56,21 @@ public class CandidateController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
             @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean keyset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean withTotal,
             HttpServletRequest request) {
         try {
             getCurrentUsername(request); // 验证token
             
             Sort sort = sortDir.equalsIgnoreCase("desc") ? 
                 Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+            
+            if (keyset || cursor != null) {
+                CursorPage<Candidate> candidates = candidateService.searchCandidatesByCursor(
+                    null, null, null, null, null, null, null, null, sort, size, cursor, withTotal);
+                return ResponseEntity.ok(createSuccessResponse("获取候选人列表成功", candidates));
+            }
             Pageable pageable = PageRequest.of(page, size, sort);
             
             Page<Candidate> candidates = candidateService.getAllCandidates(pageable);
@@ -145,6 +156,9 @@ public class CandidateController {
             @RequestParam(required = false) String skill,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean keyset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean withTotal,
             HttpServletRequest request) {
         try {
             getCurrentUsername(request); // 验证token
@@ -159,6 +173,14 @@ public class CandidateController {
                 candidateSource = Candidate.CandidateSource.valueOf(source.toUpperCase());
             }
             
+            if (keyset || cursor != null) {
+                CursorPage<Candidate> candidates = candidateService.searchCandidatesByCursor(
+                    name, email, phone, candidateStatus, candidateSource,
+                    currentPosition, currentCompany, skill, Sort.by("createdAt").descending(), size, cursor, withTotal
+                );
+                return ResponseEntity.ok(createSuccessResponse("搜索候选人成功", candidates));
+            }
+            
             Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
             
             Page<Candidate> candidates = candidateService.searchCandidates(
@@ -1,5 +1,7 @@
 package com.hrms.controller;
 
+import com.hrms.dto.MatchScore;
+import com.hrms.dto.RankingResult;
 import com.hrms.entity.AIEvaluationCriteria;
 import com.hrms.entity.AIEvaluationHistory;
 import com.hrms.entity.Resume;
@@ -11,12 +13,14 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -51,7 +55,7 @@ public class EnhancedAIController {
     
     @PostMapping("/calculate-match-score")
     @Operation(summary = "多维度匹配度计算", description = "计算简历与职位的多维度匹配分数")
-    public ResponseEntity<Map<String, Object>> calculateMatchScore(
+    public ResponseEntity<MatchScore> calculateMatchScore(
             @Parameter(description = "简历ID") @RequestParam @NotNull Long resumeId,
             @Parameter(description = "职位ID") @RequestParam @NotNull Long jobId) {
         
@@ -62,7 +66,7 @@ public class EnhancedAIController {
             return ResponseEntity.badRequest().build();
         }
         
-        Map<String, Object> result = enhancedAIService.enhancedCalculateMatchScore(resume, job);
+        MatchScore result = enhancedAIService.enhancedCalculateMatchScore(resume, job);
         return ResponseEntity.ok(result);
     }
     
@@ -146,10 +150,11 @@ public class EnhancedAIController {
     // ================== 批量处理相关接口 ==================
     
     @PostMapping("/batch-evaluate-and-rank")
-    @Operation(summary = "批量候选人评估和排序", description = "批量评估多个候选人并进行排序")
-    public ResponseEntity<List<Map<String, Object>>> batchEvaluateAndRank(
+    @Operation(summary = "批量候选人评估和排序", description = "批量评估多个候选人并进行排序，粗筛淘汰的候选人连同淘汰原因单独返回")
+    public ResponseEntity<RankingResult> batchEvaluateAndRank(
             @Parameter(description = "简历ID列表") @RequestBody List<Long> resumeIds,
-            @Parameter(description = "职位ID") @RequestParam @NotNull Long jobId) {
+            @Parameter(description = "职位ID") @RequestParam @NotNull Long jobId,
+            @Parameter(description = "只返回前K名，不传返回全部") @RequestParam(required = false) Integer topK) {
         
         Job job = jobService.getJobById(jobId);
         if (job == null) {
@@ -161,10 +166,27 @@ public class EnhancedAIController {
                 .filter(resume -> resume != null)
                 .toList();
         
-        List<Map<String, Object>> result = enhancedAIService.batchEvaluateAndRank(resumes, job);
+        RankingResult result = enhancedAIService.batchEvaluateAndRank(resumes, job, topK != null ? topK : 0);
         return ResponseEntity.ok(result);
     }
     
+    @GetMapping("/recall-and-rank")
+    @Operation(summary = "语义召回并排序", description = "按语义相似度从简历库中召回候选人，再进行多维度评估和排序")
+    public ResponseEntity<?> recallAndRank(
+            @Parameter(description = "职位ID") @RequestParam @NotNull Long jobId,
+            @Parameter(description = "召回数量，超过上限时按上限召回") @RequestParam(defaultValue = "200") int recallSize,
+            @Parameter(description = "返回前K名，不超过召回数量") @RequestParam(defaultValue = "20") int topK) {
+        
+        Job job = jobService.getJobEntityById(jobId);
+        try {
+            RankingResult result = enhancedAIService.recallAndRank(job, recallSize, topK);
+            return ResponseEntity.ok(result);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(createErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), "语义召回暂不可用", e.getMessage()));
+        }
+    }
+    
     @PostMapping("/compare-resumes")
     @Operation(summary = "候选人对比分析", description = "对比分析多个候选人的优劣势")
     public ResponseEntity<Map<String, Object>> compareResumes(
@@ -261,6 +283,16 @@ public class EnhancedAIController {
         return ResponseEntity.ok().build();
     }
     
+    @PutMapping("/evaluation-criteria/batch-enabled")
+    @Operation(summary = "批量启用/停用评估标准", description = "批量修改评估标准的启用状态")
+    public ResponseEntity<Void> batchUpdateEvaluationCriteriaEnabled(
+            @Parameter(description = "评估标准ID列表") @RequestBody List<Long> ids,
+            @Parameter(description = "是否启用") @RequestParam @NotNull Boolean enabled) {
+        
+        enhancedAIService.batchUpdateEvaluationCriteriaEnabled(ids, enabled);
+        return ResponseEntity.ok().build();
+    }
+    
     @GetMapping("/evaluation-criteria/category/{category}")
     @Operation(summary = "按类别获取评估标准", description = "根据类别获取评估标准列表")
     public ResponseEntity<List<AIEvaluationCriteria>> getEvaluationCriteriaByCategory(
@@ -391,4 +423,13 @@ public class EnhancedAIController {
         Map<String, Object> result = enhancedAIService.suggestCareerPath(resume);
         return ResponseEntity.ok(result);
     }
+    
+    private Map<String, Object> createErrorResponse(int code, String message, String error) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("code", code);
+        response.put("message", message);
+        response.put("error", error);
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,9 @@
 package com.hrms.controller;
 
+import com.hrms.service.JwtService;
+import com.hrms.service.ai.ScreeningPrefilter;
+import com.hrms.service.cache.TwoTierCache;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -11,6 +15,15 @@ import java.util.Map;
 @RequestMapping("/")
 public class HealthController {
 
+    @Autowired
+    private TwoTierCache cache;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ScreeningPrefilter screeningPrefilter;
+
     @GetMapping("/health")
     public Map<String, Object> health() {
         Map<String, Object> response = new HashMap<>();
@@ -28,4 +41,19 @@ public class HealthController {
         response.put("status", "Running");
         return response;
     }
+
+    @GetMapping("/health/cache")
+    public Map<String, Object> cacheStatistics() {
+        return cache.snapshot();
+    }
+
+    @GetMapping("/health/auth")
+    public Map<String, Object> authStatistics() {
+        return jwtService.getVerificationStatistics();
+    }
+
+    @GetMapping("/health/screening")
+    public Map<String, Object> screeningStatistics() {
+        return screeningPrefilter.getStatistics();
+    }
 }
\ No newline at end of file
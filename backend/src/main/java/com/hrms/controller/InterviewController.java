@@ -222,6 +222,20 @@ public class InterviewController {
         return ResponseEntity.ok(suggestions);
     }
     
+    @GetMapping("/free-slots")
+    @Operation(summary = "查找空闲时段", description = "从指定时间起查找面试官和候选人都空闲的时段")
+    public ResponseEntity<List<LocalDateTime>> findNextAvailableSlots(
+            @Parameter(description = "面试官ID") @RequestParam @NotNull Long interviewerId,
+            @Parameter(description = "候选人ID") @RequestParam @NotNull Long candidateId,
+            @Parameter(description = "开始时间") @RequestParam 
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "面试时长（分钟）") @RequestParam(defaultValue = "60") int durationMinutes,
+            @Parameter(description = "返回时段数量") @RequestParam(defaultValue = "5") int count) {
+        
+        List<LocalDateTime> slots = interviewService.findNextAvailableSlots(interviewerId, candidateId, from, durationMinutes, Math.min(count, 50));
+        return ResponseEntity.ok(slots);
+    }
+    
     // ================== 面试官日程管理 ==================
     
     @GetMapping("/interviewer/{interviewerId}/schedule")
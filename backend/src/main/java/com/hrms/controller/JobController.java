@@ -1,5 +1,6 @@
 package com.hrms.controller;
 
+import com.hrms.dto.CursorPage;
 import com.hrms.dto.JobCreateRequest;
 import com.hrms.dto.JobResponse;
 import com.hrms.entity.Job;
@@ -83,9 +84,19 @@ public class JobController {
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String department,
             @RequestParam(required = false) Job.JobStatus status,
-            @RequestParam(required = false) Job.EmploymentType employmentType
+            @RequestParam(required = false) Job.EmploymentType employmentType,
+            @RequestParam(defaultValue = "false") boolean keyset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean withTotal
     ) {
         try {
+            // 游标分页：按 nextCursor 续读，不统计总数，除非 withTotal=true
+            if (keyset || cursor != null) {
+                CursorPage<JobResponse> response = jobService.getJobsByCursor(size, sortBy, sortDir, cursor, withTotal,
+                        title, department, status, employmentType);
+                return ResponseEntity.ok(createSuccessResponse("获取职位列表成功", response));
+            }
+            
             Page<JobResponse> response = jobService.getJobs(page, size, sortBy, sortDir, title, department, status, employmentType);
             
             Map<String, Object> result = new HashMap<>();
@@ -115,6 +126,17 @@ public class JobController {
         }
     }
     
+    @GetMapping("/department-statistics")
+    public ResponseEntity<?> getDepartmentStatistics() {
+        try {
+            Map<String, Long> response = jobService.getDepartmentStatistics();
+            return ResponseEntity.ok(createSuccessResponse("获取部门职位统计成功", response));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse("获取部门职位统计失败", e.getMessage()));
+        }
+    }
+    
     @GetMapping("/my")
     public ResponseEntity<?> getMyJobs(HttpServletRequest httpRequest) {
         try {
@@ -0,0 +1,59 @@
+package com.hrms.controller;
+
+import com.hrms.service.thirdparty.webhook.PlatformWebhookService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 第三方平台 Webhook 推送入口
+ * 不走 JWT 认证，靠平台 AppSecret 签名校验；入库后立即应答，处理异步进行
+ */
+@RestController
+@RequestMapping("/webhooks")
+public class PlatformWebhookController {
+    
+    @Autowired
+    private PlatformWebhookService webhookService;
+    
+    @PostMapping("/{platformCode}")
+    public ResponseEntity<?> receive(@PathVariable String platformCode,
+                                     @RequestHeader(value = "X-Webhook-Timestamp", required = false) String timestamp,
+                                     @RequestHeader(value = "X-Webhook-Signature", required = false) String signature,
+                                     @RequestHeader(value = "X-Webhook-Event-Id", required = false) String eventId,
+                                     @RequestBody(required = false) byte[] body) {
+        try {
+            Map<String, Object> result = webhookService.receive(platformCode, timestamp, signature, eventId,
+                    body != null ? body : new byte[0]);
+            return ResponseEntity.ok(createSuccessResponse("事件已接收", result));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(createErrorResponse("事件签名校验失败", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse("事件接收失败", e.getMessage()));
+        }
+    }
+    
+    private Map<String, Object> createSuccessResponse(String message, Object data) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("code", 200);
+        response.put("message", message);
+        response.put("data", data);
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
+    
+    private Map<String, Object> createErrorResponse(String message, String error) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("code", 400);
+        response.put("message", message);
+        response.put("error", error);
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.hrms.controller;
+
+import com.hrms.entity.Resume;
+import com.hrms.service.ResumeService;
+import com.hrms.service.storage.ResumeFileStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 简历原始文件下载
+ * 容器支持 sendfile 时（Tomcat NIO 连接器）把文件交给容器由内核直接发送到套接字，
+ * 否则经 Servlet 输出流缓冲拷贝
+ */
+@RestController
+@RequestMapping("/resumes")
+@CrossOrigin(origins = "*")
+public class ResumeFileController {
+    
+    @Autowired
+    private ResumeService resumeService;
+    
+    @Autowired
+    private ResumeFileStore resumeFileStore;
+    
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    @GetMapping("/{id}/file")
+    public void downloadResumeFile(@PathVariable Long id, HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+        Resume resume = resumeService.getResumeById(id);
+        if (resume.getContentHash() == null || !resumeFileStore.exists(resume.getContentHash())) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "简历文件不存在");
+            return;
+        }
+        
+        Path blob = resumeFileStore.resolve(resume.getContentHash());
+        long size = Files.size(blob);
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(size);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(resume.getFileName(), StandardCharsets.UTF_8).build().toString());
+        
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, blob.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        resumeFileStore.transferTo(resume.getContentHash(), Channels.newChannel(response.getOutputStream()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.hrms.controller;
+
+import com.hrms.entity.Candidate;
+import com.hrms.entity.InterviewQuestion;
+import com.hrms.entity.Resume;
+import com.hrms.service.search.SearchIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 全文检索控制器，结果按相关度排序
+ */
+@RestController
+@RequestMapping("/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
+    /**
+     * 检索候选人（姓名、技能、职位、公司、专业）
+     */
+    @GetMapping("/candidates")
+    public ResponseEntity<?> searchCandidates(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            Page<Candidate> candidates = searchIndexService.searchCandidates(keyword, PageRequest.of(page, size));
+            return ResponseEntity.ok(createSuccessResponse("搜索候选人成功", candidates));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                createErrorResponse("搜索候选人失败", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 检索简历（解析出的姓名、技能、经历、教育背景及文件名）
+     */
+    @GetMapping("/resumes")
+    public ResponseEntity<?> searchResumes(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            Page<Resume> resumes = searchIndexService.searchResumes(keyword, PageRequest.of(page, size));
+            return ResponseEntity.ok(createSuccessResponse("搜索简历成功", resumes));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                createErrorResponse("搜索简历失败", e.getMessage())
+            );
+        }
+    }
+    
+    /**
+     * 检索面试题（题目、描述、技能、标签）
+     */
+    @GetMapping("/questions")
+    public ResponseEntity<?> searchQuestions(
+            @RequestParam String keyword,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        try {
+            Page<InterviewQuestion> questions = searchIndexService.searchQuestions(keyword, PageRequest.of(page, size));
+            return ResponseEntity.ok(createSuccessResponse("搜索面试题成功", questions));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(
+                createErrorResponse("搜索面试题失败", e.getMessage())
+            );
+        }
+    }
+    
+    private Map<String, Object> createSuccessResponse(String message, Object data) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("code", 200);
+        response.put("message", message);
+        response.put("data", data);
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
+    
+    private Map<String, Object> createErrorResponse(String message, String error) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("code", 400);
+        response.put("message", message);
+        response.put("error", error);
+        response.put("timestamp", System.currentTimeMillis());
+        return response;
+    }
+}
\ No newline at end of file
@@ -1,7 +1,11 @@
 package com.hrms.controller;
 
+import com.hrms.dto.CursorPage;
 import com.hrms.entity.ThirdPartyPlatform;
 import com.hrms.service.ThirdPartyPlatformService;
+import com.hrms.service.http.HttpClientMetrics;
+import com.hrms.service.thirdparty.resilience.PlatformResilienceRegistry;
+import com.hrms.service.thirdparty.webhook.PlatformWebhookService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -23,6 +27,15 @@ public class ThirdPartyPlatformController {
     @Autowired
     private ThirdPartyPlatformService platformService;
     
+    @Autowired
+    private HttpClientMetrics httpClientMetrics;
+    
+    @Autowired
+    private PlatformResilienceRegistry resilienceRegistry;
+    
+    @Autowired
+    private PlatformWebhookService webhookService;
+    
     @PostMapping
     public ResponseEntity<?> createPlatform(@RequestBody ThirdPartyPlatform platform) {
         try {
@@ -89,7 +102,10 @@ public class ThirdPartyPlatformController {
             @RequestParam(required = false) String platformCode,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String syncStatus,
-            @RequestParam(required = false) Boolean syncEnabled) {
+            @RequestParam(required = false) Boolean syncEnabled,
+            @RequestParam(defaultValue = "false") boolean keyset,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
         try {
             Sort sort = Sort.by(sortDir.equals("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
             Pageable pageable = PageRequest.of(page, size, sort);
@@ -104,6 +120,14 @@ public class ThirdPartyPlatformController {
                 platformSyncStatus = ThirdPartyPlatform.SyncStatus.valueOf(syncStatus.toUpperCase());
             }
             
+            // 游标分页：按 nextCursor 续读，不统计总数，除非 withTotal=true
+            if (keyset || cursor != null) {
+                CursorPage<ThirdPartyPlatform> platforms = platformService.searchPlatformsByCursor(
+                        platformName, platformCode, platformStatus, platformSyncStatus, syncEnabled,
+                        sort, size, cursor, withTotal);
+                return ResponseEntity.ok(createSuccessResponse("获取平台列表成功", platforms));
+            }
+            
             Page<ThirdPartyPlatform> platforms = platformService.searchPlatforms(
                     platformName, platformCode, platformStatus, platformSyncStatus, syncEnabled, pageable);
             
@@ -283,6 +307,47 @@ public class ThirdPartyPlatformController {
         }
     }
     
+    @GetMapping("/http-metrics")
+    public ResponseEntity<?> getHttpClientMetrics() {
+        try {
+            return ResponseEntity.ok(createSuccessResponse("获取HTTP连接统计成功", httpClientMetrics.snapshot()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse("获取HTTP连接统计失败", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/circuit-breakers")
+    public ResponseEntity<?> getCircuitBreakers() {
+        try {
+            return ResponseEntity.ok(createSuccessResponse("获取熔断器状态成功", resilienceRegistry.snapshot()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse("获取熔断器状态失败", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/webhook-statistics")
+    public ResponseEntity<?> getWebhookStatistics() {
+        try {
+            return ResponseEntity.ok(createSuccessResponse("获取推送事件统计成功", webhookService.getStatistics()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse("获取推送事件统计失败", e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/{platformId}/webhook-events")
+    public ResponseEntity<?> getWebhookEvents(@PathVariable Long platformId,
+                                            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(createSuccessResponse("获取推送事件成功", webhookService.getRecentEvents(platformId, limit)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(createErrorResponse("获取推送事件失败", e.getMessage()));
+        }
+    }
+    
     @GetMapping("/{platformId}/sync-history")
     public ResponseEntity<?> getSyncHistory(@PathVariable Long platformId,
                                           @RequestParam(required = false) String startDate,
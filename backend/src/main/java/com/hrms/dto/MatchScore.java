@@ -0,0 +1,293 @@
+package com.hrms.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 多维度匹配评分结果
+ * 各维度分数存放在按 {@link Dimension} 下标的 int 数组中，排序和对比直接读数组；
+ * 匹配级别、技能差距、推荐意见等说明部分由服务在返回前单独生成，批量排序时只为返回的结果生成说明。
+ * JSON 结构与原先的 Map 结果一致（totalScore、detailScores、weights、matchLevel、skillGaps 等）
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MatchScore {
+    
+    /**
+     * 评分维度，key 为 detailScores 中的字段名，weightKey 为权重配置中的名称（为空表示不参与加权）
+     */
+    public enum Dimension {
+        TECHNICAL_SKILLS("technicalSkills", "technical"),
+        SOFT_SKILLS("softSkills", "soft"),
+        EXPERIENCE("experience", "experience"),
+        EDUCATION("education", "education"),
+        CULTURAL_FIT("culturalFit", "cultural"),
+        LEADERSHIP("leadership", "leadership"),
+        LANGUAGE("language", null);
+        
+        private static final Dimension[] VALUES = values();
+        
+        private final String key;
+        private final String weightKey;
+        
+        Dimension(String key, String weightKey) {
+            this.key = key;
+            this.weightKey = weightKey;
+        }
+        
+        public String getKey() {
+            return key;
+        }
+        
+        public String getWeightKey() {
+            return weightKey;
+        }
+        
+        public static Dimension ofKey(String key) {
+            for (Dimension dimension : VALUES) {
+                if (dimension.key.equals(key)) {
+                    return dimension;
+                }
+            }
+            return null;
+        }
+    }
+    
+    public static final int DIMENSIONS = Dimension.VALUES.length;
+    
+    private int totalScore;
+    private final int[] scores = new int[DIMENSIONS];
+    private final double[] weights = new double[DIMENSIONS];
+    
+    // 批量评估时附加的简历信息
+    private Long resumeId;
+    private String candidateName;
+    private String resumeTitle;
+    private Integer rank;
+    
+    private String error;
+    
+    private Explanation explanation;
+    
+    public MatchScore() {}
+    
+    /**
+     * 评分失败时的结果（总分为 0，不生成说明）
+     */
+    public static MatchScore failed(String error) {
+        MatchScore score = new MatchScore();
+        score.error = error;
+        return score;
+    }
+    
+    /**
+     * 复制评分和权重，不复制简历信息和说明（缓存中的结果被复制后再由调用方补充）
+     */
+    public MatchScore copyScores() {
+        MatchScore copy = new MatchScore();
+        copy.totalScore = totalScore;
+        System.arraycopy(scores, 0, copy.scores, 0, DIMENSIONS);
+        System.arraycopy(weights, 0, copy.weights, 0, DIMENSIONS);
+        copy.error = error;
+        return copy;
+    }
+    
+    public int score(Dimension dimension) {
+        return scores[dimension.ordinal()];
+    }
+    
+    public void setScore(Dimension dimension, int score) {
+        scores[dimension.ordinal()] = score;
+    }
+    
+    public double weight(Dimension dimension) {
+        return weights[dimension.ordinal()];
+    }
+    
+    public void setWeight(Dimension dimension, double weight) {
+        weights[dimension.ordinal()] = weight;
+    }
+    
+    /**
+     * 各维度分数（下标为 Dimension.ordinal()），只读
+     */
+    @JsonIgnore
+    public int[] getScoreVector() {
+        return scores;
+    }
+    
+    /**
+     * 按各维度分数和权重计算总分（上限 100）
+     */
+    public int computeTotal() {
+        double total = 0;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            total += scores[i] * weights[i];
+        }
+        totalScore = Math.min(100, (int) total);
+        return totalScore;
+    }
+    
+    @JsonUnwrapped
+    public Explanation getExplanation() {
+        return explanation;
+    }
+    
+    public void setExplanation(Explanation explanation) {
+        this.explanation = explanation;
+    }
+    
+    // Getters and Setters
+    public int getTotalScore() {
+        return totalScore;
+    }
+    
+    public void setTotalScore(int totalScore) {
+        this.totalScore = totalScore;
+    }
+    
+    public Map<String, Integer> getDetailScores() {
+        if (error != null) {
+            return null;
+        }
+        Map<String, Integer> detailScores = new LinkedHashMap<>();
+        for (Dimension dimension : Dimension.VALUES) {
+            detailScores.put(dimension.key, scores[dimension.ordinal()]);
+        }
+        return detailScores;
+    }
+    
+    public void setDetailScores(Map<String, Integer> detailScores) {
+        Arrays.fill(scores, 0);
+        if (detailScores != null) {
+            detailScores.forEach((key, value) -> {
+                Dimension dimension = Dimension.ofKey(key);
+                if (dimension != null && value != null) {
+                    scores[dimension.ordinal()] = value;
+                }
+            });
+        }
+    }
+    
+    public Map<String, Double> getWeights() {
+        if (error != null) {
+            return null;
+        }
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (Dimension dimension : Dimension.VALUES) {
+            if (dimension.weightKey != null) {
+                result.put(dimension.weightKey, weights[dimension.ordinal()]);
+            }
+        }
+        return result;
+    }
+    
+    public void setWeights(Map<String, Double> weightMap) {
+        Arrays.fill(weights, 0);
+        if (weightMap != null) {
+            for (Dimension dimension : Dimension.VALUES) {
+                Double weight = dimension.weightKey != null ? weightMap.get(dimension.weightKey) : null;
+                if (weight != null) {
+                    weights[dimension.ordinal()] = weight;
+                }
+            }
+        }
+    }
+    
+    public Long getResumeId() {
+        return resumeId;
+    }
+    
+    public void setResumeId(Long resumeId) {
+        this.resumeId = resumeId;
+    }
+    
+    public String getCandidateName() {
+        return candidateName;
+    }
+    
+    public void setCandidateName(String candidateName) {
+        this.candidateName = candidateName;
+    }
+    
+    public String getResumeTitle() {
+        return resumeTitle;
+    }
+    
+    public void setResumeTitle(String resumeTitle) {
+        this.resumeTitle = resumeTitle;
+    }
+    
+    public Integer getRank() {
+        return rank;
+    }
+    
+    public void setRank(Integer rank) {
+        this.rank = rank;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+    
+    /**
+     * 评分说明
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Explanation {
+        private String matchLevel;
+        private String recommendation;
+        private Map<String, Object> skillGaps;
+        private Map<String, Object> analysisDetails;
+        
+        public Explanation() {}
+        
+        public Explanation(String matchLevel, String recommendation, Map<String, Object> skillGaps,
+                           Map<String, Object> analysisDetails) {
+            this.matchLevel = matchLevel;
+            this.recommendation = recommendation;
+            this.skillGaps = skillGaps;
+            this.analysisDetails = analysisDetails;
+        }
+        
+        public String getMatchLevel() {
+            return matchLevel;
+        }
+        
+        public void setMatchLevel(String matchLevel) {
+            this.matchLevel = matchLevel;
+        }
+        
+        public String getRecommendation() {
+            return recommendation;
+        }
+        
+        public void setRecommendation(String recommendation) {
+            this.recommendation = recommendation;
+        }
+        
+        public Map<String, Object> getSkillGaps() {
+            return skillGaps;
+        }
+        
+        public void setSkillGaps(Map<String, Object> skillGaps) {
+            this.skillGaps = skillGaps;
+        }
+        
+        public Map<String, Object> getAnalysisDetails() {
+            return analysisDetails;
+        }
+        
+        public void setAnalysisDetails(Map<String, Object> analysisDetails) {
+            this.analysisDetails = analysisDetails;
+        }
+    }
+}
\ No newline at end of file
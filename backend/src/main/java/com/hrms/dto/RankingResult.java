@@ -0,0 +1,100 @@
+package com.hrms.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量评估排序结果
+ * rankings 为参与评分并排序的简历，rejected 为粗筛淘汰、未参与评分的简历及淘汰原因，
+ * screening 为本次粗筛各阶段的数量
+ */
+public class RankingResult {
+    
+    private List<MatchScore> rankings = new ArrayList<>();
+    private List<Rejected> rejected = new ArrayList<>();
+    private Map<String, Object> screening;
+    
+    public RankingResult() {}
+    
+    public RankingResult(List<MatchScore> rankings, List<Rejected> rejected, Map<String, Object> screening) {
+        this.rankings = rankings;
+        this.rejected = rejected;
+        this.screening = screening;
+    }
+    
+    public List<MatchScore> getRankings() {
+        return rankings;
+    }
+    
+    public void setRankings(List<MatchScore> rankings) {
+        this.rankings = rankings;
+    }
+    
+    public List<Rejected> getRejected() {
+        return rejected;
+    }
+    
+    public void setRejected(List<Rejected> rejected) {
+        this.rejected = rejected;
+    }
+    
+    public Map<String, Object> getScreening() {
+        return screening;
+    }
+    
+    public void setScreening(Map<String, Object> screening) {
+        this.screening = screening;
+    }
+    
+    /**
+     * 粗筛淘汰的简历（不评分）
+     */
+    public static class Rejected {
+        private Long resumeId;
+        private String candidateName;
+        private String resumeTitle;
+        private String reason;
+        
+        public Rejected() {}
+        
+        public Rejected(Long resumeId, String candidateName, String resumeTitle, String reason) {
+            this.resumeId = resumeId;
+            this.candidateName = candidateName;
+            this.resumeTitle = resumeTitle;
+            this.reason = reason;
+        }
+        
+        public Long getResumeId() {
+            return resumeId;
+        }
+        
+        public void setResumeId(Long resumeId) {
+            this.resumeId = resumeId;
+        }
+        
+        public String getCandidateName() {
+            return candidateName;
+        }
+        
+        public void setCandidateName(String candidateName) {
+            this.candidateName = candidateName;
+        }
+        
+        public String getResumeTitle() {
+            return resumeTitle;
+        }
+        
+        public void setResumeTitle(String resumeTitle) {
+            this.resumeTitle = resumeTitle;
+        }
+        
+        public String getReason() {
+            return reason;
+        }
+        
+        public void setReason(String reason) {
+            this.reason = reason;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.hrms.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 招聘统计的预聚合结果
+ * 每行是一个时间桶（小时或天）内某个指标在某个维度取值上的计数和数值合计，
+ * 由业务数据变更增量累加，统计接口按时间范围合并各桶，不再扫描业务表
+ */
+@Entity
+@Table(name = "analytics_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_analytics_rollup_bucket", columnNames = {"granularity", "metric", "bucket_start", "dimension"}))
+public class AnalyticsRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 10)
+    private Granularity granularity;
+    
+    @Column(name = "metric", nullable = false, length = 50)
+    private String metric;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(name = "dimension", nullable = false, length = 100)
+    private String dimension;
+    
+    @Column(name = "event_count", nullable = false)
+    private Long eventCount = 0L;
+    
+    @Column(name = "value_sum", nullable = false)
+    private Double valueSum = 0.0;
+    
+    public enum Granularity {
+        HOUR,  // 小时桶，用于范围两端不足一天的部分
+        DAY    // 天桶，用于范围中间的整天
+    }
+    
+    // 构造函数
+    public AnalyticsRollup() {}
+    
+    public AnalyticsRollup(Granularity granularity, String metric, LocalDateTime bucketStart, String dimension,
+                           long eventCount, double valueSum) {
+        this.granularity = granularity;
+        this.metric = metric;
+        this.bucketStart = bucketStart;
+        this.dimension = dimension;
+        this.eventCount = eventCount;
+        this.valueSum = valueSum;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Granularity getGranularity() {
+        return granularity;
+    }
+    
+    public void setGranularity(Granularity granularity) {
+        this.granularity = granularity;
+    }
+    
+    public String getMetric() {
+        return metric;
+    }
+    
+    public void setMetric(String metric) {
+        this.metric = metric;
+    }
+    
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+    
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+    
+    public String getDimension() {
+        return dimension;
+    }
+    
+    public void setDimension(String dimension) {
+        this.dimension = dimension;
+    }
+    
+    public Long getEventCount() {
+        return eventCount;
+    }
+    
+    public void setEventCount(Long eventCount) {
+        this.eventCount = eventCount;
+    }
+    
+    public Double getValueSum() {
+        return valueSum;
+    }
+    
+    public void setValueSum(Double valueSum) {
+        this.valueSum = valueSum;
+    }
+}
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.hrms.entity;
 
+import com.hrms.service.cache.CacheInvalidationListener;
+import com.hrms.service.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -8,11 +10,14 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "candidates")
+@Table(name = "candidates", uniqueConstraints = @UniqueConstraint(
+        name = "uk_candidates_source_external_id", columnNames = {"source", "external_id"}))
+@EntityListeners({SearchIndexListener.class, CacheInvalidationListener.class})
 public class Candidate {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "candidates_id_seq")
+    @SequenceGenerator(name = "candidates_id_seq", sequenceName = "candidates_id_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "姓名不能为空")
@@ -33,6 +38,10 @@ public class Candidate {
     @Column(name = "source", length = 50)
     private CandidateSource source = CandidateSource.UPLOAD;
     
+    // 招聘平台上的候选人/简历ID，与 source 一起唯一标识平台同步来的候选人
+    @Column(name = "external_id", length = 100)
+    private String externalId;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "status", length = 20)
     private CandidateStatus status = CandidateStatus.NEW;
@@ -151,6 +160,14 @@ public class Candidate {
         this.source = source;
     }
     
+    public String getExternalId() {
+        return externalId;
+    }
+    
+    public void setExternalId(String externalId) {
+        this.externalId = externalId;
+    }
+    
     public CandidateStatus getStatus() {
         return status;
     }
@@ -1,5 +1,7 @@
 package com.hrms.entity;
 
+import com.hrms.service.cache.CacheInvalidationListener;
+import com.hrms.service.schedule.InterviewScheduleListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
@@ -9,10 +11,12 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "interviews")
+@EntityListeners({InterviewScheduleListener.class, CacheInvalidationListener.class})
 public class Interview {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "interviews_id_seq")
+    @SequenceGenerator(name = "interviews_id_seq", sequenceName = "interviews_id_seq", allocationSize = 50)
     private Long id;
     
     @NotNull
@@ -1,5 +1,6 @@
 package com.hrms.entity;
 
+import com.hrms.service.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "interview_questions")
+@EntityListeners(SearchIndexListener.class)
 public class InterviewQuestion {
     
     @Id
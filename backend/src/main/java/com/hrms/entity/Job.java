@@ -1,5 +1,8 @@
 package com.hrms.entity;
 
+import com.hrms.service.ai.JobSkillIndexListener;
+import com.hrms.service.cache.CacheInvalidationListener;
+import com.hrms.service.embedding.EmbeddingIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -10,6 +13,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "jobs")
+@EntityListeners({JobSkillIndexListener.class, EmbeddingIndexListener.class, CacheInvalidationListener.class})
 public class Job {
     
     @Id
@@ -0,0 +1,164 @@
+package com.hrms.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 平台增量同步检查点
+ * 每个（平台, 职位, 数据类型）一行，记录已提交的最后一页游标，同步中断后从这里继续
+ */
+@Entity
+@Table(name = "platform_sync_checkpoints", uniqueConstraints = @UniqueConstraint(
+        name = "uk_sync_checkpoint_platform_job_type", columnNames = {"platform_id", "external_job_id", "data_type"}))
+public class PlatformSyncCheckpoint {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "platform_id", nullable = false)
+    private Long platformId;
+    
+    @Column(name = "external_job_id", nullable = false, length = 100)
+    private String externalJobId;
+    
+    @Column(name = "data_type", nullable = false, length = 20)
+    private String dataType; // resumes, messages
+    
+    @Column(name = "sync_cursor", length = 500)
+    private String cursor; // 下一页的起始游标，为空表示从头开始
+    
+    @Column(name = "pages_synced")
+    private Long pagesSynced = 0L;
+    
+    @Column(name = "items_synced")
+    private Long itemsSynced = 0L;
+    
+    @Column(name = "last_page_at")
+    private LocalDateTime lastPageAt;
+    
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+    
+    // 乐观锁，防止同一检查点被两次同步同时推进
+    @Version
+    @Column(name = "version")
+    private Long version;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+    
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    // 构造函数
+    public PlatformSyncCheckpoint() {}
+    
+    public PlatformSyncCheckpoint(Long platformId, String externalJobId, String dataType) {
+        this.platformId = platformId;
+        this.externalJobId = externalJobId;
+        this.dataType = dataType;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getPlatformId() {
+        return platformId;
+    }
+    
+    public void setPlatformId(Long platformId) {
+        this.platformId = platformId;
+    }
+    
+    public String getExternalJobId() {
+        return externalJobId;
+    }
+    
+    public void setExternalJobId(String externalJobId) {
+        this.externalJobId = externalJobId;
+    }
+    
+    public String getDataType() {
+        return dataType;
+    }
+    
+    public void setDataType(String dataType) {
+        this.dataType = dataType;
+    }
+    
+    public String getCursor() {
+        return cursor;
+    }
+    
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+    
+    public Long getPagesSynced() {
+        return pagesSynced;
+    }
+    
+    public void setPagesSynced(Long pagesSynced) {
+        this.pagesSynced = pagesSynced;
+    }
+    
+    public Long getItemsSynced() {
+        return itemsSynced;
+    }
+    
+    public void setItemsSynced(Long itemsSynced) {
+        this.itemsSynced = itemsSynced;
+    }
+    
+    public LocalDateTime getLastPageAt() {
+        return lastPageAt;
+    }
+    
+    public void setLastPageAt(LocalDateTime lastPageAt) {
+        this.lastPageAt = lastPageAt;
+    }
+    
+    public String getLastError() {
+        return lastError;
+    }
+    
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.hrms.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 第三方平台推送的 Webhook 事件
+ * （平台, 事件ID）唯一，作为幂等键：平台重复推送同一事件时只入库一次；
+ * status 同时作为持久化队列，服务重启后未处理的事件会被重新拉取
+ */
+@Entity
+@Table(name = "platform_webhook_events", uniqueConstraints = @UniqueConstraint(
+        name = "uk_webhook_event_platform_event", columnNames = {"platform_id", "event_id"}),
+        indexes = @Index(name = "idx_webhook_event_status", columnList = "status"))
+public class PlatformWebhookEvent {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "platform_id", nullable = false)
+    private Long platformId;
+    
+    @Column(name = "event_id", nullable = false, length = 100)
+    private String eventId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 20)
+    private EventType eventType;
+    
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private EventStatus status = EventStatus.RECEIVED;
+    
+    @Column(name = "attempts")
+    private Integer attempts = 0;
+    
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+    
+    @CreationTimestamp
+    @Column(name = "received_at", updatable = false)
+    private LocalDateTime receivedAt;
+    
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+    
+    // 最近一次被处理节点领取的时间，超时未完成的事件会被放回队列
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+    
+    public enum EventType {
+        RESUME,      // 新简历或简历更新
+        MESSAGE,     // 候选人消息
+        JOB_STATUS,  // 职位状态变化
+        UNKNOWN      // 未识别的事件，仅记录
+    }
+    
+    public enum EventStatus {
+        RECEIVED,    // 已接收，等待处理
+        PROCESSING,  // 已被某个节点领取，处理中
+        PROCESSED,   // 处理完成
+        FAILED       // 重试后仍失败
+    }
+    
+    // 构造函数
+    public PlatformWebhookEvent() {}
+    
+    public PlatformWebhookEvent(Long platformId, String eventId, EventType eventType, String payload) {
+        this.platformId = platformId;
+        this.eventId = eventId;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getPlatformId() {
+        return platformId;
+    }
+    
+    public void setPlatformId(Long platformId) {
+        this.platformId = platformId;
+    }
+    
+    public String getEventId() {
+        return eventId;
+    }
+    
+    public void setEventId(String eventId) {
+        this.eventId = eventId;
+    }
+    
+    public EventType getEventType() {
+        return eventType;
+    }
+    
+    public void setEventType(EventType eventType) {
+        this.eventType = eventType;
+    }
+    
+    public String getPayload() {
+        return payload;
+    }
+    
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+    
+    public EventStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(EventStatus status) {
+        this.status = status;
+    }
+    
+    public Integer getAttempts() {
+        return attempts;
+    }
+    
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+    
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+    
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+    
+    public LocalDateTime getReceivedAt() {
+        return receivedAt;
+    }
+    
+    public void setReceivedAt(LocalDateTime receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+    
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+    
+    public void setProcessedAt(LocalDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+    
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+    
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+}
\ No newline at end of file
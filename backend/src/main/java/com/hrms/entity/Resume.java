@@ -1,5 +1,7 @@
 package com.hrms.entity;
 
+import com.hrms.service.embedding.EmbeddingIndexListener;
+import com.hrms.service.search.SearchIndexListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -8,7 +10,10 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "resumes")
+@Table(name = "resumes", indexes = {
+        @Index(name = "idx_resumes_content_hash", columnList = "content_hash"),
+        @Index(name = "idx_resumes_claimed_at", columnList = "claimed_at")})
+@EntityListeners({SearchIndexListener.class, EmbeddingIndexListener.class})
 public class Resume {
     
     @Id
@@ -38,6 +43,10 @@ public class Resume {
     @Column(name = "file_type", length = 50)
     private String fileType; // PDF, DOC, DOCX
     
+    // 文件内容的SHA-256摘要，相同内容的简历共用同一份文件
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
     @Enumerated(EnumType.STRING)
     @Column(name = "status", length = 20)
     private ResumeStatus status = ResumeStatus.UPLOADED;
@@ -79,6 +88,10 @@ public class Resume {
     @Column(name = "processed_at")
     private LocalDateTime processedAt;
     
+    // 解析流水线节点领取的时间，为空表示未被领取
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+    
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -90,6 +103,8 @@ public class Resume {
     // 枚举类型
     public enum ResumeStatus {
         UPLOADED,       // 已上传
+        TEXT_EXTRACTED, // 已提取文本
+        PARSED,         // 已提取字段，待评分
         PROCESSING,     // 解析中
         PROCESSED,      // 已解析
         PARSE_FAILED,   // 解析失败
@@ -157,6 +172,14 @@ public class Resume {
         this.fileType = fileType;
     }
     
+    public String getContentHash() {
+        return contentHash;
+    }
+    
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+    
     public ResumeStatus getStatus() {
         return status;
     }
@@ -245,6 +268,14 @@ public class Resume {
         this.processedAt = processedAt;
     }
     
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+    
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -2,6 +2,7 @@ package com.hrms.repository;
 
 import com.hrms.entity.AIEvaluationCriteria;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -100,6 +101,7 @@ public interface AIEvaluationCriteriaRepository extends JpaRepository<AIEvaluati
     /**
      * 批量更新启用状态
      */
+    @Modifying(clearAutomatically = true)
     @Query("UPDATE AIEvaluationCriteria c SET c.isEnabled = :enabled WHERE c.id IN :ids")
     void batchUpdateEnabled(@Param("ids") List<Long> ids, @Param("enabled") Boolean enabled);
 }
\ No newline at end of file
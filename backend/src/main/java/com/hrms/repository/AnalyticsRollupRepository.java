@@ -0,0 +1,47 @@
+package com.hrms.repository;
+
+import com.hrms.entity.AnalyticsRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AnalyticsRollupRepository extends JpaRepository<AnalyticsRollup, Long> {
+    
+    /**
+     * 按维度合计指定粒度、指标在 [from, to) 内各时间桶的计数和数值
+     */
+    @Query("SELECT r.dimension, SUM(r.eventCount), SUM(r.valueSum) FROM AnalyticsRollup r " +
+           "WHERE r.granularity = :granularity AND r.metric = :metric " +
+           "AND r.bucketStart >= :from AND r.bucketStart < :to GROUP BY r.dimension")
+    List<Object[]> sumByDimension(@Param("granularity") AnalyticsRollup.Granularity granularity,
+                                  @Param("metric") String metric,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+    
+    /**
+     * 在已有的时间桶上累加增量，返回更新行数，为 0 说明该桶还不存在
+     */
+    @Modifying
+    @Query("UPDATE AnalyticsRollup r SET r.eventCount = r.eventCount + :count, r.valueSum = r.valueSum + :sum " +
+           "WHERE r.granularity = :granularity AND r.metric = :metric " +
+           "AND r.bucketStart = :bucketStart AND r.dimension = :dimension")
+    int increment(@Param("granularity") AnalyticsRollup.Granularity granularity,
+                  @Param("metric") String metric,
+                  @Param("bucketStart") LocalDateTime bucketStart,
+                  @Param("dimension") String dimension,
+                  @Param("count") long count,
+                  @Param("sum") double sum);
+    
+    /**
+     * 清空全部预聚合数据，重建前使用
+     */
+    @Modifying
+    @Query("DELETE FROM AnalyticsRollup r")
+    int deleteAllRollups();
+}
\ No newline at end of file
@@ -1,17 +1,22 @@
 package com.hrms.repository;
 
 import com.hrms.entity.Candidate;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface CandidateRepository extends JpaRepository<Candidate, Long> {
+public interface CandidateRepository extends JpaRepository<Candidate, Long>, JpaSpecificationExecutor<Candidate> {
     
     // 根据状态查找候选人
     List<Candidate> findByStatus(Candidate.CandidateStatus status);
@@ -21,10 +26,21 @@ public interface CandidateRepository extends JpaRepository<Candidate, Long> {
     List<Candidate> findBySource(Candidate.CandidateSource source);
     Page<Candidate> findBySource(Candidate.CandidateSource source, Pageable pageable);
     
+    // 按平台外部ID批量查找，平台同步时用于幂等写入
+    List<Candidate> findBySourceAndExternalIdIn(Candidate.CandidateSource source, Collection<String> externalIds);
+    
+    // 按ID升序对候选人行加写锁直到事务结束，安排面试前用于串行化同一候选人的冲突检查和写入
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Candidate c WHERE c.id IN :ids ORDER BY c.id")
+    List<Candidate> lockByIds(@Param("ids") Collection<Long> ids);
+    
     // 根据姓名模糊搜索
     List<Candidate> findByNameContainingIgnoreCase(String name);
     Page<Candidate> findByNameContainingIgnoreCase(String name, Pageable pageable);
     
+    // 按ID游标分批读取，pageable 只取大小，顺序固定为ID升序
+    List<Candidate> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
     // 根据邮箱查找
     List<Candidate> findByEmail(String email);
     
@@ -89,4 +105,18 @@ public interface CandidateRepository extends JpaRepository<Candidate, Long> {
     
     // 检查电话是否已存在
     boolean existsByPhone(String phone);
+    
+    /**
+     * 查找状态将被批量修改的候选人的 {ID, 当前状态, 创建时间}，批量更新前用于记录变更
+     */
+    @Query("SELECT c.id, c.status, c.createdAt FROM Candidate c WHERE c.id IN :ids AND c.status <> :status")
+    List<Object[]> findStatusSnapshots(@Param("ids") Collection<Long> ids, @Param("status") Candidate.CandidateStatus status);
+    
+    /**
+     * 批量更新候选人状态，一条语句完成，返回实际修改的行数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Candidate c SET c.status = :status, c.updatedAt = :now WHERE c.id IN :ids AND c.status <> :status")
+    int batchUpdateStatus(@Param("ids") Collection<Long> ids, @Param("status") Candidate.CandidateStatus status,
+                          @Param("now") java.time.LocalDateTime now);
 }
\ No newline at end of file
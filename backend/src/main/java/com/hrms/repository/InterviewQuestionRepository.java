@@ -1,6 +1,7 @@
 package com.hrms.repository;
 
 import com.hrms.entity.InterviewQuestion;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -31,6 +32,11 @@ public interface InterviewQuestionRepository extends JpaRepository<InterviewQues
      */
     List<InterviewQuestion> findByPositionLevel(String positionLevel);
     
+    /**
+     * 按ID游标分批读取，pageable 只取大小，顺序固定为ID升序
+     */
+    List<InterviewQuestion> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
     /**
      * 查找启用的问题
      */
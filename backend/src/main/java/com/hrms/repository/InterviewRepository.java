@@ -2,11 +2,13 @@ package com.hrms.repository;
 
 import com.hrms.entity.Interview;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -106,6 +108,24 @@ public interface InterviewRepository extends JpaRepository<Interview, Long> {
                                           @Param("startTime") LocalDateTime startTime,
                                           @Param("endTime") LocalDateTime endTime);
     
+    /**
+     * 查找面试官或候选人在 [earliestStart, endTime) 内开始、仍占用日程的面试，
+     * 调用方按各自时长判断是否与目标时段重叠
+     */
+    @Query("SELECT i FROM Interview i WHERE (i.interviewerId = :interviewerId OR i.candidateId = :candidateId) " +
+           "AND i.status NOT IN ('CANCELLED', 'COMPLETED') " +
+           "AND i.scheduledTime >= :earliestStart AND i.scheduledTime < :endTime")
+    List<Interview> findBlockingStartingBetween(@Param("interviewerId") Long interviewerId,
+                                               @Param("candidateId") Long candidateId,
+                                               @Param("earliestStart") LocalDateTime earliestStart,
+                                               @Param("endTime") LocalDateTime endTime);
+    
+    /**
+     * 查找仍占用日程的面试（未取消且未完成）
+     */
+    @Query("SELECT i FROM Interview i WHERE i.status NOT IN ('CANCELLED', 'COMPLETED')")
+    List<Interview> findActiveInterviews();
+    
     /**
      * 查找需要发送提醒的面试
      */
@@ -238,8 +258,31 @@ public interface InterviewRepository extends JpaRepository<Interview, Long> {
     void deleteOldCancelledInterviews(@Param("threshold") LocalDateTime threshold);
     
     /**
-     * 批量更新面试状态
+     * 返回 ids 中存在的面试ID
+     */
+    @Query("SELECT i.id FROM Interview i WHERE i.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 查找状态将被批量修改的面试的 {ID, 当前状态, 安排时间}，批量更新前用于记录变更
+     */
+    @Query("SELECT i.id, i.status, i.scheduledTime FROM Interview i WHERE i.id IN :ids AND i.status <> :status")
+    List<Object[]> findStatusSnapshots(@Param("ids") Collection<Long> ids, @Param("status") Interview.InterviewStatus status);
+    
+    /**
+     * 批量更新面试状态，一条语句完成，返回实际修改的行数
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Interview i SET i.status = :status, i.updatedAt = :now WHERE i.id IN :ids AND i.status <> :status")
+    int batchUpdateStatus(@Param("ids") Collection<Long> ids, @Param("status") Interview.InterviewStatus status,
+                          @Param("now") LocalDateTime now);
+    
+    /**
+     * 批量取消面试，一条语句完成，返回实际取消的行数
      */
-    @Query("UPDATE Interview i SET i.status = :status WHERE i.id IN :ids")
-    void batchUpdateStatus(@Param("ids") List<Long> ids, @Param("status") Interview.InterviewStatus status);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Interview i SET i.status = 'CANCELLED', " +
+           "i.cancellationReason = :reason, i.updatedAt = :now " +
+           "WHERE i.id IN :ids AND i.status <> 'CANCELLED'")
+    int batchCancel(@Param("ids") Collection<Long> ids, @Param("reason") String reason, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.hrms.repository;
+
+import com.hrms.entity.PlatformSyncCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PlatformSyncCheckpointRepository extends JpaRepository<PlatformSyncCheckpoint, Long> {
+    
+    /**
+     * 查找指定平台、职位和数据类型的检查点
+     */
+    Optional<PlatformSyncCheckpoint> findByPlatformIdAndExternalJobIdAndDataType(Long platformId, String externalJobId, String dataType);
+    
+    /**
+     * 查找平台的全部检查点
+     */
+    List<PlatformSyncCheckpoint> findByPlatformIdOrderByUpdatedAtDesc(Long platformId);
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.hrms.repository;
+
+import com.hrms.entity.PlatformWebhookEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PlatformWebhookEventRepository extends JpaRepository<PlatformWebhookEvent, Long> {
+    
+    /**
+     * 查找平台上指定事件ID的事件是否已接收
+     */
+    boolean existsByPlatformIdAndEventId(Long platformId, String eventId);
+    
+    /**
+     * 按ID顺序查找指定状态的事件ID，供事件处理队列拉取任务
+     */
+    @Query("SELECT e.id FROM PlatformWebhookEvent e WHERE e.status = :status ORDER BY e.id ASC")
+    List<Long> findIdsByStatus(@Param("status") PlatformWebhookEvent.EventStatus status, Pageable pageable);
+    
+    /**
+     * 领取待处理事件：仅当事件仍为 RECEIVED 时置为 PROCESSING 并累加尝试次数，返回更新行数；
+     * 返回 0 表示事件已被其他节点或线程领取
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PlatformWebhookEvent e SET e.status = 'PROCESSING', e.attempts = COALESCE(e.attempts, 0) + 1, " +
+           "e.claimedAt = :now WHERE e.id = :id AND e.status = 'RECEIVED'")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    /**
+     * 结束本节点领取的事件：仅当事件仍为 PROCESSING 且领取时间未变时写入结果，返回更新行数
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PlatformWebhookEvent e SET e.status = :status, e.errorMessage = :errorMessage, " +
+           "e.processedAt = :processedAt WHERE e.id = :id AND e.status = 'PROCESSING' AND e.claimedAt = :claimedAt")
+    int complete(@Param("id") Long id,
+                 @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("status") PlatformWebhookEvent.EventStatus status,
+                 @Param("errorMessage") String errorMessage,
+                 @Param("processedAt") LocalDateTime processedAt);
+    
+    /**
+     * 把领取后超时未完成（处理节点宕机等）的事件放回队列，返回放回的数量
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PlatformWebhookEvent e SET e.status = 'RECEIVED' " +
+           "WHERE e.status = 'PROCESSING' AND e.claimedAt < :staleBefore")
+    int releaseStaleClaims(@Param("staleBefore") LocalDateTime staleBefore);
+    
+    /**
+     * 查找平台最近接收的事件
+     */
+    List<PlatformWebhookEvent> findByPlatformIdOrderByIdDesc(Long platformId, Pageable pageable);
+    
+    /**
+     * 按状态统计事件数量
+     */
+    long countByStatus(PlatformWebhookEvent.EventStatus status);
+}
\ No newline at end of file
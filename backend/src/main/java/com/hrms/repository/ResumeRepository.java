@@ -4,16 +4,19 @@ import com.hrms.entity.Resume;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ResumeRepository extends JpaRepository<Resume, Long> {
+public interface ResumeRepository extends JpaRepository<Resume, Long>, JpaSpecificationExecutor<Resume> {
     
     /**
      * 根据候选人ID查找简历
@@ -151,6 +154,17 @@ public interface ResumeRepository extends JpaRepository<Resume, Long> {
     @Query("SELECT r FROM Resume r WHERE r.fileName = :fileName AND r.fileSize = :fileSize AND r.id != :excludeId")
     List<Resume> findDuplicateResumes(@Param("fileName") String fileName, @Param("fileSize") Long fileSize, @Param("excludeId") Long excludeId);
     
+    /**
+     * 查找内容完全相同的简历（根据文件摘要）
+     */
+    @Query("SELECT r FROM Resume r WHERE r.contentHash = :contentHash AND r.id != :excludeId")
+    List<Resume> findDuplicateResumesByContentHash(@Param("contentHash") String contentHash, @Param("excludeId") Long excludeId);
+    
+    /**
+     * 查找相同内容中最早完成解析的一份简历
+     */
+    Optional<Resume> findFirstByContentHashAndStatusOrderByIdAsc(String contentHash, Resume.ResumeStatus status);
+    
     /**
      * 查找指定时间范围内处理的简历
      */
@@ -163,6 +177,65 @@ public interface ResumeRepository extends JpaRepository<Resume, Long> {
     @Query("SELECT r FROM Resume r WHERE r.status = 'UPLOADED' ORDER BY r.createdAt ASC")
     List<Resume> findPendingResumes();
     
+    /**
+     * 按ID顺序查找指定状态且未被领取的简历ID，供解析流水线各阶段拉取任务
+     */
+    @Query("SELECT r.id FROM Resume r WHERE r.status = :status AND r.claimedAt IS NULL ORDER BY r.id ASC")
+    List<Long> findUnclaimedIdsByStatus(@Param("status") Resume.ResumeStatus status, Pageable pageable);
+    
+    /**
+     * 领取简历：仅当简历仍处于 expectedStatus 且未被领取时成功，返回更新行数；
+     * 返回 0 表示已被其他节点领取或推进
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Resume r SET r.claimedAt = :now " +
+           "WHERE r.id = :id AND r.status = :expectedStatus AND r.claimedAt IS NULL")
+    int claim(@Param("id") Long id,
+              @Param("expectedStatus") Resume.ResumeStatus expectedStatus,
+              @Param("now") LocalDateTime now);
+    
+    /**
+     * 把领取后超时未完成（处理节点宕机等）的简历放回队列，返回放回的数量
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Resume r SET r.claimedAt = NULL WHERE r.claimedAt < :staleBefore")
+    int releaseStaleClaims(@Param("staleBefore") LocalDateTime staleBefore);
+    
+    /**
+     * 仅当简历仍处于 expectedStatus 且仍由本次领取持有时写入解析结果、推进到 newStatus 并释放领取，返回更新行数；
+     * 返回 0 表示领取已超时被放回或被其他节点重新领取，本次结果应丢弃
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Resume r SET r.status = :newStatus, r.claimedAt = NULL, " +
+           "r.parsedContent = :#{#resume.parsedContent}, r.aiScore = :#{#resume.aiScore}, " +
+           "r.extractedName = :#{#resume.extractedName}, r.extractedEmail = :#{#resume.extractedEmail}, " +
+           "r.extractedPhone = :#{#resume.extractedPhone}, r.extractedEducation = :#{#resume.extractedEducation}, " +
+           "r.extractedExperience = :#{#resume.extractedExperience}, r.extractedSkills = :#{#resume.extractedSkills}, " +
+           "r.parseError = :#{#resume.parseError}, r.processedAt = :#{#resume.processedAt}, r.updatedAt = :now " +
+           "WHERE r.id = :#{#resume.id} AND r.status = :expectedStatus AND r.claimedAt = :claimedAt")
+    int advanceStatus(@Param("resume") Resume resume,
+                      @Param("expectedStatus") Resume.ResumeStatus expectedStatus,
+                      @Param("newStatus") Resume.ResumeStatus newStatus,
+                      @Param("claimedAt") LocalDateTime claimedAt,
+                      @Param("now") LocalDateTime now);
+    
+    /**
+     * 仅当简历仍处于 expectedStatus 且仍由本次领取持有时标记为解析失败并释放领取，返回更新行数
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Resume r SET r.status = 'PARSE_FAILED', r.parseError = :parseError, " +
+           "r.processedAt = :now, r.updatedAt = :now, r.claimedAt = NULL " +
+           "WHERE r.id = :id AND r.status = :expectedStatus AND r.claimedAt = :claimedAt")
+    int markFailed(@Param("id") Long id,
+                   @Param("expectedStatus") Resume.ResumeStatus expectedStatus,
+                   @Param("claimedAt") LocalDateTime claimedAt,
+                   @Param("parseError") String parseError,
+                   @Param("now") LocalDateTime now);
+    
     /**
      * 根据文件路径查找简历
      */
@@ -212,6 +285,11 @@ public interface ResumeRepository extends JpaRepository<Resume, Long> {
      */
     long countByStatus(Resume.ResumeStatus status);
     
+    /**
+     * 按ID游标分批读取，pageable 只取大小，顺序固定为ID升序
+     */
+    List<Resume> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
     /**
      * 根据文件名搜索简历（忽略大小写）
      */
@@ -0,0 +1,107 @@
+package com.hrms.repository;
+
+import com.hrms.entity.Candidate;
+import com.hrms.entity.Job;
+import com.hrms.entity.Resume;
+import com.hrms.entity.ThirdPartyPlatform;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 多条件搜索的查询条件，与各 Repository 中 findXxxWithCriteria 的过滤规则一致，
+ * 供键集分页使用；参数为 null 表示不限制
+ */
+public final class SearchSpecifications {
+    
+    private SearchSpecifications() {}
+    
+    public static Specification<Candidate> candidates(String name, String email, String phone,
+                                                      Candidate.CandidateStatus status,
+                                                      Candidate.CandidateSource source,
+                                                      String currentPosition, String currentCompany, String skill) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            addContainsIgnoreCase(predicates, cb, root.get("name"), name);
+            addEqual(predicates, cb, root.get("email"), email);
+            addEqual(predicates, cb, root.get("phone"), phone);
+            addEqual(predicates, cb, root.get("status"), status);
+            addEqual(predicates, cb, root.get("source"), source);
+            addContainsIgnoreCase(predicates, cb, root.get("currentPosition"), currentPosition);
+            addContainsIgnoreCase(predicates, cb, root.get("currentCompany"), currentCompany);
+            addContainsIgnoreCase(predicates, cb, root.get("skills"), skill);
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+    
+    public static Specification<Job> jobs(String title, String department, Job.JobStatus status,
+                                          Job.EmploymentType employmentType) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            addContainsIgnoreCase(predicates, cb, root.get("title"), title);
+            addEqual(predicates, cb, root.get("department"), department);
+            addEqual(predicates, cb, root.get("status"), status);
+            addEqual(predicates, cb, root.get("employmentType"), employmentType);
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+    
+    public static Specification<Resume> resumes(Long candidateId, Resume.ResumeStatus status, String fileType,
+                                                Integer minScore, Integer maxScore,
+                                                String name, String email, String skill) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            addEqual(predicates, cb, root.get("candidateId"), candidateId);
+            addEqual(predicates, cb, root.get("status"), status);
+            addEqual(predicates, cb, root.get("fileType"), fileType);
+            if (minScore != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("aiScore"), minScore));
+            }
+            if (maxScore != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("aiScore"), maxScore));
+            }
+            addContains(predicates, cb, root.get("extractedName"), name);
+            addContains(predicates, cb, root.get("extractedEmail"), email);
+            addContains(predicates, cb, root.get("extractedSkills"), skill);
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+    
+    public static Specification<ThirdPartyPlatform> platforms(String platformName, String platformCode,
+                                                              ThirdPartyPlatform.PlatformStatus status,
+                                                              ThirdPartyPlatform.SyncStatus syncStatus,
+                                                              Boolean syncEnabled) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            addContains(predicates, cb, root.get("platformName"), platformName);
+            addEqual(predicates, cb, root.get("platformCode"), platformCode);
+            addEqual(predicates, cb, root.get("status"), status);
+            addEqual(predicates, cb, root.get("syncStatus"), syncStatus);
+            addEqual(predicates, cb, root.get("syncEnabled"), syncEnabled);
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+    
+    private static void addEqual(List<Predicate> predicates, CriteriaBuilder cb, Expression<?> path, Object value) {
+        if (value != null) {
+            predicates.add(cb.equal(path, value));
+        }
+    }
+    
+    private static void addContains(List<Predicate> predicates, CriteriaBuilder cb, Expression<String> path, String value) {
+        if (value != null) {
+            predicates.add(cb.like(path, "%" + value + "%"));
+        }
+    }
+    
+    private static void addContainsIgnoreCase(List<Predicate> predicates, CriteriaBuilder cb,
+                                              Expression<String> path, String value) {
+        if (value != null) {
+            predicates.add(cb.like(cb.lower(path), "%" + value.toLowerCase() + "%"));
+        }
+    }
+}
\ No newline at end of file
@@ -4,16 +4,20 @@ import com.hrms.entity.ThirdPartyPlatform;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ThirdPartyPlatformRepository extends JpaRepository<ThirdPartyPlatform, Long> {
+public interface ThirdPartyPlatformRepository extends JpaRepository<ThirdPartyPlatform, Long>, JpaSpecificationExecutor<ThirdPartyPlatform> {
     
     /**
      * 根据平台代码查找平台
@@ -175,4 +179,17 @@ public interface ThirdPartyPlatformRepository extends JpaRepository<ThirdPartyPl
      */
     @Query("SELECT p FROM ThirdPartyPlatform p WHERE p.webhookUrl IS NOT NULL AND p.webhookUrl != ''")
     List<ThirdPartyPlatform> findPlatformsWithWebhook();
+    
+    /**
+     * 仅当平台处于指定状态时更新状态和错误信息，返回更新行数
+     * 在独立事务中执行，不影响调用方事务中已加载的实体
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE ThirdPartyPlatform p SET p.status = :newStatus, p.errorMessage = :errorMessage " +
+           "WHERE p.id = :id AND p.status = :expectedStatus")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("expectedStatus") ThirdPartyPlatform.PlatformStatus expectedStatus,
+                         @Param("newStatus") ThirdPartyPlatform.PlatformStatus newStatus,
+                         @Param("errorMessage") String errorMessage);
 }
\ No newline at end of file
@@ -15,6 +15,21 @@ public interface AIService {
      */
     Map<String, Object> parseResume(String filePath, String fileType);
     
+    /**
+     * 提取简历文件中的文本
+     * @param filePath 简历文件路径
+     * @param fileType 文件类型 (PDF, DOC, DOCX)
+     * @return 文本内容
+     */
+    String extractText(String filePath, String fileType);
+    
+    /**
+     * 从简历文本中提取结构化信息
+     * @param content 简历文本
+     * @return 解析后的结构化数据
+     */
+    Map<String, Object> parseResumeText(String content);
+    
     /**
      * 分析简历质量
      * @param resumeContent 简历内容
@@ -1,18 +1,29 @@
 package com.hrms.service;
 
+import com.hrms.dto.CursorPage;
 import com.hrms.entity.Candidate;
 import com.hrms.repository.CandidateRepository;
+import com.hrms.repository.SearchSpecifications;
+import com.hrms.service.analytics.AnalyticsMetrics;
+import com.hrms.service.analytics.AnalyticsRollupService;
+import com.hrms.service.bulk.BulkPersister;
+import com.hrms.service.cache.CacheRegions;
+import com.hrms.service.cache.TwoTierCache;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.hrms.service.paging.KeysetPaginator;
+import com.hrms.service.search.SearchIndexService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -21,6 +32,18 @@ public class CandidateService {
     @Autowired
     private CandidateRepository candidateRepository;
     
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
+    @Autowired
+    private TwoTierCache cache;
+    
+    @Autowired
+    private AnalyticsRollupService analyticsService;
+    
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+    
     /**
      * 创建候选人
      */
@@ -130,7 +153,8 @@ public class CandidateService {
      * 根据ID获取候选人
      */
     public Optional<Candidate> getCandidateById(Long id) {
-        return candidateRepository.findById(id);
+        return Optional.ofNullable(cache.get(CacheRegions.CANDIDATE, id, new TypeReference<Candidate>() {},
+            () -> candidateRepository.findById(id).orElse(null)));
     }
     
     /**
@@ -175,6 +199,21 @@ public class CandidateService {
         );
     }
     
+    /**
+     * 多条件搜索候选人（游标分页），条件全部为空时即为全部候选人；不统计总数，除非 withTotal 为 true
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Candidate> searchCandidatesByCursor(String name, String email, String phone,
+                                                          Candidate.CandidateStatus status,
+                                                          Candidate.CandidateSource source,
+                                                          String currentPosition, String currentCompany,
+                                                          String skill, Sort sort, int size,
+                                                          String cursor, boolean withTotal) {
+        return keysetPaginator.scroll(candidateRepository, Candidate.class,
+            SearchSpecifications.candidates(name, email, phone, status, source, currentPosition, currentCompany, skill),
+            sort, size, cursor, withTotal);
+    }
+    
     /**
      * 获取最近N天的新候选人
      */
@@ -184,36 +223,24 @@ public class CandidateService {
     }
     
     /**
-     * 获取候选人状态统计
+     * 获取候选人状态统计，读预聚合，不扫描候选人表
      */
     public Map<String, Long> getCandidateStatusStatistics() {
-        List<Object[]> results = candidateRepository.countCandidatesByStatus();
-        return results.stream().collect(
-            Collectors.toMap(
-                result -> result[0].toString(),
-                result -> (Long) result[1]
-            )
-        );
+        return analyticsService.counts(AnalyticsMetrics.CANDIDATE_STATUS, null, null);
     }
     
     /**
-     * 获取候选人来源统计
+     * 获取候选人来源统计，读预聚合，不扫描候选人表
      */
     public Map<String, Long> getCandidateSourceStatistics() {
-        List<Object[]> results = candidateRepository.countCandidatesBySource();
-        return results.stream().collect(
-            Collectors.toMap(
-                result -> result[0].toString(),
-                result -> (Long) result[1]
-            )
-        );
+        return analyticsService.counts(AnalyticsMetrics.CANDIDATE_SOURCE, null, null);
     }
     
     /**
      * 根据技能搜索候选人
      */
     public List<Candidate> searchCandidatesBySkill(String skill) {
-        return candidateRepository.findBySkillsContaining(skill);
+        return searchIndexService.searchCandidatesBySkill(skill);
     }
     
     /**
@@ -248,11 +275,19 @@ public class CandidateService {
      * 批量更新候选人状态
      */
     public void batchUpdateCandidateStatus(List<Long> candidateIds, Candidate.CandidateStatus status) {
-        List<Candidate> candidates = candidateRepository.findAllById(candidateIds);
-        for (Candidate candidate : candidates) {
-            candidate.setStatus(status);
+        // 先查出状态会变化的行，再用一条 UPDATE 完成修改，不再逐个加载实体
+        for (List<Long> ids : BulkPersister.partition(new LinkedHashSet<>(candidateIds), 1000)) {
+            List<Object[]> snapshots = candidateRepository.findStatusSnapshots(ids, status);
+            if (snapshots.isEmpty()) {
+                continue;
+            }
+            candidateRepository.batchUpdateStatus(ids, status, LocalDateTime.now());
+            // 批量更新语句不触发实体监听器，手动失效缓存并计入统计
+            for (Object[] row : snapshots) {
+                cache.evict(CacheRegions.CANDIDATE, row[0]);
+            }
+            analyticsService.recordStatusChanges(Candidate.class, snapshots, status);
         }
-        candidateRepository.saveAll(candidates);
     }
     
     /**
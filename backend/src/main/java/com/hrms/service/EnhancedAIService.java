@@ -1,5 +1,7 @@
 package com.hrms.service;
 
+import com.hrms.dto.MatchScore;
+import com.hrms.dto.RankingResult;
 import com.hrms.entity.Resume;
 import com.hrms.entity.Job;
 import com.hrms.entity.AIEvaluationCriteria;
@@ -18,7 +20,7 @@ public interface EnhancedAIService {
     /**
      * 多维度匹配度计算
      */
-    Map<String, Object> enhancedCalculateMatchScore(Resume resume, Job job);
+    MatchScore enhancedCalculateMatchScore(Resume resume, Job job);
     
     /**
      * 软技能评估
@@ -63,7 +65,19 @@ public interface EnhancedAIService {
     /**
      * 批量候选人评估和排序
      */
-    List<Map<String, Object>> batchEvaluateAndRank(List<Resume> resumes, Job job);
+    RankingResult batchEvaluateAndRank(List<Resume> resumes, Job job);
+    
+    /**
+     * 批量候选人评估和排序，排序结果只返回前 topK 名（topK 小于等于 0 时返回全部），
+     * 粗筛淘汰的简历不评分，连同淘汰原因一起返回
+     */
+    RankingResult batchEvaluateAndRank(List<Resume> resumes, Job job, int topK);
+    
+    /**
+     * 按语义相似度从全部简历中召回 recallSize 份，再做多维度评分，返回前 topK 名
+     * recallSize 不超过 ai.embedding.max-recall-size；语义索引尚未就绪时抛出 IllegalStateException
+     */
+    RankingResult recallAndRank(Job job, int recallSize, int topK);
     
     /**
      * 候选人对比分析
@@ -91,6 +105,7 @@ public interface EnhancedAIService {
     AIEvaluationCriteria createEvaluationCriteria(AIEvaluationCriteria criteria);
     AIEvaluationCriteria updateEvaluationCriteria(Long id, AIEvaluationCriteria criteria);
     void deleteEvaluationCriteria(Long id);
+    void batchUpdateEvaluationCriteriaEnabled(List<Long> ids, Boolean enabled);
     List<AIEvaluationCriteria> getEvaluationCriteriaByCategory(AIEvaluationCriteria.CriteriaCategory category);
     List<AIEvaluationCriteria> getEvaluationCriteriaByIndustry(String industry);
     
@@ -37,6 +37,7 @@ public interface InterviewService {
     boolean hasScheduleConflict(Long interviewerId, Long candidateId, LocalDateTime startTime, LocalDateTime endTime);
     List<Interview> getAvailableTimeSlots(Long interviewerId, LocalDateTime date);
     Map<String, Object> suggestAlternativeTimeSlots(Long interviewerId, Long candidateId, LocalDateTime preferredTime);
+    List<LocalDateTime> findNextAvailableSlots(Long interviewerId, Long candidateId, LocalDateTime from, int durationMinutes, int count);
     
     /**
      * 面试日程管理
@@ -1,11 +1,17 @@
 package com.hrms.service;
 
+import com.hrms.dto.CursorPage;
 import com.hrms.dto.JobCreateRequest;
 import com.hrms.dto.JobResponse;
 import com.hrms.entity.Job;
 import com.hrms.entity.User;
 import com.hrms.repository.JobRepository;
+import com.hrms.repository.SearchSpecifications;
 import com.hrms.repository.UserRepository;
+import com.hrms.service.cache.CacheRegions;
+import com.hrms.service.paging.KeysetPaginator;
+import com.hrms.service.cache.TwoTierCache;
+import com.fasterxml.jackson.core.type.TypeReference;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -14,7 +20,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -28,6 +36,12 @@ public class JobService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private TwoTierCache cache;
+    
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+    
     public JobResponse createJob(JobCreateRequest request, String recruiterUsername) {
         // 获取当前用户作为负责人
         User recruiter = userRepository.findByUsername(recruiterUsername)
@@ -103,9 +117,11 @@ public class JobService {
     
     @Transactional(readOnly = true)
     public JobResponse getJobById(Long jobId) {
-        Job job = jobRepository.findById(jobId)
-            .orElseThrow(() -> new RuntimeException("职位不存在"));
-        return new JobResponse(job);
+        return cache.get(CacheRegions.JOB, jobId, new TypeReference<JobResponse>() {}, () -> {
+            Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new RuntimeException("职位不存在"));
+            return new JobResponse(job);
+        });
     }
     
     @Transactional(readOnly = true)
@@ -128,12 +144,38 @@ public class JobService {
         return jobPage.map(JobResponse::new);
     }
     
+    /**
+     * 职位列表（游标分页），排序和过滤条件与 getJobs 相同
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<JobResponse> getJobsByCursor(int size, String sortBy, String sortDir, String cursor, boolean withTotal,
+                                                   String title, String department, Job.JobStatus status, Job.EmploymentType employmentType) {
+        Sort sort = Sort.by(sortDir.equals("desc") ? Sort.Direction.DESC : Sort.Direction.ASC, sortBy);
+        return keysetPaginator.scroll(jobRepository, Job.class,
+            SearchSpecifications.jobs(title, department, status, employmentType), sort, size, cursor, withTotal)
+            .map(JobResponse::new);
+    }
+    
     @Transactional(readOnly = true)
     public List<JobResponse> getActiveJobs() {
-        List<Job> jobs = jobRepository.findActiveJobs();
-        return jobs.stream()
-                  .map(JobResponse::new)
-                  .collect(Collectors.toList());
+        return cache.get(CacheRegions.ACTIVE_JOBS, "all", new TypeReference<List<JobResponse>>() {},
+            () -> jobRepository.findActiveJobs().stream()
+                      .map(JobResponse::new)
+                      .collect(Collectors.toList()));
+    }
+    
+    /**
+     * 各部门活跃职位数量
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> getDepartmentStatistics() {
+        return cache.get(CacheRegions.JOB_DEPARTMENT_STATS, "all", new TypeReference<Map<String, Long>>() {}, () -> {
+            Map<String, Long> statistics = new LinkedHashMap<>();
+            for (Object[] row : jobRepository.countJobsByDepartment()) {
+                statistics.put(row[0] != null ? row[0].toString() : "未分配", (Long) row[1]);
+            }
+            return statistics;
+        });
     }
     
     @Transactional(readOnly = true)
@@ -1,18 +1,28 @@
 package com.hrms.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
+/**
+ * 签发和校验 JWT
+ * 签名密钥和解析器启动时构建一次；校验通过的令牌按令牌内容缓存到过期为止，
+ * 同一令牌的后续请求不再重复验签和解析 JSON
+ */
 @Service
 public class JwtService {
     
@@ -22,6 +32,48 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private Long expiration;
     
+    @Value("${jwt.verify-cache.max-size:10000}")
+    private int verifyCacheMaxSize;
+    
+    private Key signKey;
+    private JwtParser parser;
+    
+    // 键为完整令牌，哈希查找后按全文比较，不会因哈希碰撞误命中
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+    private final AtomicLong maxVerifyNanos = new AtomicLong();
+    
+    /**
+     * 校验通过的令牌
+     */
+    public static final class VerifiedToken {
+        private final String username;
+        private final long expiresAtMillis;
+        
+        VerifiedToken(String username, long expiresAtMillis) {
+            this.username = username;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+        
+        public String getUsername() {
+            return username;
+        }
+        
+        public long getExpiresAtMillis() {
+            return expiresAtMillis;
+        }
+    }
+    
+    @PostConstruct
+    public void init() {
+        signKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder().setSigningKey(signKey).build();
+    }
+    
     public String generateToken(String username) {
         Map<String, Object> claims = new HashMap<>();
         return createToken(claims, username);
@@ -33,21 +85,61 @@ public class JwtService {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
-    private Key getSignKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    /**
+     * 校验令牌签名和有效期，无效或已过期时返回 null
+     * 命中缓存时只做一次哈希查找，不分配对象
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (cached.expiresAtMillis > now) {
+                cacheHits.increment();
+                return cached;
+            }
+            verifiedTokens.remove(token, cached);
+            return null;
+        }
+        
+        long start = System.nanoTime();
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Date expiresAt = claims.getExpiration();
+            if (claims.getSubject() == null || expiresAt == null) {
+                failures.increment();
+                return null;
+            }
+            VerifiedToken verified = new VerifiedToken(claims.getSubject(), expiresAt.getTime());
+            if (verifiedTokens.size() >= verifyCacheMaxSize) {
+                prune(now);
+            }
+            verifiedTokens.put(token, verified);
+            return verified;
+        } catch (JwtException | IllegalArgumentException e) {
+            // 签名错误、格式错误、已过期
+            failures.increment();
+            return null;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            verifications.increment();
+            verifyNanos.add(elapsed);
+            maxVerifyNanos.accumulateAndGet(elapsed, Math::max);
+        }
     }
     
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return requireVerified(token).getUsername();
     }
     
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return new Date(requireVerified(token).getExpiresAtMillis());
     }
     
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -56,19 +148,47 @@ public class JwtService {
     }
     
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
     
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Boolean validateToken(String token, String username) {
+        VerifiedToken verified = verify(token);
+        return verified != null && verified.getUsername().equals(username);
     }
     
-    public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+    /**
+     * 令牌校验统计：缓存命中数、实际验签次数、失败次数和验签耗时
+     */
+    public Map<String, Object> getVerificationStatistics() {
+        long count = verifications.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cacheHits", cacheHits.sum());
+        stats.put("verifications", count);
+        stats.put("failures", failures.sum());
+        stats.put("cachedTokens", verifiedTokens.size());
+        stats.put("averageVerifyMicros", count > 0 ? verifyNanos.sum() / count / 1000.0 : 0.0);
+        stats.put("maxVerifyMicros", maxVerifyNanos.get() / 1000.0);
+        return stats;
+    }
+    
+    private VerifiedToken requireVerified(String token) {
+        VerifiedToken verified = verify(token);
+        if (verified == null) {
+            throw new JwtException("令牌无效或已过期");
+        }
+        return verified;
+    }
+    
+    /**
+     * 缓存已满时先清掉过期令牌，仍然超限再随机淘汰一部分，被淘汰的令牌下次请求重新验签
+     */
+    private void prune(long now) {
+        verifiedTokens.values().removeIf(v -> v.expiresAtMillis <= now);
+        int excess = verifiedTokens.size() - verifyCacheMaxSize * 9 / 10;
+        Iterator<String> it = verifiedTokens.keySet().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
     }
 }
\ No newline at end of file
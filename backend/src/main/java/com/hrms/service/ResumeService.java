@@ -1,8 +1,10 @@
 package com.hrms.service;
 
+import com.hrms.dto.CursorPage;
 import com.hrms.entity.Resume;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,6 +21,13 @@ public interface ResumeService {
      */
     Page<Resume> getResumes(Pageable pageable);
     
+    /**
+     * 多条件搜索简历（游标分页），不统计总数，除非 withTotal 为 true
+     */
+    CursorPage<Resume> searchResumesByCursor(Long candidateId, Resume.ResumeStatus status, String fileType,
+                                             Integer minScore, Integer maxScore, String name, String email,
+                                             String skill, Sort sort, int size, String cursor, boolean withTotal);
+    
     /**
      * 根据候选人ID获取简历
      */
@@ -1,8 +1,10 @@
 package com.hrms.service;
 
+import com.hrms.dto.CursorPage;
 import com.hrms.entity.ThirdPartyPlatform;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -48,6 +50,15 @@ public interface ThirdPartyPlatformService {
                                            ThirdPartyPlatform.SyncStatus syncStatus,
                                            Boolean syncEnabled, Pageable pageable);
     
+    /**
+     * 根据条件查询平台配置（游标分页），不统计总数，除非 withTotal 为 true
+     */
+    CursorPage<ThirdPartyPlatform> searchPlatformsByCursor(String platformName, String platformCode,
+                                                          ThirdPartyPlatform.PlatformStatus status,
+                                                          ThirdPartyPlatform.SyncStatus syncStatus,
+                                                          Boolean syncEnabled, Sort sort, int size,
+                                                          String cursor, boolean withTotal);
+    
     /**
      * 获取激活状态的平台
      */
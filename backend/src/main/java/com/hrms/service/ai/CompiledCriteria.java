@@ -0,0 +1,144 @@
+package com.hrms.service.ai;
+
+import com.hrms.entity.AIEvaluationCriteria;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 预编译的评估标准
+ * 关键词和评分规则在加载时解析一次，关键词按自动机解析为关键词编号（自动机重建时重新解析），
+ * 评分时按编号读取词频向量，只做数组运算。
+ * scoringRules 支持的字段：baseScore（基础分，默认 0；未配置关键词时默认 75）、
+ * keywordWeights（关键词权重，未列出的关键词权重为 1）
+ */
+public final class CompiledCriteria {
+    
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int DEFAULT_SCORE = 75;
+    
+    private final AIEvaluationCriteria criteria;
+    private final String[] keywords;
+    private final double[] weights;
+    private final double totalWeight;
+    private final double baseScore;
+    
+    // 关键词在某个自动机中的编号，自动机被替换后首次评分时重新解析
+    private volatile TermBinding binding;
+    
+    private CompiledCriteria(AIEvaluationCriteria criteria, String[] keywords, double[] weights, double baseScore) {
+        this.criteria = criteria;
+        this.keywords = keywords;
+        this.weights = weights;
+        this.baseScore = baseScore;
+        double sum = 0;
+        for (double weight : weights) {
+            sum += weight;
+        }
+        this.totalWeight = sum;
+    }
+    
+    public static CompiledCriteria compile(AIEvaluationCriteria criteria) {
+        List<String> keywordList = KeywordMatcher.parseKeywords(criteria.getKeywords());
+        String[] keywords = keywordList.toArray(new String[0]);
+        double[] weights = new double[keywords.length];
+        Arrays.fill(weights, 1.0);
+        double baseScore = keywords.length == 0 ? DEFAULT_SCORE : 0;
+        
+        JsonNode rules = parseRules(criteria.getScoringRules());
+        if (rules != null) {
+            if (rules.hasNonNull("baseScore")) {
+                baseScore = Math.max(0, Math.min(100, rules.get("baseScore").asDouble()));
+            }
+            JsonNode keywordWeights = rules.get("keywordWeights");
+            if (keywordWeights != null && keywordWeights.isObject()) {
+                for (int i = 0; i < keywords.length; i++) {
+                    JsonNode weight = keywordWeights.get(keywords[i]);
+                    if (weight != null && weight.isNumber()) {
+                        weights[i] = Math.max(0, weight.asDouble());
+                    }
+                }
+            }
+        }
+        return new CompiledCriteria(criteria, keywords, weights, baseScore);
+    }
+    
+    /**
+     * 根据关键词命中情况评分：基础分 + 命中权重占比 × (100 - 基础分)
+     */
+    public int score(KeywordMatches matches) {
+        if (totalWeight <= 0) {
+            return (int) baseScore;
+        }
+        double matched = 0;
+        int[] termIds = bind(matches.getAutomaton());
+        for (int i = 0; i < termIds.length; i++) {
+            if (termIds[i] >= 0 && matches.count(termIds[i]) > 0) {
+                matched += weights[i];
+            }
+        }
+        return (int) (baseScore + matched / totalWeight * (100 - baseScore));
+    }
+    
+    /**
+     * 关键词在 automaton 中的编号（未收录的为 -1），同一自动机只解析一次
+     */
+    int[] bind(KeywordAutomaton automaton) {
+        TermBinding current = binding;
+        if (current == null || current.automaton != automaton) {
+            int[] termIds = new int[keywords.length];
+            for (int i = 0; i < keywords.length; i++) {
+                termIds[i] = automaton.termId(keywords[i]);
+            }
+            current = new TermBinding(automaton, termIds);
+            binding = current;
+        }
+        return current.termIds;
+    }
+    
+    public AIEvaluationCriteria getCriteria() {
+        return criteria;
+    }
+    
+    public String getName() {
+        return criteria.getName();
+    }
+    
+    public AIEvaluationCriteria.CriteriaCategory getCategory() {
+        return criteria.getCategory();
+    }
+    
+    public double getWeight() {
+        return criteria.getWeight() != null ? criteria.getWeight() : 1.0;
+    }
+    
+    public List<String> getKeywords() {
+        return List.of(keywords);
+    }
+    
+    private static final class TermBinding {
+        
+        final KeywordAutomaton automaton;
+        final int[] termIds;
+        
+        TermBinding(KeywordAutomaton automaton, int[] termIds) {
+            this.automaton = automaton;
+            this.termIds = termIds;
+        }
+    }
+    
+    private static JsonNode parseRules(String scoringRules) {
+        if (scoringRules == null || scoringRules.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = OBJECT_MAPPER.readTree(scoringRules);
+            return node.isObject() ? node : null;
+        } catch (Exception e) {
+            // 评分规则格式不正确时使用默认规则
+            return null;
+        }
+    }
+}
\ No newline at end of file
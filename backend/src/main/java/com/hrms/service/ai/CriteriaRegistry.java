@@ -0,0 +1,93 @@
+package com.hrms.service.ai;
+
+import com.hrms.entity.AIEvaluationCriteria;
+import com.hrms.repository.AIEvaluationCriteriaRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * 评估标准注册表
+ * 启动时加载全部已启用的评估标准并预编译，按（行业, 职级）建立索引；
+ * 标准变更后整体重建并原子替换，评分过程中不再访问数据库
+ */
+@Component
+public class CriteriaRegistry {
+    
+    private static final Logger log = LoggerFactory.getLogger(CriteriaRegistry.class);
+    
+    @Autowired
+    private AIEvaluationCriteriaRepository criteriaRepository;
+    
+    private volatile Snapshot snapshot = new Snapshot(List.of());
+    
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+    
+    /**
+     * 重新加载已启用的评估标准
+     */
+    public synchronized void reload() {
+        try {
+            List<CompiledCriteria> compiled = new ArrayList<>();
+            for (AIEvaluationCriteria criteria : criteriaRepository.findByIsEnabled(true)) {
+                compiled.add(CompiledCriteria.compile(criteria));
+            }
+            snapshot = new Snapshot(compiled);
+        } catch (Exception e) {
+            log.warn("加载评估标准失败，继续使用当前版本: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 获取适用于指定行业和职级的评估标准
+     */
+    public List<CompiledCriteria> getApplicable(String industry, String jobLevel) {
+        return snapshot.byIndustryAndLevel.getOrDefault(indexKey(industry, jobLevel), List.of());
+    }
+    
+    /**
+     * 全部已启用的评估标准
+     */
+    public List<CompiledCriteria> getAll() {
+        return snapshot.all;
+    }
+    
+    /**
+     * 全部已启用评估标准中的关键词
+     */
+    public Set<String> getAllKeywords() {
+        Set<String> keywords = new LinkedHashSet<>();
+        for (CompiledCriteria criteria : snapshot.all) {
+            keywords.addAll(criteria.getKeywords());
+        }
+        return keywords;
+    }
+    
+    private static String indexKey(String industry, String jobLevel) {
+        return industry + "\u0000" + jobLevel;
+    }
+    
+    private static final class Snapshot {
+        final List<CompiledCriteria> all;
+        final Map<String, List<CompiledCriteria>> byIndustryAndLevel;
+        
+        Snapshot(List<CompiledCriteria> criteria) {
+            Map<String, List<CompiledCriteria>> index = new HashMap<>();
+            for (CompiledCriteria compiled : criteria) {
+                AIEvaluationCriteria entity = compiled.getCriteria();
+                index.computeIfAbsent(indexKey(entity.getIndustry(), entity.getJobLevel()), k -> new ArrayList<>())
+                        .add(compiled);
+            }
+            index.replaceAll((key, list) -> List.copyOf(list));
+            this.all = List.copyOf(criteria);
+            this.byIndustryAndLevel = index;
+        }
+    }
+}
\ No newline at end of file
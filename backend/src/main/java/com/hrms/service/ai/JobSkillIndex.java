@@ -0,0 +1,551 @@
+package com.hrms.service.ai;
+
+import com.hrms.entity.Job;
+import com.hrms.repository.JobRepository;
+import com.hrms.service.cache.ClusterEvents;
+import com.hrms.service.cache.IndexChangeTracker;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 在招职位的技能倒排索引
+ * 用共享技能词库从职位要求和描述中提取技能，每个技能对应一个按职位ID升序的倒排表；
+ * 为候选人推荐职位时按 WAND 只对与候选人有共同技能、且得分上界可能进入前 K 的职位计分。
+ * 职位新增、修改、关闭后由 {@link JobSkillIndexListener} 增量同步，只收录 ACTIVE 状态的职位；
+ * 其他实例的修改通过 {@link ClusterEvents} 通知后从数据库重新加载，并定期全量重建对账
+ */
+@Component
+public class JobSkillIndex {
+    
+    private static final Logger log = LoggerFactory.getLogger(JobSkillIndex.class);
+    
+    // 技能按固定顺序编号，倒排表按编号存放，不随评估标准关键词的变化而变化
+    private static final String[] SKILLS = KeywordDictionary.SKILL_KEYWORDS.stream().sorted().toArray(String[]::new);
+    
+    // 职位要求中的技能按两倍词频计
+    private static final int REQUIREMENTS_WEIGHT = 2;
+    
+    // 上界与得分的累加顺序不同，比较时留出舍入误差
+    private static final double EPSILON = 1e-9;
+    
+    private static final String CHANGED_TOPIC = "job-skill-index-changed";
+    private static final String JOB = "job";
+    
+    @Autowired
+    private JobRepository jobRepository;
+    
+    @Autowired
+    private KeywordMatcher keywordMatcher;
+    
+    @Autowired
+    private ClusterEvents clusterEvents;
+    
+    @Value("${ai.job-skill-index.reconcile-interval-minutes:30}")
+    private long reconcileIntervalMinutes;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PostingList[] postings = new PostingList[SKILLS.length];
+    private final Map<Long, int[]> jobSkills = new HashMap<>();
+    private final IndexChangeTracker changes = new IndexChangeTracker();
+    
+    private ScheduledExecutorService reconciler;
+    
+    @PostConstruct
+    public void load() {
+        rebuild();
+        clusterEvents.subscribe(CHANGED_TOPIC, payload -> reload(List.of(Long.valueOf(payload))));
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (reconcileIntervalMinutes <= 0) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "job-skill-index-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcile, reconcileIntervalMinutes, reconcileIntervalMinutes, TimeUnit.MINUTES);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+    
+    /**
+     * 从数据库全量重建：技能在锁外提取，替换时只持有写锁，期间被修改的职位随后按数据库最新状态重新加载
+     */
+    public synchronized void rebuild() {
+        Map<String, Set<Long>> changed = changes.watch();
+        try {
+            List<Job> active = jobRepository.findByStatus(Job.JobStatus.ACTIVE);
+            Map<Long, Map<Integer, Integer>> extracted = new HashMap<>();
+            for (Job job : active) {
+                extracted.put(job.getId(), extract(job));
+            }
+            changes.finish(changed, () -> {
+                lock.writeLock().lock();
+                try {
+                    Arrays.fill(postings, null);
+                    jobSkills.clear();
+                    extracted.forEach(this::putInternal);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            });
+            changed.forEach((type, ids) -> reload(ids));
+            log.info("职位技能索引加载完成，共 {} 个在招职位", active.size());
+        } finally {
+            changes.unwatch(changed);
+        }
+    }
+    
+    private void reconcile() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("职位技能索引对账失败: {}", e.getMessage());
+        }
+    }
+    
+    // ========== 同步 ==========
+    
+    /**
+     * 职位保存后调用，非 ACTIVE 状态的职位从索引中移除
+     */
+    public void onSaved(Job job) {
+        if (job.getId() == null) {
+            return;
+        }
+        Map<Integer, Integer> skills = job.getStatus() == Job.JobStatus.ACTIVE ? extract(job) : null;
+        changes.apply(JOB, job.getId(), () -> apply(job.getId(), skills));
+        clusterEvents.publish(CHANGED_TOPIC, String.valueOf(job.getId()));
+    }
+    
+    public void onRemoved(Job job) {
+        if (job.getId() == null) {
+            return;
+        }
+        changes.apply(JOB, job.getId(), () -> apply(job.getId(), null));
+        clusterEvents.publish(CHANGED_TOPIC, String.valueOf(job.getId()));
+    }
+    
+    /**
+     * 其他实例修改了职位，或重建期间职位被修改，按数据库当前状态重新加载
+     */
+    private void reload(Collection<Long> jobIds) {
+        changes.reload(JOB, jobIds, jobRepository::findAllById, entity -> ((Job) entity).getId(), entity -> {
+            Job job = (Job) entity;
+            apply(job.getId(), job.getStatus() == Job.JobStatus.ACTIVE ? extract(job) : null);
+        }, jobId -> apply(jobId, null));
+    }
+    
+    /**
+     * skills 为 null 时从索引中移除
+     */
+    private void apply(long jobId, Map<Integer, Integer> skills) {
+        lock.writeLock().lock();
+        try {
+            if (skills != null) {
+                putInternal(jobId, skills);
+            } else {
+                removeInternal(jobId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return jobSkills.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // ========== 检索 ==========
+    
+    /**
+     * 文本中出现的技能编号（升序）
+     */
+    public int[] skillsOf(CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return new int[0];
+        }
+        return keywordMatcher.withMatches(text, matches -> {
+            int[] skills = new int[SKILLS.length];
+            int count = 0;
+            for (int i = 0; i < SKILLS.length; i++) {
+                if (matches.contains(SKILLS[i])) {
+                    skills[count++] = i;
+                }
+            }
+            return Arrays.copyOf(skills, count);
+        });
+    }
+    
+    /**
+     * 文本中出现的技能位图（第 i 位对应技能编号 i），用于快速求技能交集
+     */
+    public long[] skillBitmap(CharSequence text) {
+        long[] bitmap = new long[(SKILLS.length + 63) / 64];
+        for (int skill : skillsOf(text)) {
+            bitmap[skill >>> 6] |= 1L << skill;
+        }
+        return bitmap;
+    }
+    
+    public static String skillName(int skill) {
+        return SKILLS[skill];
+    }
+    
+    /**
+     * 与给定技能最匹配的前 K 个职位
+     * 得分 = Σ idf(技能) × 职位中该技能的权重，职位权重按技能总数归一化，要求技能越集中于候选人所会技能的职位得分越高；
+     * 每个倒排表记录权重上界，累计上界达不到当前第 K 名得分的职位直接跳过
+     */
+    public TopJobs topK(int[] querySkills, int k) {
+        if (querySkills.length == 0 || k <= 0) {
+            return TopJobs.EMPTY;
+        }
+        lock.readLock().lock();
+        try {
+            int jobCount = jobSkills.size();
+            Cursor[] cursors = new Cursor[querySkills.length];
+            int live = 0;
+            for (int skill : querySkills) {
+                PostingList list = postings[skill];
+                if (list != null && list.size > 0) {
+                    double idf = Math.log(1 + (double) jobCount / list.size);
+                    cursors[live++] = new Cursor(skill, list, idf);
+                }
+            }
+            
+            // 小顶堆保留得分最高的 k 个职位，同分时ID小的优先
+            PriorityQueue<Hit> heap = new PriorityQueue<>(Hit.WORST_FIRST);
+            double threshold = -1;
+            int evaluated = 0;
+            while (live > 0) {
+                sortByDoc(cursors, live);
+                // 按当前职位ID依次累加上界，找到第一个累计上界达到阈值的位置（枢轴）；
+                // 同分时ID小的优先，与第 K 名同分的职位仍可能入选，不能跳过
+                int pivot = -1;
+                double bound = 0;
+                for (int i = 0; i < live; i++) {
+                    bound += cursors[i].upperBound;
+                    if (bound + EPSILON >= threshold) {
+                        pivot = i;
+                        break;
+                    }
+                }
+                if (pivot < 0) {
+                    break;
+                }
+                long pivotJob = cursors[pivot].job();
+                if (cursors[0].job() == pivotJob) {
+                    // 枢轴之前的游标都停在同一职位上，完整计分
+                    double score = 0;
+                    int matched = 0;
+                    int[] matchedSkills = new int[live];
+                    for (int i = 0; i < live && cursors[i].job() == pivotJob; i++) {
+                        score += cursors[i].idf * cursors[i].weight();
+                        matchedSkills[matched++] = cursors[i].skill;
+                        cursors[i].next();
+                    }
+                    evaluated++;
+                    Hit hit = new Hit(pivotJob, score, Arrays.copyOf(matchedSkills, matched), jobSkills.get(pivotJob).length);
+                    if (heap.size() < k) {
+                        heap.add(hit);
+                    } else if (Hit.WORST_FIRST.compare(hit, heap.peek()) > 0) {
+                        heap.poll();
+                        heap.add(hit);
+                    }
+                    if (heap.size() == k) {
+                        threshold = heap.peek().score;
+                    }
+                } else {
+                    // 枢轴之前的职位上界不够，直接跳到枢轴职位
+                    for (int i = 0; i < pivot; i++) {
+                        cursors[i].skipTo(pivotJob);
+                    }
+                }
+                live = compact(cursors, live);
+            }
+            
+            List<Hit> hits = new ArrayList<>(heap);
+            hits.sort(Hit.WORST_FIRST.reversed());
+            return new TopJobs(hits, jobCount, evaluated);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // ========== 内部 ==========
+    
+    /**
+     * 职位的技能编号及词频
+     */
+    private Map<Integer, Integer> extract(Job job) {
+        Map<Integer, Integer> skills = new TreeMap<>();
+        addField(skills, job.getRequirements(), REQUIREMENTS_WEIGHT);
+        addField(skills, job.getDescription(), 1);
+        return skills;
+    }
+    
+    private void addField(Map<Integer, Integer> skills, String text, int weight) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        keywordMatcher.withMatches(text, matches -> {
+            for (int i = 0; i < SKILLS.length; i++) {
+                int count = matches.count(SKILLS[i]);
+                if (count > 0) {
+                    skills.merge(i, count * weight, Integer::sum);
+                }
+            }
+            return skills;
+        });
+    }
+    
+    private void putInternal(long jobId, Map<Integer, Integer> skills) {
+        removeInternal(jobId);
+        if (skills.isEmpty()) {
+            return;
+        }
+        double norm = Math.sqrt(skills.size());
+        int[] skillIds = new int[skills.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> entry : skills.entrySet()) {
+            int skill = entry.getKey();
+            skillIds[i++] = skill;
+            if (postings[skill] == null) {
+                postings[skill] = new PostingList();
+            }
+            postings[skill].add(jobId, (float) ((1 + Math.log(entry.getValue())) / norm));
+        }
+        jobSkills.put(jobId, skillIds);
+    }
+    
+    private void removeInternal(long jobId) {
+        int[] skills = jobSkills.remove(jobId);
+        if (skills == null) {
+            return;
+        }
+        for (int skill : skills) {
+            PostingList list = postings[skill];
+            if (list != null) {
+                list.remove(jobId);
+            }
+        }
+    }
+    
+    private static void sortByDoc(Cursor[] cursors, int live) {
+        // 查询技能数很少，且每轮只有少数游标移动，插入排序即可
+        for (int i = 1; i < live; i++) {
+            Cursor cursor = cursors[i];
+            int j = i - 1;
+            while (j >= 0 && cursors[j].job() > cursor.job()) {
+                cursors[j + 1] = cursors[j];
+                j--;
+            }
+            cursors[j + 1] = cursor;
+        }
+    }
+    
+    private static int compact(Cursor[] cursors, int live) {
+        int count = 0;
+        for (int i = 0; i < live; i++) {
+            if (!cursors[i].exhausted()) {
+                cursors[count++] = cursors[i];
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * 一次检索的结果
+     */
+    public static final class TopJobs {
+        static final TopJobs EMPTY = new TopJobs(List.of(), 0, 0);
+        
+        private final List<Hit> hits;
+        private final int indexedJobs;
+        private final int evaluatedJobs;
+        
+        TopJobs(List<Hit> hits, int indexedJobs, int evaluatedJobs) {
+            this.hits = hits;
+            this.indexedJobs = indexedJobs;
+            this.evaluatedJobs = evaluatedJobs;
+        }
+        
+        /**
+         * 按得分从高到低排列
+         */
+        public List<Hit> getHits() {
+            return hits;
+        }
+        
+        public int getIndexedJobs() {
+            return indexedJobs;
+        }
+        
+        /**
+         * 实际计分的职位数
+         */
+        public int getEvaluatedJobs() {
+            return evaluatedJobs;
+        }
+    }
+    
+    public static final class Hit {
+        static final Comparator<Hit> WORST_FIRST = (a, b) -> {
+            int cmp = Double.compare(a.score, b.score);
+            return cmp != 0 ? cmp : Long.compare(b.jobId, a.jobId);
+        };
+        
+        private final long jobId;
+        private final double score;
+        private final int[] matchedSkills;
+        private final int jobSkillCount;
+        
+        Hit(long jobId, double score, int[] matchedSkills, int jobSkillCount) {
+            this.jobId = jobId;
+            this.score = score;
+            this.matchedSkills = matchedSkills;
+            this.jobSkillCount = jobSkillCount;
+        }
+        
+        public long getJobId() {
+            return jobId;
+        }
+        
+        public double getScore() {
+            return score;
+        }
+        
+        public List<String> getMatchedSkills() {
+            List<String> names = new ArrayList<>(matchedSkills.length);
+            for (int skill : matchedSkills) {
+                names.add(SKILLS[skill]);
+            }
+            return names;
+        }
+        
+        /**
+         * 职位所需技能中候选人具备的比例（0-100）
+         */
+        public int getSkillCoverage() {
+            return jobSkillCount > 0 ? Math.round(matchedSkills.length * 100f / jobSkillCount) : 0;
+        }
+    }
+    
+    /**
+     * 倒排表上的游标
+     */
+    private static final class Cursor {
+        final int skill;
+        final PostingList list;
+        final double idf;
+        final double upperBound;
+        int pos;
+        
+        Cursor(int skill, PostingList list, double idf) {
+            this.skill = skill;
+            this.list = list;
+            this.idf = idf;
+            this.upperBound = idf * list.maxWeight;
+        }
+        
+        long job() {
+            return list.ids[pos];
+        }
+        
+        float weight() {
+            return list.weights[pos];
+        }
+        
+        boolean exhausted() {
+            return pos >= list.size;
+        }
+        
+        void next() {
+            pos++;
+        }
+        
+        void skipTo(long jobId) {
+            int found = Arrays.binarySearch(list.ids, pos, list.size, jobId);
+            pos = found >= 0 ? found : -(found + 1);
+        }
+    }
+    
+    /**
+     * 按职位ID升序排列的倒排表，记录权重最大值作为该技能的得分上界
+     */
+    private static final class PostingList {
+        long[] ids = new long[4];
+        float[] weights = new float[4];
+        int size;
+        float maxWeight;
+        
+        void add(long jobId, float weight) {
+            int pos = size > 0 && ids[size - 1] < jobId ? -(size + 1) : Arrays.binarySearch(ids, 0, size, jobId);
+            if (pos >= 0) {
+                weights[pos] = weight;
+                recomputeMax();
+                return;
+            }
+            int insertAt = -(pos + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+            ids[insertAt] = jobId;
+            weights[insertAt] = weight;
+            size++;
+            maxWeight = Math.max(maxWeight, weight);
+        }
+        
+        void remove(long jobId) {
+            int pos = Arrays.binarySearch(ids, 0, size, jobId);
+            if (pos < 0) {
+                return;
+            }
+            float removed = weights[pos];
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            System.arraycopy(weights, pos + 1, weights, pos, size - pos - 1);
+            size--;
+            if (removed >= maxWeight) {
+                recomputeMax();
+            }
+        }
+        
+        private void recomputeMax() {
+            float max = 0;
+            for (int i = 0; i < size; i++) {
+                max = Math.max(max, weights[i]);
+            }
+            maxWeight = max;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.hrms.service.ai;
+
+import com.hrms.entity.Job;
+import com.hrms.service.cache.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 实体监听器，职位保存或删除后同步技能索引
+ * 在事务中时推迟到提交之后再更新，回滚的修改不会进入索引
+ */
+@Component
+public class JobSkillIndexListener {
+    
+    @Autowired
+    private ObjectProvider<JobSkillIndex> jobSkillIndex;
+    
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Job job) {
+        AfterCommit.run(() -> jobSkillIndex.ifAvailable(index -> index.onSaved(job)));
+    }
+    
+    @PostRemove
+    public void onRemoved(Job job) {
+        AfterCommit.run(() -> jobSkillIndex.ifAvailable(index -> index.onRemoved(job)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,240 @@
+package com.hrms.service.ai;
+
+import java.util.*;
+
+/**
+ * 多关键词匹配自动机（Aho-Corasick）
+ * 构建完成后不可变，可被多个线程共享；一次扫描文本即可得到所有关键词的命中次数和位置
+ */
+public final class KeywordAutomaton {
+    
+    private static final int ROOT = 0;
+    
+    // 关键词（统一小写）及其编号；termIds 同时收录构建时的原始写法，词库关键词查编号时无需先转小写
+    private final String[] terms;
+    private final Map<String, Integer> termIds;
+    
+    // 压缩后的转移表：state 的出边位于 [edgeStart[state], edgeStart[state + 1])，按字符升序排列
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    
+    // 失败指针
+    private final int[] fail;
+    
+    // 每个状态的输出（已合并失败链上的输出）：位于 [outputStart[state], outputStart[state + 1])
+    private final int[] outputStart;
+    private final int[] outputTerms;
+    
+    private KeywordAutomaton(String[] terms, Map<String, Integer> termIds, int[] edgeStart, char[] edgeChars,
+                             int[] edgeTargets, int[] fail, int[] outputStart, int[] outputTerms) {
+        this.terms = terms;
+        this.termIds = termIds;
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.outputStart = outputStart;
+        this.outputTerms = outputTerms;
+    }
+    
+    /**
+     * 根据关键词集合构建自动机，关键词忽略大小写，重复和空白关键词会被忽略
+     */
+    public static KeywordAutomaton build(Collection<String> keywords) {
+        Map<String, Integer> termIds = new LinkedHashMap<>();
+        for (String keyword : keywords) {
+            if (keyword == null || keyword.isBlank()) {
+                continue;
+            }
+            termIds.putIfAbsent(normalize(keyword), termIds.size());
+        }
+        String[] terms = termIds.keySet().toArray(new String[0]);
+        Map<String, Integer> lookup = new HashMap<>(termIds);
+        for (String keyword : keywords) {
+            if (keyword != null && !keyword.isBlank()) {
+                lookup.putIfAbsent(keyword, termIds.get(normalize(keyword)));
+            }
+        }
+        
+        // 1. 构建字典树
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<List<Integer>> outputs = new ArrayList<>();
+        children.add(new TreeMap<>());
+        outputs.add(new ArrayList<>());
+        
+        for (int termId = 0; termId < terms.length; termId++) {
+            String term = terms[termId];
+            int state = ROOT;
+            for (int i = 0; i < term.length(); i++) {
+                Integer next = children.get(state).get(term.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.add(new TreeMap<>());
+                    outputs.add(new ArrayList<>());
+                    children.get(state).put(term.charAt(i), next);
+                }
+                state = next;
+            }
+            outputs.get(state).add(termId);
+        }
+        
+        int stateCount = children.size();
+        int[] edgeStart = new int[stateCount + 1];
+        for (int state = 0; state < stateCount; state++) {
+            edgeStart[state + 1] = edgeStart[state] + children.get(state).size();
+        }
+        char[] edgeChars = new char[edgeStart[stateCount]];
+        int[] edgeTargets = new int[edgeStart[stateCount]];
+        for (int state = 0; state < stateCount; state++) {
+            int edge = edgeStart[state];
+            for (Map.Entry<Character, Integer> entry : children.get(state).entrySet()) {
+                edgeChars[edge] = entry.getKey();
+                edgeTargets[edge] = entry.getValue();
+                edge++;
+            }
+        }
+        
+        // 2. 广度优先计算失败指针，并沿失败链合并输出
+        int[] fail = new int[stateCount];
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int edge = edgeStart[ROOT]; edge < edgeStart[ROOT + 1]; edge++) {
+            queue.add(edgeTargets[edge]);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int edge = edgeStart[state]; edge < edgeStart[state + 1]; edge++) {
+                char c = edgeChars[edge];
+                int child = edgeTargets[edge];
+                int f = fail[state];
+                int target;
+                while ((target = findEdge(edgeStart, edgeChars, edgeTargets, f, c)) < 0 && f != ROOT) {
+                    f = fail[f];
+                }
+                fail[child] = target >= 0 && target != child ? target : ROOT;
+                outputs.get(child).addAll(outputs.get(fail[child]));
+                queue.add(child);
+            }
+        }
+        
+        int[] outputStart = new int[stateCount + 1];
+        for (int state = 0; state < stateCount; state++) {
+            outputStart[state + 1] = outputStart[state] + outputs.get(state).size();
+        }
+        int[] outputTerms = new int[outputStart[stateCount]];
+        for (int state = 0; state < stateCount; state++) {
+            int index = outputStart[state];
+            for (int termId : outputs.get(state)) {
+                outputTerms[index++] = termId;
+            }
+        }
+        
+        return new KeywordAutomaton(terms, Collections.unmodifiableMap(lookup),
+                edgeStart, edgeChars, edgeTargets, fail, outputStart, outputTerms);
+    }
+    
+    /**
+     * 扫描文本，返回按关键词编号索引的命中次数
+     * 文本按字符逐个转小写，无需调用方预先复制一份小写文本；关键词按字面匹配，不涉及正则；
+     * 同一关键词的命中互不重叠（与 indexOf 逐次查找的计数结果一致）
+     */
+    public KeywordMatches match(CharSequence text) {
+        return match(text, null, false);
+    }
+    
+    /**
+     * 同 {@link #match(CharSequence)}，reuse 由本自动机生成时清零后复用；
+     * recordPositions 为 true 时同时记录每次命中的起始位置，为 false 时扫描过程不再分配内存
+     */
+    public KeywordMatches match(CharSequence text, KeywordMatches reuse, boolean recordPositions) {
+        KeywordMatches matches = (reuse != null && reuse.getAutomaton() == this ? reuse.reset() : new KeywordMatches(this))
+                .recordPositions(recordPositions);
+        if (text == null || terms.length == 0) {
+            return matches;
+        }
+        
+        int[] lastEnd = matches.lastEnd;
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next;
+            while ((next = findEdge(edgeStart, edgeChars, edgeTargets, state, c)) < 0 && state != ROOT) {
+                state = fail[state];
+            }
+            state = next >= 0 ? next : ROOT;
+            
+            for (int out = outputStart[state]; out < outputStart[state + 1]; out++) {
+                int termId = outputTerms[out];
+                int start = i + 1 - terms[termId].length();
+                if (start >= lastEnd[termId]) {
+                    lastEnd[termId] = i + 1;
+                    matches.record(termId, start);
+                }
+            }
+        }
+        return matches;
+    }
+    
+    /**
+     * 关键词数量
+     */
+    public int size() {
+        return terms.length;
+    }
+    
+    /**
+     * 获取关键词编号，不存在时返回 -1
+     */
+    public int termId(String keyword) {
+        if (keyword == null) {
+            return -1;
+        }
+        Integer id = termIds.get(keyword);
+        if (id == null) {
+            String normalized = normalize(keyword);
+            id = normalized != keyword ? termIds.get(normalized) : null;
+        }
+        return id != null ? id : -1;
+    }
+    
+    /**
+     * 根据编号获取关键词（小写形式）
+     */
+    public String term(int termId) {
+        return terms[termId];
+    }
+    
+    static String normalize(String keyword) {
+        // 已是小写时直接返回原字符串
+        int first = 0;
+        while (first < keyword.length() && Character.toLowerCase(keyword.charAt(first)) == keyword.charAt(first)) {
+            first++;
+        }
+        if (first == keyword.length()) {
+            return keyword;
+        }
+        StringBuilder sb = new StringBuilder(keyword.length());
+        sb.append(keyword, 0, first);
+        for (int i = first; i < keyword.length(); i++) {
+            sb.append(Character.toLowerCase(keyword.charAt(i)));
+        }
+        return sb.toString();
+    }
+    
+    private static int findEdge(int[] edgeStart, char[] edgeChars, int[] edgeTargets, int state, char c) {
+        int low = edgeStart[state];
+        int high = edgeStart[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = edgeChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+}
\ No newline at end of file
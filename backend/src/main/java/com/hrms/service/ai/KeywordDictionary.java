@@ -0,0 +1,75 @@
+package com.hrms.service.ai;
+
+import java.util.*;
+
+/**
+ * 简历评分共用的关键词词库
+ */
+public final class KeywordDictionary {
+    
+    // 技能关键词库
+    public static final Set<String> SKILL_KEYWORDS = Set.of(
+        // 编程语言
+        "Java", "Python", "JavaScript", "TypeScript", "C++", "C#", "Go", "Rust", "PHP", "Ruby",
+        // 前端技术
+        "React", "Vue", "Angular", "HTML", "CSS", "jQuery", "Bootstrap", "Webpack", "Vite",
+        // 后端技术
+        "Spring", "SpringBoot", "Node.js", "Express", "Django", "Flask", "Laravel", "Rails",
+        // 数据库
+        "MySQL", "PostgreSQL", "MongoDB", "Redis", "Oracle", "SQL Server", "SQLite",
+        // 云服务
+        "AWS", "Azure", "阿里云", "腾讯云", "Docker", "Kubernetes", "Jenkins",
+        // 其他技能
+        "Git", "Linux", "Nginx", "Apache", "Elasticsearch", "Kafka", "RabbitMQ"
+    );
+    
+    // 软技能关键词库
+    public static final Map<String, List<String>> SOFT_SKILLS_KEYWORDS = Map.of(
+        "communication", Arrays.asList("沟通", "表达", "演讲", "presentation", "交流", "协调"),
+        "leadership", Arrays.asList("领导", "管理", "带领", "团队", "leader", "主导", "负责"),
+        "teamwork", Arrays.asList("团队合作", "协作", "配合", "team", "合作", "协同"),
+        "problemSolving", Arrays.asList("解决问题", "分析", "思考", "创新", "优化", "改进"),
+        "adaptability", Arrays.asList("适应", "学习", "灵活", "快速", "转换", "调整"),
+        "timeManagement", Arrays.asList("时间管理", "效率", "deadline", "进度", "规划"),
+        "creativity", Arrays.asList("创意", "创新", "设计", "想象", "原创", "独特")
+    );
+    
+    // 行业专业知识关键词库
+    public static final Map<String, List<String>> INDUSTRY_KEYWORDS = Map.of(
+        "IT", Arrays.asList("软件", "开发", "编程", "系统", "数据库", "云计算", "AI", "machine learning"),
+        "Finance", Arrays.asList("金融", "投资", "银行", "风控", "财务", "会计", "审计", "税务"),
+        "Healthcare", Arrays.asList("医疗", "健康", "医院", "诊断", "治疗", "药物", "护理"),
+        "Education", Arrays.asList("教育", "教学", "培训", "课程", "学习", "知识", "研究"),
+        "Marketing", Arrays.asList("市场", "营销", "品牌", "推广", "广告", "客户", "销售"),
+        "Manufacturing", Arrays.asList("制造", "生产", "工艺", "质量", "流程", "设备", "供应链")
+    );
+    
+    // 文化匹配正向特质
+    public static final List<String> POSITIVE_TRAITS = Arrays.asList("积极", "主动", "责任", "诚信", "创新", "学习", "合作");
+    
+    // 各评估项使用的信号词（简历完整性、经验、语言、项目管理、创新、问题解决、领导力）
+    public static final List<String> SIGNAL_KEYWORDS = Arrays.asList(
+        "姓名", "联系方式", "教育", "学历", "工作", "经验", "技能", "专业",
+        "项目", "负责", "开发", "管理", "团队",
+        "cet-6", "六级", "cet-4", "四级", "雅思", "ielts", "托福", "toefl", "fluent english", "英语流利",
+        "日语", "japanese", "韩语", "korean",
+        "pmp", "scrum", "敏捷", "jira", "confluence",
+        "专利", "发明", "博客", "github", "开源",
+        "解决了", "优化了", "改进了",
+        "项目经理", "项目负责人"
+    );
+    
+    private KeywordDictionary() {}
+    
+    /**
+     * 词库中全部关键词
+     */
+    public static Set<String> allKeywords() {
+        Set<String> keywords = new LinkedHashSet<>(SKILL_KEYWORDS);
+        SOFT_SKILLS_KEYWORDS.values().forEach(keywords::addAll);
+        INDUSTRY_KEYWORDS.values().forEach(keywords::addAll);
+        keywords.addAll(POSITIVE_TRAITS);
+        keywords.addAll(SIGNAL_KEYWORDS);
+        return keywords;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,117 @@
+package com.hrms.service.ai;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 共享的关键词匹配器
+ * 由内置词库和已启用评估标准中的关键词构建一个自动机，简历文本只需扫描一遍
+ */
+@Component
+public class KeywordMatcher {
+    
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    
+    @Autowired
+    private CriteriaRegistry criteriaRegistry;
+    
+    private volatile KeywordAutomaton automaton = KeywordAutomaton.build(KeywordDictionary.allKeywords());
+    
+    // 每个线程缓存一个词频向量，评分线程池的工作线程和请求线程各自复用
+    private final ThreadLocal<KeywordMatches> scratch = new ThreadLocal<>();
+    
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+    
+    /**
+     * 扫描文本（忽略大小写），返回所有关键词的命中结果
+     */
+    public KeywordMatches match(CharSequence text) {
+        return automaton.match(text);
+    }
+    
+    /**
+     * 扫描文本并记录每个关键词的命中位置（{@link KeywordMatches#positions}），每次新建结果
+     */
+    public KeywordMatches matchWithPositions(CharSequence text) {
+        return automaton.match(text, null, true);
+    }
+    
+    /**
+     * 用当前线程缓存的词频向量扫描文本，用完后必须调用 {@link #release} 归还，归还后不能再读取；
+     * 取用期间同一线程再次 acquire（嵌套）时新建向量，自动机已被替换时同样新建
+     */
+    public KeywordMatches acquire(CharSequence text) {
+        KeywordMatches reuse = scratch.get();
+        scratch.set(null);
+        return automaton.match(text, reuse, false);
+    }
+    
+    public void release(KeywordMatches matches) {
+        if (matches != null) {
+            scratch.set(matches);
+        }
+    }
+    
+    /**
+     * 用当前线程缓存的词频向量扫描文本并交给 analysis 处理，analysis 的结果不能引用该向量
+     */
+    public <T> T withMatches(CharSequence text, Function<KeywordMatches, T> analysis) {
+        KeywordMatches matches = acquire(text);
+        try {
+            return analysis.apply(matches);
+        } finally {
+            release(matches);
+        }
+    }
+    
+    /**
+     * 评估标准变更后重建自动机，构建完成后整体替换，不影响正在进行的匹配；
+     * 替换前先把评估标准的关键词解析为新自动机中的编号
+     */
+    public void rebuild() {
+        Set<String> keywords = KeywordDictionary.allKeywords();
+        keywords.addAll(criteriaRegistry.getAllKeywords());
+        KeywordAutomaton rebuilt = KeywordAutomaton.build(keywords);
+        for (CompiledCriteria criteria : criteriaRegistry.getAll()) {
+            criteria.bind(rebuilt);
+        }
+        automaton = rebuilt;
+    }
+    
+    public KeywordAutomaton getAutomaton() {
+        return automaton;
+    }
+    
+    /**
+     * 解析评估标准的关键词字段，支持 JSON 数组或以逗号、分号分隔的文本
+     */
+    public static List<String> parseKeywords(String keywords) {
+        if (keywords == null || keywords.isBlank()) {
+            return List.of();
+        }
+        String trimmed = keywords.trim();
+        if (trimmed.startsWith("[")) {
+            try {
+                return OBJECT_MAPPER.readValue(trimmed, new TypeReference<List<String>>() {});
+            } catch (Exception e) {
+                // JSON 格式不正确时按分隔符解析
+            }
+        }
+        List<String> result = new ArrayList<>();
+        for (String keyword : trimmed.replaceAll("[\\[\\]\"]", "").split("[,，;；]")) {
+            if (!keyword.isBlank()) {
+                result.add(keyword.trim());
+            }
+        }
+        return result;
+    }
+}
\ No newline at end of file
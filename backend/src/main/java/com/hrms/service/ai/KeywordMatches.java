@@ -0,0 +1,130 @@
+package com.hrms.service.ai;
+
+import java.util.Arrays;
+
+/**
+ * 一次扫描得到的关键词词频向量，按关键词编号索引
+ * 只包含两个与词库等长的 int 数组，由 {@link KeywordMatcher#acquire} 按线程复用，评分线程池的每个工作线程只分配一份；
+ * 同一份简历的各评分项共用一个向量，按关键词查询次数时不产生新对象。
+ * 需要命中位置时扫描前开启位置记录（{@link KeywordMatcher#matchWithPositions}），评分路径只计数，不记录位置
+ */
+public final class KeywordMatches {
+    
+    private final KeywordAutomaton automaton;
+    private final int[] counts;
+    
+    // 扫描时每个关键词上次命中的结束位置，用于排除重叠命中
+    final int[] lastEnd;
+    
+    private int totalHits;
+    
+    // 开启位置记录时按出现顺序记录的命中（关键词编号, 起始位置），首次开启时才分配
+    private boolean recordPositions;
+    private int[] hitTerms;
+    private int[] hitStarts;
+    
+    KeywordMatches(KeywordAutomaton automaton) {
+        this.automaton = automaton;
+        this.counts = new int[automaton.size()];
+        this.lastEnd = new int[automaton.size()];
+    }
+    
+    void record(int termId, int start) {
+        counts[termId]++;
+        if (recordPositions) {
+            if (totalHits == hitTerms.length) {
+                hitTerms = Arrays.copyOf(hitTerms, totalHits * 2);
+                hitStarts = Arrays.copyOf(hitStarts, totalHits * 2);
+            }
+            hitTerms[totalHits] = termId;
+            hitStarts[totalHits] = start;
+        }
+        totalHits++;
+    }
+    
+    KeywordMatches reset() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(lastEnd, 0);
+        totalHits = 0;
+        return this;
+    }
+    
+    KeywordMatches recordPositions(boolean enabled) {
+        recordPositions = enabled;
+        if (enabled && hitTerms == null) {
+            hitTerms = new int[16];
+            hitStarts = new int[16];
+        }
+        return this;
+    }
+    
+    /**
+     * 关键词命中次数，未收录的关键词返回 0
+     */
+    public int count(String keyword) {
+        int termId = automaton.termId(keyword);
+        return termId >= 0 ? counts[termId] : 0;
+    }
+    
+    public int count(int termId) {
+        return counts[termId];
+    }
+    
+    /**
+     * 是否命中该关键词
+     */
+    public boolean contains(String keyword) {
+        return count(keyword) > 0;
+    }
+    
+    /**
+     * 是否命中任意一个关键词
+     */
+    public boolean containsAny(String... keywords) {
+        for (String keyword : keywords) {
+            if (contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 关键词在文本中的起始位置（升序），未命中或未收录时返回空数组；扫描时未开启位置记录则抛出异常
+     */
+    public int[] positions(String keyword) {
+        if (!recordPositions) {
+            throw new IllegalStateException("扫描时未开启位置记录");
+        }
+        int termId = automaton.termId(keyword);
+        if (termId < 0 || counts[termId] == 0) {
+            return new int[0];
+        }
+        int[] positions = new int[counts[termId]];
+        int index = 0;
+        for (int i = 0; i < totalHits; i++) {
+            if (hitTerms[i] == termId) {
+                positions[index++] = hitStarts[i];
+            }
+        }
+        return positions;
+    }
+    
+    /**
+     * 词频向量本身（下标为关键词编号），只读
+     */
+    public int[] frequencies() {
+        return counts;
+    }
+    
+    /**
+     * 全部命中次数之和
+     */
+    public int totalHits() {
+        return totalHits;
+    }
+    
+    public KeywordAutomaton getAutomaton() {
+        return automaton;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,271 @@
+package com.hrms.service.ai;
+
+import com.hrms.dto.MatchScore;
+import com.hrms.entity.Job;
+import com.hrms.entity.Resume;
+import com.hrms.service.cache.StripedLruCache;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * 匹配评分缓存
+ * 缓存键由简历内容哈希、职位要求哈希和评估标准版本组成，简历、职位或评估标准任一变化都会使旧结果失效；
+ * 进程内按分段 LRU 限制条数（并行评分的各线程同时读取时不争用同一把锁），可选开启 Redis 作为二级缓存在多个实例间共享；
+ * 开启 Redis 时评估标准版本号保存在 Redis 中，各实例本地缓存版本号并定期刷新，不必每次组装键都访问 Redis
+ */
+@Component
+public class MatchScoreCache {
+    
+    private static final Logger log = LoggerFactory.getLogger(MatchScoreCache.class);
+    
+    private static final String KEY_PREFIX = "hrms:ai:score:";
+    private static final String VERSION_PREFIX = "hrms:ai:criteria-version:";
+    private static final String GLOBAL_SCOPE = "*";
+    
+    private static final TypeReference<MatchScore> SCORE_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<String>> LIST_TYPE = new TypeReference<>() {};
+    
+    @Value("${ai.score-cache.max-size:10000}")
+    private int maxSize;
+    
+    @Value("${ai.score-cache.redis-enabled:false}")
+    private boolean redisEnabled;
+    
+    @Value("${ai.score-cache.redis-ttl-minutes:1440}")
+    private long redisTtlMinutes;
+    
+    @Value("${ai.score-cache.version-refresh-ms:5000}")
+    private long versionRefreshMs;
+    
+    @Autowired
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    // 本地缓存的分段数
+    private static final int LOCAL_CACHE_STRIPES = 16;
+    
+    // 各行业评估标准的版本号，"*" 表示适用于所有行业的标准
+    private final Map<String, CriteriaVersion> criteriaVersions = new ConcurrentHashMap<>();
+    
+    private StripedLruCache<String, Object> localCache;
+    
+    @PostConstruct
+    public void init() {
+        localCache = new StripedLruCache<>(Math.max(16, maxSize), LOCAL_CACHE_STRIPES);
+    }
+    
+    /**
+     * 获取匹配评分，未命中时计算并写入缓存；带 error 的结果不缓存
+     * 缓存只保存各维度分数和权重，不保存说明部分
+     */
+    public MatchScore getMatchScore(Resume resume, Job job, Supplier<MatchScore> loader) {
+        MatchScore value = getOrLoad("match", resume, job, SCORE_TYPE, loader, result -> result.getError() == null);
+        // 调用方会在结果上补充简历信息和说明，返回副本避免污染缓存
+        return value.copyScores();
+    }
+    
+    /**
+     * 获取改进建议，未命中时计算并写入缓存；loader 抛出异常时不缓存
+     * 返回不可修改的列表，调用方不能改动缓存中的结果
+     */
+    public List<String> getSuggestions(Resume resume, Job job, Supplier<List<String>> loader) {
+        List<String> value = getOrLoad("suggestions", resume, job, LIST_TYPE, loader, result -> true);
+        return value != null ? List.copyOf(value) : null;
+    }
+    
+    /**
+     * 评估标准变更后调用，使对应行业（为空时为全部行业）的缓存失效
+     */
+    public void invalidateCriteria(String industry) {
+        String scope = industry == null || industry.isBlank() ? GLOBAL_SCOPE : industry;
+        Long shared = null;
+        StringRedisTemplate redis = redis();
+        if (redis != null) {
+            try {
+                shared = redis.opsForValue().increment(VERSION_PREFIX + scope);
+            } catch (Exception e) {
+                log.warn("更新Redis评估标准版本失败: {}", e.getMessage());
+            }
+        }
+        Long incremented = shared;
+        criteriaVersions.compute(scope, (k, current) -> {
+            long local = current != null ? current.value + 1 : 1;
+            return new CriteriaVersion(incremented != null ? Math.max(incremented, local) : local, refreshAt());
+        });
+        if (GLOBAL_SCOPE.equals(scope)) {
+            localCache.clear();
+        }
+    }
+    
+    /**
+     * 其他实例变更评估标准后调用，只使本实例的缓存失效
+     * 开启 Redis 时共享版本号已由发起变更的实例递增，这里重新读取而不在本地自增：
+     * 本地自增得到的版本号可能落后于共享版本号，对应的键在 Redis 中仍可能存有旧标准下的评分
+     */
+    public void invalidateLocal(String industry) {
+        String scope = industry == null || industry.isBlank() ? GLOBAL_SCOPE : industry;
+        Long shared = null;
+        StringRedisTemplate redis = redis();
+        if (redis != null) {
+            try {
+                String version = redis.opsForValue().get(VERSION_PREFIX + scope);
+                shared = version != null ? Long.parseLong(version) : 0L;
+            } catch (Exception e) {
+                log.warn("读取Redis评估标准版本失败: {}", e.getMessage());
+            }
+        }
+        Long latest = shared;
+        criteriaVersions.compute(scope, (k, current) -> {
+            long local = current != null ? current.value : 0;
+            if (latest != null) {
+                return new CriteriaVersion(Math.max(latest, local), refreshAt());
+            }
+            // 未开启 Redis 时只有本地键，自增即可；读取失败时同样自增，并让下次组装键时立即重试读取
+            return new CriteriaVersion(local + 1, redis != null ? System.nanoTime() : refreshAt());
+        });
+        if (GLOBAL_SCOPE.equals(scope)) {
+            localCache.clear();
+        }
+    }
+    
+    public void clear() {
+        localCache.clear();
+    }
+    
+    public int size() {
+        return localCache.size();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> T getOrLoad(String kind, Resume resume, Job job, TypeReference<T> type, Supplier<T> loader,
+                            Predicate<T> cacheable) {
+        String key = buildKey(kind, resume, job);
+        
+        Object local = localCache.get(key);
+        if (local != null) {
+            return (T) local;
+        }
+        
+        StringRedisTemplate redis = redis();
+        if (redis != null) {
+            try {
+                String json = redis.opsForValue().get(key);
+                if (json != null) {
+                    T value = objectMapper.readValue(json, type);
+                    localCache.put(key, value);
+                    return value;
+                }
+            } catch (Exception e) {
+                log.warn("读取Redis评分缓存失败: {}", e.getMessage());
+            }
+        }
+        
+        T value = loader.get();
+        if (value != null && cacheable.test(value)) {
+            localCache.put(key, value);
+            if (redis != null) {
+                try {
+                    redis.opsForValue().set(key, objectMapper.writeValueAsString(value), Duration.ofMinutes(redisTtlMinutes));
+                } catch (Exception e) {
+                    log.warn("写入Redis评分缓存失败: {}", e.getMessage());
+                }
+            }
+        }
+        return value;
+    }
+    
+    private String buildKey(String kind, Resume resume, Job job) {
+        String industry = job.getDepartment();
+        return KEY_PREFIX + kind + ":" + resumeHash(resume) + ":" + jobHash(job) + ":"
+                + criteriaVersion(GLOBAL_SCOPE) + "." + criteriaVersion(industry);
+    }
+    
+    /**
+     * 本地缓存的版本号，开启 Redis 时过了刷新时间才重新读取其他实例递增后的版本号
+     */
+    private long criteriaVersion(String scope) {
+        if (scope == null || scope.isBlank()) {
+            return 0;
+        }
+        CriteriaVersion cached = criteriaVersions.get(scope);
+        StringRedisTemplate redis = redis();
+        if (redis == null) {
+            return cached != null ? cached.value : 0;
+        }
+        if (cached != null && cached.refreshAtNanos - System.nanoTime() > 0) {
+            return cached.value;
+        }
+        long value = cached != null ? cached.value : 0;
+        try {
+            String version = redis.opsForValue().get(VERSION_PREFIX + scope);
+            // 不回退到更小的版本号，避免重新用到失效前的键
+            value = Math.max(value, version != null ? Long.parseLong(version) : 0);
+        } catch (Exception e) {
+            log.warn("读取Redis评估标准版本失败: {}", e.getMessage());
+        }
+        long refreshed = value;
+        return criteriaVersions.merge(scope, new CriteriaVersion(refreshed, refreshAt()),
+                (current, fresh) -> current.value > fresh.value ? current : fresh).value;
+    }
+    
+    private long refreshAt() {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, versionRefreshMs));
+    }
+    
+    private StringRedisTemplate redis() {
+        return redisEnabled ? redisTemplateProvider.getIfAvailable() : null;
+    }
+    
+    private static String resumeHash(Resume resume) {
+        return sha256(resume.getParsedContent(), resume.getExtractedSkills(),
+                resume.getExtractedExperience(), resume.getExtractedEducation());
+    }
+    
+    private static String jobHash(Job job) {
+        return sha256(job.getTitle(), job.getDescription(), job.getRequirements(),
+                job.getDepartment(), job.getSalaryMin(), job.getSalaryMax());
+    }
+    
+    private static final class CriteriaVersion {
+        
+        final long value;
+        final long refreshAtNanos;
+        
+        CriteriaVersion(long value, long refreshAtNanos) {
+            this.value = value;
+            this.refreshAtNanos = refreshAtNanos;
+        }
+    }
+    
+    private static String sha256(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package com.hrms.service.ai;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * 并行评分排序器
+ * 在固定并行度的 ForkJoinPool 上评分，每个工作线程从共享游标领取下一项，同时在途的评分数不超过并行度；
+ * 指定 topK 时每个工作线程只保留本地前 K 名（小顶堆），最后合并
+ */
+@Component
+public class ParallelRanker {
+    
+    // 排序规则：分数降序，同分按原始顺序
+    private static final Comparator<Scored<?>> RANK_ORDER = Comparator
+            .comparingInt((Scored<?> s) -> s.score).reversed()
+            .thenComparingInt(s -> s.index);
+    
+    @Value("${ai.ranking.parallelism:0}")
+    private int parallelism;
+    
+    @Value("${ai.ranking.parallel-threshold:32}")
+    private int parallelThreshold;
+    
+    private ForkJoinPool pool;
+    
+    @PostConstruct
+    public void init() {
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+    
+    /**
+     * 对所有项评分并按分数降序返回
+     *
+     * @param items  待评分项
+     * @param scorer 评分函数，需线程安全
+     * @param score  从评分结果中取出排序分数
+     * @param topK   只保留前 K 名，小于等于 0 表示全部保留
+     */
+    public <T, R> List<R> rank(List<T> items, Function<T, R> scorer, ToIntFunction<R> score, int topK) {
+        return rank(items, scorer, score, topK, null);
+    }
+    
+    /**
+     * 同 {@link #rank(List, Function, ToIntFunction, int)}，每评完一项立即交给 onScored，
+     * 调用方可以边评分边推送进度或中间结果，不必等全部评完；最终排名仍以返回值为准
+     *
+     * @param onScored 在工作线程上按完成顺序调用，需线程安全；每项恰好调用一次，为 null 时不回调
+     */
+    public <T, R> List<R> rank(List<T> items, Function<T, R> scorer, ToIntFunction<R> score, int topK,
+                               Consumer<? super R> onScored) {
+        int limit = topK > 0 ? Math.min(topK, items.size()) : items.size();
+        if (limit == 0) {
+            return new ArrayList<>();
+        }
+        
+        List<Scored<R>> merged = new ArrayList<>();
+        if (items.size() < parallelThreshold || parallelism == 1) {
+            merged.addAll(scoreRange(items, scorer, score, limit, onScored, new AtomicInteger()));
+        } else {
+            AtomicInteger cursor = new AtomicInteger();
+            int workers = Math.min(parallelism, items.size());
+            List<Callable<Collection<Scored<R>>>> tasks = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                tasks.add(() -> scoreRange(items, scorer, score, limit, onScored, cursor));
+            }
+            for (Collection<Scored<R>> partial : invokeAll(tasks)) {
+                merged.addAll(partial);
+            }
+        }
+        
+        merged.sort(RANK_ORDER);
+        List<R> ranked = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            ranked.add(merged.get(i).value);
+        }
+        return ranked;
+    }
+    
+    /**
+     * 并行对每一项执行操作（如为排序后的结果生成说明），操作需线程安全
+     */
+    public <T> void forEach(List<T> items, Consumer<T> action) {
+        if (items.size() < parallelThreshold || parallelism == 1) {
+            items.forEach(action);
+            return;
+        }
+        AtomicInteger cursor = new AtomicInteger();
+        int workers = Math.min(parallelism, items.size());
+        List<Callable<Void>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            tasks.add(() -> {
+                int index;
+                while ((index = cursor.getAndIncrement()) < items.size()) {
+                    action.accept(items.get(index));
+                }
+                return null;
+            });
+        }
+        invokeAll(tasks);
+    }
+    
+    public int getParallelism() {
+        return parallelism;
+    }
+    
+    private <V> List<V> invokeAll(List<Callable<V>> tasks) {
+        try {
+            List<V> results = new ArrayList<>(tasks.size());
+            for (Future<V> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("批量评分被中断", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("批量评分失败: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+    
+    private <T, R> Collection<Scored<R>> scoreRange(List<T> items, Function<T, R> scorer, ToIntFunction<R> score,
+                                                    int limit, Consumer<? super R> onScored,
+                                                    AtomicInteger cursor) {
+        boolean bounded = limit < items.size();
+        // 小顶堆：堆顶是当前保留结果中排名最靠后的一项
+        PriorityQueue<Scored<R>> heap = bounded ? new PriorityQueue<>(limit + 1, RANK_ORDER.reversed()) : null;
+        List<Scored<R>> all = bounded ? null : new ArrayList<>();
+        
+        int index;
+        while ((index = cursor.getAndIncrement()) < items.size()) {
+            R result = scorer.apply(items.get(index));
+            if (onScored != null) {
+                onScored.accept(result);
+            }
+            Scored<R> scored = new Scored<>(score.applyAsInt(result), index, result);
+            if (!bounded) {
+                all.add(scored);
+            } else if (heap.size() < limit) {
+                heap.add(scored);
+            } else if (RANK_ORDER.compare(scored, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(scored);
+            }
+        }
+        return bounded ? heap : all;
+    }
+    
+    private static final class Scored<R> {
+        final int score;
+        final int index;
+        final R value;
+        
+        Scored(int score, int index, R value) {
+            this.score = score;
+            this.index = index;
+            this.value = value;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,282 @@
+package com.hrms.service.ai;
+
+import java.util.Arrays;
+
+/**
+ * 简历文本的归一化视图
+ * 构造时扫描一遍原文：转小写、全角字母数字和标点转半角、全角空格转半角空格，
+ * 同时记录数字串、英文单词、中文串的位置。归一化前后字符一一对应，位置可直接用于截取原文；
+ * 姓名、电话、邮箱、学历、年限等字段都从这一个视图提取，不再各自编译正则或复制小写文本
+ */
+public final class ResumeText {
+    
+    public static final byte DIGITS = 1;
+    public static final byte LATIN = 2;
+    public static final byte CJK = 3;
+    
+    private static final ResumeText EMPTY = new ResumeText("");
+    
+    private final String original;
+    private final String normalized;
+    private final int lineCount;
+    private final int firstAt;
+    
+    // 按出现顺序记录的词元：[tokenStarts[i], tokenEnds[i])，类型为 tokenTypes[i]
+    private int[] tokenStarts = new int[32];
+    private int[] tokenEnds = new int[32];
+    private byte[] tokenTypes = new byte[32];
+    private int tokenCount;
+    
+    private ResumeText(String content) {
+        this.original = content;
+        int length = content.length();
+        char[] chars = new char[length];
+        int lines = length > 0 ? 1 : 0;
+        int at = -1;
+        byte currentType = 0;
+        int tokenStart = 0;
+        for (int i = 0; i < length; i++) {
+            char c = normalize(content.charAt(i));
+            chars[i] = c;
+            if (c == '\n') {
+                lines++;
+            } else if (c == '@' && at < 0) {
+                at = i;
+            }
+            byte type = typeOf(c);
+            if (type != currentType) {
+                if (currentType != 0) {
+                    addToken(tokenStart, i, currentType);
+                }
+                currentType = type;
+                tokenStart = i;
+            }
+        }
+        if (currentType != 0) {
+            addToken(tokenStart, length, currentType);
+        }
+        this.normalized = new String(chars);
+        this.lineCount = lines;
+        this.firstAt = at;
+    }
+    
+    public static ResumeText of(String content) {
+        return content == null || content.isEmpty() ? EMPTY : new ResumeText(content);
+    }
+    
+    // ========== 基础视图 ==========
+    
+    public String original() {
+        return original;
+    }
+    
+    /**
+     * 归一化后的文本，长度与原文相同
+     */
+    public CharSequence normalized() {
+        return normalized;
+    }
+    
+    public int length() {
+        return normalized.length();
+    }
+    
+    public int lineCount() {
+        return lineCount;
+    }
+    
+    /**
+     * 归一化文本中是否包含该片段（片段须为小写半角）
+     */
+    public boolean contains(String fragment) {
+        return normalized.contains(fragment);
+    }
+    
+    public int indexOf(String fragment, int from) {
+        return normalized.indexOf(fragment, from);
+    }
+    
+    public int tokenCount() {
+        return tokenCount;
+    }
+    
+    public int tokenStart(int index) {
+        return tokenStarts[index];
+    }
+    
+    public int tokenEnd(int index) {
+        return tokenEnds[index];
+    }
+    
+    public byte tokenType(int index) {
+        return tokenTypes[index];
+    }
+    
+    // ========== 字段提取 ==========
+    
+    /**
+     * “姓名：”之后到下一个空白前的内容，取自原文
+     */
+    public String name() {
+        for (int index = normalized.indexOf("姓名:"); index >= 0; index = normalized.indexOf("姓名:", index + 1)) {
+            int start = index + 3;
+            int end = start;
+            while (end < normalized.length() && !isWhitespace(normalized.charAt(end))) {
+                end++;
+            }
+            if (end > start) {
+                return original.substring(start, end);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 第一个 11 位手机号（1[3-9] 开头），全角数字按半角返回
+     */
+    public String phone() {
+        for (int i = 0; i < tokenCount; i++) {
+            if (tokenTypes[i] != DIGITS) {
+                continue;
+            }
+            for (int p = tokenStarts[i]; p + 11 <= tokenEnds[i]; p++) {
+                char second = normalized.charAt(p + 1);
+                if (normalized.charAt(p) == '1' && second >= '3' && second <= '9') {
+                    return normalized.substring(p, p + 11);
+                }
+            }
+        }
+        return null;
+    }
+    
+    public boolean hasPhone() {
+        return phone() != null;
+    }
+    
+    public boolean hasAt() {
+        return firstAt >= 0;
+    }
+    
+    /**
+     * 第一个邮箱地址（local@domain.tld），取自原文
+     */
+    public String email() {
+        for (int at = original.indexOf('@'); at >= 0; at = original.indexOf('@', at + 1)) {
+            int start = at;
+            while (start > 0 && isEmailLocalChar(original.charAt(start - 1))) {
+                start--;
+            }
+            if (start == at) {
+                continue;
+            }
+            int domainEnd = at + 1;
+            while (domainEnd < original.length() && isEmailDomainChar(original.charAt(domainEnd))) {
+                domainEnd++;
+            }
+            // 域名中最后一个后面至少跟两个字母的点
+            for (int dot = domainEnd - 3; dot > at + 1; dot--) {
+                if (original.charAt(dot) == '.' && isAsciiLetter(original.charAt(dot + 1))
+                        && isAsciiLetter(original.charAt(dot + 2))) {
+                    int end = dot + 3;
+                    while (end < domainEnd && isAsciiLetter(original.charAt(end))) {
+                        end++;
+                    }
+                    return original.substring(start, end);
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 最高学历，依次检查博士、硕士、本科、专科
+     */
+    public String educationLevel() {
+        for (String level : new String[]{"博士", "硕士", "本科", "专科"}) {
+            if (normalized.contains(level)) {
+                return level;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * “N年”中最大的 N
+     */
+    public int maxYears() {
+        int max = 0;
+        for (int i = 0; i < tokenCount; i++) {
+            int end = tokenEnds[i];
+            if (tokenTypes[i] == DIGITS && end < normalized.length() && normalized.charAt(end) == '年') {
+                max = Math.max(max, parseInt(tokenStarts[i], end));
+            }
+        }
+        return max;
+    }
+    
+    // ========== 内部 ==========
+    
+    private void addToken(int start, int end, byte type) {
+        if (tokenCount == tokenStarts.length) {
+            tokenStarts = Arrays.copyOf(tokenStarts, tokenCount * 2);
+            tokenEnds = Arrays.copyOf(tokenEnds, tokenCount * 2);
+            tokenTypes = Arrays.copyOf(tokenTypes, tokenCount * 2);
+        }
+        tokenStarts[tokenCount] = start;
+        tokenEnds[tokenCount] = end;
+        tokenTypes[tokenCount] = type;
+        tokenCount++;
+    }
+    
+    private int parseInt(int start, int end) {
+        long value = 0;
+        for (int i = start; i < end && value <= Integer.MAX_VALUE; i++) {
+            value = value * 10 + (normalized.charAt(i) - '0');
+        }
+        return (int) Math.min(value, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * 全角 ASCII 转半角、全角空格转半角，再转小写
+     */
+    static char normalize(char c) {
+        if (c >= '！' && c <= '～') {
+            c = (char) (c - 0xFEE0);
+        } else if (c == '　') {
+            return ' ';
+        }
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+    
+    private static byte typeOf(char c) {
+        if (c >= '0' && c <= '9') {
+            return DIGITS;
+        }
+        if (c >= 'a' && c <= 'z') {
+            return LATIN;
+        }
+        if (Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN) {
+            return CJK;
+        }
+        return 0;
+    }
+    
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+    }
+    
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+    
+    private static boolean isEmailLocalChar(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9') || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+    
+    private static boolean isEmailDomainChar(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9') || c == '.' || c == '-';
+    }
+}
\ No newline at end of file
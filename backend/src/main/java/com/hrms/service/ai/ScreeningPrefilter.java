@@ -0,0 +1,346 @@
+package com.hrms.service.ai;
+
+import com.hrms.entity.Candidate;
+import com.hrms.entity.Job;
+import com.hrms.entity.Resume;
+import com.hrms.repository.CandidateRepository;
+import com.hrms.service.bulk.BulkPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 批量评分前的粗筛
+ * 只用候选人的结构化字段（工作年限、学历、期望薪资）和技能位图判断，淘汰明显不符合职位硬性要求的简历，
+ * 多维度评分只对保留下来的简历执行。字段缺失时视为满足条件，只淘汰能确定不匹配的简历
+ */
+@Component
+public class ScreeningPrefilter {
+    
+    // 学历由低到高
+    private static final String[][] EDUCATION_LEVELS = {{"专科", "大专"}, {"本科"}, {"硕士", "研究生"}, {"博士"}};
+    
+    // 按ID批量读取候选人时单条语句的最大 ID 数，数万份简历一次绑定会超出数据库的参数个数上限
+    private static final int CANDIDATE_BATCH_SIZE = 1000;
+    
+    @Autowired
+    private CandidateRepository candidateRepository;
+    
+    @Autowired
+    private JobSkillIndex jobSkillIndex;
+    
+    @Value("${ai.screening.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${ai.screening.experience-tolerance-years:1}")
+    private int experienceToleranceYears;
+    
+    @Value("${ai.screening.salary-tolerance:0.2}")
+    private double salaryTolerance;
+    
+    @Value("${ai.screening.min-skill-overlap:1}")
+    private int minSkillOverlap;
+    
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder screened = new LongAdder();
+    private final LongAdder rejectedByExperience = new LongAdder();
+    private final LongAdder rejectedByEducation = new LongAdder();
+    private final LongAdder rejectedBySalary = new LongAdder();
+    private final LongAdder rejectedBySkills = new LongAdder();
+    private final LongAdder scored = new LongAdder();
+    private final LongAdder prefilterNanos = new LongAdder();
+    private final LongAdder scoringNanos = new LongAdder();
+    
+    /**
+     * 粗筛一批简历，返回保留的简历（保持原顺序）及各阶段数量
+     */
+    public Screening screen(List<Resume> resumes, Job job) {
+        long start = System.nanoTime();
+        Screening screening = new Screening(resumes.size());
+        if (!enabled || resumes.isEmpty()) {
+            screening.survivors.addAll(resumes);
+            return screening;
+        }
+        
+        Requirements requirements = new Requirements(job);
+        Set<Long> candidateIds = new HashSet<>();
+        for (Resume resume : resumes) {
+            if (resume.getCandidateId() != null) {
+                candidateIds.add(resume.getCandidateId());
+            }
+        }
+        Map<Long, Candidate> candidates = new HashMap<>();
+        for (List<Long> ids : BulkPersister.partition(candidateIds, CANDIDATE_BATCH_SIZE)) {
+            for (Candidate candidate : candidateRepository.findAllById(ids)) {
+                candidates.put(candidate.getId(), candidate);
+            }
+        }
+        
+        for (Resume resume : resumes) {
+            Candidate candidate = resume.getCandidateId() != null ? candidates.get(resume.getCandidateId()) : null;
+            if (!meetsExperience(candidate, requirements)) {
+                screening.rejectedByExperience++;
+                screening.reject(resume, "工作年限低于职位要求（" + requirements.minYears + "年以上）");
+            } else if (!meetsEducation(candidate, resume, requirements)) {
+                screening.rejectedByEducation++;
+                screening.reject(resume, "学历低于职位要求（" + EDUCATION_LEVELS[requirements.minEducation][0] + "及以上）");
+            } else if (!meetsSalary(candidate, requirements)) {
+                screening.rejectedBySalary++;
+                screening.reject(resume, "期望薪资超出职位薪资上限");
+            } else if (!meetsSkills(candidate, resume, requirements)) {
+                screening.rejectedBySkills++;
+                screening.reject(resume, "技能与职位要求没有交集");
+            } else {
+                screening.survivors.add(resume);
+            }
+        }
+        
+        batches.increment();
+        screened.add(resumes.size());
+        rejectedByExperience.add(screening.rejectedByExperience);
+        rejectedByEducation.add(screening.rejectedByEducation);
+        rejectedBySalary.add(screening.rejectedBySalary);
+        rejectedBySkills.add(screening.rejectedBySkills);
+        prefilterNanos.add(System.nanoTime() - start);
+        return screening;
+    }
+    
+    /**
+     * 记录精排阶段的评分数量和耗时
+     */
+    public void recordScoring(int count, long nanos) {
+        scored.add(count);
+        scoringNanos.add(nanos);
+    }
+    
+    /**
+     * 累计的各阶段数量和耗时
+     */
+    public Map<String, Object> getStatistics() {
+        long screenedCount = screened.sum();
+        long scoredCount = scored.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("batches", batches.sum());
+        stats.put("screened", screenedCount);
+        stats.put("rejectedByExperience", rejectedByExperience.sum());
+        stats.put("rejectedByEducation", rejectedByEducation.sum());
+        stats.put("rejectedBySalary", rejectedBySalary.sum());
+        stats.put("rejectedBySkills", rejectedBySkills.sum());
+        stats.put("scored", scoredCount);
+        stats.put("averagePrefilterMicros", screenedCount > 0 ? prefilterNanos.sum() / screenedCount / 1000.0 : 0.0);
+        stats.put("averageScoringMicros", scoredCount > 0 ? scoringNanos.sum() / scoredCount / 1000.0 : 0.0);
+        return stats;
+    }
+    
+    // ========== 各项条件 ==========
+    
+    private boolean meetsExperience(Candidate candidate, Requirements requirements) {
+        if (requirements.minYears <= 0 || candidate == null || candidate.getWorkExperience() == null) {
+            return true;
+        }
+        return candidate.getWorkExperience() + experienceToleranceYears >= requirements.minYears;
+    }
+    
+    private boolean meetsEducation(Candidate candidate, Resume resume, Requirements requirements) {
+        if (requirements.minEducation < 0) {
+            return true;
+        }
+        int level = educationRank(candidate != null ? candidate.getEducationLevel() : null);
+        if (level < 0) {
+            level = educationRank(resume.getExtractedEducation());
+        }
+        return level < 0 || level >= requirements.minEducation;
+    }
+    
+    private boolean meetsSalary(Candidate candidate, Requirements requirements) {
+        if (requirements.salaryMax == null || candidate == null || candidate.getExpectedSalaryMin() == null) {
+            return true;
+        }
+        return candidate.getExpectedSalaryMin() <= requirements.salaryMax.doubleValue() * (1 + salaryTolerance);
+    }
+    
+    private boolean meetsSkills(Candidate candidate, Resume resume, Requirements requirements) {
+        if (requirements.skillCount == 0) {
+            return true;
+        }
+        StringBuilder text = new StringBuilder();
+        if (candidate != null && candidate.getSkills() != null) {
+            text.append(candidate.getSkills()).append('\n');
+        }
+        if (resume.getExtractedSkills() != null) {
+            text.append(resume.getExtractedSkills());
+        }
+        long[] skills = jobSkillIndex.skillBitmap(text);
+        int known = 0;
+        int overlap = 0;
+        for (int i = 0; i < skills.length; i++) {
+            known += Long.bitCount(skills[i]);
+            overlap += Long.bitCount(skills[i] & requirements.skills[i]);
+        }
+        // 未提取到任何技能时无法判断，保留
+        return known == 0 || overlap >= Math.min(minSkillOverlap, requirements.skillCount);
+    }
+    
+    /**
+     * 学历等级（0 专科 ~ 3 博士），无法识别时返回 -1
+     */
+    static int educationRank(String education) {
+        if (education == null || education.isEmpty()) {
+            return -1;
+        }
+        for (int rank = EDUCATION_LEVELS.length - 1; rank >= 0; rank--) {
+            for (String name : EDUCATION_LEVELS[rank]) {
+                if (education.contains(name)) {
+                    return rank;
+                }
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * 从职位要求中解析出的硬性条件
+     */
+    private final class Requirements {
+        final int minYears;
+        final int minEducation;
+        final BigDecimal salaryMax;
+        final long[] skills;
+        final int skillCount;
+        
+        Requirements(Job job) {
+            String text = job.getRequirements() != null && !job.getRequirements().isBlank()
+                    ? job.getRequirements() : job.getDescription();
+            ResumeText requirementText = ResumeText.of(text);
+            this.minYears = parseMinYears(requirementText);
+            this.minEducation = parseMinEducation(requirementText);
+            this.salaryMax = job.getSalaryMax();
+            this.skills = jobSkillIndex.skillBitmap(text);
+            int count = 0;
+            for (long word : skills) {
+                count += Long.bitCount(word);
+            }
+            this.skillCount = count;
+        }
+    }
+    
+    /**
+     * “N年以上”“至少N年”“N-M年”中的 N，未写明年限时返回 0
+     */
+    static int parseMinYears(ResumeText text) {
+        CharSequence normalized = text.normalized();
+        for (int i = 0; i < text.tokenCount(); i++) {
+            if (text.tokenType(i) != ResumeText.DIGITS || text.tokenEnd(i) - text.tokenStart(i) > 2) {
+                continue;
+            }
+            int start = text.tokenStart(i);
+            int end = text.tokenEnd(i);
+            int years = Integer.parseInt(normalized.subSequence(start, end).toString());
+            String after = normalized.subSequence(end, Math.min(normalized.length(), end + 4)).toString();
+            String before = normalized.subSequence(Math.max(0, start - 3), start).toString();
+            if (after.startsWith("年以上") || after.startsWith("年及以上") || after.startsWith("年或以上")
+                    || after.startsWith("+年") || after.startsWith("年+")
+                    || (after.startsWith("年") && (before.endsWith("至少") || before.endsWith("不少于")))) {
+                return years;
+            }
+            // N-M年 / N~M年 / N至M年
+            if (!after.isEmpty() && (after.charAt(0) == '-' || after.charAt(0) == '~' || after.charAt(0) == '至')
+                    && i + 1 < text.tokenCount() && text.tokenType(i + 1) == ResumeText.DIGITS
+                    && text.tokenStart(i + 1) == end + 1 && text.tokenEnd(i + 1) < normalized.length()
+                    && normalized.charAt(text.tokenEnd(i + 1)) == '年') {
+                return years;
+            }
+        }
+        return 0;
+    }
+    
+    /**
+     * “本科及以上”这类写法中的学历等级，只写“硕士优先”之类的不算硬性要求，返回 -1
+     */
+    static int parseMinEducation(ResumeText text) {
+        // 从低到高查找，写了多个时取最低的要求
+        for (int rank = 0; rank < EDUCATION_LEVELS.length; rank++) {
+            for (String name : EDUCATION_LEVELS[rank]) {
+                for (int index = text.indexOf(name, 0); index >= 0; index = text.indexOf(name, index + 1)) {
+                    int end = index + name.length();
+                    CharSequence normalized = text.normalized();
+                    String after = normalized.subSequence(end, Math.min(normalized.length(), end + 5)).toString();
+                    if (after.startsWith("及以上") || after.startsWith("以上") || after.startsWith("或以上")
+                            || after.startsWith("学历及以上") || after.startsWith("学历以上")) {
+                        return rank;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * 一次粗筛的结果
+     */
+    public static final class Screening {
+        private final int input;
+        private final List<Resume> survivors = new ArrayList<>();
+        private final List<Rejection> rejections = new ArrayList<>();
+        private int rejectedByExperience;
+        private int rejectedByEducation;
+        private int rejectedBySalary;
+        private int rejectedBySkills;
+        
+        Screening(int input) {
+            this.input = input;
+        }
+        
+        public List<Resume> getSurvivors() {
+            return survivors;
+        }
+        
+        /**
+         * 被淘汰的简历及原因（保持原顺序）
+         */
+        public List<Rejection> getRejections() {
+            return rejections;
+        }
+        
+        private void reject(Resume resume, String reason) {
+            rejections.add(new Rejection(resume, reason));
+        }
+        
+        public Map<String, Object> toMap() {
+            Map<String, Object> stages = new LinkedHashMap<>();
+            stages.put("input", input);
+            stages.put("rejectedByExperience", rejectedByExperience);
+            stages.put("rejectedByEducation", rejectedByEducation);
+            stages.put("rejectedBySalary", rejectedBySalary);
+            stages.put("rejectedBySkills", rejectedBySkills);
+            stages.put("survivors", survivors.size());
+            return stages;
+        }
+    }
+    
+    /**
+     * 一份被淘汰的简历
+     */
+    public static final class Rejection {
+        private final Resume resume;
+        private final String reason;
+        
+        Rejection(Resume resume, String reason) {
+            this.resume = resume;
+            this.reason = reason;
+        }
+        
+        public Resume getResume() {
+            return resume;
+        }
+        
+        public String getReason() {
+            return reason;
+        }
+    }
+}
\ No newline at end of file
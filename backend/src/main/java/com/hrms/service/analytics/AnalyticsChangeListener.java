@@ -0,0 +1,94 @@
+package com.hrms.service.analytics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 把候选人、面试、简历、AI评估的变更送入统计预聚合
+ * 注册为 Hibernate 提交后事件监听：只统计已提交的数据，且更新事件带有修改前的字段快照，
+ * 状态等字段变化时能从旧维度减去、向新维度加上；平台同步等直接走 Repository 的写入同样覆盖。
+ * JPQL 批量和条件更新不经过实体事件，由发起方通过 AnalyticsRollupService.record / recordStatusChanges 显式计入
+ */
+@Component
+public class AnalyticsChangeListener implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsChangeListener.class);
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private AnalyticsRollupService rollupService;
+    
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+    
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return AnalyticsMetrics.TRACKED_TYPES.contains(persister.getMappedClass());
+    }
+    
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getPersister(), event.getState(), 1);
+    }
+    
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getOldState() == null) {
+            // 未加载旧快照的更新无法计算差量，留待重建修正
+            log.debug("实体 {}#{} 更新缺少旧快照，跳过统计", event.getPersister().getEntityName(), event.getId());
+            return;
+        }
+        record(event.getPersister(), event.getOldState(), -1);
+        record(event.getPersister(), event.getState(), 1);
+    }
+    
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getPersister(), event.getDeletedState(), -1);
+    }
+    
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // 事务回滚，没有需要统计的变更
+    }
+    
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // 事务回滚，没有需要统计的变更
+    }
+    
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // 事务回滚，没有需要统计的变更
+    }
+    
+    private void record(EntityPersister persister, Object[] state, int sign) {
+        if (state == null) {
+            return;
+        }
+        try {
+            rollupService.record(persister.getMappedClass(),
+                AnalyticsRollupService.toStateMap(persister.getPropertyNames(), state), sign);
+        } catch (Exception e) {
+            // 统计失败不影响业务提交
+            log.warn("记录统计增量失败: {}", persister.getEntityName(), e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.hrms.service.analytics;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.entity.AIEvaluationHistory;
+import com.hrms.entity.Candidate;
+import com.hrms.entity.Interview;
+import com.hrms.entity.Resume;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 预聚合指标定义：把一条业务数据的字段快照拆成若干统计事实（指标, 维度, 归属时间, 数值）
+ * 事实按数据自身的时间归桶（候选人、简历、AI评估按创建时间，面试按安排时间），
+ * 更新时撤销旧快照的事实再计入新快照的事实，字段未变化的部分正负抵消
+ */
+public final class AnalyticsMetrics {
+    
+    public static final String CANDIDATE_STATUS = "candidate.status";
+    public static final String CANDIDATE_SOURCE = "candidate.source";
+    public static final String INTERVIEW_STATUS = "interview.status";
+    public static final String INTERVIEW_TYPE = "interview.type";
+    public static final String INTERVIEW_RECOMMENDATION = "interview.recommendation";
+    public static final String INTERVIEW_SCORE = "interview.score";
+    public static final String INTERVIEW_DURATION = "interview.duration";
+    public static final String EVALUATION_TYPE = "evaluation.type";
+    public static final String EVALUATION_SCORE = "evaluation.score";
+    public static final String RESUME_STATUS = "resume.status";
+    public static final String RESUME_SCORE = "resume.score";
+    public static final String RESUME_SKILL = "resume.skill";
+    
+    /** 没有维度的指标统一使用的维度值 */
+    public static final String ALL = "all";
+    
+    /** 参与预聚合的实体 */
+    public static final Set<Class<?>> TRACKED_TYPES = Set.of(
+        Candidate.class, Interview.class, Resume.class, AIEvaluationHistory.class);
+    
+    private static final int MAX_DIMENSION_LENGTH = 100;
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private AnalyticsMetrics() {}
+    
+    /**
+     * 一条统计事实
+     */
+    public static final class Fact {
+        final String metric;
+        final String dimension;
+        final LocalDateTime time;
+        final double value;
+        
+        Fact(String metric, String dimension, LocalDateTime time, double value) {
+            this.metric = metric;
+            this.dimension = dimension;
+            this.time = time;
+            this.value = value;
+        }
+    }
+    
+    /**
+     * 拆分实体快照，state 为属性名到属性值的映射
+     */
+    public static List<Fact> extract(Class<?> type, Map<String, Object> state) {
+        List<Fact> facts = new ArrayList<>();
+        if (type == Candidate.class) {
+            LocalDateTime time = (LocalDateTime) state.get("createdAt");
+            add(facts, CANDIDATE_STATUS, state.get("status"), time, 0);
+            add(facts, CANDIDATE_SOURCE, state.get("source"), time, 0);
+        } else if (type == Interview.class) {
+            LocalDateTime time = (LocalDateTime) state.get("scheduledTime");
+            add(facts, INTERVIEW_STATUS, state.get("status"), time, 0);
+            add(facts, INTERVIEW_TYPE, state.get("type"), time, 0);
+            add(facts, INTERVIEW_RECOMMENDATION, state.get("recommendation"), time, 0);
+            addScore(facts, INTERVIEW_SCORE, state.get("overallScore"), time);
+            LocalDateTime start = (LocalDateTime) state.get("actualStartTime");
+            LocalDateTime end = (LocalDateTime) state.get("actualEndTime");
+            if (start != null && end != null) {
+                add(facts, INTERVIEW_DURATION, ALL, time, Duration.between(start, end).toMinutes());
+            }
+        } else if (type == AIEvaluationHistory.class) {
+            LocalDateTime time = (LocalDateTime) state.get("createdAt");
+            Object score = state.get("overallScore");
+            add(facts, EVALUATION_TYPE, state.get("evaluationType"), time,
+                score instanceof Number number ? number.doubleValue() : 0);
+            addScore(facts, EVALUATION_SCORE, score, time);
+        } else if (type == Resume.class) {
+            LocalDateTime time = (LocalDateTime) state.get("createdAt");
+            add(facts, RESUME_STATUS, state.get("status"), time, 0);
+            addScore(facts, RESUME_SCORE, state.get("aiScore"), time);
+            for (String skill : parseSkills((String) state.get("extractedSkills"))) {
+                add(facts, RESUME_SKILL, skill, time, 0);
+            }
+        }
+        return facts;
+    }
+    
+    /**
+     * 决定统计事实归属时间桶的属性
+     */
+    public static String timeProperty(Class<?> type) {
+        return type == Interview.class ? "scheduledTime" : TRACKED_TYPES.contains(type) ? "createdAt" : null;
+    }
+    
+    /**
+     * 评分按十分一档作为维度：90 表示 90 分及以上，0 表示 10 分以下
+     */
+    public static int scoreBand(double score) {
+        return Math.max(0, Math.min(90, (int) Math.floor(score / 10) * 10));
+    }
+    
+    private static void addScore(List<Fact> facts, String metric, Object score, LocalDateTime time) {
+        if (score instanceof Number number) {
+            add(facts, metric, String.valueOf(scoreBand(number.doubleValue())), time, number.doubleValue());
+        }
+    }
+    
+    private static void add(List<Fact> facts, String metric, Object dimension, LocalDateTime time, double value) {
+        if (dimension == null || time == null) {
+            return;
+        }
+        String text = dimension instanceof Enum<?> e ? e.name() : dimension.toString().trim();
+        if (text.isEmpty()) {
+            return;
+        }
+        if (text.length() > MAX_DIMENSION_LENGTH) {
+            text = text.substring(0, MAX_DIMENSION_LENGTH);
+        }
+        facts.add(new Fact(metric, text, time, value));
+    }
+    
+    /**
+     * 技能字段为 JSON 数组，兼容逗号分隔的旧数据；同一份简历内去重
+     */
+    private static Collection<String> parseSkills(String skills) {
+        if (skills == null || skills.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> names;
+        try {
+            names = objectMapper.readValue(skills, new TypeReference<List<String>>() {});
+        } catch (Exception e) {
+            names = Arrays.asList(skills.split("[,，]"));
+        }
+        Set<String> unique = new LinkedHashSet<>();
+        for (String name : names) {
+            if (name != null && !name.isBlank()) {
+                unique.add(name.trim());
+            }
+        }
+        return unique;
+    }
+}
\ No newline at end of file
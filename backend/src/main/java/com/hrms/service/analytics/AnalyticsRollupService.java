@@ -0,0 +1,392 @@
+package com.hrms.service.analytics;
+
+import com.hrms.entity.AnalyticsRollup;
+import com.hrms.entity.AnalyticsRollup.Granularity;
+import com.hrms.repository.AnalyticsRollupRepository;
+import com.hrms.service.cache.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 招聘统计预聚合存储
+ * 业务数据提交后由 {@link AnalyticsChangeListener} 送来增量，先在内存中按（粒度, 指标, 时间桶, 维度）合并，
+ * 定时批量累加到 analytics_rollups，写放大与业务写入量无关；统计查询按时间范围合并天桶和小时桶，
+ * 只读预聚合表。进程异常退出会丢失未落库的增量，可通过 {@link #rebuild()} 从业务表重建
+ */
+@Service
+public class AnalyticsRollupService {
+    
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsRollupService.class);
+    
+    /** 查询不限开始时间时使用的起点 */
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(2000, 1, 1, 0, 0);
+    
+    @Autowired
+    private AnalyticsRollupRepository rollupRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${analytics.flush-interval-ms:5000}")
+    private long flushIntervalMs;
+    
+    @Value("${analytics.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+    
+    @Value("${analytics.rebuild-page-size:500}")
+    private int rebuildPageSize;
+    
+    private final ReentrantReadWriteLock pendingLock = new ReentrantReadWriteLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private Map<BucketKey, double[]> pending = new ConcurrentHashMap<>();
+    
+    private TransactionTemplate writeTemplate;
+    private TransactionTemplate readTemplate;
+    private ScheduledExecutorService flusher;
+    
+    @PostConstruct
+    public void init() {
+        writeTemplate = new TransactionTemplate(transactionManager);
+        writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        readTemplate.setReadOnly(true);
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "analytics-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (backfillOnStartup) {
+            flusher.execute(this::backfillIfEmpty);
+        }
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        flushSafely();
+    }
+    
+    /**
+     * 记录一条实体快照的增量，sign 为 1 表示计入，-1 表示撤销
+     */
+    public void record(Class<?> type, Map<String, Object> state, int sign) {
+        List<AnalyticsMetrics.Fact> facts = AnalyticsMetrics.extract(type, state);
+        if (facts.isEmpty()) {
+            return;
+        }
+        pendingLock.readLock().lock();
+        try {
+            for (AnalyticsMetrics.Fact fact : facts) {
+                accumulate(pending, fact, sign);
+            }
+        } finally {
+            pendingLock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 记录 JPQL 批量修改状态造成的变更（批量语句不经过实体事件）
+     * snapshots 为更新前查出的 {ID, 原状态, 归属时间}；事务中时在提交后计入，回滚则不计
+     */
+    public void recordStatusChanges(Class<?> type, List<Object[]> snapshots, Object newStatus) {
+        String timeProperty = AnalyticsMetrics.timeProperty(type);
+        if (timeProperty == null || snapshots.isEmpty()) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            for (Object[] row : snapshots) {
+                Map<String, Object> before = new HashMap<>();
+                before.put("status", row[1]);
+                before.put(timeProperty, row[2]);
+                Map<String, Object> after = new HashMap<>(before);
+                after.put("status", newStatus);
+                record(type, before, -1);
+                record(type, after, 1);
+            }
+        });
+    }
+    
+    /**
+     * 按维度合计指标在 [from, to) 内的数据，时间按小时对齐（from 向下取整，to 向上取整）；
+     * from 为空表示不限开始时间，to 为空表示截至当前
+     * 范围中间的整天读天桶，两端不足一天的部分读小时桶
+     */
+    public Map<String, RollupTotals> query(String metric, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = (from != null ? from : EARLIEST).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime endHour = end.truncatedTo(ChronoUnit.HOURS);
+        end = endHour.equals(end) ? endHour : endHour.plusHours(1);
+        
+        Map<String, RollupTotals> totals = new LinkedHashMap<>();
+        if (!start.isBefore(end)) {
+            return totals;
+        }
+        LocalDateTime firstDay = start.truncatedTo(ChronoUnit.DAYS);
+        if (firstDay.isBefore(start)) {
+            firstDay = firstDay.plusDays(1);
+        }
+        LocalDateTime lastDay = end.truncatedTo(ChronoUnit.DAYS);
+        if (firstDay.isBefore(lastDay)) {
+            merge(totals, Granularity.HOUR, metric, start, firstDay);
+            merge(totals, Granularity.DAY, metric, firstDay, lastDay);
+            merge(totals, Granularity.HOUR, metric, lastDay, end);
+        } else {
+            merge(totals, Granularity.HOUR, metric, start, end);
+        }
+        return totals;
+    }
+    
+    /**
+     * 各维度计数，省略计数为 0 的维度
+     */
+    public Map<String, Long> counts(String metric, LocalDateTime from, LocalDateTime to) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        query(metric, from, to).forEach((dimension, totals) -> {
+            if (totals.getCount() != 0) {
+                counts.put(dimension, totals.getCount());
+            }
+        });
+        return counts;
+    }
+    
+    /**
+     * 所有维度合起来的计数和数值合计
+     */
+    public RollupTotals total(String metric, LocalDateTime from, LocalDateTime to) {
+        RollupTotals total = new RollupTotals();
+        query(metric, from, to).values().forEach(t -> total.add(t.getCount(), t.getSum()));
+        return total;
+    }
+    
+    /**
+     * 从业务表重建全部预聚合数据
+     * 重建期间提交的变更可能被重复计入或遗漏，宜在业务低峰执行
+     */
+    public Map<String, Object> rebuild() {
+        flushLock.lock();
+        try {
+            takePending();
+            Map<BucketKey, double[]> rebuilt = new HashMap<>();
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (Class<?> type : AnalyticsMetrics.TRACKED_TYPES) {
+                result.put(type.getSimpleName(), scan(type, rebuilt));
+            }
+            List<AnalyticsRollup> rows = new ArrayList<>();
+            rebuilt.forEach((key, delta) -> {
+                if (delta[0] != 0 || delta[1] != 0) {
+                    rows.add(new AnalyticsRollup(key.granularity, key.metric, key.bucketStart, key.dimension,
+                        (long) delta[0], delta[1]));
+                }
+            });
+            writeTemplate.executeWithoutResult(status -> {
+                rollupRepository.deleteAllRollups();
+                rollupRepository.saveAll(rows);
+            });
+            result.put("rollupRows", rows.size());
+            log.info("统计预聚合重建完成: {}", result);
+            return result;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    /**
+     * 把内存中的增量累加到预聚合表，失败时放回等待下次重试
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<BucketKey, double[]> batch = takePending();
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                writeTemplate.executeWithoutResult(status -> batch.forEach(this::apply));
+            } catch (RuntimeException e) {
+                pendingLock.readLock().lock();
+                try {
+                    batch.forEach((key, delta) -> pending.merge(key, delta, AnalyticsRollupService::sum));
+                } finally {
+                    pendingLock.readLock().unlock();
+                }
+                throw e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("统计预聚合写入失败，稍后重试", e);
+        }
+    }
+    
+    private void backfillIfEmpty() {
+        try {
+            if (rollupRepository.count() == 0) {
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.warn("统计预聚合初始化失败", e);
+        }
+    }
+    
+    private Map<BucketKey, double[]> takePending() {
+        pendingLock.writeLock().lock();
+        try {
+            Map<BucketKey, double[]> batch = pending;
+            pending = new ConcurrentHashMap<>();
+            return batch;
+        } finally {
+            pendingLock.writeLock().unlock();
+        }
+    }
+    
+    private void apply(BucketKey key, double[] delta) {
+        if (delta[0] == 0 && delta[1] == 0) {
+            // 同一周期内计入又撤销，无需写库
+            return;
+        }
+        int updated = rollupRepository.increment(key.granularity, key.metric, key.bucketStart, key.dimension,
+            (long) delta[0], delta[1]);
+        if (updated == 0) {
+            // 多实例同时插入同一个桶时唯一约束冲突，整批回滚后下次重试会走累加
+            rollupRepository.save(new AnalyticsRollup(key.granularity, key.metric, key.bucketStart, key.dimension,
+                (long) delta[0], delta[1]));
+        }
+    }
+    
+    /**
+     * 按ID分页扫描一类实体，拆分事实计入 target
+     */
+    private long scan(Class<?> type, Map<BucketKey, double[]> target) {
+        EntityPersister persister = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+            .getMappingMetamodel().getEntityDescriptor(type);
+        String[] names = persister.getPropertyNames();
+        String jpql = "SELECT e.id, e FROM " + persister.getEntityName() + " e WHERE e.id > :lastId ORDER BY e.id";
+        long scanned = 0;
+        Object lastId = 0L;
+        while (true) {
+            Object cursor = lastId;
+            List<Object[]> page = readTemplate.execute(status -> {
+                List<Object[]> states = new ArrayList<>();
+                List<?> rows = entityManager.createQuery(jpql).setParameter("lastId", cursor)
+                    .setMaxResults(Math.max(1, rebuildPageSize)).getResultList();
+                for (Object row : rows) {
+                    Object[] pair = (Object[]) row;
+                    states.add(new Object[]{pair[0], persister.getValues(pair[1])});
+                }
+                return states;
+            });
+            if (page == null || page.isEmpty()) {
+                return scanned;
+            }
+            for (Object[] row : page) {
+                for (AnalyticsMetrics.Fact fact : AnalyticsMetrics.extract(type, toStateMap(names, (Object[]) row[1]))) {
+                    accumulate(target, fact, 1);
+                }
+            }
+            scanned += page.size();
+            lastId = page.get(page.size() - 1)[0];
+        }
+    }
+    
+    static Map<String, Object> toStateMap(String[] names, Object[] values) {
+        Map<String, Object> state = new HashMap<>();
+        for (int i = 0; i < names.length && i < values.length; i++) {
+            state.put(names[i], values[i]);
+        }
+        return state;
+    }
+    
+    private void merge(Map<String, RollupTotals> totals, Granularity granularity, String metric,
+                       LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return;
+        }
+        for (Object[] row : rollupRepository.sumByDimension(granularity, metric, from, to)) {
+            long count = row[1] != null ? ((Number) row[1]).longValue() : 0;
+            double sum = row[2] != null ? ((Number) row[2]).doubleValue() : 0;
+            totals.computeIfAbsent((String) row[0], k -> new RollupTotals()).add(count, sum);
+        }
+    }
+    
+    private static void accumulate(Map<BucketKey, double[]> target, AnalyticsMetrics.Fact fact, int sign) {
+        double[] delta = {sign, sign * fact.value};
+        target.merge(new BucketKey(Granularity.HOUR, fact.metric, fact.time.truncatedTo(ChronoUnit.HOURS), fact.dimension),
+            delta, AnalyticsRollupService::sum);
+        target.merge(new BucketKey(Granularity.DAY, fact.metric, fact.time.truncatedTo(ChronoUnit.DAYS), fact.dimension),
+            delta.clone(), AnalyticsRollupService::sum);
+    }
+    
+    private static double[] sum(double[] a, double[] b) {
+        return new double[]{a[0] + b[0], a[1] + b[1]};
+    }
+    
+    private static final class BucketKey {
+        final Granularity granularity;
+        final String metric;
+        final LocalDateTime bucketStart;
+        final String dimension;
+        
+        BucketKey(Granularity granularity, String metric, LocalDateTime bucketStart, String dimension) {
+            this.granularity = granularity;
+            this.metric = metric;
+            this.bucketStart = bucketStart;
+            this.dimension = dimension;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BucketKey other)) {
+                return false;
+            }
+            return granularity == other.granularity && metric.equals(other.metric)
+                && bucketStart.equals(other.bucketStart) && dimension.equals(other.dimension);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(granularity, metric, bucketStart, dimension);
+        }
+    }
+}
\ No newline at end of file
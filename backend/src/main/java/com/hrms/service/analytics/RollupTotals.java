@@ -0,0 +1,37 @@
+package com.hrms.service.analytics;
+
+/**
+ * 某个维度在查询范围内的合计
+ */
+public class RollupTotals {
+    
+    private long count;
+    private double sum;
+    
+    public RollupTotals() {}
+    
+    public RollupTotals(long count, double sum) {
+        this.count = count;
+        this.sum = sum;
+    }
+    
+    void add(long count, double sum) {
+        this.count += count;
+        this.sum += sum;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double getSum() {
+        return sum;
+    }
+    
+    /**
+     * 数值平均值，没有数据时为 null
+     */
+    public Double getAverage() {
+        return count > 0 ? sum / count : null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.hrms.service.bulk;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 批量写入
+ * 在调用方事务中逐条 persist，每满一批 flush 一次并清空持久化上下文：
+ * 同一批的 INSERT 由 Hibernate 合并为一次 JDBC 批处理（需序列主键），内存占用与总条数无关
+ */
+@Component
+public class BulkPersister {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+    
+    /**
+     * 批量插入新实体，返回传入的列表（已分配ID）
+     * 会先写入并清空当前持久化上下文，调用方之前加载的实体此后不再受管理
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> List<T> insertAll(List<T> entities) {
+        entityManager.flush();
+        entityManager.clear();
+        int pending = 0;
+        for (T entity : entities) {
+            entityManager.persist(entity);
+            if (++pending >= Math.max(1, batchSize)) {
+                flushAndClear();
+                pending = 0;
+            }
+        }
+        flushAndClear();
+        return entities;
+    }
+    
+    /**
+     * 把 ID 集合按批次大小切分，避免单条语句的 IN 参数过多
+     */
+    public static <T> List<List<T>> partition(Collection<T> ids, int size) {
+        List<T> list = List.copyOf(ids);
+        int step = Math.max(1, size);
+        List<List<T>> parts = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += step) {
+            parts.add(list.subList(i, Math.min(list.size(), i + step)));
+        }
+        return parts;
+    }
+    
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
\ No newline at end of file
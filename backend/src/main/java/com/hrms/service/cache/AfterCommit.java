@@ -0,0 +1,72 @@
+package com.hrms.service.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 事务提交后执行
+ * 内存索引、缓存和注册表的更新统一经过这里：在事务中时推迟到提交之后，回滚的修改不会生效；不在事务中时立即执行
+ */
+public final class AfterCommit {
+    
+    private AfterCommit() {}
+    
+    /**
+     * 在事务中时推迟到提交之后执行 action，否则立即执行
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+    
+    /**
+     * 当前事务中按 key 累积的待提交修改：首次调用时由 factory 创建并绑定到事务，提交后整体交给 onCommit，
+     * 事务结束（提交或回滚）后解绑；不在事务中时返回 null，调用方应直接执行修改
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T pending(Object key, Supplier<T> factory, Consumer<T> onCommit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        T pending = (T) TransactionSynchronizationManager.getResource(key);
+        if (pending == null) {
+            T created = factory.get();
+            TransactionSynchronizationManager.bindResource(key, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    onCommit.accept(created);
+                }
+                
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                }
+            });
+            pending = created;
+        }
+        return pending;
+    }
+    
+    /**
+     * 当前事务中按 key 累积、尚未提交的修改，没有时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T current(Object key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        return (T) TransactionSynchronizationManager.getResource(key);
+    }
+}
\ No newline at end of file
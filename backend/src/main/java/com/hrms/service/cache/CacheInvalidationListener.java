@@ -0,0 +1,40 @@
+package com.hrms.service.cache;
+
+import com.hrms.entity.Candidate;
+import com.hrms.entity.Interview;
+import com.hrms.entity.Job;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 实体监听器，职位、候选人、面试保存或删除后使对应缓存失效
+ * 挂在实体上而不是各个 service 方法里，平台同步、批量操作等直接走 Repository 的写入也能覆盖到；
+ * 失效在事务提交后执行，同一事务内的多次变更合并为一次
+ */
+@Component
+public class CacheInvalidationListener {
+    
+    @Autowired
+    private ObjectProvider<TwoTierCache> cache;
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChanged(Object entity) {
+        cache.ifAvailable(c -> {
+            if (entity instanceof Job job) {
+                c.evict(CacheRegions.JOB, job.getId());
+                c.evictAll(CacheRegions.ACTIVE_JOBS);
+                c.evictAll(CacheRegions.JOB_DEPARTMENT_STATS);
+            } else if (entity instanceof Candidate candidate) {
+                c.evict(CacheRegions.CANDIDATE, candidate.getId());
+            } else if (entity instanceof Interview) {
+                c.evictAll(CacheRegions.TODAY_INTERVIEWS);
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.hrms.service.cache;
+
+/**
+ * 两级缓存的区域名称
+ */
+public final class CacheRegions {
+    
+    public static final String JOB = "job";
+    public static final String ACTIVE_JOBS = "jobs:active";
+    public static final String JOB_DEPARTMENT_STATS = "stats:job-department";
+    public static final String CANDIDATE = "candidate";
+    public static final String TODAY_INTERVIEWS = "interviews:today";
+    
+    private CacheRegions() {}
+}
\ No newline at end of file
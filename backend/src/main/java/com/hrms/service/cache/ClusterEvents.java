@@ -0,0 +1,132 @@
+package com.hrms.service.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 实例间的变更通知
+ * 进程内的注册表和索引变更后通过 Redis 发布订阅通知其他实例，各实例收到后自行从数据库重新加载；
+ * 未开启 Redis（单实例部署）时 publish 不做任何事，本实例发出的通知不会回送给自己
+ */
+@Component
+public class ClusterEvents {
+    
+    private static final Logger log = LoggerFactory.getLogger(ClusterEvents.class);
+    
+    @Value("${cache.redis-enabled:false}")
+    private boolean redisEnabled;
+    
+    @Value("${cache.cluster-events-channel:hrms:cluster:events}")
+    private String channel;
+    
+    @Autowired
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    
+    @Autowired
+    private ObjectProvider<RedisConnectionFactory> connectionFactoryProvider;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+    
+    private RedisMessageListenerContainer listenerContainer;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        RedisConnectionFactory connectionFactory = redisEnabled ? connectionFactoryProvider.getIfAvailable() : null;
+        if (connectionFactory == null) {
+            return;
+        }
+        try {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener((message, pattern) -> onMessage(message), new ChannelTopic(channel));
+            container.afterPropertiesSet();
+            container.start();
+            listenerContainer = container;
+        } catch (Exception e) {
+            // 订阅失败时其他实例的变更只能等各自的定期对账
+            log.warn("订阅实例变更通知失败: {}", e.getMessage());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (listenerContainer != null) {
+            try {
+                listenerContainer.destroy();
+            } catch (Exception e) {
+                log.debug("关闭实例变更订阅出错: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 注册其他实例发来的某类通知的处理器
+     */
+    public void subscribe(String topic, Consumer<String> handler) {
+        handlers.computeIfAbsent(topic, k -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+    
+    /**
+     * 通知其他实例，payload 由各主题自行约定（如变更的ID列表）
+     */
+    public void publish(String topic, String payload) {
+        StringRedisTemplate redis = redisEnabled ? redisTemplateProvider.getIfAvailable() : null;
+        if (redis == null) {
+            return;
+        }
+        try {
+            Map<String, Object> message = new HashMap<>();
+            message.put("node", nodeId);
+            message.put("topic", topic);
+            message.put("payload", payload);
+            redis.convertAndSend(channel, objectMapper.writeValueAsString(message));
+        } catch (Exception e) {
+            log.warn("发布实例变更通知失败: topic={}, {}", topic, e.getMessage());
+        }
+    }
+    
+    private void onMessage(Message message) {
+        try {
+            Map<String, Object> body = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8),
+                    new TypeReference<Map<String, Object>>() {});
+            if (nodeId.equals(body.get("node"))) {
+                return;
+            }
+            String topic = String.valueOf(body.get("topic"));
+            String payload = body.get("payload") != null ? String.valueOf(body.get("payload")) : "";
+            for (Consumer<String> handler : handlers.getOrDefault(topic, List.of())) {
+                try {
+                    handler.accept(payload);
+                } catch (Exception e) {
+                    log.warn("处理实例变更通知失败: topic={}, {}", topic, e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("解析实例变更通知失败: {}", e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.hrms.service.cache;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 内存索引的修改跟踪
+ * 增量修改、从数据库重新加载后的写入和整体切换索引都在同一把锁内进行；
+ * 从数据库读取期间被增量修改过的文档会被记下，读取结果不覆盖这些文档，避免读到的旧数据盖掉更新的修改
+ */
+public final class IndexChangeTracker {
+    
+    private final Object lock = new Object();
+    private final List<Map<String, Set<Long>>> watchers = new ArrayList<>();
+    
+    /**
+     * 在锁内执行一次增量修改，并记入所有进行中的读取
+     */
+    public void apply(String type, long id, Runnable change) {
+        synchronized (lock) {
+            change.run();
+            mark(type, List.of(id));
+        }
+    }
+    
+    /**
+     * 开始一次从数据库的读取，返回值在读取期间收集被修改的文档（按类型）
+     */
+    public Map<String, Set<Long>> watch() {
+        Map<String, Set<Long>> changed = new HashMap<>();
+        synchronized (lock) {
+            watchers.add(changed);
+        }
+        return changed;
+    }
+    
+    /**
+     * 在锁内结束读取并执行 action（如整体切换索引），之后 changed 不再变化
+     */
+    public void finish(Map<String, Set<Long>> changed, Runnable action) {
+        synchronized (lock) {
+            watchers.remove(changed);
+            action.run();
+        }
+    }
+    
+    public void unwatch(Map<String, Set<Long>> changed) {
+        synchronized (lock) {
+            watchers.remove(changed);
+        }
+    }
+    
+    /**
+     * 从数据库重新加载指定文档：loader 在锁外读取，读到的文档交给 indexer，已删除的交给 remover；
+     * 读取期间又被修改过的文档以那次修改为准
+     */
+    public void reload(String type, Collection<Long> ids, Function<Collection<Long>, List<?>> loader,
+                       Function<Object, Long> idGetter, Consumer<Object> indexer, Consumer<Long> remover) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Map<String, Set<Long>> changed = watch();
+        try {
+            List<?> loaded = loader.apply(ids);
+            synchronized (lock) {
+                watchers.remove(changed);
+                Set<Long> skip = changed.getOrDefault(type, Set.of());
+                Set<Long> missing = new HashSet<>(ids);
+                for (Object entity : loaded) {
+                    Long id = idGetter.apply(entity);
+                    missing.remove(id);
+                    if (!skip.contains(id)) {
+                        indexer.accept(entity);
+                    }
+                }
+                for (Long id : missing) {
+                    if (!skip.contains(id)) {
+                        remover.accept(id);
+                    }
+                }
+                mark(type, ids);
+            }
+        } finally {
+            unwatch(changed);
+        }
+    }
+    
+    private void mark(String type, Collection<Long> ids) {
+        for (Map<String, Set<Long>> changed : watchers) {
+            changed.computeIfAbsent(type, k -> new HashSet<>()).addAll(ids);
+        }
+    }
+}
\ No newline at end of file
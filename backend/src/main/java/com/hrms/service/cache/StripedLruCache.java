@@ -0,0 +1,88 @@
+package com.hrms.service.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 分段加锁的进程内 LRU 缓存
+ * 按键的哈希分成若干段，每段是一个按访问顺序排列的 LinkedHashMap，由各自的锁保护；
+ * 命中时调整访问顺序也是一次写操作，分段后并发读取只在同一段内互斥，不会全部排在一把锁上。
+ * 容量按段均分、各段独立淘汰，整体上是近似的 LRU
+ */
+public final class StripedLruCache<K, V> {
+    
+    private final Segment<K, V>[] segments;
+    private final int mask;
+    
+    @SuppressWarnings("unchecked")
+    public StripedLruCache(int capacity, int concurrency) {
+        int stripes = Integer.highestOneBit(Math.max(1, Math.min(concurrency, capacity)));
+        int segmentCapacity = Math.max(1, (capacity + stripes - 1) / stripes);
+        segments = (Segment<K, V>[]) new Segment<?, ?>[stripes];
+        for (int i = 0; i < stripes; i++) {
+            segments[i] = new Segment<>(segmentCapacity);
+        }
+        mask = stripes - 1;
+    }
+    
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+    
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, value);
+        }
+    }
+    
+    public void remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+    
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+    
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+    
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & mask];
+    }
+    
+    private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final int capacity;
+        
+        Segment(int capacity) {
+            super(Math.min(capacity, 1024), 0.75f, true);
+            this.capacity = capacity;
+        }
+        
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > capacity;
+        }
+    }
+}
\ No newline at end of file
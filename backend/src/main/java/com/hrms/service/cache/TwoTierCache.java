@@ -0,0 +1,434 @@
+package com.hrms.service.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 热点读接口的两级缓存
+ * 一级为进程内 LRU 近端缓存（短 TTL），二级为 Redis（多个实例共享，可选开启）；
+ * 数据变更后删除本地和 Redis 中的条目，并通过 Redis 发布订阅通知其他实例清除各自的近端缓存。
+ * 整个区域失效时递增区域版本号，旧版本的键不再被访问，随 TTL 和 LRU 自然淘汰。
+ * 本地层保存序列化后的 JSON，每次命中反序列化出新对象，调用方修改返回值不会污染缓存。
+ * 读到旧数据的请求可能在失效之后才回填缓存：回填前检查该键的失效计数是否变化，变化则不回填；
+ * 其他实例上的这类回填由延迟的第二次删除清掉
+ */
+@Component
+public class TwoTierCache {
+    
+    private static final Logger log = LoggerFactory.getLogger(TwoTierCache.class);
+    
+    private static final String KEY_PREFIX = "hrms:cache:";
+    private static final String VERSION_PREFIX = "hrms:cache:version:";
+    private static final String ALL_KEYS = "*";
+    
+    // Redis 出错后暂停访问的时间，避免每次请求都等待连接超时
+    private static final long REDIS_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(30);
+    
+    // 失效计数按键哈希分段，不同键落在同一段时只会多放弃一次回填
+    private static final int INVALIDATION_STRIPES = 1024;
+    
+    @Value("${cache.redis-enabled:false}")
+    private boolean redisEnabled;
+    
+    @Value("${cache.local.max-size:5000}")
+    private int localMaxSize;
+    
+    @Value("${cache.local.ttl-seconds:30}")
+    private long localTtlSeconds;
+    
+    @Value("${cache.redis.ttl-seconds:600}")
+    private long redisTtlSeconds;
+    
+    @Value("${cache.invalidation-channel:hrms:cache:invalidate}")
+    private String invalidationChannel;
+    
+    @Value("${cache.redelete-delay-ms:1000}")
+    private long redeleteDelayMs;
+    
+    @Autowired
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+    
+    @Autowired
+    private ObjectProvider<RedisConnectionFactory> connectionFactoryProvider;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, AtomicLong> regionVersions = new ConcurrentHashMap<>();
+    private final Map<String, RegionStats> regionStats = new ConcurrentHashMap<>();
+    private final AtomicLongArray invalidations = new AtomicLongArray(INVALIDATION_STRIPES);
+    
+    // 同一事务内的失效请求合并到提交后一次执行
+    private final Object pendingResourceKey = new Object();
+    
+    private Map<String, LocalEntry> localCache;
+    private RedisMessageListenerContainer listenerContainer;
+    private ScheduledExecutorService redeleter;
+    private volatile long redisRetryAtNanos;
+    
+    @PostConstruct
+    public void init() {
+        int capacity = Math.max(16, localMaxSize);
+        localCache = Collections.synchronizedMap(new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+                return size() > capacity;
+            }
+        });
+        if (redeleteDelayMs > 0) {
+            redeleter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "two-tier-cache-redelete");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void startInvalidationListener() {
+        RedisConnectionFactory connectionFactory = redisEnabled ? connectionFactoryProvider.getIfAvailable() : null;
+        if (connectionFactory == null) {
+            return;
+        }
+        try {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener((message, pattern) -> onInvalidation(message), new ChannelTopic(invalidationChannel));
+            container.afterPropertiesSet();
+            container.start();
+            listenerContainer = container;
+        } catch (Exception e) {
+            // 订阅失败时其他实例的变更只能等近端缓存 TTL 到期
+            log.warn("订阅缓存失效通知失败: {}", e.getMessage());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (redeleter != null) {
+            redeleter.shutdownNow();
+        }
+        if (listenerContainer != null) {
+            try {
+                listenerContainer.destroy();
+            } catch (Exception e) {
+                log.debug("关闭缓存失效订阅出错: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * 依次查找近端缓存和 Redis，都未命中时调用 loader 并写入两级缓存；loader 返回 null 时不缓存
+     */
+    public <T> T get(String region, Object key, TypeReference<T> type, Supplier<T> loader) {
+        RegionStats stats = statsFor(region);
+        String cacheKey = cacheKey(region, key);
+        // 查找之前记下失效计数，之后发生的失效说明读到的可能是旧数据
+        int stripe = invalidationStripe(cacheKey);
+        long stamp = invalidations.get(stripe);
+        
+        LocalEntry local = localCache.get(cacheKey);
+        if (local != null) {
+            if (local.expiresAtNanos - System.nanoTime() > 0) {
+                T value = deserialize(local.json, type);
+                if (value != null) {
+                    stats.localHits.increment();
+                    return value;
+                }
+            }
+            localCache.remove(cacheKey);
+        }
+        
+        StringRedisTemplate redis = redis();
+        if (redis != null) {
+            try {
+                String json = redis.opsForValue().get(cacheKey);
+                if (json != null) {
+                    T value = deserialize(json, type);
+                    if (value != null) {
+                        if (invalidations.get(stripe) == stamp) {
+                            putLocal(cacheKey, json);
+                        }
+                        stats.redisHits.increment();
+                        return value;
+                    }
+                }
+            } catch (Exception e) {
+                redisFailed("读取", e);
+            }
+        }
+        
+        stats.misses.increment();
+        T value = loader.get();
+        if (value == null) {
+            return null;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            log.warn("缓存值序列化失败: region={}, {}", region, e.getMessage());
+            return value;
+        }
+        if (invalidations.get(stripe) != stamp) {
+            return value;
+        }
+        putLocal(cacheKey, json);
+        if (redis != null) {
+            try {
+                redis.opsForValue().set(cacheKey, json, Duration.ofSeconds(redisTtlSeconds));
+            } catch (Exception e) {
+                redisFailed("写入", e);
+            }
+        }
+        return value;
+    }
+    
+    /**
+     * 使单个条目失效；在事务中时推迟到提交之后执行
+     */
+    public void evict(String region, Object key) {
+        enqueue(region, String.valueOf(key));
+    }
+    
+    /**
+     * 使整个区域失效；在事务中时推迟到提交之后执行
+     */
+    public void evictAll(String region) {
+        enqueue(region, ALL_KEYS);
+    }
+    
+    /**
+     * 各区域命中统计
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new TreeMap<>();
+        regionStats.forEach((region, stats) -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("localHits", stats.localHits.sum());
+            item.put("redisHits", stats.redisHits.sum());
+            item.put("misses", stats.misses.sum());
+            item.put("version", regionVersion(region));
+            result.put(region, item);
+        });
+        return result;
+    }
+    
+    private void enqueue(String region, String key) {
+        Map<String, Set<String>> pending = AfterCommit.pending(pendingResourceKey, LinkedHashMap::new, this::apply);
+        if (pending == null) {
+            apply(Map.of(region, Set.of(key)));
+            return;
+        }
+        pending.computeIfAbsent(region, k -> new LinkedHashSet<>()).add(key);
+    }
+    
+    private void apply(Map<String, Set<String>> pending) {
+        delete(pending);
+        // 失效前已开始加载的请求可能在删除后写回旧值，稍后再删一次；
+        // 区域失效换了版本号，旧键不会再被读到，不需要再删
+        if (redeleter != null) {
+            Map<String, Set<String>> keys = new LinkedHashMap<>();
+            pending.forEach((region, regionKeys) -> {
+                if (!regionKeys.contains(ALL_KEYS)) {
+                    keys.put(region, regionKeys);
+                }
+            });
+            if (!keys.isEmpty()) {
+                redeleter.schedule(() -> delete(keys), redeleteDelayMs, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+    
+    private void delete(Map<String, Set<String>> pending) {
+        StringRedisTemplate redis = redis();
+        pending.forEach((region, keys) -> {
+            if (keys.contains(ALL_KEYS)) {
+                long version = bumpVersion(region, redis);
+                publish(redis, region, ALL_KEYS, version);
+                return;
+            }
+            List<String> cacheKeys = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                String cacheKey = cacheKey(region, key);
+                invalidated(cacheKey);
+                localCache.remove(cacheKey);
+                cacheKeys.add(cacheKey);
+            }
+            if (redis != null) {
+                try {
+                    redis.delete(cacheKeys);
+                } catch (Exception e) {
+                    redisFailed("删除", e);
+                }
+            }
+            for (String key : keys) {
+                publish(redis, region, key, 0);
+            }
+        });
+    }
+    
+    private long bumpVersion(String region, StringRedisTemplate redis) {
+        AtomicLong local = regionVersions.computeIfAbsent(region, k -> new AtomicLong());
+        if (redis != null) {
+            try {
+                Long version = redis.opsForValue().increment(VERSION_PREFIX + region);
+                if (version != null) {
+                    local.accumulateAndGet(version, Math::max);
+                    return version;
+                }
+            } catch (Exception e) {
+                redisFailed("更新区域版本", e);
+            }
+        }
+        return local.incrementAndGet();
+    }
+    
+    private void publish(StringRedisTemplate redis, String region, String key, long version) {
+        if (redis == null) {
+            return;
+        }
+        try {
+            Map<String, Object> message = new HashMap<>();
+            message.put("node", nodeId);
+            message.put("region", region);
+            message.put("key", key);
+            message.put("version", version);
+            redis.convertAndSend(invalidationChannel, objectMapper.writeValueAsString(message));
+        } catch (Exception e) {
+            redisFailed("发布失效通知", e);
+        }
+    }
+    
+    private void onInvalidation(Message message) {
+        try {
+            Map<String, Object> body = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8),
+                    new TypeReference<Map<String, Object>>() {});
+            if (nodeId.equals(body.get("node"))) {
+                return;
+            }
+            String region = String.valueOf(body.get("region"));
+            String key = String.valueOf(body.get("key"));
+            if (ALL_KEYS.equals(key)) {
+                long version = body.get("version") instanceof Number number ? number.longValue() : 0;
+                regionVersions.computeIfAbsent(region, k -> new AtomicLong()).accumulateAndGet(version, Math::max);
+            } else {
+                String cacheKey = cacheKey(region, key);
+                invalidated(cacheKey);
+                localCache.remove(cacheKey);
+            }
+        } catch (Exception e) {
+            log.warn("处理缓存失效通知失败: {}", e.getMessage());
+        }
+    }
+    
+    private String cacheKey(String region, Object key) {
+        return KEY_PREFIX + region + ":" + regionVersion(region) + ":" + key;
+    }
+    
+    private long regionVersion(String region) {
+        AtomicLong version = regionVersions.get(region);
+        if (version != null) {
+            return version.get();
+        }
+        // 首次访问时从 Redis 取其他实例已递增的版本号
+        long initial = 0;
+        StringRedisTemplate redis = redis();
+        if (redis != null) {
+            try {
+                String stored = redis.opsForValue().get(VERSION_PREFIX + region);
+                initial = stored != null ? Long.parseLong(stored) : 0;
+            } catch (Exception e) {
+                redisFailed("读取区域版本", e);
+            }
+        }
+        AtomicLong created = new AtomicLong(initial);
+        AtomicLong existing = regionVersions.putIfAbsent(region, created);
+        return (existing != null ? existing : created).get();
+    }
+    
+    private int invalidationStripe(String cacheKey) {
+        int h = cacheKey.hashCode();
+        return (h ^ (h >>> 16)) & (INVALIDATION_STRIPES - 1);
+    }
+    
+    private void invalidated(String cacheKey) {
+        invalidations.incrementAndGet(invalidationStripe(cacheKey));
+    }
+    
+    private void putLocal(String cacheKey, String json) {
+        localCache.put(cacheKey, new LocalEntry(json, System.nanoTime() + TimeUnit.SECONDS.toNanos(localTtlSeconds)));
+    }
+    
+    private <T> T deserialize(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (Exception e) {
+            // 类结构变化后的旧数据，当作未命中重新加载
+            return null;
+        }
+    }
+    
+    private StringRedisTemplate redis() {
+        if (!redisEnabled || System.nanoTime() - redisRetryAtNanos < 0) {
+            return null;
+        }
+        return redisTemplateProvider.getIfAvailable();
+    }
+    
+    private void redisFailed(String operation, Exception e) {
+        redisRetryAtNanos = System.nanoTime() + REDIS_BACKOFF_NANOS;
+        log.warn("Redis缓存{}失败，{} 秒内只使用近端缓存: {}", operation,
+                TimeUnit.NANOSECONDS.toSeconds(REDIS_BACKOFF_NANOS), e.getMessage());
+    }
+    
+    private RegionStats statsFor(String region) {
+        return regionStats.computeIfAbsent(region, k -> new RegionStats());
+    }
+    
+    private static class LocalEntry {
+        
+        final String json;
+        final long expiresAtNanos;
+        
+        LocalEntry(String json, long expiresAtNanos) {
+            this.json = json;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+    
+    private static class RegionStats {
+        
+        final LongAdder localHits = new LongAdder();
+        final LongAdder redisHits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.hrms.service.embedding;
+
+import com.hrms.service.cache.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 实体监听器，简历或职位保存、删除后同步语义向量索引
+ * 在事务中时推迟到提交之后再更新，回滚的修改不会进入索引
+ */
+@Component
+public class EmbeddingIndexListener {
+    
+    @Autowired
+    private ObjectProvider<EmbeddingIndexService> embeddingIndexService;
+    
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        AfterCommit.run(() -> embeddingIndexService.ifAvailable(service -> service.onSaved(entity)));
+    }
+    
+    @PostRemove
+    public void onRemoved(Object entity) {
+        AfterCommit.run(() -> embeddingIndexService.ifAvailable(service -> service.onRemoved(entity)));
+    }
+}
\ No newline at end of file
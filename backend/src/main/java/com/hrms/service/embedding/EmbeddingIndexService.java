@@ -0,0 +1,351 @@
+package com.hrms.service.embedding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.entity.Job;
+import com.hrms.entity.Resume;
+import com.hrms.repository.JobRepository;
+import com.hrms.repository.ResumeRepository;
+import com.hrms.service.cache.ClusterEvents;
+import com.hrms.service.cache.IndexChangeTracker;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 简历与职位的语义向量索引
+ * 简历和在招职位各维护一个 {@link VectorIndex}，用于按语义相似度快速召回候选，
+ * 召回结果再交给多维度评分精排；启动后在后台分批构建，构建完成前 {@link #isReady()} 为 false。
+ * 与搜索索引一样，本实例的修改通知其他实例从数据库重新加载，并定期全量重建对账
+ */
+@Service
+public class EmbeddingIndexService {
+    
+    private static final Logger log = LoggerFactory.getLogger(EmbeddingIndexService.class);
+    
+    private static final String CHANGED_TOPIC = "embedding-index-changed";
+    private static final String RESUME = "resume";
+    private static final String JOB = "job";
+    
+    @Autowired
+    private ResumeRepository resumeRepository;
+    
+    @Autowired
+    private JobRepository jobRepository;
+    
+    @Autowired
+    private ClusterEvents clusterEvents;
+    
+    @Value("${ai.embedding.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${ai.embedding.nprobe:8}")
+    private int nprobe;
+    
+    @Value("${ai.embedding.brute-force-threshold:2000}")
+    private int bruteForceThreshold;
+    
+    @Value("${ai.embedding.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+    
+    @Value("${ai.embedding.reconcile-interval-minutes:360}")
+    private long reconcileIntervalMinutes;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final IndexChangeTracker changes = new IndexChangeTracker();
+    
+    private volatile Indexes indexes;
+    private volatile boolean ready;
+    
+    private ScheduledExecutorService rebuilder;
+    private ExecutorService trainer;
+    
+    @PostConstruct
+    public void init() {
+        // 聚类训练在单独的线程上进行，不占用提交事务的请求线程
+        trainer = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "embedding-index-train");
+            thread.setDaemon(true);
+            return thread;
+        });
+        indexes = newIndexes();
+        indexes.useTrainer(trainer);
+        if (enabled) {
+            clusterEvents.subscribe(CHANGED_TOPIC, this::onRemoteChange);
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        rebuilder = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "embedding-index-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (reconcileIntervalMinutes > 0) {
+            rebuilder.scheduleWithFixedDelay(this::rebuild, 0, reconcileIntervalMinutes, TimeUnit.MINUTES);
+        } else {
+            rebuilder.execute(this::rebuild);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+        trainer.shutdownNow();
+    }
+    
+    /**
+     * 从数据库全量重建向量索引
+     * 在新的索引上构建并在重建线程上训练，完成后整体切换；构建期间被修改的文档在切换后按数据库最新状态重新加载
+     */
+    public synchronized void rebuild() {
+        Map<String, Set<Long>> changed = changes.watch();
+        try {
+            long start = System.currentTimeMillis();
+            Indexes fresh = newIndexes();
+            int resumes = 0;
+            long lastId = 0;
+            Pageable pageable = PageRequest.of(0, Math.max(1, rebuildBatchSize));
+            List<Resume> page;
+            do {
+                // 按ID游标翻页，避免偏移分页在构建期间因插入删除而跳过或重复
+                page = resumeRepository.findByIdGreaterThanOrderByIdAsc(lastId, pageable);
+                for (Resume resume : page) {
+                    if (indexResume(fresh, resume)) {
+                        resumes++;
+                    }
+                    lastId = resume.getId();
+                }
+            } while (page.size() == pageable.getPageSize());
+            int jobs = 0;
+            for (Job job : jobRepository.findByStatus(Job.JobStatus.ACTIVE)) {
+                if (indexJob(fresh, job)) {
+                    jobs++;
+                }
+            }
+            fresh.resumes.retrain();
+            fresh.jobs.retrain();
+            fresh.useTrainer(trainer);
+            changes.finish(changed, () -> indexes = fresh);
+            changed.forEach(this::reload);
+            ready = true;
+            log.info("语义向量索引构建完成：简历 {}，职位 {}，耗时 {} ms", resumes, jobs, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("语义向量索引构建失败", e);
+        } finally {
+            changes.unwatch(changed);
+        }
+    }
+    
+    public boolean isReady() {
+        return enabled && ready;
+    }
+    
+    // ========== 增量更新 ==========
+    
+    public void onSaved(Object entity) {
+        String type = typeOf(entity);
+        Long id = idOf(entity);
+        if (!enabled || type == null || id == null) {
+            return;
+        }
+        changes.apply(type, id, () -> index(indexes, entity));
+        clusterEvents.publish(CHANGED_TOPIC, type + ":" + id);
+    }
+    
+    public void onRemoved(Object entity) {
+        String type = typeOf(entity);
+        Long id = idOf(entity);
+        if (!enabled || type == null || id == null) {
+            return;
+        }
+        changes.apply(type, id, () -> remove(indexes, type, id));
+        clusterEvents.publish(CHANGED_TOPIC, type + ":" + id);
+    }
+    
+    /**
+     * 其他实例修改了简历或职位，按数据库当前状态重新加载
+     */
+    private void onRemoteChange(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator <= 0) {
+            return;
+        }
+        reload(payload.substring(0, separator), List.of(Long.valueOf(payload.substring(separator + 1))));
+    }
+    
+    private void reload(String type, Collection<Long> ids) {
+        Function<Collection<Long>, List<?>> loader = RESUME.equals(type) ? resumeRepository::findAllById : jobRepository::findAllById;
+        changes.reload(type, ids, loader, EmbeddingIndexService::idOf,
+                entity -> index(indexes, entity), id -> remove(indexes, type, id));
+    }
+    
+    private static String typeOf(Object entity) {
+        if (entity instanceof Resume) {
+            return RESUME;
+        } else if (entity instanceof Job) {
+            return JOB;
+        }
+        return null;
+    }
+    
+    private static Long idOf(Object entity) {
+        if (entity instanceof Resume resume) {
+            return resume.getId();
+        } else if (entity instanceof Job job) {
+            return job.getId();
+        }
+        return null;
+    }
+    
+    private void index(Indexes target, Object entity) {
+        if (entity instanceof Resume resume) {
+            indexResume(target, resume);
+        } else if (entity instanceof Job job) {
+            indexJob(target, job);
+        }
+    }
+    
+    private static void remove(Indexes target, String type, long id) {
+        if (RESUME.equals(type)) {
+            target.resumes.remove(id);
+        } else if (JOB.equals(type)) {
+            target.jobs.remove(id);
+        }
+    }
+    
+    private boolean indexResume(Indexes target, Resume resume) {
+        if (resume.getId() == null) {
+            return false;
+        }
+        String text = resumeText(resume);
+        if (text.isBlank()) {
+            target.resumes.remove(resume.getId());
+            return false;
+        }
+        target.resumes.put(resume.getId(), TextEmbedder.embed(text));
+        return true;
+    }
+    
+    private boolean indexJob(Indexes target, Job job) {
+        if (job.getId() == null) {
+            return false;
+        }
+        // 只收录在招职位
+        if (job.getStatus() != Job.JobStatus.ACTIVE) {
+            target.jobs.remove(job.getId());
+            return false;
+        }
+        target.jobs.put(job.getId(), TextEmbedder.embed(jobText(job)));
+        return true;
+    }
+    
+    private Indexes newIndexes() {
+        return new Indexes(new VectorIndex(TextEmbedder.DIMENSIONS, nprobe, bruteForceThreshold),
+                new VectorIndex(TextEmbedder.DIMENSIONS, nprobe, bruteForceThreshold));
+    }
+    
+    // ========== 检索 ==========
+    
+    /**
+     * 与职位语义最接近的 k 份简历
+     */
+    public Neighbors similarResumes(Job job, int k) {
+        return indexes.resumes.search(TextEmbedder.embed(jobText(job)), k);
+    }
+    
+    /**
+     * 与简历语义最接近的 k 个在招职位
+     */
+    public Neighbors similarJobs(Resume resume, int k) {
+        return indexes.jobs.search(TextEmbedder.embed(resumeText(resume)), k);
+    }
+    
+    /**
+     * 简历与职位的语义相似度（-1 到 1），已建索引的简历直接使用索引中的向量
+     */
+    public double similarity(Resume resume, Job job) {
+        float[] resumeVector = resume.getId() != null ? indexes.resumes.get(resume.getId()) : null;
+        if (resumeVector == null) {
+            resumeVector = TextEmbedder.embed(resumeText(resume));
+        }
+        return TextEmbedder.cosine(resumeVector, TextEmbedder.embed(jobText(job)));
+    }
+    
+    private String resumeText(Resume resume) {
+        StringBuilder text = new StringBuilder();
+        String content = resume.getParsedContent();
+        if (content != null) {
+            // 解析结果为 JSON 时取其中的原文
+            try {
+                JsonNode raw = objectMapper.readTree(content).get("rawContent");
+                text.append(raw != null ? raw.asText() : content);
+            } catch (Exception e) {
+                text.append(content);
+            }
+        }
+        append(text, resume.getExtractedSkills());
+        append(text, resume.getExtractedExperience());
+        return text.toString();
+    }
+    
+    private static String jobText(Job job) {
+        StringBuilder text = new StringBuilder();
+        append(text, job.getTitle());
+        append(text, job.getRequirements());
+        append(text, job.getDescription());
+        return text.toString();
+    }
+    
+    private static void append(StringBuilder text, String value) {
+        if (value != null && !value.isEmpty()) {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(value);
+        }
+    }
+    
+    /**
+     * 简历和职位两个索引，重建时整体替换
+     */
+    private static final class Indexes {
+        final VectorIndex resumes;
+        final VectorIndex jobs;
+        
+        Indexes(VectorIndex resumes, VectorIndex jobs) {
+            this.resumes = resumes;
+            this.jobs = jobs;
+        }
+        
+        void useTrainer(Executor trainer) {
+            resumes.setTrainer(trainer);
+            jobs.setTrainer(trainer);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.hrms.service.embedding;
+
+/**
+ * 一次近邻检索的结果：按相似度降序排列的ID、对应相似度以及实际比较过的向量数
+ */
+public class Neighbors {
+    
+    static final Neighbors EMPTY = new Neighbors(new long[0], new double[0], 0);
+    
+    private final long[] ids;
+    private final double[] similarities;
+    private final int scanned;
+    
+    public Neighbors(long[] ids, double[] similarities, int scanned) {
+        this.ids = ids;
+        this.similarities = similarities;
+        this.scanned = scanned;
+    }
+    
+    public long[] getIds() {
+        return ids;
+    }
+    
+    public double[] getSimilarities() {
+        return similarities;
+    }
+    
+    public int getScanned() {
+        return scanned;
+    }
+}
\ No newline at end of file
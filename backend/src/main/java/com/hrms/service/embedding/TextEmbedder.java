@@ -0,0 +1,128 @@
+package com.hrms.service.embedding;
+
+import com.hrms.service.search.SearchTokenizer;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 本地文本向量化，不依赖外部模型服务
+ * 分词后取整词、英文词的字符三元组、相邻英文词拼接三类特征，按词频开方加权，
+ * 再用稀疏随机投影（每个特征按哈希落到若干维，符号随机）映射到固定维数并归一化。
+ * 字符三元组和拼接特征让 "SpringBoot" 与 "Spring Boot" 相近，常见缩写先按同义词表换成全称
+ */
+public final class TextEmbedder {
+    
+    public static final int DIMENSIONS = 256;
+    
+    // 每个特征投影到的维数
+    private static final int PROJECTIONS = 4;
+    
+    private static final float GRAM_WEIGHT = 0.5f;
+    
+    // 技术名词常见缩写和写法
+    private static final Map<String, String> SYNONYMS = Map.ofEntries(
+        Map.entry("k8s", "kubernetes"),
+        Map.entry("golang", "go"),
+        Map.entry("js", "javascript"),
+        Map.entry("ts", "typescript"),
+        Map.entry("py", "python"),
+        Map.entry("cpp", "c++"),
+        Map.entry("csharp", "c#"),
+        Map.entry("postgres", "postgresql"),
+        Map.entry("mongo", "mongodb"),
+        Map.entry("node", "node.js"),
+        Map.entry("nodejs", "node.js"),
+        Map.entry("reactjs", "react"),
+        Map.entry("react.js", "react"),
+        Map.entry("vuejs", "vue"),
+        Map.entry("vue.js", "vue")
+    );
+    
+    private TextEmbedder() {}
+    
+    /**
+     * 文本向量（L2 归一化，文本为空时为全零向量）
+     */
+    public static float[] embed(String text) {
+        float[] vector = new float[DIMENSIONS];
+        if (text == null || text.isEmpty()) {
+            return vector;
+        }
+        Map<String, Float> features = new HashMap<>();
+        List<String> tokens = SearchTokenizer.tokenize(text);
+        String previousWord = null;
+        for (String token : tokens) {
+            String term = SYNONYMS.getOrDefault(token, token);
+            features.merge(term, 1f, Float::sum);
+            if (!isLatinWord(term)) {
+                previousWord = null;
+                continue;
+            }
+            addGrams(features, term);
+            if (previousWord != null) {
+                features.merge(previousWord + term, 1f, Float::sum);
+            }
+            previousWord = term;
+        }
+        
+        for (Map.Entry<String, Float> entry : features.entrySet()) {
+            float weight = (float) Math.sqrt(entry.getValue());
+            long hash = mix(entry.getKey().hashCode());
+            for (int i = 0; i < PROJECTIONS; i++) {
+                hash = mix(hash + i);
+                int dimension = (int) ((hash >>> 1) % DIMENSIONS);
+                vector[dimension] += (hash & 1) == 0 ? weight : -weight;
+            }
+        }
+        normalize(vector);
+        return vector;
+    }
+    
+    /**
+     * 两个归一化向量的余弦相似度
+     */
+    public static double cosine(float[] a, float[] b) {
+        double dot = 0;
+        for (int i = 0; i < a.length; i++) {
+            dot += a[i] * b[i];
+        }
+        return dot;
+    }
+    
+    static void normalize(float[] vector) {
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm > 0) {
+            float inverse = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] *= inverse;
+            }
+        }
+    }
+    
+    private static void addGrams(Map<String, Float> features, String word) {
+        // 加首尾标记后取字符三元组，前缀与整词特征区分开
+        String marked = "^" + word + "$";
+        for (int i = 0; i + 3 <= marked.length(); i++) {
+            features.merge("#" + marked.substring(i, i + 3), GRAM_WEIGHT, Float::sum);
+        }
+    }
+    
+    private static boolean isLatinWord(String token) {
+        char first = token.charAt(0);
+        return first < 0x80 && Character.isLetter(first);
+    }
+    
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,470 @@
+package com.hrms.service.embedding;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 近似最近邻向量索引（IVF）
+ * 向量按 int8 量化（每个向量一个缩放系数）后存放在堆外内存中，每条只占维数个字节；
+ * 数量达到阈值后用 k-means 训练聚类中心，每个向量归入最近的中心，检索时只扫描与查询最近的 nprobe 个簇。
+ * 支持增量插入、替换和删除，删除后的槽位留给后续插入复用；数量增长到上次训练时的 4 倍后重新训练。
+ * 训练在 trainer 上进行：抽样和分批归簇只持有读锁，k-means 迭代不持锁，最后在写锁内换上新的聚类，
+ * 训练期间写入或删除的槽位此时重新归簇；默认 trainer 在调用线程上执行（释放写锁之后），用于批量加载
+ */
+public class VectorIndex {
+    
+    private static final long FREE = Long.MIN_VALUE;
+    private static final int KMEANS_ITERATIONS = 8;
+    private static final int TRAINING_SAMPLE = 20000;
+    private static final int MAX_LISTS = 1024;
+    private static final int ASSIGN_BATCH = 4096;
+    
+    private final int dimensions;
+    private final int nprobe;
+    private final int bruteForceThreshold;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotsById = new HashMap<>();
+    
+    // 槽位存储：codes 中第 slot 段为量化后的向量
+    private ByteBuffer codes;
+    private float[] scales;
+    private long[] slotIds;
+    private int[] slotList;
+    private int[] slotPosition;
+    private int highWater;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    
+    // 聚类中心及各簇的槽位列表，未训练时为 null
+    private float[][] centroids;
+    private int[][] lists;
+    private int[] listSizes;
+    private int trainedSize;
+    
+    // 训练进行中时不为 null，记录训练开始后被写入或删除的槽位
+    private BitSet changedDuringTraining;
+    private volatile Executor trainer = Runnable::run;
+    
+    public VectorIndex(int dimensions, int nprobe, int bruteForceThreshold) {
+        this.dimensions = dimensions;
+        this.nprobe = Math.max(1, nprobe);
+        this.bruteForceThreshold = Math.max(0, bruteForceThreshold);
+        allocate(64);
+    }
+    
+    /**
+     * 之后的训练改在 trainer 上执行，索引开始接受线上写入前设置
+     */
+    public void setTrainer(Executor trainer) {
+        this.trainer = trainer;
+    }
+    
+    /**
+     * 新增或替换向量（应为归一化向量）
+     */
+    public void put(long id, float[] vector) {
+        boolean startTraining = false;
+        lock.writeLock().lock();
+        try {
+            Integer existing = slotsById.get(id);
+            int slot;
+            if (existing != null) {
+                slot = existing;
+                unassign(slot);
+            } else {
+                slot = takeSlot();
+                slotIds[slot] = id;
+                slotsById.put(id, slot);
+            }
+            quantize(slot, vector);
+            if (centroids != null) {
+                assign(slot, nearest(centroids, vector));
+            }
+            if (changedDuringTraining != null) {
+                changedDuringTraining.set(slot);
+            }
+            int size = slotsById.size();
+            if (changedDuringTraining == null && size > bruteForceThreshold
+                    && (centroids == null || size >= trainedSize * 4L)) {
+                changedDuringTraining = new BitSet();
+                startTraining = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (startTraining) {
+            try {
+                trainer.execute(this::train);
+            } catch (RejectedExecutionException e) {
+                abortTraining();
+            }
+        }
+    }
+    
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsById.remove(id);
+            if (slot == null) {
+                return;
+            }
+            unassign(slot);
+            slotIds[slot] = FREE;
+            if (changedDuringTraining != null) {
+                changedDuringTraining.set(slot);
+            }
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 已保存的向量（反量化后），不存在时返回 null
+     */
+    public float[] get(long id) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slotsById.get(id);
+            return slot != null ? dequantize(slot) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 与查询向量余弦相似度最高的 k 个向量
+     * 数量不超过暴力扫描阈值或尚未训练时扫描全部，否则只扫描最近的 nprobe 个簇
+     */
+    public Neighbors search(float[] query, int k) {
+        if (k <= 0) {
+            return Neighbors.EMPTY;
+        }
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Neighbor> heap = new PriorityQueue<>(Neighbor.WORST_FIRST);
+            int scanned = 0;
+            if (centroids == null || slotsById.size() <= bruteForceThreshold) {
+                for (int slot = 0; slot < highWater; slot++) {
+                    if (slotIds[slot] != FREE) {
+                        offer(heap, k, slot, dot(query, slot));
+                        scanned++;
+                    }
+                }
+            } else {
+                for (int list : nearestLists(query, nprobe)) {
+                    int[] members = lists[list];
+                    for (int i = 0; i < listSizes[list]; i++) {
+                        offer(heap, k, members[i], dot(query, members[i]));
+                    }
+                    scanned += listSizes[list];
+                }
+            }
+            
+            Neighbor[] ranked = heap.toArray(new Neighbor[0]);
+            Arrays.sort(ranked, Neighbor.WORST_FIRST.reversed());
+            long[] ids = new long[ranked.length];
+            double[] similarities = new double[ranked.length];
+            for (int i = 0; i < ranked.length; i++) {
+                ids[i] = slotIds[ranked[i].slot];
+                similarities[i] = ranked[i].similarity;
+            }
+            return new Neighbors(ids, similarities, scanned);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 在调用线程上用当前全部向量重新训练聚类中心（全量加载完成后调用），已有训练进行中时跳过
+     */
+    public void retrain() {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringTraining != null || slotsById.size() <= bruteForceThreshold) {
+                return;
+            }
+            changedDuringTraining = new BitSet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        train();
+    }
+    
+    // ========== 存储 ==========
+    
+    private void allocate(int capacity) {
+        codes = ByteBuffer.allocateDirect(capacity * dimensions);
+        scales = new float[capacity];
+        slotIds = new long[capacity];
+        Arrays.fill(slotIds, FREE);
+        slotList = new int[capacity];
+        slotPosition = new int[capacity];
+        highWater = 0;
+    }
+    
+    private int takeSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWater == slotIds.length) {
+            int capacity = highWater * 2;
+            ByteBuffer grown = ByteBuffer.allocateDirect(capacity * dimensions);
+            grown.put(codes.duplicate().clear());
+            codes = grown;
+            scales = Arrays.copyOf(scales, capacity);
+            slotIds = Arrays.copyOf(slotIds, capacity);
+            Arrays.fill(slotIds, highWater, capacity, FREE);
+            slotList = Arrays.copyOf(slotList, capacity);
+            slotPosition = Arrays.copyOf(slotPosition, capacity);
+        }
+        slotList[highWater] = -1;
+        return highWater++;
+    }
+    
+    private void quantize(int slot, float[] vector) {
+        float max = 0;
+        for (float value : vector) {
+            max = Math.max(max, Math.abs(value));
+        }
+        float scale = max > 0 ? max / 127 : 1;
+        int base = slot * dimensions;
+        for (int i = 0; i < dimensions; i++) {
+            codes.put(base + i, (byte) Math.round(vector[i] / scale));
+        }
+        scales[slot] = scale;
+    }
+    
+    private float[] dequantize(int slot) {
+        float[] vector = new float[dimensions];
+        int base = slot * dimensions;
+        for (int i = 0; i < dimensions; i++) {
+            vector[i] = codes.get(base + i) * scales[slot];
+        }
+        return vector;
+    }
+    
+    private double dot(float[] query, int slot) {
+        int base = slot * dimensions;
+        float sum = 0;
+        for (int i = 0; i < dimensions; i++) {
+            sum += query[i] * codes.get(base + i);
+        }
+        return sum * scales[slot];
+    }
+    
+    private static void offer(PriorityQueue<Neighbor> heap, int k, int slot, double similarity) {
+        if (heap.size() < k) {
+            heap.add(new Neighbor(slot, similarity));
+        } else if (similarity > heap.peek().similarity) {
+            heap.poll();
+            heap.add(new Neighbor(slot, similarity));
+        }
+    }
+    
+    // ========== 聚类 ==========
+    
+    private void assign(int slot, int list) {
+        if (listSizes[list] == lists[list].length) {
+            lists[list] = Arrays.copyOf(lists[list], Math.max(4, listSizes[list] * 2));
+        }
+        lists[list][listSizes[list]] = slot;
+        slotList[slot] = list;
+        slotPosition[slot] = listSizes[list]++;
+    }
+    
+    private void unassign(int slot) {
+        int list = slotList[slot];
+        if (list < 0 || lists == null) {
+            return;
+        }
+        // 用簇中最后一个槽位填补空位
+        int position = slotPosition[slot];
+        int last = lists[list][--listSizes[list]];
+        lists[list][position] = last;
+        slotPosition[last] = position;
+        slotList[slot] = -1;
+    }
+    
+    private static int nearest(float[][] centers, float[] vector) {
+        int best = 0;
+        double bestSimilarity = Double.NEGATIVE_INFINITY;
+        for (int c = 0; c < centers.length; c++) {
+            double similarity = TextEmbedder.cosine(vector, centers[c]);
+            if (similarity > bestSimilarity) {
+                bestSimilarity = similarity;
+                best = c;
+            }
+        }
+        return best;
+    }
+    
+    private int[] nearestLists(float[] query, int count) {
+        Integer[] order = new Integer[centroids.length];
+        double[] similarities = new double[centroids.length];
+        for (int c = 0; c < centroids.length; c++) {
+            order[c] = c;
+            similarities[c] = TextEmbedder.cosine(query, centroids[c]);
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(similarities[b], similarities[a]));
+        int[] nearest = new int[Math.min(count, order.length)];
+        for (int i = 0; i < nearest.length; i++) {
+            nearest[i] = order[i];
+        }
+        return nearest;
+    }
+    
+    /**
+     * 球面 k-means：簇数取向量数的平方根，在抽样向量上迭代，完成后把所有向量重新归簇
+     */
+    private void train() {
+        try {
+            float[][] trained = trainCentroids();
+            install(trained, assignAll(trained));
+        } catch (RuntimeException e) {
+            abortTraining();
+            throw e;
+        }
+    }
+    
+    private void abortTraining() {
+        lock.writeLock().lock();
+        try {
+            changedDuringTraining = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private float[][] trainCentroids() {
+        int listCount;
+        List<float[]> sample = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int size = slotsById.size();
+            listCount = (int) Math.max(1, Math.min(MAX_LISTS, Math.round(Math.sqrt(size))));
+            int step = Math.max(1, size / TRAINING_SAMPLE);
+            int occupied = 0;
+            for (int slot = 0; slot < highWater; slot++) {
+                if (slotIds[slot] != FREE && occupied++ % step == 0) {
+                    sample.add(dequantize(slot));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        // 迭代只用抽样向量，不持锁
+        Random random = new Random(42);
+        Collections.shuffle(sample, random);
+        float[][] trained = new float[Math.min(listCount, sample.size())][];
+        for (int c = 0; c < trained.length; c++) {
+            trained[c] = sample.get(c).clone();
+        }
+        for (int iteration = 0; iteration < KMEANS_ITERATIONS; iteration++) {
+            float[][] sums = new float[trained.length][dimensions];
+            int[] members = new int[trained.length];
+            for (float[] vector : sample) {
+                int c = nearest(trained, vector);
+                members[c]++;
+                for (int i = 0; i < dimensions; i++) {
+                    sums[c][i] += vector[i];
+                }
+            }
+            for (int c = 0; c < trained.length; c++) {
+                if (members[c] > 0) {
+                    TextEmbedder.normalize(sums[c]);
+                    trained[c] = sums[c];
+                } else {
+                    // 空簇改用随机样本重新开始
+                    trained[c] = sample.get(random.nextInt(sample.size())).clone();
+                }
+            }
+        }
+        return trained;
+    }
+    
+    /**
+     * 分批持有读锁计算每个槽位最近的簇，批与批之间写入可以进行
+     */
+    private int[] assignAll(float[][] trained) {
+        int limit;
+        lock.readLock().lock();
+        try {
+            limit = highWater;
+        } finally {
+            lock.readLock().unlock();
+        }
+        int[] assignment = new int[limit];
+        Arrays.fill(assignment, -1);
+        for (int from = 0; from < limit; from += ASSIGN_BATCH) {
+            lock.readLock().lock();
+            try {
+                for (int slot = from; slot < Math.min(limit, from + ASSIGN_BATCH); slot++) {
+                    if (slotIds[slot] != FREE) {
+                        assignment[slot] = nearest(trained, dequantize(slot));
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return assignment;
+    }
+    
+    /**
+     * 换上新的聚类，训练期间写入过的槽位和之后新增的槽位在此重新计算
+     */
+    private void install(float[][] trained, int[] assignment) {
+        lock.writeLock().lock();
+        try {
+            BitSet changed = changedDuringTraining;
+            int perList = Math.max(4, slotsById.size() / trained.length);
+            lists = new int[trained.length][];
+            listSizes = new int[trained.length];
+            for (int c = 0; c < trained.length; c++) {
+                lists[c] = new int[perList];
+            }
+            centroids = trained;
+            for (int slot = 0; slot < highWater; slot++) {
+                if (slotIds[slot] == FREE) {
+                    continue;
+                }
+                boolean reuse = slot < assignment.length && assignment[slot] >= 0 && !changed.get(slot);
+                assign(slot, reuse ? assignment[slot] : nearest(trained, dequantize(slot)));
+            }
+            trainedSize = slotsById.size();
+            changedDuringTraining = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private static final class Neighbor {
+        static final Comparator<Neighbor> WORST_FIRST = Comparator.comparingDouble(n -> n.similarity);
+        
+        final int slot;
+        final double similarity;
+        
+        Neighbor(int slot, double similarity) {
+            this.slot = slot;
+            this.similarity = similarity;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.hrms.service.http;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 出站 HTTP 请求的按主机统计
+ * 记录请求数、进行中请求数、失败数、耗时和协议版本分布，用于观察连接复用和平台响应情况
+ */
+@Component
+public class HttpClientMetrics {
+    
+    private final Map<String, HostStats> hosts = new ConcurrentHashMap<>();
+    
+    HostStats forHost(String host) {
+        return hosts.computeIfAbsent(host != null ? host.toLowerCase() : "unknown", key -> new HostStats());
+    }
+    
+    /**
+     * 各主机的统计快照
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new TreeMap<>();
+        hosts.forEach((host, stats) -> result.put(host, stats.toMap()));
+        return result;
+    }
+    
+    static class HostStats {
+        
+        private final AtomicInteger clients = new AtomicInteger();
+        private final AtomicInteger active = new AtomicInteger();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final LongAdder http2Responses = new LongAdder();
+        private final LongAdder gzipResponses = new LongAdder();
+        private final LongAdder totalLatencyNanos = new LongAdder();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+        
+        void clientCreated() {
+            clients.incrementAndGet();
+        }
+        
+        void started() {
+            active.incrementAndGet();
+            requests.increment();
+        }
+        
+        void completed(long latencyNanos, int status, boolean http2, boolean gzip) {
+            active.decrementAndGet();
+            totalLatencyNanos.add(latencyNanos);
+            maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+            if (status >= 500) {
+                serverErrors.increment();
+            }
+            if (http2) {
+                http2Responses.increment();
+            }
+            if (gzip) {
+                gzipResponses.increment();
+            }
+        }
+        
+        void failed() {
+            active.decrementAndGet();
+            failures.increment();
+        }
+        
+        Map<String, Object> toMap() {
+            long count = requests.sum();
+            long completed = count - failures.sum() - active.get();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("clients", clients.get());
+            map.put("activeRequests", active.get());
+            map.put("totalRequests", count);
+            map.put("failures", failures.sum());
+            map.put("serverErrors", serverErrors.sum());
+            map.put("http2Responses", http2Responses.sum());
+            map.put("gzipResponses", gzipResponses.sum());
+            map.put("avgLatencyMs", completed > 0 ? TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos.sum() / completed) : 0);
+            map.put("maxLatencyMs", TimeUnit.NANOSECONDS.toMillis(maxLatencyNanos.get()));
+            return map;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.hrms.service.http;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.entity.ThirdPartyPlatform;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 各第三方平台的 HTTP 超时配置
+ * 参数取自平台的 configJson：connectTimeoutMs（建立连接）、readTimeoutMs（等待响应头）、
+ * totalTimeoutMs（整个请求含读取响应体，0 表示不限制），未配置时使用 http-client.* 默认值；按 API 主机名查找
+ */
+@Component
+public class PlatformHttpSettingsRegistry {
+    
+    @Value("${http-client.connect-timeout-ms:30000}")
+    private long defaultConnectTimeoutMs;
+    
+    @Value("${http-client.read-timeout-ms:60000}")
+    private long defaultReadTimeoutMs;
+    
+    @Value("${http-client.total-timeout-ms:120000}")
+    private long defaultTotalTimeoutMs;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, HttpSettings> byHost = new ConcurrentHashMap<>();
+    private volatile HttpSettings defaults;
+    
+    /**
+     * 登记平台（或在配置变化后更新）的超时配置
+     */
+    public HttpSettings register(ThirdPartyPlatform platform) {
+        String host = hostOf(platform.getApiBaseUrl());
+        Map<String, Object> config = parseConfig(platform.getConfigJson());
+        HttpSettings settings = new HttpSettings(
+            toMillis(config.get("connectTimeoutMs"), defaultConnectTimeoutMs),
+            toMillis(config.get("readTimeoutMs"), defaultReadTimeoutMs),
+            toMillis(config.get("totalTimeoutMs"), defaultTotalTimeoutMs));
+        if (host != null) {
+            byHost.put(host, settings);
+        }
+        return settings;
+    }
+    
+    /**
+     * 查找主机对应的超时配置，未登记的主机使用默认值
+     */
+    public HttpSettings settingsFor(String host) {
+        HttpSettings settings = host != null ? byHost.get(host.toLowerCase()) : null;
+        return settings != null ? settings : getDefaults();
+    }
+    
+    public HttpSettings getDefaults() {
+        if (defaults == null) {
+            defaults = new HttpSettings(defaultConnectTimeoutMs, defaultReadTimeoutMs, defaultTotalTimeoutMs);
+        }
+        return defaults;
+    }
+    
+    private Map<String, Object> parseConfig(String configJson) {
+        try {
+            if (configJson != null && !configJson.isBlank()) {
+                return objectMapper.readValue(configJson, new TypeReference<Map<String, Object>>() {});
+            }
+        } catch (Exception e) {
+            // 配置格式错误时使用默认值
+        }
+        return new HashMap<>();
+    }
+    
+    private static String hostOf(String url) {
+        try {
+            String host = url != null ? URI.create(url.trim()).getHost() : null;
+            return host != null ? host.toLowerCase() : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static long toMillis(Object value, long defaultValue) {
+        if (value instanceof Number number && number.longValue() >= 0) {
+            return number.longValue();
+        }
+        return defaultValue;
+    }
+    
+    /**
+     * 单个主机的超时配置
+     */
+    public static class HttpSettings {
+        
+        private final Duration connectTimeout;
+        private final Duration readTimeout;
+        private final Duration totalTimeout;
+        
+        HttpSettings(long connectTimeoutMs, long readTimeoutMs, long totalTimeoutMs) {
+            this.connectTimeout = Duration.ofMillis(Math.max(1, connectTimeoutMs));
+            this.readTimeout = Duration.ofMillis(Math.max(1, readTimeoutMs));
+            this.totalTimeout = totalTimeoutMs > 0 ? Duration.ofMillis(totalTimeoutMs) : null;
+        }
+        
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+        
+        public Duration getReadTimeout() {
+            return readTimeout;
+        }
+        
+        /**
+         * 为 null 时不限制总耗时
+         */
+        public Duration getTotalTimeout() {
+            return totalTimeout;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,337 @@
+package com.hrms.service.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.*;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 基于 JDK HttpClient 的连接池请求工厂
+ * 每个主机一个 HttpClient，连接保持复用（HTTPS 下优先协商 HTTP/2，同一主机的请求多路复用一条连接），
+ * 避免每次请求重新建立 TCP 和 TLS 握手；自动请求并解压 gzip 响应，超时按主机取自 {@link PlatformHttpSettingsRegistry}。
+ * 配置了总超时的请求到达截止时间后由定时任务强制关闭响应体，阻塞中的读取随即抛出 {@link SocketTimeoutException}
+ */
+public class PooledHttpClientRequestFactory implements ClientHttpRequestFactory {
+    
+    // JDK HttpClient 不允许调用方设置的请求头
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "host", "expect", "upgrade");
+    
+    // 关闭响应时最多丢弃的剩余字节数，超过时直接断开连接而不是读完
+    private static final int MAX_DRAIN_BYTES = 64 * 1024;
+    
+    private final PlatformHttpSettingsRegistry settingsRegistry;
+    private final HttpClientMetrics metrics;
+    private final Map<String, HostClient> clients = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+    private final ScheduledExecutorService deadlineScheduler;
+    
+    public PooledHttpClientRequestFactory(PlatformHttpSettingsRegistry settingsRegistry, HttpClientMetrics metrics) {
+        this.settingsRegistry = settingsRegistry;
+        this.metrics = metrics;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "http-client-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deadlineScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "http-client-deadline");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        String host = uri.getHost() != null ? uri.getHost().toLowerCase() : "unknown";
+        PlatformHttpSettingsRegistry.HttpSettings settings = settingsRegistry.settingsFor(host);
+        HttpClientMetrics.HostStats stats = metrics.forHost(host);
+        
+        // 连接超时是 HttpClient 级别的参数，每个主机只保留一个客户端，配置变化后替换；
+        // JDK 17 的 HttpClient 没有 close 方法，被替换的客户端不再被引用后，其空闲连接和选择器线程随之释放
+        HostClient current = clients.get(host);
+        if (current == null || !current.connectTimeout.equals(settings.getConnectTimeout())) {
+            current = clients.compute(host, (key, existing) -> {
+                if (existing != null && existing.connectTimeout.equals(settings.getConnectTimeout())) {
+                    return existing;
+                }
+                stats.clientCreated();
+                return new HostClient(HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .connectTimeout(settings.getConnectTimeout())
+                        .followRedirects(HttpClient.Redirect.NORMAL)
+                        .executor(executor)
+                        .build(), settings.getConnectTimeout());
+            });
+        }
+        return new PooledHttpClientRequest(current.client, uri, httpMethod, settings, stats, deadlineScheduler);
+    }
+    
+    /**
+     * 关闭共享的回调线程池和截止时间调度线程
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+        deadlineScheduler.shutdownNow();
+    }
+    
+    private static final class HostClient {
+        final HttpClient client;
+        final Duration connectTimeout;
+        
+        HostClient(HttpClient client, Duration connectTimeout) {
+            this.client = client;
+            this.connectTimeout = connectTimeout;
+        }
+    }
+    
+    private static class PooledHttpClientRequest extends AbstractClientHttpRequest {
+        
+        private final HttpClient client;
+        private final URI uri;
+        private final HttpMethod method;
+        private final PlatformHttpSettingsRegistry.HttpSettings settings;
+        private final HttpClientMetrics.HostStats stats;
+        private final ScheduledExecutorService deadlineScheduler;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        
+        PooledHttpClientRequest(HttpClient client, URI uri, HttpMethod method,
+                                PlatformHttpSettingsRegistry.HttpSettings settings, HttpClientMetrics.HostStats stats,
+                                ScheduledExecutorService deadlineScheduler) {
+            this.client = client;
+            this.uri = uri;
+            this.method = method;
+            this.settings = settings;
+            this.stats = stats;
+            this.deadlineScheduler = deadlineScheduler;
+        }
+        
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+        
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+        
+        @Override
+        protected OutputStream getBodyInternal(HttpHeaders headers) {
+            return body;
+        }
+        
+        @Override
+        protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+            Duration totalTimeout = settings.getTotalTimeout();
+            Duration timeout = totalTimeout != null && totalTimeout.compareTo(settings.getReadTimeout()) < 0
+                    ? totalTimeout : settings.getReadTimeout();
+            
+            HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(timeout);
+            if (!"https".equalsIgnoreCase(uri.getScheme())) {
+                // 明文连接不尝试 h2c 升级，部分服务端无法正确处理 Upgrade 请求头
+                builder.version(HttpClient.Version.HTTP_1_1);
+            }
+            headers.forEach((name, values) -> {
+                if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                    values.forEach(value -> builder.header(name, value));
+                }
+            });
+            if (!headers.containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+                builder.header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+            }
+            byte[] bytes = body.toByteArray();
+            builder.method(method.name(), bytes.length > 0
+                    ? HttpRequest.BodyPublishers.ofByteArray(bytes) : HttpRequest.BodyPublishers.noBody());
+            
+            long start = System.nanoTime();
+            stats.started();
+            try {
+                HttpResponse<InputStream> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+                boolean gzip = response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)
+                        .map(value -> value.equalsIgnoreCase("gzip")).orElse(false);
+                stats.completed(System.nanoTime() - start, response.statusCode(),
+                        response.version() == HttpClient.Version.HTTP_2, gzip);
+                PooledHttpClientResponse result = new PooledHttpClientResponse(response, gzip && method != HttpMethod.HEAD, totalTimeout);
+                if (totalTimeout != null) {
+                    // 截止时间不依赖读取调用：到点后强制关闭响应体，阻塞中的读取随即返回
+                    long remaining = start + totalTimeout.toNanos() - System.nanoTime();
+                    result.deadlineTask = deadlineScheduler.schedule(result::abort, Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                }
+                return result;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stats.failed();
+                throw new InterruptedIOException("HTTP 请求被中断: " + uri);
+            } catch (IOException | RuntimeException e) {
+                stats.failed();
+                throw e;
+            }
+        }
+    }
+    
+    private static class PooledHttpClientResponse implements ClientHttpResponse {
+        
+        private final HttpResponse<InputStream> response;
+        private final boolean gzip;
+        private final Duration totalTimeout;
+        private volatile boolean timedOut;
+        private volatile ScheduledFuture<?> deadlineTask;
+        private HttpHeaders headers;
+        private InputStream body;
+        
+        PooledHttpClientResponse(HttpResponse<InputStream> response, boolean gzip, Duration totalTimeout) {
+            this.response = response;
+            this.gzip = gzip;
+            this.totalTimeout = totalTimeout;
+        }
+        
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return HttpStatusCode.valueOf(response.statusCode());
+        }
+        
+        @Override
+        @Deprecated
+        public int getRawStatusCode() {
+            return response.statusCode();
+        }
+        
+        @Override
+        public String getStatusText() {
+            HttpStatus status = HttpStatus.resolve(response.statusCode());
+            return status != null ? status.getReasonPhrase() : "";
+        }
+        
+        @Override
+        public HttpHeaders getHeaders() {
+            if (headers == null) {
+                HttpHeaders converted = new HttpHeaders();
+                response.headers().map().forEach((name, values) -> {
+                    if (!name.startsWith(":")) {
+                        converted.addAll(name, values);
+                    }
+                });
+                if (gzip) {
+                    // 响应体已解压，压缩相关的头不再适用
+                    converted.remove(HttpHeaders.CONTENT_ENCODING);
+                    converted.remove(HttpHeaders.CONTENT_LENGTH);
+                }
+                headers = converted;
+            }
+            return headers;
+        }
+        
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                InputStream raw = response.body();
+                if (totalTimeout != null) {
+                    raw = new DeadlineInputStream(raw, this);
+                }
+                body = gzip && response.statusCode() != 204 ? new GZIPInputStream(raw, 8192) : raw;
+            }
+            return body;
+        }
+        
+        @Override
+        public void close() {
+            ScheduledFuture<?> task = deadlineTask;
+            if (task != null) {
+                task.cancel(false);
+            }
+            // 已到达的剩余响应体读完后关闭，连接才能归还连接池继续复用；
+            // 剩余部分尚未到达或超过上限时不等待，直接关闭（HttpClient 会断开该连接）
+            try (InputStream raw = response.body()) {
+                byte[] buffer = new byte[8192];
+                int drained = 0;
+                int available;
+                while (drained < MAX_DRAIN_BYTES && (available = raw.available()) > 0) {
+                    int read = raw.read(buffer, 0, Math.min(buffer.length, available));
+                    if (read < 0) {
+                        break;
+                    }
+                    drained += read;
+                }
+            } catch (IOException e) {
+                // 连接无法复用时由 HttpClient 关闭
+            }
+        }
+        
+        /**
+         * 到达总超时截止时间，强制关闭响应体
+         */
+        void abort() {
+            timedOut = true;
+            try {
+                response.body().close();
+            } catch (IOException e) {
+                // 关闭失败时读取方仍会在下次读取时收到超时异常
+            }
+        }
+    }
+    
+    /**
+     * 响应体被截止时间强制关闭后，把读取失败转换为超时异常
+     */
+    private static class DeadlineInputStream extends FilterInputStream {
+        
+        private final PooledHttpClientResponse response;
+        
+        DeadlineInputStream(InputStream in, PooledHttpClientResponse response) {
+            super(in);
+            this.response = response;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            checkDeadline();
+            try {
+                return super.read();
+            } catch (IOException e) {
+                throw timeoutOr(e);
+            }
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkDeadline();
+            try {
+                return super.read(b, off, len);
+            } catch (IOException e) {
+                throw timeoutOr(e);
+            }
+        }
+        
+        private void checkDeadline() throws SocketTimeoutException {
+            if (response.timedOut) {
+                throw timeout();
+            }
+        }
+        
+        private IOException timeoutOr(IOException e) {
+            return response.timedOut ? timeout() : e;
+        }
+        
+        private SocketTimeoutException timeout() {
+            return new SocketTimeoutException("HTTP 请求总耗时超过 " + response.totalTimeout.toMillis() + " ms");
+        }
+    }
+}
\ No newline at end of file
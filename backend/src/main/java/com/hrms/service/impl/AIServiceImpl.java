@@ -1,18 +1,26 @@
 package com.hrms.service.impl;
 
+import com.hrms.entity.Candidate;
 import com.hrms.entity.Resume;
 import com.hrms.entity.Job;
+import com.hrms.repository.CandidateRepository;
+import com.hrms.repository.JobRepository;
+import com.hrms.repository.ResumeRepository;
 import com.hrms.service.AIService;
+import com.hrms.service.ai.JobSkillIndex;
+import com.hrms.service.ai.KeywordDictionary;
+import com.hrms.service.ai.KeywordMatcher;
+import com.hrms.service.ai.KeywordMatches;
+import com.hrms.service.ai.ResumeText;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.*;
-import java.util.regex.Pattern;
-import java.util.regex.Matcher;
 
 @Service
 public class AIServiceImpl implements AIService {
@@ -23,39 +31,62 @@ public class AIServiceImpl implements AIService {
     @Value("${ai.openai.base-url:https://api.openai.com/v1}")
     private String openaiBaseUrl;
     
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private RestTemplate restTemplate;
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
     
     // 技能关键词库
-    private final Set<String> SKILL_KEYWORDS = Set.of(
-        // 编程语言
-        "Java", "Python", "JavaScript", "TypeScript", "C++", "C#", "Go", "Rust", "PHP", "Ruby",
-        // 前端技术
-        "React", "Vue", "Angular", "HTML", "CSS", "jQuery", "Bootstrap", "Webpack", "Vite",
-        // 后端技术
-        "Spring", "SpringBoot", "Node.js", "Express", "Django", "Flask", "Laravel", "Rails",
-        // 数据库
-        "MySQL", "PostgreSQL", "MongoDB", "Redis", "Oracle", "SQL Server", "SQLite",
-        // 云服务
-        "AWS", "Azure", "阿里云", "腾讯云", "Docker", "Kubernetes", "Jenkins",
-        // 其他技能
-        "Git", "Linux", "Nginx", "Apache", "Elasticsearch", "Kafka", "RabbitMQ"
-    );
+    private static final Set<String> SKILL_KEYWORDS = KeywordDictionary.SKILL_KEYWORDS;
+    
+    @Autowired
+    private KeywordMatcher keywordMatcher;
+    
+    @Autowired
+    private JobSkillIndex jobSkillIndex;
+    
+    @Autowired
+    private CandidateRepository candidateRepository;
+    
+    @Autowired
+    private ResumeRepository resumeRepository;
+    
+    @Autowired
+    private JobRepository jobRepository;
+    
+    @Value("${ai.job-recommend.top-k:10}")
+    private int recommendTopK;
     
     @Override
     public Map<String, Object> parseResume(String filePath, String fileType) {
+        try {
+            return parseResumeText(extractText(filePath, fileType));
+        } catch (Exception e) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", false);
+            result.put("error", e.getMessage());
+            return result;
+        }
+    }
+    
+    @Override
+    public String extractText(String filePath, String fileType) {
+        // 这里应该实现实际的文件解析逻辑
+        // 为演示目的，我们返回模拟数据
+        return extractTextFromFile(filePath, fileType);
+    }
+    
+    @Override
+    public Map<String, Object> parseResumeText(String content) {
         Map<String, Object> result = new HashMap<>();
         
         try {
-            // 这里应该实现实际的文件解析逻辑
-            // 为演示目的，我们返回模拟数据
-            String content = extractTextFromFile(filePath, fileType);
-            
-            // 使用正则表达式提取基本信息
-            Map<String, Object> basicInfo = extractBasicInfo(content);
-            Map<String, Object> education = extractEducation(content);
-            Map<String, Object> experience = extractExperience(content);
-            Map<String, Object> skills = extractSkills(content);
+            // 各字段共用一次归一化扫描的结果
+            ResumeText text = ResumeText.of(content);
+            Map<String, Object> basicInfo = extractBasicInfo(text);
+            Map<String, Object> education = extractEducation(text);
+            Map<String, Object> experience = extractExperience(text);
+            Map<String, Object> skills = keywordMatcher.withMatches(text.normalized(), matches -> extractSkills(matches));
             
             result.put("basicInfo", basicInfo);
             result.put("education", education);
@@ -74,6 +105,11 @@ public class AIServiceImpl implements AIService {
     
     @Override
     public Map<String, Object> analyzeResumeQuality(String resumeContent) {
+        ResumeText text = ResumeText.of(resumeContent);
+        return keywordMatcher.withMatches(text.normalized(), matches -> analyzeResumeQuality(text, matches));
+    }
+    
+    private Map<String, Object> analyzeResumeQuality(ResumeText text, KeywordMatches matches) {
         Map<String, Object> result = new HashMap<>();
         
         int score = 0;
@@ -81,7 +117,7 @@ public class AIServiceImpl implements AIService {
         Map<String, Integer> scores = new HashMap<>();
         
         // 1. 完整性评分 (30分)
-        int completenessScore = evaluateCompleteness(resumeContent);
+        int completenessScore = evaluateCompleteness(text, matches);
         scores.put("completeness", completenessScore);
         score += completenessScore;
         if (completenessScore < 20) {
@@ -89,7 +125,7 @@ public class AIServiceImpl implements AIService {
         }
         
         // 2. 技能匹配度 (25分)
-        int skillScore = evaluateSkills(resumeContent);
+        int skillScore = evaluateSkills(matches);
         scores.put("skills", skillScore);
         score += skillScore;
         if (skillScore < 15) {
@@ -97,7 +133,7 @@ public class AIServiceImpl implements AIService {
         }
         
         // 3. 工作经验 (25分)
-        int experienceScore = evaluateExperience(resumeContent);
+        int experienceScore = evaluateExperience(matches);
         scores.put("experience", experienceScore);
         score += experienceScore;
         if (experienceScore < 15) {
@@ -105,7 +141,7 @@ public class AIServiceImpl implements AIService {
         }
         
         // 4. 格式规范性 (20分)
-        int formatScore = evaluateFormat(resumeContent);
+        int formatScore = evaluateFormat(text);
         scores.put("format", formatScore);
         score += formatScore;
         if (formatScore < 12) {
@@ -169,15 +205,16 @@ public class AIServiceImpl implements AIService {
     
     @Override
     public Map<String, Object> extractSkills(String content) {
+        return keywordMatcher.withMatches(content, matches -> extractSkills(matches));
+    }
+    
+    private Map<String, Object> extractSkills(KeywordMatches matches) {
         Map<String, Object> result = new HashMap<>();
         Map<String, Integer> skillFrequency = new HashMap<>();
         
-        String lowerContent = content.toLowerCase();
-        
         // 提取技能关键词
         for (String skill : SKILL_KEYWORDS) {
-            String lowerSkill = skill.toLowerCase();
-            int count = countOccurrences(lowerContent, lowerSkill);
+            int count = matches.count(skill);
             if (count > 0) {
                 skillFrequency.put(skill, count);
             }
@@ -204,19 +241,23 @@ public class AIServiceImpl implements AIService {
     
     @Override
     public Map<String, Object> analyzeWorkExperience(String experienceText) {
+        return analyzeWorkExperience(ResumeText.of(experienceText));
+    }
+    
+    private Map<String, Object> analyzeWorkExperience(ResumeText text) {
         Map<String, Object> result = new HashMap<>();
         
         // 提取工作年限
-        int yearCount = extractYearCount(experienceText);
+        int yearCount = text.maxYears();
         
         // 提取公司信息
-        List<String> companies = extractCompanies(experienceText);
+        List<String> companies = extractCompanies(text);
         
         // 提取职位信息
-        List<String> positions = extractPositions(experienceText);
+        List<String> positions = extractPositions(text);
         
         // 分析项目经验
-        List<String> projects = extractProjects(experienceText);
+        List<String> projects = extractProjects(text);
         
         result.put("totalYears", yearCount);
         result.put("companies", companies);
@@ -235,14 +276,23 @@ public class AIServiceImpl implements AIService {
             // 解析简历内容
             Map<String, Object> resumeData = parseResumeContent(resume.getParsedContent());
             
-            // 技能分析
-            Map<String, Object> skills = extractSkills(resume.getParsedContent());
+            // 技能、经验、质量分析共用同一次归一化和关键词扫描
+            ResumeText text = ResumeText.of(resume.getParsedContent());
+            KeywordMatches matches = keywordMatcher.acquire(text.normalized());
+            Map<String, Object> skills;
+            Map<String, Object> quality;
+            try {
+                // 技能分析
+                skills = extractSkills(matches);
+                
+                // 质量评分
+                quality = analyzeResumeQuality(text, matches);
+            } finally {
+                keywordMatcher.release(matches);
+            }
             
             // 经验分析
-            Map<String, Object> experience = analyzeWorkExperience(resume.getParsedContent());
-            
-            // 质量评分
-            Map<String, Object> quality = analyzeResumeQuality(resume.getParsedContent());
+            Map<String, Object> experience = analyzeWorkExperience(text);
             
             profile.put("skills", skills);
             profile.put("experience", experience);
@@ -259,20 +309,74 @@ public class AIServiceImpl implements AIService {
     
     @Override
     public Map<String, Object> recommendJobs(Long candidateId) {
-        Map<String, Object> result = new HashMap<>();
+        Candidate candidate = candidateRepository.findById(candidateId)
+            .orElseThrow(() -> new RuntimeException("候选人不存在"));
+        
+        // 候选人技能取自档案和最新一份已解析的简历，只在技能索引中检索有共同技能的在招职位
+        int[] skills = jobSkillIndex.skillsOf(candidateSkillText(candidate));
+        JobSkillIndex.TopJobs top = jobSkillIndex.topK(skills, recommendTopK);
+        
+        List<Long> jobIds = new ArrayList<>();
+        for (JobSkillIndex.Hit hit : top.getHits()) {
+            jobIds.add(hit.getJobId());
+        }
+        Map<Long, Job> jobs = new HashMap<>();
+        for (Job job : jobRepository.findAllById(jobIds)) {
+            jobs.put(job.getId(), job);
+        }
         
-        // 这里应该实现基于候选人技能和经验的职位推荐算法
-        // 为演示目的，返回模拟数据
         List<Map<String, Object>> recommendations = new ArrayList<>();
+        for (JobSkillIndex.Hit hit : top.getHits()) {
+            Job job = jobs.get(hit.getJobId());
+            if (job == null || job.getStatus() != Job.JobStatus.ACTIVE) {
+                continue;
+            }
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("jobId", job.getId());
+            item.put("title", job.getTitle());
+            item.put("department", job.getDepartment());
+            item.put("location", job.getLocation());
+            item.put("salaryMin", job.getSalaryMin());
+            item.put("salaryMax", job.getSalaryMax());
+            item.put("employmentType", job.getEmploymentType());
+            item.put("relevance", Math.round(hit.getScore() * 100) / 100.0);
+            item.put("skillCoverage", hit.getSkillCoverage());
+            item.put("matchedSkills", hit.getMatchedSkills());
+            recommendations.add(item);
+        }
         
+        List<String> candidateSkills = new ArrayList<>(skills.length);
+        for (int skill : skills) {
+            candidateSkills.add(JobSkillIndex.skillName(skill));
+        }
+        
+        Map<String, Object> result = new HashMap<>();
         result.put("recommendations", recommendations);
         result.put("totalCount", recommendations.size());
+        result.put("candidateSkills", candidateSkills);
+        result.put("indexedJobs", top.getIndexedJobs());
+        result.put("evaluatedJobs", top.getEvaluatedJobs());
         
         return result;
     }
     
     // 私有辅助方法
     
+    private String candidateSkillText(Candidate candidate) {
+        StringBuilder text = new StringBuilder();
+        for (String field : new String[]{candidate.getSkills(), candidate.getCurrentPosition(),
+                candidate.getExpectedPosition(), candidate.getSelfIntroduction()}) {
+            if (field != null) {
+                text.append(field).append('\n');
+            }
+        }
+        resumeRepository.findByCandidateId(candidate.getId()).stream()
+            .filter(resume -> resume.getParsedContent() != null)
+            .max(Comparator.comparing(Resume::getId))
+            .ifPresent(resume -> text.append(resume.getParsedContent()));
+        return text.toString();
+    }
+    
     private String extractTextFromFile(String filePath, String fileType) {
         // 这里应该实现实际的文件解析逻辑
         // 可以使用Apache POI (for Office docs) 或 PDFBox (for PDF)
@@ -280,107 +384,93 @@ public class AIServiceImpl implements AIService {
                "教育背景：计算机科学本科，工作经验：3年Java开发经验，熟悉Spring框架，MySQL数据库";
     }
     
-    private Map<String, Object> extractBasicInfo(String content) {
+    private Map<String, Object> extractBasicInfo(ResumeText text) {
         Map<String, Object> basicInfo = new HashMap<>();
         
-        // 提取姓名 (简单正则)
-        Pattern namePattern = Pattern.compile("姓名[：:](\\S+)");
-        Matcher nameMatcher = namePattern.matcher(content);
-        if (nameMatcher.find()) {
-            basicInfo.put("name", nameMatcher.group(1));
+        // 提取姓名
+        String name = text.name();
+        if (name != null) {
+            basicInfo.put("name", name);
         }
         
         // 提取电话
-        Pattern phonePattern = Pattern.compile("(1[3-9]\\d{9})");
-        Matcher phoneMatcher = phonePattern.matcher(content);
-        if (phoneMatcher.find()) {
-            basicInfo.put("phone", phoneMatcher.group(1));
+        String phone = text.phone();
+        if (phone != null) {
+            basicInfo.put("phone", phone);
         }
         
         // 提取邮箱
-        Pattern emailPattern = Pattern.compile("([a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,})");
-        Matcher emailMatcher = emailPattern.matcher(content);
-        if (emailMatcher.find()) {
-            basicInfo.put("email", emailMatcher.group(1));
+        String email = text.email();
+        if (email != null) {
+            basicInfo.put("email", email);
         }
         
         return basicInfo;
     }
     
-    private Map<String, Object> extractEducation(String content) {
+    private Map<String, Object> extractEducation(ResumeText text) {
         Map<String, Object> education = new HashMap<>();
         
         // 提取学历信息
-        if (content.contains("博士")) {
-            education.put("level", "博士");
-        } else if (content.contains("硕士")) {
-            education.put("level", "硕士");
-        } else if (content.contains("本科")) {
-            education.put("level", "本科");
-        } else if (content.contains("专科")) {
-            education.put("level", "专科");
+        String level = text.educationLevel();
+        if (level != null) {
+            education.put("level", level);
         }
         
         return education;
     }
     
-    private Map<String, Object> extractExperience(String content) {
+    private Map<String, Object> extractExperience(ResumeText text) {
         Map<String, Object> experience = new HashMap<>();
         
         // 提取工作年限
-        Pattern yearPattern = Pattern.compile("(\\d+)年");
-        Matcher yearMatcher = yearPattern.matcher(content);
-        int totalYears = 0;
-        while (yearMatcher.find()) {
-            totalYears = Math.max(totalYears, Integer.parseInt(yearMatcher.group(1)));
-        }
-        experience.put("years", totalYears);
+        experience.put("years", text.maxYears());
         
         return experience;
     }
     
-    private int evaluateCompleteness(String content) {
+    private int evaluateCompleteness(ResumeText text, KeywordMatches matches) {
         int score = 0;
         
         // 检查基本信息
-        if (content.contains("姓名") || content.contains("联系方式")) score += 5;
-        if (content.contains("@")) score += 5; // 邮箱
-        if (content.matches(".*1[3-9]\\d{9}.*")) score += 5; // 电话
-        if (content.contains("教育") || content.contains("学历")) score += 5;
-        if (content.contains("工作") || content.contains("经验")) score += 5;
-        if (content.contains("技能") || content.contains("专业")) score += 5;
+        if (matches.containsAny("姓名", "联系方式")) score += 5;
+        if (text.hasAt()) score += 5; // 邮箱
+        if (text.hasPhone()) score += 5; // 电话
+        if (matches.containsAny("教育", "学历")) score += 5;
+        if (matches.containsAny("工作", "经验")) score += 5;
+        if (matches.containsAny("技能", "专业")) score += 5;
         
         return Math.min(30, score);
     }
     
-    private int evaluateSkills(String content) {
+    private int evaluateSkills(KeywordMatches matches) {
         int skillCount = 0;
         for (String skill : SKILL_KEYWORDS) {
-            if (content.toLowerCase().contains(skill.toLowerCase())) {
+            if (matches.contains(skill)) {
                 skillCount++;
             }
         }
         return Math.min(25, skillCount * 2);
     }
     
-    private int evaluateExperience(String content) {
+    private int evaluateExperience(KeywordMatches matches) {
         int score = 0;
         
-        if (content.contains("项目")) score += 8;
-        if (content.contains("负责")) score += 5;
-        if (content.contains("开发")) score += 5;
-        if (content.contains("管理")) score += 4;
-        if (content.contains("团队")) score += 3;
+        if (matches.contains("项目")) score += 8;
+        if (matches.contains("负责")) score += 5;
+        if (matches.contains("开发")) score += 5;
+        if (matches.contains("管理")) score += 4;
+        if (matches.contains("团队")) score += 3;
         
         return Math.min(25, score);
     }
     
-    private int evaluateFormat(String content) {
+    private int evaluateFormat(ResumeText text) {
         int score = 20; // 基础分
         
         // 简单的格式检查
-        if (content.length() < 100) score -= 5;
-        if (!content.contains("\n") && content.length() > 200) score -= 3;
+        if (text.length() < 100) score -= 5;
+        if (text.lineCount() <= 1 && text.length() > 200) score -= 3;
         
         return Math.max(0, score);
     }
@@ -448,41 +538,21 @@ public class AIServiceImpl implements AIService {
         return "不推荐";
     }
     
-    private int countOccurrences(String text, String pattern) {
-        int count = 0;
-        int index = 0;
-        while ((index = text.indexOf(pattern, index)) != -1) {
-            count++;
-            index += pattern.length();
-        }
-        return count;
-    }
-    
     private double calculateSkillWeight(int frequency) {
         return Math.min(1.0, frequency * 0.2);
     }
     
-    private int extractYearCount(String text) {
-        Pattern pattern = Pattern.compile("(\\d+)年");
-        Matcher matcher = pattern.matcher(text);
-        int maxYears = 0;
-        while (matcher.find()) {
-            maxYears = Math.max(maxYears, Integer.parseInt(matcher.group(1)));
-        }
-        return maxYears;
-    }
-    
-    private List<String> extractCompanies(String text) {
+    private List<String> extractCompanies(ResumeText text) {
         // 简化的公司提取逻辑
         return Arrays.asList("示例公司A", "示例公司B");
     }
     
-    private List<String> extractPositions(String text) {
+    private List<String> extractPositions(ResumeText text) {
         // 简化的职位提取逻辑
         return Arrays.asList("高级开发工程师", "技术主管");
     }
     
-    private List<String> extractProjects(String text) {
+    private List<String> extractProjects(ResumeText text) {
         // 简化的项目提取逻辑
         return Arrays.asList("电商平台开发", "用户管理系统");
     }
@@ -517,12 +587,14 @@ public class AIServiceImpl implements AIService {
     private Set<String> extractSkillsFromJobDescription(String jobRequirements) {
         Set<String> skills = new HashSet<>();
         if (jobRequirements != null) {
-            String lowerRequirements = jobRequirements.toLowerCase();
-            for (String skill : SKILL_KEYWORDS) {
-                if (lowerRequirements.contains(skill.toLowerCase())) {
-                    skills.add(skill);
+            keywordMatcher.withMatches(jobRequirements, matches -> {
+                for (String skill : SKILL_KEYWORDS) {
+                    if (matches.contains(skill)) {
+                        skills.add(skill);
+                    }
                 }
-            }
+                return skills;
+            });
         }
         return skills;
     }
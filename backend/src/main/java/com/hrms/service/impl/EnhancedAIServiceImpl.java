@@ -1,13 +1,33 @@
 package com.hrms.service.impl;
 
+import com.hrms.dto.MatchScore;
+import com.hrms.dto.RankingResult;
 import com.hrms.entity.*;
 import com.hrms.repository.AIEvaluationCriteriaRepository;
 import com.hrms.repository.AIEvaluationHistoryRepository;
+import com.hrms.repository.ResumeRepository;
 import com.hrms.service.EnhancedAIService;
+import com.hrms.service.ai.CompiledCriteria;
+import com.hrms.service.ai.CriteriaRegistry;
+import com.hrms.service.ai.KeywordDictionary;
+import com.hrms.service.ai.KeywordMatcher;
+import com.hrms.service.ai.KeywordMatches;
+import com.hrms.service.ai.MatchScoreCache;
+import com.hrms.service.ai.ParallelRanker;
+import com.hrms.service.ai.ScreeningPrefilter;
+import com.hrms.service.cache.AfterCommit;
+import com.hrms.service.cache.ClusterEvents;
+import com.hrms.service.embedding.EmbeddingIndexService;
+import com.hrms.service.embedding.Neighbors;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -17,43 +37,68 @@ import java.util.stream.Collectors;
 @Service
 public class EnhancedAIServiceImpl implements EnhancedAIService {
     
+    private static final Logger log = LoggerFactory.getLogger(EnhancedAIServiceImpl.class);
+    
     @Autowired
     private AIEvaluationCriteriaRepository criteriaRepository;
     
     @Autowired
     private AIEvaluationHistoryRepository historyRepository;
     
+    @Autowired
+    private CriteriaRegistry criteriaRegistry;
+    
+    @Autowired
+    private KeywordMatcher keywordMatcher;
+    
+    @Autowired
+    private ParallelRanker parallelRanker;
+    
+    @Autowired
+    private MatchScoreCache matchScoreCache;
+    
+    @Autowired
+    private EmbeddingIndexService embeddingIndexService;
+    
+    @Autowired
+    private ScreeningPrefilter screeningPrefilter;
+    
+    @Autowired
+    private ResumeRepository resumeRepository;
+    
+    @Autowired
+    private ClusterEvents clusterEvents;
+    
+    @Value("${ai.embedding.max-recall-size:1000}")
+    private int maxRecallSize;
+    
     private final ObjectMapper objectMapper = new ObjectMapper();
     
+    /** 评估标准变更的实例间通知主题，内容为变更涉及的行业列表 */
+    private static final String CRITERIA_CHANGED_TOPIC = "ai-criteria-changed";
+    
     // 软技能关键词库
-    private final Map<String, List<String>> SOFT_SKILLS_KEYWORDS = Map.of(
-        "communication", Arrays.asList("沟通", "表达", "演讲", "presentation", "交流", "协调"),
-        "leadership", Arrays.asList("领导", "管理", "带领", "团队", "leader", "主导", "负责"),
-        "teamwork", Arrays.asList("团队合作", "协作", "配合", "team", "合作", "协同"),
-        "problemSolving", Arrays.asList("解决问题", "分析", "思考", "创新", "优化", "改进"),
-        "adaptability", Arrays.asList("适应", "学习", "灵活", "快速", "转换", "调整"),
-        "timeManagement", Arrays.asList("时间管理", "效率", "deadline", "进度", "规划"),
-        "creativity", Arrays.asList("创意", "创新", "设计", "想象", "原创", "独特")
-    );
+    private static final Map<String, List<String>> SOFT_SKILLS_KEYWORDS = KeywordDictionary.SOFT_SKILLS_KEYWORDS;
     
     // 行业专业知识关键词库
-    private final Map<String, List<String>> INDUSTRY_KEYWORDS = Map.of(
-        "IT", Arrays.asList("软件", "开发", "编程", "系统", "数据库", "云计算", "AI", "machine learning"),
-        "Finance", Arrays.asList("金融", "投资", "银行", "风控", "财务", "会计", "审计", "税务"),
-        "Healthcare", Arrays.asList("医疗", "健康", "医院", "诊断", "治疗", "药物", "护理"),
-        "Education", Arrays.asList("教育", "教学", "培训", "课程", "学习", "知识", "研究"),
-        "Marketing", Arrays.asList("市场", "营销", "品牌", "推广", "广告", "客户", "销售"),
-        "Manufacturing", Arrays.asList("制造", "生产", "工艺", "质量", "流程", "设备", "供应链")
-    );
+    private static final Map<String, List<String>> INDUSTRY_KEYWORDS = KeywordDictionary.INDUSTRY_KEYWORDS;
+    
+    // 同一行内出现“N人…团队”或“团队…N人”
+    private static final Pattern TEAM_SIZE_PATTERN = Pattern.compile("\\d+[^\\n]*人[^\\n]*团队|团队[^\\n]*\\d+[^\\n]*人");
+    
+    // 技能列表分隔符
+    private static final Pattern SKILL_SEPARATOR = Pattern.compile("[,，;；\\s]+");
     
     @Override
     public Map<String, Object> enhancedAnalyzeResumeQuality(String resumeContent, String industry, String jobLevel) {
         long startTime = System.currentTimeMillis();
         Map<String, Object> result = new HashMap<>();
+        // 一次扫描简历得到词频向量，评估标准和各维度分析共用；向量由当前线程复用，返回前归还
+        KeywordMatches matches = keywordMatcher.acquire(resumeContent);
         
         try {
             // 获取适用的评估标准
-            List<AIEvaluationCriteria> criteria = getApplicableCriteria(industry, jobLevel);
+            List<CompiledCriteria> criteria = getApplicableCriteria(industry, jobLevel);
             
             Map<String, Integer> scores = new HashMap<>();
             Map<String, Object> detailedAnalysis = new HashMap<>();
@@ -65,25 +110,25 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
             double totalWeight = 0;
             
             // 按类别进行评估
-            for (AIEvaluationCriteria criterion : criteria) {
-                int score = evaluateByCriteria(resumeContent, criterion);
+            for (CompiledCriteria criterion : criteria) {
+                int score = criterion.score(matches);
                 scores.put(criterion.getCategory().toString(), score);
                 
                 totalScore += score * criterion.getWeight();
                 totalWeight += criterion.getWeight();
                 
                 // 生成详细分析
-                analyzeStrengthsAndWeaknesses(score, criterion, strengths, weaknesses, recommendations);
+                analyzeStrengthsAndWeaknesses(score, criterion.getCriteria(), strengths, weaknesses, recommendations);
             }
             
             // 计算加权平均分
             int finalScore = totalWeight > 0 ? (int) (totalScore / totalWeight) : 0;
             
             // 多维度分析
-            Map<String, Object> softSkillsAnalysis = analyzeSoftSkills(resumeContent);
-            Map<String, Object> leadershipAnalysis = analyzeLeadership(resumeContent, jobLevel);
-            Map<String, Object> innovationAnalysis = analyzeInnovation(resumeContent);
-            Map<String, Object> domainAnalysis = analyzeDomainKnowledge(resumeContent, industry);
+            Map<String, Object> softSkillsAnalysis = analyzeSoftSkills(matches);
+            Map<String, Object> leadershipAnalysis = analyzeLeadership(resumeContent, matches, jobLevel);
+            Map<String, Object> innovationAnalysis = analyzeInnovation(matches);
+            Map<String, Object> domainAnalysis = analyzeDomainKnowledge(matches, industry);
             
             detailedAnalysis.put("softSkills", softSkillsAnalysis);
             detailedAnalysis.put("leadership", leadershipAnalysis);
@@ -104,89 +149,105 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
         } catch (Exception e) {
             result.put("success", false);
             result.put("error", e.getMessage());
+        } finally {
+            keywordMatcher.release(matches);
         }
         
         return result;
     }
     
     @Override
-    public Map<String, Object> enhancedCalculateMatchScore(Resume resume, Job job) {
-        Map<String, Object> result = new HashMap<>();
-        
+    public MatchScore enhancedCalculateMatchScore(Resume resume, Job job) {
+        MatchScore score = cachedMatchScore(resume, job);
+        explain(score, resume, job);
+        return score;
+    }
+    
+    /**
+     * 只计算各维度分数，不生成说明；简历、职位和评估标准均未变化时直接复用上次评分
+     */
+    private MatchScore cachedMatchScore(Resume resume, Job job) {
+        return matchScoreCache.getMatchScore(resume, job, () -> calculateMatchScore(resume, job));
+    }
+    
+    private MatchScore calculateMatchScore(Resume resume, Job job) {
         try {
+            MatchScore score = new MatchScore();
+            
             // 动态权重计算
             Map<String, Double> weights = calculateAdaptiveWeights(job, job.getDepartment());
-            
-            Map<String, Integer> detailScores = new HashMap<>();
-            Map<String, Object> analysisDetails = new HashMap<>();
+            score.setWeights(weights);
+            score.setWeight(MatchScore.Dimension.CULTURAL_FIT, weights.getOrDefault("cultural", 0.1));
+            score.setWeight(MatchScore.Dimension.LEADERSHIP, weights.getOrDefault("leadership", 0.05));
             
             // 技术技能匹配 (权重可调)
-            int techSkillsScore = calculateTechnicalSkillsMatch(resume, job);
-            detailScores.put("technicalSkills", techSkillsScore);
+            score.setScore(MatchScore.Dimension.TECHNICAL_SKILLS, calculateTechnicalSkillsMatch(resume, job));
             
             // 软技能匹配
-            int softSkillsScore = calculateSoftSkillsMatch(resume, job);
-            detailScores.put("softSkills", softSkillsScore);
+            score.setScore(MatchScore.Dimension.SOFT_SKILLS, calculateSoftSkillsMatch(resume, job));
             
             // 经验匹配（考虑行业相关性）
-            int experienceScore = calculateEnhancedExperienceMatch(resume, job);
-            detailScores.put("experience", experienceScore);
+            score.setScore(MatchScore.Dimension.EXPERIENCE, calculateEnhancedExperienceMatch(resume, job));
             
             // 教育背景匹配
-            int educationScore = calculateEducationMatch(resume, job);
-            detailScores.put("education", educationScore);
+            score.setScore(MatchScore.Dimension.EDUCATION, calculateEducationMatch(resume, job));
             
             // 文化匹配度
-            int culturalFitScore = calculateCulturalFitScore(resume, job);
-            detailScores.put("culturalFit", culturalFitScore);
+            score.setScore(MatchScore.Dimension.CULTURAL_FIT, calculateCulturalFitScore(resume, job));
             
             // 领导力匹配（针对管理岗位）
-            int leadershipScore = calculateLeadershipMatch(resume, job);
-            detailScores.put("leadership", leadershipScore);
+            score.setScore(MatchScore.Dimension.LEADERSHIP, calculateLeadershipMatch(resume, job));
             
-            // 语言能力匹配
-            int languageScore = calculateLanguageMatch(resume, job);
-            detailScores.put("language", languageScore);
+            // 语言能力匹配（不参与加权）
+            score.setScore(MatchScore.Dimension.LANGUAGE, calculateLanguageMatch(resume, job));
             
             // 计算加权总分
-            double totalScore = 0;
-            totalScore += techSkillsScore * weights.getOrDefault("technical", 0.3);
-            totalScore += softSkillsScore * weights.getOrDefault("soft", 0.2);
-            totalScore += experienceScore * weights.getOrDefault("experience", 0.25);
-            totalScore += educationScore * weights.getOrDefault("education", 0.1);
-            totalScore += culturalFitScore * weights.getOrDefault("cultural", 0.1);
-            totalScore += leadershipScore * weights.getOrDefault("leadership", 0.05);
-            
-            // 技能差距分析
-            Map<String, Object> skillGaps = analyzeSkillGaps(resume, job);
-            
-            // 匹配度级别
-            String matchLevel = getMatchLevel((int) totalScore);
-            
-            result.put("totalScore", Math.min(100, (int) totalScore));
-            result.put("detailScores", detailScores);
-            result.put("weights", weights);
-            result.put("matchLevel", matchLevel);
-            result.put("skillGaps", skillGaps);
-            result.put("analysisDetails", analysisDetails);
-            result.put("recommendation", getEnhancedRecommendation((int) totalScore, skillGaps));
-            
+            score.computeTotal();
+            return score;
         } catch (Exception e) {
-            result.put("error", e.getMessage());
-            result.put("totalScore", 0);
+            return MatchScore.failed(e.getMessage());
         }
-        
-        return result;
+    }
+    
+    /**
+     * 为评分结果生成说明，生成失败时在结果上标记错误
+     */
+    private void explain(MatchScore score, Resume resume, Job job) {
+        if (score.getError() != null) {
+            return;
+        }
+        try {
+            score.setExplanation(explainMatchScore(score, resume, job));
+        } catch (Exception e) {
+            log.warn("生成评分说明失败: resumeId={}, jobId={}, {}", resume.getId(), job.getId(), e.getMessage());
+            score.setError(e.getMessage());
+        }
+    }
+    
+    /**
+     * 评分说明：匹配级别、技能差距和推荐意见
+     */
+    private MatchScore.Explanation explainMatchScore(MatchScore score, Resume resume, Job job) {
+        // 技能差距分析
+        Map<String, Object> skillGaps = analyzeSkillGaps(resume, job);
+        
+        // 语义相似度，能识别写法不同的同一技能（如 SpringBoot 与 Spring Boot）
+        Map<String, Object> analysisDetails = new HashMap<>();
+        analysisDetails.put("semanticSimilarity", Math.round(embeddingIndexService.similarity(resume, job) * 100) / 100.0);
+        return new MatchScore.Explanation(getMatchLevel(score.getTotalScore()),
+            getEnhancedRecommendation(score.getTotalScore(), skillGaps), skillGaps, analysisDetails);
     }
     
     @Override
     public Map<String, Object> analyzeSoftSkills(String resumeContent) {
+        return keywordMatcher.withMatches(resumeContent, this::analyzeSoftSkills);
+    }
+    
+    private Map<String, Object> analyzeSoftSkills(KeywordMatches matches) {
         Map<String, Object> result = new HashMap<>();
         Map<String, Integer> skillScores = new HashMap<>();
         Map<String, List<String>> evidence = new HashMap<>();
         
-        String lowerContent = resumeContent.toLowerCase();
-        
         for (Map.Entry<String, List<String>> entry : SOFT_SKILLS_KEYWORDS.entrySet()) {
             String skillCategory = entry.getKey();
             List<String> keywords = entry.getValue();
@@ -195,7 +256,7 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
             List<String> foundEvidence = new ArrayList<>();
             
             for (String keyword : keywords) {
-                int count = countOccurrences(lowerContent, keyword.toLowerCase());
+                int count = matches.count(keyword);
                 if (count > 0) {
                     score += Math.min(count * 10, 30); // 每个关键词最多30分
                     foundEvidence.add(keyword + "(" + count + "次)");
@@ -222,17 +283,20 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
     
     @Override
     public Map<String, Object> analyzeLeadership(String resumeContent, String jobLevel) {
+        return keywordMatcher.withMatches(resumeContent, matches -> analyzeLeadership(resumeContent, matches, jobLevel));
+    }
+    
+    private Map<String, Object> analyzeLeadership(String resumeContent, KeywordMatches matches, String jobLevel) {
         Map<String, Object> result = new HashMap<>();
         
         List<String> leadershipKeywords = SOFT_SKILLS_KEYWORDS.get("leadership");
-        String lowerContent = resumeContent.toLowerCase();
         
         int leadershipScore = 0;
         List<String> evidence = new ArrayList<>();
         
         // 基础领导力关键词
         for (String keyword : leadershipKeywords) {
-            int count = countOccurrences(lowerContent, keyword.toLowerCase());
+            int count = matches.count(keyword);
             if (count > 0) {
                 leadershipScore += count * 15;
                 evidence.add(keyword);
@@ -240,19 +304,19 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
         }
         
         // 管理经验检测
-        if (lowerContent.contains("管理") || lowerContent.contains("负责")) {
+        if (matches.contains("管理") || matches.contains("负责")) {
             leadershipScore += 25;
             evidence.add("管理经验");
         }
         
         // 团队规模检测
-        if (lowerContent.matches(".*\\d+.*人.*团队.*") || lowerContent.matches(".*团队.*\\d+.*人.*")) {
+        if (TEAM_SIZE_PATTERN.matcher(resumeContent).find()) {
             leadershipScore += 20;
             evidence.add("团队管理经验");
         }
         
         // 项目管理经验
-        if (lowerContent.contains("项目经理") || lowerContent.contains("项目负责人")) {
+        if (matches.contains("项目经理") || matches.contains("项目负责人")) {
             leadershipScore += 30;
             evidence.add("项目管理经验");
         }
@@ -272,19 +336,22 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
     
     @Override
     public Map<String, Object> analyzeCulturalFit(String resumeContent, String companyValues) {
+        return keywordMatcher.withMatches(resumeContent, matches -> analyzeCulturalFit(matches, companyValues));
+    }
+    
+    private Map<String, Object> analyzeCulturalFit(KeywordMatches matches, String companyValues) {
         Map<String, Object> result = new HashMap<>();
         
         // 这里应该根据公司价值观进行匹配分析
         // 暂时使用通用的文化匹配度分析
         
-        List<String> positiveTraits = Arrays.asList("积极", "主动", "责任", "诚信", "创新", "学习", "合作");
-        String lowerContent = resumeContent.toLowerCase();
+        List<String> positiveTraits = KeywordDictionary.POSITIVE_TRAITS;
         
         int culturalScore = 0;
         List<String> matchedTraits = new ArrayList<>();
         
         for (String trait : positiveTraits) {
-            if (lowerContent.contains(trait)) {
+            if (matches.contains(trait)) {
                 culturalScore += 15;
                 matchedTraits.add(trait);
             }
@@ -299,26 +366,28 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
     
     @Override
     public Map<String, Object> analyzeLanguageSkills(String resumeContent) {
+        return keywordMatcher.withMatches(resumeContent, this::analyzeLanguageSkills);
+    }
+    
+    private Map<String, Object> analyzeLanguageSkills(KeywordMatches matches) {
         Map<String, Object> result = new HashMap<>();
         Map<String, Integer> languageScores = new HashMap<>();
         
-        String lowerContent = resumeContent.toLowerCase();
-        
         // 英语能力检测
         int englishScore = 0;
-        if (lowerContent.contains("cet-6") || lowerContent.contains("六级")) englishScore += 40;
-        if (lowerContent.contains("cet-4") || lowerContent.contains("四级")) englishScore += 30;
-        if (lowerContent.contains("雅思") || lowerContent.contains("ielts")) englishScore += 50;
-        if (lowerContent.contains("托福") || lowerContent.contains("toefl")) englishScore += 50;
-        if (lowerContent.contains("fluent english") || lowerContent.contains("英语流利")) englishScore += 60;
+        if (matches.contains("cet-6") || matches.contains("六级")) englishScore += 40;
+        if (matches.contains("cet-4") || matches.contains("四级")) englishScore += 30;
+        if (matches.contains("雅思") || matches.contains("ielts")) englishScore += 50;
+        if (matches.contains("托福") || matches.contains("toefl")) englishScore += 50;
+        if (matches.contains("fluent english") || matches.contains("英语流利")) englishScore += 60;
         
         languageScores.put("English", Math.min(englishScore, 100));
         
         // 其他语言检测
-        if (lowerContent.contains("日语") || lowerContent.contains("japanese")) {
+        if (matches.contains("日语") || matches.contains("japanese")) {
             languageScores.put("Japanese", 60);
         }
-        if (lowerContent.contains("韩语") || lowerContent.contains("korean")) {
+        if (matches.contains("韩语") || matches.contains("korean")) {
             languageScores.put("Korean", 60);
         }
         
@@ -330,26 +399,29 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
     
     @Override
     public Map<String, Object> analyzeProjectManagement(String resumeContent) {
+        return keywordMatcher.withMatches(resumeContent, this::analyzeProjectManagement);
+    }
+    
+    private Map<String, Object> analyzeProjectManagement(KeywordMatches matches) {
         Map<String, Object> result = new HashMap<>();
         
-        String lowerContent = resumeContent.toLowerCase();
         int pmScore = 0;
         List<String> evidence = new ArrayList<>();
         
         // PMP认证
-        if (lowerContent.contains("pmp")) {
+        if (matches.contains("pmp")) {
             pmScore += 40;
             evidence.add("PMP认证");
         }
         
         // 敏捷管理
-        if (lowerContent.contains("scrum") || lowerContent.contains("敏捷")) {
+        if (matches.contains("scrum") || matches.contains("敏捷")) {
             pmScore += 30;
             evidence.add("敏捷管理经验");
         }
         
         // 项目管理工具
-        if (lowerContent.contains("jira") || lowerContent.contains("confluence")) {
+        if (matches.contains("jira") || matches.contains("confluence")) {
             pmScore += 20;
             evidence.add("项目管理工具使用");
         }
@@ -362,29 +434,32 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
     
     @Override
     public Map<String, Object> analyzeInnovation(String resumeContent) {
+        return keywordMatcher.withMatches(resumeContent, this::analyzeInnovation);
+    }
+    
+    private Map<String, Object> analyzeInnovation(KeywordMatches matches) {
         Map<String, Object> result = new HashMap<>();
         
         List<String> innovationKeywords = SOFT_SKILLS_KEYWORDS.get("creativity");
-        String lowerContent = resumeContent.toLowerCase();
         
         int innovationScore = 0;
         List<String> evidence = new ArrayList<>();
         
         for (String keyword : innovationKeywords) {
-            if (lowerContent.contains(keyword.toLowerCase())) {
+            if (matches.contains(keyword)) {
                 innovationScore += 15;
                 evidence.add(keyword);
             }
         }
         
         // 专利、发明
-        if (lowerContent.contains("专利") || lowerContent.contains("发明")) {
+        if (matches.contains("专利") || matches.contains("发明")) {
             innovationScore += 30;
             evidence.add("专利发明");
         }
         
         // 技术博客、开源项目
-        if (lowerContent.contains("博客") || lowerContent.contains("github") || lowerContent.contains("开源")) {
+        if (matches.contains("博客") || matches.contains("github") || matches.contains("开源")) {
             innovationScore += 25;
             evidence.add("技术分享");
         }
@@ -397,23 +472,26 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
     
     @Override
     public Map<String, Object> analyzeProblemSolving(String resumeContent) {
+        return keywordMatcher.withMatches(resumeContent, this::analyzeProblemSolving);
+    }
+    
+    private Map<String, Object> analyzeProblemSolving(KeywordMatches matches) {
         Map<String, Object> result = new HashMap<>();
         
         List<String> problemSolvingKeywords = SOFT_SKILLS_KEYWORDS.get("problemSolving");
-        String lowerContent = resumeContent.toLowerCase();
         
         int problemSolvingScore = 0;
         List<String> evidence = new ArrayList<>();
         
         for (String keyword : problemSolvingKeywords) {
-            if (lowerContent.contains(keyword.toLowerCase())) {
+            if (matches.contains(keyword)) {
                 problemSolvingScore += 15;
                 evidence.add(keyword);
             }
         }
         
         // 具体解决问题的案例
-        if (lowerContent.contains("解决了") || lowerContent.contains("优化了") || lowerContent.contains("改进了")) {
+        if (matches.contains("解决了") || matches.contains("优化了") || matches.contains("改进了")) {
             problemSolvingScore += 25;
             evidence.add("问题解决案例");
         }
@@ -426,6 +504,10 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
     
     @Override
     public Map<String, Object> analyzeDomainKnowledge(String resumeContent, String industry) {
+        return keywordMatcher.withMatches(resumeContent, matches -> analyzeDomainKnowledge(matches, industry));
+    }
+    
+    private Map<String, Object> analyzeDomainKnowledge(KeywordMatches matches, String industry) {
         Map<String, Object> result = new HashMap<>();
         
         if (industry == null || !INDUSTRY_KEYWORDS.containsKey(industry)) {
@@ -435,13 +517,12 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
         }
         
         List<String> industryKeywords = INDUSTRY_KEYWORDS.get(industry);
-        String lowerContent = resumeContent.toLowerCase();
         
         int domainScore = 0;
         List<String> matchedKeywords = new ArrayList<>();
         
         for (String keyword : industryKeywords) {
-            if (lowerContent.contains(keyword.toLowerCase())) {
+            if (matches.contains(keyword)) {
                 domainScore += 15;
                 matchedKeywords.add(keyword);
             }
@@ -455,15 +536,9 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
     }
     
     // 辅助方法...
-    private List<AIEvaluationCriteria> getApplicableCriteria(String industry, String jobLevel) {
-        // 获取适用的评估标准
-        return criteriaRepository.findByIndustryAndJobLevelAndIsEnabled(industry, jobLevel, true);
-    }
-    
-    private int evaluateByCriteria(String resumeContent, AIEvaluationCriteria criteria) {
-        // 根据评估标准进行评分
-        // 这里可以根据criteria的scoringRules进行复杂的评分逻辑
-        return 75; // 暂时返回固定值
+    private List<CompiledCriteria> getApplicableCriteria(String industry, String jobLevel) {
+        // 从内存注册表获取已预编译的评估标准
+        return criteriaRegistry.getApplicable(industry, jobLevel);
     }
     
     private void analyzeStrengthsAndWeaknesses(int score, AIEvaluationCriteria criteria, 
@@ -477,8 +552,49 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
         }
     }
     
-    private int countOccurrences(String text, String pattern) {
-        return text.split(pattern, -1).length - 1;
+    @PostConstruct
+    public void subscribeCriteriaChanges() {
+        clusterEvents.subscribe(CRITERIA_CHANGED_TOPIC, payload -> {
+            List<String> industries = new ArrayList<>();
+            try {
+                industries = objectMapper.readValue(payload, new TypeReference<List<String>>() {});
+            } catch (Exception e) {
+                // 无法解析时按全部行业处理
+                industries.add(null);
+            }
+            applyCriteriaChange(industries, false);
+        });
+    }
+    
+    /**
+     * 评估标准变更后重建注册表、关键词自动机并使评分缓存失效；
+     * 在事务中时推迟到提交之后，重建时读到的是已提交的标准，回滚的变更不会生效
+     */
+    private void onCriteriaChanged(String... industries) {
+        List<String> changed = new ArrayList<>(new LinkedHashSet<>(Arrays.asList(industries)));
+        AfterCommit.run(() -> applyCriteriaChange(changed, true));
+    }
+    
+    /**
+     * @param local 本实例发起的变更，需要更新共享的缓存版本并通知其他实例
+     */
+    private void applyCriteriaChange(List<String> industries, boolean local) {
+        criteriaRegistry.reload();
+        keywordMatcher.rebuild();
+        for (String industry : industries) {
+            if (local) {
+                matchScoreCache.invalidateCriteria(industry);
+            } else {
+                matchScoreCache.invalidateLocal(industry);
+            }
+        }
+        if (local) {
+            try {
+                clusterEvents.publish(CRITERIA_CHANGED_TOPIC, objectMapper.writeValueAsString(industries));
+            } catch (Exception e) {
+                log.warn("通知其他实例评估标准变更失败: {}", e.getMessage());
+            }
+        }
     }
     
     private String generateSoftSkillsAnalysis(Map<String, Integer> skillScores) {
@@ -507,69 +623,119 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
     
     // 实现其他接口方法...
     @Override
-    public List<Map<String, Object>> batchEvaluateAndRank(List<Resume> resumes, Job job) {
-        List<Map<String, Object>> results = new ArrayList<>();
-        
-        for (Resume resume : resumes) {
-            Map<String, Object> evaluation = enhancedCalculateMatchScore(resume, job);
-            evaluation.put("resumeId", resume.getId());
-            evaluation.put("candidateName", resume.getName());
-            evaluation.put("resumeTitle", resume.getTitle());
-            results.add(evaluation);
-        }
-        
-        // 按总分排序
-        results.sort((a, b) -> {
-            Integer scoreA = (Integer) a.getOrDefault("totalScore", 0);
-            Integer scoreB = (Integer) b.getOrDefault("totalScore", 0);
-            return scoreB.compareTo(scoreA);
-        });
+    public RankingResult batchEvaluateAndRank(List<Resume> resumes, Job job) {
+        return batchEvaluateAndRank(resumes, job, 0);
+    }
+    
+    @Override
+    public RankingResult batchEvaluateAndRank(List<Resume> resumes, Job job, int topK) {
+        // 先按工作年限、学历、期望薪资和技能交集粗筛，多维度评分只对保留的简历执行
+        ScreeningPrefilter.Screening screening = screeningPrefilter.screen(resumes, job);
+        List<Resume> survivors = screening.getSurvivors();
+        
+        // 并行评分并按总分排序，topK > 0 时只保留前 K 名
+        long start = System.nanoTime();
+        List<RankedResume> ranked = parallelRanker.rank(survivors, resume -> {
+            MatchScore evaluation = cachedMatchScore(resume, job);
+            evaluation.setResumeId(resume.getId());
+            evaluation.setCandidateName(resume.getExtractedName());
+            evaluation.setResumeTitle(resume.getFileName());
+            return new RankedResume(resume, evaluation);
+        }, entry -> entry.score.getTotalScore(), topK);
+        screeningPrefilter.recordScoring(survivors.size(), System.nanoTime() - start);
+        log.debug("职位 {} 批量评估: {}", job.getId(), screening.toMap());
+        
+        // 只为返回的结果生成说明
+        parallelRanker.forEach(ranked, entry -> explain(entry.score, entry.resume, job));
         
         // 添加排名信息
-        for (int i = 0; i < results.size(); i++) {
-            results.get(i).put("rank", i + 1);
+        List<MatchScore> results = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            MatchScore evaluation = ranked.get(i).score;
+            evaluation.setRank(i + 1);
+            results.add(evaluation);
         }
         
-        return results;
+        // 淘汰的简历不评分，返回淘汰原因
+        List<RankingResult.Rejected> rejected = new ArrayList<>(screening.getRejections().size());
+        for (ScreeningPrefilter.Rejection rejection : screening.getRejections()) {
+            Resume resume = rejection.getResume();
+            rejected.add(new RankingResult.Rejected(resume.getId(), resume.getExtractedName(),
+                resume.getFileName(), rejection.getReason()));
+        }
+        return new RankingResult(results, rejected, screening.toMap());
+    }
+    
+    @Override
+    public RankingResult recallAndRank(Job job, int recallSize, int topK) {
+        if (!embeddingIndexService.isReady()) {
+            throw new IllegalStateException("语义索引尚未就绪，请稍后再试");
+        }
+        // 召回数量决定加载和评分的简历数，限制在配置的上限内；topK 不超过召回数量
+        int recall = Math.max(1, Math.min(recallSize, maxRecallSize));
+        int top = Math.max(1, Math.min(topK, recall));
+        // 先按语义相似度召回候选简历，只对召回的简历做多维度评分
+        Neighbors neighbors = embeddingIndexService.similarResumes(job, recall);
+        List<Long> ids = new ArrayList<>(neighbors.getIds().length);
+        for (long id : neighbors.getIds()) {
+            ids.add(id);
+        }
+        return batchEvaluateAndRank(resumeRepository.findAllById(ids), job, top);
     }
     
     @Override
     public Map<String, Object> compareResumes(List<Resume> resumes, Job job) {
         Map<String, Object> result = new HashMap<>();
-        List<Map<String, Object>> candidates = new ArrayList<>();
-        Map<String, Object> comparison = new HashMap<>();
-        
-        // 评估所有候选人
-        for (Resume resume : resumes) {
-            Map<String, Object> evaluation = enhancedCalculateMatchScore(resume, job);
-            evaluation.put("resumeId", resume.getId());
-            evaluation.put("candidateName", resume.getName());
-            candidates.add(evaluation);
+        Map<String, Object> comparison = new LinkedHashMap<>();
+        
+        // 并行评估所有候选人，按总分从高到低排列
+        List<MatchScore> evaluations = parallelRanker.rank(resumes, resume -> {
+            MatchScore evaluation = enhancedCalculateMatchScore(resume, job);
+            evaluation.setResumeId(resume.getId());
+            evaluation.setCandidateName(resume.getExtractedName());
+            return evaluation;
+        }, MatchScore::getTotalScore, 0);
+        
+        // 评估失败的候选人不参与排名和推荐，单独返回
+        List<MatchScore> scored = new ArrayList<>(evaluations.size());
+        List<MatchScore> failed = new ArrayList<>();
+        for (MatchScore evaluation : evaluations) {
+            if (evaluation.getError() == null) {
+                scored.add(evaluation);
+            } else {
+                failed.add(evaluation);
+            }
         }
         
-        // 计算对比数据
-        if (!candidates.isEmpty()) {
-            Map<String, Object> detailScores = (Map<String, Object>) candidates.get(0).get("detailScores");
-            
-            for (String skill : detailScores.keySet()) {
-                List<Integer> scores = candidates.stream()
-                    .map(c -> (Map<String, Object>) c.get("detailScores"))
-                    .map(ds -> (Integer) ds.get(skill))
-                    .toList();
+        // 计算对比数据：逐维度取出各候选人的分数
+        if (!scored.isEmpty()) {
+            for (MatchScore.Dimension dimension : MatchScore.Dimension.values()) {
+                int[] scores = new int[scored.size()];
+                long sum = 0;
+                int highest = Integer.MIN_VALUE;
+                int lowest = Integer.MAX_VALUE;
+                for (int i = 0; i < scores.length; i++) {
+                    int value = scored.get(i).getScoreVector()[dimension.ordinal()];
+                    scores[i] = value;
+                    sum += value;
+                    highest = Math.max(highest, value);
+                    lowest = Math.min(lowest, value);
+                }
                 
                 Map<String, Object> skillComparison = new HashMap<>();
                 skillComparison.put("scores", scores);
-                skillComparison.put("average", scores.stream().mapToInt(Integer::intValue).average().orElse(0));
-                skillComparison.put("highest", scores.stream().mapToInt(Integer::intValue).max().orElse(0));
-                skillComparison.put("lowest", scores.stream().mapToInt(Integer::intValue).min().orElse(0));
+                skillComparison.put("average", (double) sum / scores.length);
+                skillComparison.put("highest", highest);
+                skillComparison.put("lowest", lowest);
                 
-                comparison.put(skill, skillComparison);
+                comparison.put(dimension.getKey(), skillComparison);
             }
         }
         
-        result.put("candidates", candidates);
+        result.put("candidates", scored);
+        result.put("failed", failed);
         result.put("comparison", comparison);
-        result.put("recommendedCandidate", candidates.isEmpty() ? null : candidates.get(0));
+        result.put("recommendedCandidate", scored.isEmpty() ? null : scored.get(0));
         
         return result;
     }
@@ -652,69 +818,74 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
     
     @Override
     public List<String> getImprovementSuggestions(Resume resume, Job job) {
+        try {
+            return matchScoreCache.getSuggestions(resume, job, () -> buildImprovementSuggestions(resume, job));
+        } catch (Exception e) {
+            // 异常时的提示不进入缓存，下次请求重新分析
+            log.warn("生成改进建议失败: resumeId={}, jobId={}, {}", resume.getId(), job.getId(), e.getMessage());
+            return List.of("评估过程中出现异常，请稍后重试");
+        }
+    }
+    
+    private List<String> buildImprovementSuggestions(Resume resume, Job job) {
         List<String> suggestions = new ArrayList<>();
         
-        try {
-            // 分析技能差距
-            Map<String, Object> skillGaps = analyzeSkillGaps(resume, job);
-            @SuppressWarnings("unchecked")
-            List<String> missingSkills = (List<String>) skillGaps.get("missingSkills");
-            
-            if (missingSkills != null && !missingSkills.isEmpty()) {
-                suggestions.add("建议加强以下技术技能：" + String.join("、", missingSkills));
-            }
-            
-            // 软技能建议
-            Map<String, Object> softSkillsAnalysis = analyzeSoftSkills(resume.getContent());
-            @SuppressWarnings("unchecked")
-            Map<String, Integer> skillScores = (Map<String, Integer>) softSkillsAnalysis.get("skillScores");
-            
-            if (skillScores != null) {
-                for (Map.Entry<String, Integer> entry : skillScores.entrySet()) {
-                    if (entry.getValue() < 60) {
-                        String skillName = translateSkillName(entry.getKey());
-                        suggestions.add("建议提升" + skillName + "能力，当前评分偏低");
-                    }
+        // 分析技能差距
+        Map<String, Object> skillGaps = analyzeSkillGaps(resume, job);
+        @SuppressWarnings("unchecked")
+        List<String> missingSkills = (List<String>) skillGaps.get("missingSkills");
+        
+        if (missingSkills != null && !missingSkills.isEmpty()) {
+            suggestions.add("建议加强以下技术技能：" + String.join("、", missingSkills));
+        }
+        
+        // 软技能建议
+        Map<String, Object> softSkillsAnalysis = analyzeSoftSkills(resume.getContent());
+        @SuppressWarnings("unchecked")
+        Map<String, Integer> skillScores = (Map<String, Integer>) softSkillsAnalysis.get("skillScores");
+        
+        if (skillScores != null) {
+            for (Map.Entry<String, Integer> entry : skillScores.entrySet()) {
+                if (entry.getValue() < 60) {
+                    String skillName = translateSkillName(entry.getKey());
+                    suggestions.add("建议提升" + skillName + "能力，当前评分偏低");
                 }
             }
-            
-            // 经验建议
-            if (resume.getExperience() != null && resume.getExperience() < job.getMinExperience()) {
-                suggestions.add("建议积累更多相关工作经验，当前经验可能不足");
-            }
-            
-            // 教育背景建议
-            if (!matchEducationRequirement(resume, job)) {
-                suggestions.add("建议考虑提升学历背景或获得相关专业认证");
-            }
-            
-            // 语言能力建议
-            Map<String, Object> languageAnalysis = analyzeLanguageSkills(resume.getContent());
-            @SuppressWarnings("unchecked")
-            Map<String, Integer> languageScores = (Map<String, Integer>) languageAnalysis.get("languageScores");
-            
-            if (languageScores != null && languageScores.getOrDefault("English", 0) < 60) {
-                suggestions.add("建议提高英语水平，考虑报考英语等级考试");
-            }
-            
-            // 项目管理建议
-            Map<String, Object> pmAnalysis = analyzeProjectManagement(resume.getContent());
-            Integer pmScore = (Integer) pmAnalysis.get("projectManagementScore");
-            
-            if (pmScore != null && pmScore < 50 && isManagementPosition(job)) {
-                suggestions.add("建议获得项目管理相关认证，如PMP等");
-            }
-            
-            // 行业知识建议
-            Map<String, Object> domainAnalysis = analyzeDomainKnowledge(resume.getContent(), job.getDepartment());
-            Integer domainScore = (Integer) domainAnalysis.get("domainScore");
-            
-            if (domainScore != null && domainScore < 60) {
-                suggestions.add("建议深入学习" + job.getDepartment() + "行业相关知识");
-            }
-            
-        } catch (Exception e) {
-            suggestions.add("评估过程中出现异常，请稍后重试");
+        }
+        
+        // 经验建议
+        if (resume.getExperience() != null && resume.getExperience() < job.getMinExperience()) {
+            suggestions.add("建议积累更多相关工作经验，当前经验可能不足");
+        }
+        
+        // 教育背景建议
+        if (!matchEducationRequirement(resume, job)) {
+            suggestions.add("建议考虑提升学历背景或获得相关专业认证");
+        }
+        
+        // 语言能力建议
+        Map<String, Object> languageAnalysis = analyzeLanguageSkills(resume.getContent());
+        @SuppressWarnings("unchecked")
+        Map<String, Integer> languageScores = (Map<String, Integer>) languageAnalysis.get("languageScores");
+        
+        if (languageScores != null && languageScores.getOrDefault("English", 0) < 60) {
+            suggestions.add("建议提高英语水平，考虑报考英语等级考试");
+        }
+        
+        // 项目管理建议
+        Map<String, Object> pmAnalysis = analyzeProjectManagement(resume.getContent());
+        Integer pmScore = (Integer) pmAnalysis.get("projectManagementScore");
+        
+        if (pmScore != null && pmScore < 50 && isManagementPosition(job)) {
+            suggestions.add("建议获得项目管理相关认证，如PMP等");
+        }
+        
+        // 行业知识建议
+        Map<String, Object> domainAnalysis = analyzeDomainKnowledge(resume.getContent(), job.getDepartment());
+        Integer domainScore = (Integer) domainAnalysis.get("domainScore");
+        
+        if (domainScore != null && domainScore < 60) {
+            suggestions.add("建议深入学习" + job.getDepartment() + "行业相关知识");
         }
         
         return suggestions.isEmpty() ? 
@@ -728,8 +899,7 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
         
         try {
             // 基础匹配度评分
-            Map<String, Object> matchAnalysis = enhancedCalculateMatchScore(resume, job);
-            Integer totalScore = (Integer) matchAnalysis.get("totalScore");
+            int totalScore = enhancedCalculateMatchScore(resume, job).getTotalScore();
             
             // 计算成功概率（基于多个因素）
             double baseProbability = Math.min(totalScore / 100.0, 1.0);
@@ -782,18 +952,43 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
     
     @Override
     public AIEvaluationCriteria createEvaluationCriteria(AIEvaluationCriteria criteria) {
-        return criteriaRepository.save(criteria);
+        AIEvaluationCriteria saved = criteriaRepository.save(criteria);
+        onCriteriaChanged(saved.getIndustry());
+        return saved;
     }
     
     @Override
     public AIEvaluationCriteria updateEvaluationCriteria(Long id, AIEvaluationCriteria criteria) {
         criteria.setId(id);
-        return criteriaRepository.save(criteria);
+        // 行业可能被修改，新旧行业的缓存都需要失效
+        String previousIndustry = criteriaRepository.findById(id)
+                .map(AIEvaluationCriteria::getIndustry)
+                .orElse(null);
+        AIEvaluationCriteria saved = criteriaRepository.save(criteria);
+        onCriteriaChanged(previousIndustry, saved.getIndustry());
+        return saved;
     }
     
     @Override
     public void deleteEvaluationCriteria(Long id) {
+        String industry = criteriaRepository.findById(id)
+                .map(AIEvaluationCriteria::getIndustry)
+                .orElse(null);
         criteriaRepository.deleteById(id);
+        onCriteriaChanged(industry);
+    }
+    
+    @Override
+    @Transactional
+    public void batchUpdateEvaluationCriteriaEnabled(List<Long> ids, Boolean enabled) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        Set<String> industries = criteriaRepository.findAllById(ids).stream()
+                .map(AIEvaluationCriteria::getIndustry)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        criteriaRepository.batchUpdateEnabled(ids, enabled);
+        onCriteriaChanged(industries.toArray(new String[0]));
     }
     
     @Override
@@ -991,8 +1186,8 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
     private double calculateSkillsBonus(Resume resume, Job job) {
         // 简化实现 - 基于简历内容与职位要求的技能匹配
         if (resume.getSkills() != null && job.getRequiredSkills() != null) {
-            String[] resumeSkills = resume.getSkills().toLowerCase().split("[,，;；\\s]+");
-            String[] jobSkills = job.getRequiredSkills().toLowerCase().split("[,，;；\\s]+");
+            String[] resumeSkills = SKILL_SEPARATOR.split(resume.getSkills().toLowerCase());
+            String[] jobSkills = SKILL_SEPARATOR.split(job.getRequiredSkills().toLowerCase());
             
             long matchingSkills = Arrays.stream(resumeSkills)
                 .filter(skill -> Arrays.stream(jobSkills)
@@ -1006,7 +1201,7 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
     }
     
     // 辅助方法 - 计算置信度
-    private String calculateConfidence(Integer totalScore) {
+    private String calculateConfidence(int totalScore) {
         if (totalScore >= 85) return "高";
         if (totalScore >= 70) return "中";
         return "低";
@@ -1026,4 +1221,17 @@ public class EnhancedAIServiceImpl implements EnhancedAIService {
             return "不建议录用，成功概率较低";
         }
     }
+    
+    /**
+     * 批量排序中的一项：简历及其评分
+     */
+    private static final class RankedResume {
+        final Resume resume;
+        final MatchScore score;
+        
+        RankedResume(Resume resume, MatchScore score) {
+            this.resume = resume;
+            this.score = score;
+        }
+    }
 }
\ No newline at end of file
@@ -3,14 +3,27 @@ package com.hrms.service.impl;
 import com.hrms.entity.Interview;
 import com.hrms.entity.Job;
 import com.hrms.entity.Candidate;
+import com.hrms.repository.CandidateRepository;
 import com.hrms.repository.InterviewRepository;
+import com.hrms.repository.UserRepository;
 import com.hrms.service.InterviewService;
 import com.hrms.service.JobService;
 import com.hrms.service.CandidateService;
+import com.hrms.service.analytics.AnalyticsMetrics;
+import com.hrms.service.analytics.AnalyticsRollupService;
+import com.hrms.service.analytics.RollupTotals;
+import com.hrms.service.cache.CacheRegions;
+import com.hrms.service.bulk.BulkPersister;
+import com.hrms.service.cache.TwoTierCache;
+import com.hrms.service.schedule.InterviewScheduleIndex;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -18,6 +31,8 @@ import java.util.*;
 @Transactional
 public class InterviewServiceImpl implements InterviewService {
     
+    private static final Logger log = LoggerFactory.getLogger(InterviewServiceImpl.class);
+    
     @Autowired
     private InterviewRepository interviewRepository;
     
@@ -27,9 +42,34 @@ public class InterviewServiceImpl implements InterviewService {
     @Autowired
     private CandidateService candidateService;
     
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private CandidateRepository candidateRepository;
+    
+    @Autowired
+    private InterviewScheduleIndex scheduleIndex;
+    
+    @Autowired
+    private TwoTierCache cache;
+    
+    @Autowired
+    private AnalyticsRollupService analyticsService;
+    
+    @Autowired
+    private BulkPersister bulkPersister;
+    
+    /** 批量更新时单条语句的最大 ID 数 */
+    private static final int BATCH_UPDATE_CHUNK = 1000;
+    
+    /** 冲突查询回看的最长面试时长（分钟），开始时间早于此范围的面试视为已结束 */
+    private static final int MAX_DURATION_MINUTES = 24 * 60;
+    
     @Override
     public Interview scheduleInterview(Interview interview) {
-        // 验证时间冲突
+        // 验证时间冲突（锁住参与者，并发安排不会同时通过检查）
+        lockParticipants(Collections.singleton(interview.getInterviewerId()), Collections.singleton(interview.getCandidateId()));
         if (hasScheduleConflict(interview.getInterviewerId(), interview.getCandidateId(), 
                               interview.getScheduledTime(), 
                               interview.getScheduledTime().plusMinutes(interview.getDurationMinutes() != null ? interview.getDurationMinutes() : 60))) {
@@ -51,9 +91,10 @@ public class InterviewServiceImpl implements InterviewService {
         
         // 如果时间改变，检查冲突
         if (!existingInterview.getScheduledTime().equals(interview.getScheduledTime())) {
-            if (hasScheduleConflict(interview.getInterviewerId(), interview.getCandidateId(), 
+            lockParticipants(Collections.singleton(interview.getInterviewerId()), Collections.singleton(interview.getCandidateId()));
+            if (!findOverlapping(interview.getInterviewerId(), interview.getCandidateId(), 
                                   interview.getScheduledTime(), 
-                                  interview.getScheduledTime().plusMinutes(interview.getDurationMinutes() != null ? interview.getDurationMinutes() : 60))) {
+                                  interview.getScheduledTime().plusMinutes(interview.getDurationMinutes() != null ? interview.getDurationMinutes() : 60), id).isEmpty()) {
                 throw new RuntimeException("面试时间冲突，请选择其他时间");
             }
         }
@@ -75,7 +116,8 @@ public class InterviewServiceImpl implements InterviewService {
         
         // 检查新时间是否冲突
         LocalDateTime endTime = newTime.plusMinutes(interview.getDurationMinutes() != null ? interview.getDurationMinutes() : 60);
-        if (hasScheduleConflict(interview.getInterviewerId(), interview.getCandidateId(), newTime, endTime)) {
+        lockParticipants(Collections.singleton(interview.getInterviewerId()), Collections.singleton(interview.getCandidateId()));
+        if (!findOverlapping(interview.getInterviewerId(), interview.getCandidateId(), newTime, endTime, id).isEmpty()) {
             throw new RuntimeException("新的面试时间冲突，请选择其他时间");
         }
         
@@ -149,22 +191,58 @@ public class InterviewServiceImpl implements InterviewService {
     
     @Override
     public List<Interview> checkScheduleConflicts(Long interviewerId, Long candidateId, LocalDateTime startTime, LocalDateTime endTime) {
+        return findOverlapping(interviewerId, candidateId, startTime, endTime, null);
+    }
+    
+    @Override
+    public boolean hasScheduleConflict(Long interviewerId, Long candidateId, LocalDateTime startTime, LocalDateTime endTime) {
+        return !checkScheduleConflicts(interviewerId, candidateId, startTime, endTime).isEmpty();
+    }
+    
+    /**
+     * 以数据库为准查找与 [startTime, endTime) 重叠的有效面试
+     * 内存日程索引只在本节点内同步，写入路径的冲突判断不依赖它
+     */
+    private List<Interview> findOverlapping(Long interviewerId, Long candidateId, LocalDateTime startTime,
+                                            LocalDateTime endTime, Long excludeId) {
         List<Interview> conflicts = new ArrayList<>();
-        
-        if (interviewerId != null) {
-            conflicts.addAll(interviewRepository.findInterviewerConflicts(interviewerId, startTime, endTime));
+        if (interviewerId == null && candidateId == null) {
+            return conflicts;
         }
-        
-        if (candidateId != null) {
-            conflicts.addAll(interviewRepository.findCandidateConflicts(candidateId, startTime, endTime));
+        for (Interview existing : interviewRepository.findBlockingStartingBetween(interviewerId, candidateId,
+                startTime.minusMinutes(MAX_DURATION_MINUTES), endTime)) {
+            LocalDateTime existingEnd = existing.getScheduledTime().plusMinutes(
+                existing.getDurationMinutes() != null ? existing.getDurationMinutes() : 60);
+            if (existingEnd.isAfter(startTime) && !existing.getId().equals(excludeId)) {
+                conflicts.add(existing);
+            }
         }
-        
         return conflicts;
     }
     
-    @Override
-    public boolean hasScheduleConflict(Long interviewerId, Long candidateId, LocalDateTime startTime, LocalDateTime endTime) {
-        return !checkScheduleConflicts(interviewerId, candidateId, startTime, endTime).isEmpty();
+    /**
+     * 按固定顺序（先面试官后候选人，各自按ID升序）锁住参与者的行，
+     * 同一面试官或候选人的冲突检查和写入在各节点间串行执行，且不会互相死锁
+     */
+    private void lockParticipants(Collection<Long> interviewerIds, Collection<Long> candidateIds) {
+        Set<Long> interviewers = new TreeSet<>();
+        for (Long id : interviewerIds) {
+            if (id != null) {
+                interviewers.add(id);
+            }
+        }
+        Set<Long> candidates = new TreeSet<>();
+        for (Long id : candidateIds) {
+            if (id != null) {
+                candidates.add(id);
+            }
+        }
+        if (!interviewers.isEmpty()) {
+            userRepository.lockByIds(interviewers);
+        }
+        if (!candidates.isEmpty()) {
+            candidateRepository.lockByIds(candidates);
+        }
     }
     
     @Override
@@ -179,27 +257,36 @@ public class InterviewServiceImpl implements InterviewService {
     public Map<String, Object> suggestAlternativeTimeSlots(Long interviewerId, Long candidateId, LocalDateTime preferredTime) {
         Map<String, Object> result = new HashMap<>();
         List<LocalDateTime> suggestions = new ArrayList<>();
+        int duration = InterviewScheduleIndex.DEFAULT_DURATION_MINUTES; // 假设面试时长1小时
         
         // 检查首选时间前后2小时内的可用时间段
         for (int i = -2; i <= 2; i++) {
             LocalDateTime proposedTime = preferredTime.plusHours(i);
-            LocalDateTime endTime = proposedTime.plusHours(1); // 假设面试时长1小时
+            LocalDateTime endTime = proposedTime.plusMinutes(duration);
             
-            if (!hasScheduleConflict(interviewerId, candidateId, proposedTime, endTime)) {
+            if (!scheduleIndex.hasConflict(interviewerId, candidateId, proposedTime, endTime, null)) {
                 suggestions.add(proposedTime);
             }
         }
         
         result.put("suggestions", suggestions);
+        result.put("nextAvailableSlots", findNextAvailableSlots(interviewerId, candidateId, preferredTime, duration, 5));
         result.put("preferredTime", preferredTime);
-        result.put("hasConflict", hasScheduleConflict(interviewerId, candidateId, preferredTime, preferredTime.plusHours(1)));
+        result.put("hasConflict", scheduleIndex.hasConflict(interviewerId, candidateId, preferredTime, preferredTime.plusMinutes(duration), null));
         
         return result;
     }
     
+    @Override
+    public List<LocalDateTime> findNextAvailableSlots(Long interviewerId, Long candidateId, LocalDateTime from, int durationMinutes, int count) {
+        return scheduleIndex.findFreeSlots(interviewerId, candidateId, from, durationMinutes, count, null);
+    }
+    
     @Override
     public List<Interview> getTodayInterviews() {
-        return interviewRepository.findTodayInterviews();
+        // 以日期为键，跨天后自然换成新条目
+        return cache.get(CacheRegions.TODAY_INTERVIEWS, LocalDate.now(), new TypeReference<List<Interview>>() {},
+            () -> interviewRepository.findTodayInterviews());
     }
     
     @Override
@@ -361,19 +448,23 @@ public class InterviewServiceImpl implements InterviewService {
     
     @Override
     public Map<String, Object> getInterviewStatistics(LocalDateTime startDate, LocalDateTime endDate) {
-        Object[] stats = interviewRepository.getInterviewStatistics(startDate, endDate);
+        // 按安排时间读预聚合，不再扫描面试表；时间范围按小时对齐
+        Map<String, Long> statusCounts = analyticsService.counts(AnalyticsMetrics.INTERVIEW_STATUS, startDate, endDate);
+        long total = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+        long completed = statusCounts.getOrDefault(Interview.InterviewStatus.COMPLETED.name(), 0L);
+        long hired = analyticsService.counts(AnalyticsMetrics.INTERVIEW_RECOMMENDATION, startDate, endDate)
+                .getOrDefault("HIRE", 0L);
+        RollupTotals scores = analyticsService.total(AnalyticsMetrics.INTERVIEW_SCORE, startDate, endDate);
         
         Map<String, Object> result = new HashMap<>();
-        result.put("totalInterviews", stats[0]);
-        result.put("completedInterviews", stats[1]);
-        result.put("hiredCandidates", stats[2]);
-        result.put("averageScore", stats[3]);
+        result.put("totalInterviews", total);
+        result.put("completedInterviews", completed);
+        result.put("hiredCandidates", hired);
+        result.put("averageScore", scores.getAverage());
         result.put("startDate", startDate);
         result.put("endDate", endDate);
         
         // 计算通过率
-        Long total = (Long) stats[0];
-        Long hired = (Long) stats[2];
         Double passRate = total > 0 ? (double) hired / total * 100 : 0.0;
         result.put("passRate", passRate);
         
@@ -432,34 +523,28 @@ public class InterviewServiceImpl implements InterviewService {
         Map<String, Object> analytics = new HashMap<>();
         
         // 状态分布
-        List<Object[]> statusStats = interviewRepository.countByStatus();
-        Map<String, Long> statusDistribution = new HashMap<>();
-        for (Object[] stat : statusStats) {
-            statusDistribution.put(stat[0].toString(), (Long) stat[1]);
-        }
-        analytics.put("statusDistribution", statusDistribution);
+        analytics.put("statusDistribution", analyticsService.counts(AnalyticsMetrics.INTERVIEW_STATUS, null, null));
         
         // 类型分布
-        List<Object[]> typeStats = interviewRepository.countByType();
-        Map<String, Long> typeDistribution = new HashMap<>();
-        for (Object[] stat : typeStats) {
-            typeDistribution.put(stat[0].toString(), (Long) stat[1]);
-        }
-        analytics.put("typeDistribution", typeDistribution);
+        analytics.put("typeDistribution", analyticsService.counts(AnalyticsMetrics.INTERVIEW_TYPE, null, null));
         
-        // 评分分布
-        Object[] scoreDistribution = interviewRepository.getScoreDistribution();
+        // 评分分布，预聚合按十分一档计数
+        Map<String, Long> bands = analyticsService.counts(AnalyticsMetrics.INTERVIEW_SCORE, null, null);
+        long poor = 0;
+        for (int band = 0; band < 60; band += 10) {
+            poor += bands.getOrDefault(String.valueOf(band), 0L);
+        }
         analytics.put("scoreDistribution", Map.of(
-            "excellent", scoreDistribution[0],  // 90+
-            "good", scoreDistribution[1],       // 80-89
-            "average", scoreDistribution[2],    // 70-79
-            "below", scoreDistribution[3],      // 60-69
-            "poor", scoreDistribution[4]        // <60
+            "excellent", bands.getOrDefault("90", 0L),  // 90+
+            "good", bands.getOrDefault("80", 0L),       // 80-89
+            "average", bands.getOrDefault("70", 0L),    // 70-79
+            "below", bands.getOrDefault("60", 0L),      // 60-69
+            "poor", poor                                 // <60
         ));
         
         // 平均面试时长
-        Double avgDuration = interviewRepository.calculateAverageInterviewDuration();
-        analytics.put("averageDuration", avgDuration);
+        analytics.put("averageDuration",
+            analyticsService.total(AnalyticsMetrics.INTERVIEW_DURATION, null, null).getAverage());
         
         return analytics;
     }
@@ -467,30 +552,110 @@ public class InterviewServiceImpl implements InterviewService {
     @Override
     public List<Interview> batchScheduleInterviews(List<Interview> interviews) {
         List<Interview> scheduled = new ArrayList<>();
+        // 本批已接受但尚未写入的面试，数据库查询要到写入后才能看到它们
+        Map<Long, List<LocalDateTime[]>> interviewerSlots = new HashMap<>();
+        Map<Long, List<LocalDateTime[]>> candidateSlots = new HashMap<>();
         
+        List<Long> interviewerIds = new ArrayList<>();
+        List<Long> candidateIds = new ArrayList<>();
         for (Interview interview : interviews) {
-            try {
-                Interview scheduledInterview = scheduleInterview(interview);
-                scheduled.add(scheduledInterview);
-            } catch (RuntimeException e) {
+            interviewerIds.add(interview.getInterviewerId());
+            candidateIds.add(interview.getCandidateId());
+        }
+        lockParticipants(interviewerIds, candidateIds);
+        
+        for (Interview interview : interviews) {
+            LocalDateTime start = interview.getScheduledTime();
+            if (start == null) {
+                log.warn("批量安排面试跳过一条：面试时间不能为空, candidateId={}", interview.getCandidateId());
+                continue;
+            }
+            LocalDateTime end = start.plusMinutes(interview.getDurationMinutes() != null ? interview.getDurationMinutes() : 60);
+            if (hasScheduleConflict(interview.getInterviewerId(), interview.getCandidateId(), start, end)
+                    || overlapsAny(interviewerSlots.get(interview.getInterviewerId()), start, end)
+                    || overlapsAny(candidateSlots.get(interview.getCandidateId()), start, end)) {
                 // 记录错误但继续处理其他面试
-                System.err.println("Failed to schedule interview: " + e.getMessage());
+                log.warn("批量安排面试跳过一条：面试时间冲突, interviewerId={}, candidateId={}, scheduledTime={}",
+                        interview.getInterviewerId(), interview.getCandidateId(), start);
+                continue;
+            }
+            LocalDateTime[] slot = {start, end};
+            if (interview.getInterviewerId() != null) {
+                interviewerSlots.computeIfAbsent(interview.getInterviewerId(), k -> new ArrayList<>()).add(slot);
             }
+            if (interview.getCandidateId() != null) {
+                candidateSlots.computeIfAbsent(interview.getCandidateId(), k -> new ArrayList<>()).add(slot);
+            }
+            interview.setStatus(Interview.InterviewStatus.SCHEDULED);
+            interview.setRescheduleCount(0);
+            scheduled.add(interview);
         }
         
-        return scheduled;
+        // 按 JDBC 批次写入，而不是每条一次往返
+        return bulkPersister.insertAll(scheduled);
     }
     
     @Override
     public void batchUpdateInterviewStatus(List<Long> interviewIds, Interview.InterviewStatus status) {
-        interviewRepository.batchUpdateStatus(interviewIds, status);
+        for (List<Long> ids : BulkPersister.partition(new LinkedHashSet<>(interviewIds), BATCH_UPDATE_CHUNK)) {
+            List<Object[]> snapshots = interviewRepository.findStatusSnapshots(ids, status);
+            if (snapshots.isEmpty()) {
+                continue;
+            }
+            interviewRepository.batchUpdateStatus(ids, status, LocalDateTime.now());
+            afterBatchStatusChange(snapshots, status);
+        }
     }
     
     @Override
     public void batchCancelInterviews(List<Long> interviewIds, String reason) {
-        for (Long id : interviewIds) {
-            cancelInterview(id, reason);
+        // 与逐条取消一致：有不存在的面试时整批不取消
+        List<List<Long>> chunks = BulkPersister.partition(new LinkedHashSet<>(interviewIds), BATCH_UPDATE_CHUNK);
+        List<Long> missing = new ArrayList<>();
+        for (List<Long> ids : chunks) {
+            Set<Long> existing = new HashSet<>(interviewRepository.findExistingIds(ids));
+            for (Long id : ids) {
+                if (!existing.contains(id)) {
+                    missing.add(id);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("面试记录不存在，ID: " + missing);
+        }
+        for (List<Long> ids : chunks) {
+            List<Object[]> snapshots = interviewRepository.findStatusSnapshots(ids, Interview.InterviewStatus.CANCELLED);
+            if (snapshots.isEmpty()) {
+                continue;
+            }
+            interviewRepository.batchCancel(ids, reason, LocalDateTime.now());
+            afterBatchStatusChange(snapshots, Interview.InterviewStatus.CANCELLED);
+        }
+    }
+    
+    /**
+     * 批量更新语句不触发实体监听器，需要手动同步日程索引、缓存和统计
+     */
+    private void afterBatchStatusChange(List<Object[]> snapshots, Interview.InterviewStatus status) {
+        List<Long> changedIds = new ArrayList<>(snapshots.size());
+        for (Object[] row : snapshots) {
+            changedIds.add((Long) row[0]);
+        }
+        scheduleIndex.onStatusChanged(changedIds, status);
+        cache.evictAll(CacheRegions.TODAY_INTERVIEWS);
+        analyticsService.recordStatusChanges(Interview.class, snapshots, status);
+    }
+    
+    private static boolean overlapsAny(List<LocalDateTime[]> slots, LocalDateTime start, LocalDateTime end) {
+        if (slots == null) {
+            return false;
+        }
+        for (LocalDateTime[] slot : slots) {
+            if (slot[0].isBefore(end) && start.isBefore(slot[1])) {
+                return true;
+            }
         }
+        return false;
     }
     
     @Override
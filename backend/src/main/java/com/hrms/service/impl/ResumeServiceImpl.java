@@ -1,11 +1,16 @@
 package com.hrms.service.impl;
 
+import com.hrms.dto.CursorPage;
 import com.hrms.entity.Resume;
 import com.hrms.repository.ResumeRepository;
+import com.hrms.repository.SearchSpecifications;
 import com.hrms.service.ResumeService;
+import com.hrms.service.paging.KeysetPaginator;
+import com.hrms.service.search.SearchIndexService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -17,6 +22,12 @@ public class ResumeServiceImpl implements ResumeService {
     @Autowired
     private ResumeRepository resumeRepository;
     
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+    
     @Override
     public Resume getResumeById(Long id) {
         Optional<Resume> resume = resumeRepository.findById(id);
@@ -31,6 +42,15 @@ public class ResumeServiceImpl implements ResumeService {
         return resumeRepository.findAll(pageable);
     }
     
+    @Override
+    public CursorPage<Resume> searchResumesByCursor(Long candidateId, Resume.ResumeStatus status, String fileType,
+                                                    Integer minScore, Integer maxScore, String name, String email,
+                                                    String skill, Sort sort, int size, String cursor, boolean withTotal) {
+        return keysetPaginator.scroll(resumeRepository, Resume.class,
+                SearchSpecifications.resumes(candidateId, status, fileType, minScore, maxScore, name, email, skill),
+                sort, size, cursor, withTotal);
+    }
+    
     @Override
     public List<Resume> getResumesByCandidateId(Long candidateId) {
         return resumeRepository.findByCandidateId(candidateId);
@@ -55,6 +75,6 @@ public class ResumeServiceImpl implements ResumeService {
     
     @Override
     public Page<Resume> searchResumes(String keyword, Pageable pageable) {
-        return resumeRepository.findByFileNameContainingIgnoreCase(keyword, pageable);
+        return searchIndexService.searchResumes(keyword, pageable);
     }
 }
\ No newline at end of file
@@ -1,15 +1,24 @@
 package com.hrms.service.impl;
 
+import com.hrms.dto.CursorPage;
 import com.hrms.entity.ThirdPartyPlatform;
+import com.hrms.repository.SearchSpecifications;
 import com.hrms.repository.ThirdPartyPlatformRepository;
 import com.hrms.service.ThirdPartyPlatformService;
+import com.hrms.service.paging.KeysetPaginator;
 import com.hrms.service.thirdparty.ThirdPartyPlatformApiFactory;
 import com.hrms.service.thirdparty.ThirdPartyPlatformApiService;
+import com.hrms.service.thirdparty.sync.IncrementalResumeSyncService;
+import com.hrms.service.thirdparty.sync.PlatformDataSync;
+import com.hrms.service.thirdparty.sync.PlatformSyncOrchestrator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -29,6 +38,18 @@ public class ThirdPartyPlatformServiceImpl implements ThirdPartyPlatformService
     @Autowired
     private ThirdPartyPlatformApiFactory apiFactory;
     
+    @Autowired
+    private PlatformSyncOrchestrator syncOrchestrator;
+    
+    @Autowired
+    private IncrementalResumeSyncService resumeSyncService;
+    
+    @Autowired
+    private KeysetPaginator keysetPaginator;
+    
+    @Value("${webhook.reconcile-interval-minutes:720}")
+    private int webhookReconcileIntervalMinutes;
+    
     @Override
     public ThirdPartyPlatform createPlatform(ThirdPartyPlatform platform) {
         // 验证平台代码唯一性
@@ -41,7 +62,14 @@ public class ThirdPartyPlatformServiceImpl implements ThirdPartyPlatformService
             throw new RuntimeException("平台名称已存在: " + platform.getPlatformName());
         }
         
-        // 设置默认值
+        applyDefaults(platform);
+        return platformRepository.save(platform);
+    }
+    
+    /**
+     * 新建平台的默认值
+     */
+    private void applyDefaults(ThirdPartyPlatform platform) {
         if (platform.getStatus() == null) {
             platform.setStatus(ThirdPartyPlatform.PlatformStatus.INACTIVE);
         }
@@ -54,8 +82,6 @@ public class ThirdPartyPlatformServiceImpl implements ThirdPartyPlatformService
         if (platform.getAutoSyncIntervalMinutes() == null) {
             platform.setAutoSyncIntervalMinutes(60);
         }
-        
-        return platformRepository.save(platform);
     }
     
     @Override
@@ -129,6 +155,18 @@ public class ThirdPartyPlatformServiceImpl implements ThirdPartyPlatformService
                 platformName, platformCode, status, syncStatus, syncEnabled, pageable);
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ThirdPartyPlatform> searchPlatformsByCursor(String platformName, String platformCode,
+                                                                 ThirdPartyPlatform.PlatformStatus status,
+                                                                 ThirdPartyPlatform.SyncStatus syncStatus,
+                                                                 Boolean syncEnabled, Sort sort, int size,
+                                                                 String cursor, boolean withTotal) {
+        return keysetPaginator.scroll(platformRepository, ThirdPartyPlatform.class,
+                SearchSpecifications.platforms(platformName, platformCode, status, syncStatus, syncEnabled),
+                sort, size, cursor, withTotal);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<ThirdPartyPlatform> getActivePlatforms() {
@@ -267,7 +305,7 @@ public class ThirdPartyPlatformServiceImpl implements ThirdPartyPlatformService
         return platformRepository.findPlatformsNeedingSync(cutoffTime).stream()
                 .filter(p -> {
                     if (p.getLastSyncTime() == null) return true;
-                    return p.getLastSyncTime().plusMinutes(p.getAutoSyncIntervalMinutes()).isBefore(cutoffTime);
+                    return p.getLastSyncTime().plusMinutes(effectiveSyncIntervalMinutes(p)).isBefore(cutoffTime);
                 })
                 .collect(Collectors.toList());
     }
@@ -280,6 +318,7 @@ public class ThirdPartyPlatformServiceImpl implements ThirdPartyPlatformService
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> syncPlatformData(Long platformId) {
         ThirdPartyPlatform platform = getPlatformById(platformId);
         Map<String, Object> result = new HashMap<>();
@@ -318,46 +357,11 @@ public class ThirdPartyPlatformServiceImpl implements ThirdPartyPlatformService
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> syncAllEnabledPlatforms() {
+        // 不持有外层事务，各平台并行同步，状态更新各自短事务提交，远程调用期间不占用数据库连接
         List<ThirdPartyPlatform> platforms = getSyncEnabledPlatforms();
-        Map<String, Object> result = new HashMap<>();
-        List<Map<String, Object>> syncResults = new ArrayList<>();
-        
-        int successCount = 0;
-        int failureCount = 0;
-        
-        for (ThirdPartyPlatform platform : platforms) {
-            try {
-                Map<String, Object> syncResult = syncPlatformData(platform.getId());
-                syncResults.add(Map.of(
-                    "platformId", platform.getId(),
-                    "platformName", platform.getPlatformName(),
-                    "result", syncResult
-                ));
-                
-                if ((Boolean) syncResult.get("success")) {
-                    successCount++;
-                } else {
-                    failureCount++;
-                }
-                
-            } catch (Exception e) {
-                syncResults.add(Map.of(
-                    "platformId", platform.getId(),
-                    "platformName", platform.getPlatformName(),
-                    "result", Map.of("success", false, "message", e.getMessage())
-                ));
-                failureCount++;
-            }
-        }
-        
-        result.put("totalCount", platforms.size());
-        result.put("successCount", successCount);
-        result.put("failureCount", failureCount);
-        result.put("results", syncResults);
-        result.put("timestamp", LocalDateTime.now());
-        
-        return result;
+        return syncOrchestrator.syncAll(platforms, platform -> syncPlatformData(platform.getId()));
     }
     
     @Override
@@ -478,17 +482,34 @@ public class ThirdPartyPlatformServiceImpl implements ThirdPartyPlatformService
     public List<ThirdPartyPlatform> importPlatformConfigs(List<Map<String, Object>> configs) {
         List<ThirdPartyPlatform> platforms = new ArrayList<>();
         
+        // 一次取出已有的代码和名称，不再每条配置查询两次；同一批内的重复项也在这里拦下
+        Set<String> codes = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        for (ThirdPartyPlatform existing : platformRepository.findAll()) {
+            codes.add(existing.getPlatformCode());
+            names.add(existing.getPlatformName());
+        }
+        
         for (Map<String, Object> config : configs) {
             try {
                 ThirdPartyPlatform platform = objectMapper.convertValue(config, ThirdPartyPlatform.class);
-                platforms.add(createPlatform(platform));
+                if (codes.contains(platform.getPlatformCode())) {
+                    throw new RuntimeException("平台代码已存在: " + platform.getPlatformCode());
+                }
+                if (names.contains(platform.getPlatformName())) {
+                    throw new RuntimeException("平台名称已存在: " + platform.getPlatformName());
+                }
+                applyDefaults(platform);
+                codes.add(platform.getPlatformCode());
+                names.add(platform.getPlatformName());
+                platforms.add(platform);
             } catch (Exception e) {
                 // 记录导入失败的配置
                 System.err.println("导入平台配置失败: " + e.getMessage());
             }
         }
         
-        return platforms;
+        return platformRepository.saveAll(platforms);
     }
     
     @Override
@@ -560,6 +581,7 @@ public class ThirdPartyPlatformServiceImpl implements ThirdPartyPlatformService
     }
     
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> syncSpecificData(Long platformId, String dataType) {
         ThirdPartyPlatform platform = getPlatformById(platformId);
         Map<String, Object> result = new HashMap<>();
@@ -591,6 +613,17 @@ public class ThirdPartyPlatformServiceImpl implements ThirdPartyPlatformService
     }
     
     // 私有辅助方法
+    /**
+     * 配置了 Webhook 的平台由推送实时写入，定时拉取只做低频对账
+     */
+    private int effectiveSyncIntervalMinutes(ThirdPartyPlatform platform) {
+        int interval = platform.getAutoSyncIntervalMinutes() != null ? platform.getAutoSyncIntervalMinutes() : 60;
+        if (platform.getWebhookUrl() != null && !platform.getWebhookUrl().isBlank()) {
+            return Math.max(interval, webhookReconcileIntervalMinutes);
+        }
+        return interval;
+    }
+    
     private boolean performConnectionTest(ThirdPartyPlatform platform) {
         try {
             ThirdPartyPlatformApiService apiService = apiFactory.getApiService(platform);
@@ -621,7 +654,12 @@ public class ThirdPartyPlatformServiceImpl implements ThirdPartyPlatformService
     private Map<String, Object> performDataSync(ThirdPartyPlatform platform) {
         try {
             ThirdPartyPlatformApiService apiService = apiFactory.getApiService(platform);
-            return apiService.syncAllData(platform);
+            Map<String, Object> result = new HashMap<>(apiService.syncAllData(platform));
+            
+            // 简历按职位从检查点增量拉取
+            List<Map<String, Object>> jobs = PlatformDataSync.asMapList(PlatformDataSync.asMap(result.get("jobs")).get("data"));
+            result.put("resumes", resumeSyncService.syncJobs(platform, apiService, jobs));
+            return result;
         } catch (Exception e) {
             throw new RuntimeException("数据同步失败: " + e.getMessage(), e);
         }
@@ -631,6 +669,10 @@ public class ThirdPartyPlatformServiceImpl implements ThirdPartyPlatformService
         try {
             ThirdPartyPlatformApiService apiService = apiFactory.getApiService(platform);
             Map<String, Object> params = new HashMap<>();
+            if (IncrementalResumeSyncService.DATA_TYPE_RESUMES.equalsIgnoreCase(dataType)) {
+                Map<String, Object> jobsResult = apiService.syncSpecificDataType(platform, "jobs", params);
+                return resumeSyncService.syncJobs(platform, apiService, PlatformDataSync.asMapList(jobsResult.get("data")));
+            }
             return apiService.syncSpecificDataType(platform, dataType, params);
         } catch (Exception e) {
             throw new RuntimeException("特定数据同步失败: " + e.getMessage(), e);
@@ -0,0 +1,357 @@
+package com.hrms.service.ingest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.entity.Resume;
+import com.hrms.entity.Resume.ResumeStatus;
+import com.hrms.repository.ResumeRepository;
+import com.hrms.service.AIService;
+import com.hrms.service.analytics.AnalyticsRollupService;
+import com.hrms.service.cache.AfterCommit;
+import com.hrms.service.embedding.EmbeddingIndexService;
+import com.hrms.service.search.SearchIndexService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 简历解析流水线
+ * 以 Resume.status 作为持久化队列：UPLOADED → TEXT_EXTRACTED → PARSED → PROCESSED，
+ * 每个阶段有独立的有界线程池，定时从数据库拉取处于本阶段输入状态的简历，
+ * 服务重启后未完成的简历会被重新拉取，不会丢失。
+ * 处理前先用条件更新写入领取时间（claimedAt），每份简历同一时间只由一个节点处理；
+ * 结果只在领取仍有效时写入，领取后超时未完成的简历由轮询放回队列
+ */
+@Component
+public class ResumeIngestionPipeline {
+    
+    private static final Logger log = LoggerFactory.getLogger(ResumeIngestionPipeline.class);
+    
+    @Autowired
+    private ResumeRepository resumeRepository;
+    
+    @Autowired
+    private AIService aiService;
+    
+    @Autowired
+    private ObjectProvider<SearchIndexService> searchIndexService;
+    
+    @Autowired
+    private ObjectProvider<EmbeddingIndexService> embeddingIndexService;
+    
+    @Autowired
+    private AnalyticsRollupService analyticsService;
+    
+    @Value("${ingestion.extract-threads:2}")
+    private int extractThreads;
+    
+    @Value("${ingestion.parse-threads:2}")
+    private int parseThreads;
+    
+    @Value("${ingestion.score-threads:2}")
+    private int scoreThreads;
+    
+    @Value("${ingestion.queue-capacity:100}")
+    private int queueCapacity;
+    
+    @Value("${ingestion.poll-interval-ms:2000}")
+    private long pollIntervalMs;
+    
+    @Value("${ingestion.processing-timeout-ms:600000}")
+    private long processingTimeoutMs;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private List<Stage> stages;
+    private ScheduledExecutorService poller;
+    
+    @PostConstruct
+    public void init() {
+        stages = List.of(
+            new Stage("extract", ResumeStatus.UPLOADED, ResumeStatus.TEXT_EXTRACTED, extractThreads, this::extractText),
+            new Stage("parse", ResumeStatus.TEXT_EXTRACTED, ResumeStatus.PARSED, parseThreads, this::parseFields),
+            new Stage("score", ResumeStatus.PARSED, ResumeStatus.PROCESSED, scoreThreads, this::score)
+        );
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "resume-ingestion-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        poller.scheduleWithFixedDelay(this::pollSafely, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * 有新任务时立即拉取一次，不必等到下一个轮询周期
+     */
+    public void wakeUp() {
+        try {
+            poller.execute(this::pollSafely);
+        } catch (RejectedExecutionException e) {
+            // 已关闭
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+        for (Stage stage : stages) {
+            stage.executor.shutdownNow();
+        }
+    }
+    
+    private void pollSafely() {
+        try {
+            int released = resumeRepository.releaseStaleClaims(LocalDateTime.now().minus(Duration.ofMillis(processingTimeoutMs)));
+            if (released > 0) {
+                log.warn("{} 份简历领取后超时未完成，已放回队列", released);
+            }
+        } catch (Exception e) {
+            log.warn("放回超时简历失败", e);
+        }
+        for (Stage stage : stages) {
+            try {
+                stage.poll();
+            } catch (Exception e) {
+                log.warn("简历解析流水线拉取任务失败: stage={}", stage.name, e);
+            }
+        }
+    }
+    
+    // ========== 各阶段处理逻辑 ==========
+    
+    private void extractText(Resume resume) {
+        String text = aiService.extractText(resume.getFilePath(), resume.getFileType());
+        if (text == null || text.isBlank()) {
+            throw new RuntimeException("未能从文件中提取到文本");
+        }
+        Map<String, Object> content = new HashMap<>();
+        content.put("rawContent", text);
+        resume.setParsedContent(toJson(content));
+    }
+    
+    private void parseFields(Resume resume) {
+        Map<String, Object> parsed = aiService.parseResumeText(getRawContent(resume));
+        if (!Boolean.TRUE.equals(parsed.get("success"))) {
+            throw new RuntimeException("字段提取失败: " + parsed.get("error"));
+        }
+        
+        Map<String, Object> basicInfo = asMap(parsed.get("basicInfo"));
+        resume.setExtractedName(truncate(basicInfo.get("name"), 100));
+        resume.setExtractedEmail(truncate(basicInfo.get("email"), 100));
+        resume.setExtractedPhone(truncate(basicInfo.get("phone"), 20));
+        resume.setExtractedEducation(truncate(asMap(parsed.get("education")).get("level"), 200));
+        resume.setExtractedExperience(toJson(parsed.get("experience")));
+        
+        List<String> skillNames = new ArrayList<>();
+        Object skills = asMap(parsed.get("skills")).get("skills");
+        if (skills instanceof List<?> list) {
+            for (Object skill : list) {
+                Object name = asMap(skill).get("name");
+                if (name != null) {
+                    skillNames.add(name.toString());
+                }
+            }
+        }
+        resume.setExtractedSkills(toJson(skillNames));
+        resume.setParsedContent(toJson(parsed));
+    }
+    
+    private void score(Resume resume) {
+        Map<String, Object> quality = aiService.analyzeResumeQuality(getRawContent(resume));
+        Object totalScore = quality.get("totalScore");
+        int score = totalScore instanceof Number number ? number.intValue() : 0;
+        resume.setAiScore(Math.max(0, Math.min(100, score)));
+        resume.setParseError(null);
+        resume.setProcessedAt(LocalDateTime.now());
+    }
+    
+    private String getRawContent(Resume resume) {
+        Object rawContent = parseJson(resume.getParsedContent()).get("rawContent");
+        if (rawContent == null) {
+            throw new RuntimeException("简历文本缺失");
+        }
+        return rawContent.toString();
+    }
+    
+    private void markFailed(Long resumeId, ResumeStatus from, LocalDateTime claimedAt, Map<String, Object> before,
+                            String stage, Exception e) {
+        log.warn("简历解析失败: resumeId={}, stage={}", resumeId, stage, e);
+        try {
+            // 领取已失效（超时被放回或被其他节点重新领取）时不覆盖其结果
+            if (resumeRepository.markFailed(resumeId, from, claimedAt, stage + ": " + e.getMessage(), LocalDateTime.now()) == 1) {
+                Map<String, Object> after = new HashMap<>(before);
+                after.put("status", ResumeStatus.PARSE_FAILED);
+                recordChange(before, after);
+            }
+        } catch (Exception ex) {
+            log.error("记录简历解析失败状态出错: resumeId={}", resumeId, ex);
+        }
+    }
+    
+    /**
+     * 条件更新语句不经过实体事件，手动把简历的变更计入统计预聚合
+     */
+    private void recordChange(Map<String, Object> before, Map<String, Object> after) {
+        AfterCommit.run(() -> {
+            analyticsService.record(Resume.class, before, -1);
+            analyticsService.record(Resume.class, after, 1);
+        });
+    }
+    
+    /**
+     * 统计预聚合用到的简历字段快照
+     */
+    private static Map<String, Object> analyticsState(Resume resume) {
+        Map<String, Object> state = new HashMap<>();
+        state.put("status", resume.getStatus());
+        state.put("aiScore", resume.getAiScore());
+        state.put("extractedSkills", resume.getExtractedSkills());
+        state.put("createdAt", resume.getCreatedAt());
+        return state;
+    }
+    
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (Exception e) {
+            throw new RuntimeException("序列化解析结果失败", e);
+        }
+    }
+    
+    private Map<String, Object> parseJson(String json) {
+        try {
+            if (json != null && !json.isEmpty()) {
+                return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+            }
+        } catch (Exception e) {
+            // 非JSON内容视为空
+        }
+        return new HashMap<>();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap();
+    }
+    
+    private static String truncate(Object value, int maxLength) {
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString();
+        return text.length() > maxLength ? text.substring(0, maxLength) : text;
+    }
+    
+    @FunctionalInterface
+    private interface StageHandler {
+        void handle(Resume resume);
+    }
+    
+    /**
+     * 流水线中的一个阶段：从 from 状态取出简历，处理后推进到 to 状态
+     */
+    private class Stage {
+        
+        private final String name;
+        private final ResumeStatus from;
+        private final ResumeStatus to;
+        private final int threads;
+        private final StageHandler handler;
+        private final ThreadPoolExecutor executor;
+        private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+        
+        Stage(String name, ResumeStatus from, ResumeStatus to, int threads, StageHandler handler) {
+            this.name = name;
+            this.from = from;
+            this.to = to;
+            this.threads = Math.max(1, threads);
+            this.handler = handler;
+            AtomicInteger counter = new AtomicInteger();
+            this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+                    Thread thread = new Thread(r, "resume-" + name + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+        
+        void poll() {
+            int free = threads + Math.max(1, queueCapacity) - inFlight.size();
+            if (free <= 0) {
+                return;
+            }
+            // 已在处理中的简历仍处于 from 状态，多取这部分以免被它们占满
+            List<Long> ids = resumeRepository.findUnclaimedIdsByStatus(from, PageRequest.of(0, free + inFlight.size()));
+            for (Long id : ids) {
+                if (!inFlight.add(id)) {
+                    continue;
+                }
+                try {
+                    executor.execute(() -> process(id));
+                } catch (RejectedExecutionException e) {
+                    inFlight.remove(id);
+                    break;
+                }
+            }
+        }
+        
+        private void process(Long resumeId) {
+            boolean advanced = false;
+            // 领取时间取整到秒，数据库列精度不同也能原样比较
+            LocalDateTime claimedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+            Map<String, Object> before = null;
+            try {
+                if (resumeRepository.claim(resumeId, from, claimedAt) == 0) {
+                    return;
+                }
+                Resume resume = resumeRepository.findById(resumeId).orElse(null);
+                if (resume == null) {
+                    return;
+                }
+                before = analyticsState(resume);
+                handler.handle(resume);
+                advanced = resumeRepository.advanceStatus(resume, from, to, claimedAt, LocalDateTime.now()) == 1;
+                if (advanced) {
+                    // 条件更新语句不触发实体监听器，手动同步检索和向量索引以及统计
+                    resume.setStatus(to);
+                    recordChange(before, analyticsState(resume));
+                    searchIndexService.ifAvailable(service -> service.onSaved(resume));
+                    embeddingIndexService.ifAvailable(service -> service.onSaved(resume));
+                } else {
+                    log.warn("简历领取超时已被放回，丢弃本次结果: resumeId={}, stage={}", resumeId, name);
+                }
+            } catch (Exception e) {
+                if (before != null) {
+                    markFailed(resumeId, from, claimedAt, before, name, e);
+                } else {
+                    // 领取或读取简历时出错，领取超时后会被放回重试
+                    log.warn("简历解析任务领取失败: resumeId={}, stage={}", resumeId, name, e);
+                }
+            } finally {
+                inFlight.remove(resumeId);
+            }
+            if (advanced && to != ResumeStatus.PROCESSED) {
+                wakeUp();
+            }
+        }
+    }
+}
\ No newline at end of file
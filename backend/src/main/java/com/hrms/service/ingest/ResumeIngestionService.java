@@ -0,0 +1,140 @@
+package com.hrms.service.ingest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.entity.Resume;
+import com.hrms.repository.ResumeRepository;
+import com.hrms.service.storage.ResumeFileStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 简历上传入口：保存文件并登记为 UPLOADED 状态后立即返回，
+ * 后续的文本提取、字段解析和评分由 {@link ResumeIngestionPipeline} 异步完成；
+ * 内容与已解析简历完全相同时直接复用解析结果
+ */
+@Service
+public class ResumeIngestionService {
+    
+    @Autowired
+    private ResumeRepository resumeRepository;
+    
+    @Autowired
+    private ResumeIngestionPipeline pipeline;
+    
+    @Autowired
+    private ResumeFileStore resumeFileStore;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    /**
+     * 接收上传的简历文件
+     */
+    public Resume submit(MultipartFile file, Long candidateId) {
+        if (file == null || file.isEmpty()) {
+            throw new RuntimeException("上传文件为空");
+        }
+        if (candidateId == null) {
+            throw new RuntimeException("候选人ID不能为空");
+        }
+        
+        String originalName = file.getOriginalFilename();
+        String fileName = originalName == null || originalName.isBlank() ? "resume" : Paths.get(originalName).getFileName().toString();
+        
+        ResumeFileStore.StoredFile stored;
+        try (InputStream in = file.getInputStream()) {
+            stored = resumeFileStore.store(in);
+        } catch (IOException e) {
+            throw new RuntimeException("读取上传文件失败: " + e.getMessage());
+        }
+        return register(stored, fileName, candidateId);
+    }
+    
+    /**
+     * 登记已写入文件存储的简历文件（上传或从平台下载）
+     */
+    public Resume register(ResumeFileStore.StoredFile stored, String fileName, Long candidateId) {
+        String fileType = getFileExtension(fileName);
+        Resume resume = new Resume(candidateId, truncate(fileName, 255), stored.getPath().toString(), stored.getSize(), fileType.toUpperCase());
+        resume.setContentHash(stored.getSha256());
+        return register(resume);
+    }
+    
+    /**
+     * 登记已存入文件存储的简历：相同内容已解析过的直接复用结果，否则交给流水线解析
+     */
+    public Resume register(Resume resume) {
+        Optional<Resume> parsed = resume.getContentHash() == null ? Optional.empty()
+            : resumeRepository.findFirstByContentHashAndStatusOrderByIdAsc(resume.getContentHash(), Resume.ResumeStatus.PROCESSED);
+        if (parsed.isPresent()) {
+            copyParseResult(parsed.get(), resume);
+            return resumeRepository.save(resume);
+        }
+        
+        resume.setStatus(Resume.ResumeStatus.UPLOADED);
+        Resume saved = resumeRepository.save(resume);
+        pipeline.wakeUp();
+        return saved;
+    }
+    
+    /**
+     * 查询简历的解析进度，完成后附带解析结果
+     */
+    public Map<String, Object> getProgress(Long resumeId) {
+        Resume resume = resumeRepository.findById(resumeId)
+            .orElseThrow(() -> new RuntimeException("简历不存在"));
+        
+        Map<String, Object> progress = new HashMap<>();
+        progress.put("resumeId", resume.getId());
+        progress.put("status", resume.getStatus());
+        progress.put("finished", resume.isParsed() || resume.isFailed());
+        progress.put("aiScore", resume.getAiScore());
+        progress.put("parseError", resume.getParseError());
+        progress.put("processedAt", resume.getProcessedAt());
+        if (resume.isParsed()) {
+            progress.put("result", parseJson(resume.getParsedContent()));
+        }
+        return progress;
+    }
+    
+    private static void copyParseResult(Resume source, Resume target) {
+        target.setParsedContent(source.getParsedContent());
+        target.setExtractedName(source.getExtractedName());
+        target.setExtractedEmail(source.getExtractedEmail());
+        target.setExtractedPhone(source.getExtractedPhone());
+        target.setExtractedEducation(source.getExtractedEducation());
+        target.setExtractedExperience(source.getExtractedExperience());
+        target.setExtractedSkills(source.getExtractedSkills());
+        target.setAiScore(source.getAiScore());
+        target.setProcessedAt(source.getProcessedAt());
+        target.setStatus(Resume.ResumeStatus.PROCESSED);
+    }
+    
+    private Map<String, Object> parseJson(String json) {
+        try {
+            if (json != null && !json.isEmpty()) {
+                return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+            }
+        } catch (Exception e) {
+            // 如果解析失败，返回空Map
+        }
+        return new HashMap<>();
+    }
+    
+    private static String getFileExtension(String filename) {
+        int lastDot = filename.lastIndexOf('.');
+        return lastDot == -1 ? "" : filename.substring(lastDot + 1).toLowerCase();
+    }
+    
+    private static String truncate(String value, int maxLength) {
+        return value.length() > maxLength ? value.substring(value.length() - maxLength) : value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.hrms.service.paging;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.hrms.dto.CursorPage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 键集（seek）分页
+ * 按（排序字段, id）定位上一页最后一行，用 WHERE (排序字段, id) > (上次的值) 直接跳到下一页，
+ * 翻到多深都只读取一页的数据；不执行 COUNT(*)，需要总数时显式请求。
+ * 续传令牌是排序条件和定位键值的 Base64 编码，客户端只需原样带回
+ */
+@Component
+public class KeysetPaginator {
+    
+    private static final int MAX_PAGE_SIZE = 200;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    
+    /**
+     * 查询一页
+     *
+     * @param cursor    上一页返回的 nextCursor，为空时从第一页开始
+     * @param withTotal 是否额外统计符合条件的总数
+     */
+    public <T> CursorPage<T> scroll(JpaSpecificationExecutor<T> repository, Class<T> entityType,
+                                    Specification<T> spec, Sort sort, int size, String cursor, boolean withTotal) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Specification<T> where = spec != null ? spec : Specification.where(null);
+        KeysetScrollPosition position = cursor == null || cursor.isBlank()
+                ? ScrollPosition.keyset()
+                : ScrollPosition.forward(decode(cursor, entityType, sort));
+        
+        Window<T> window = repository.findBy(where, query -> query.sortBy(sort).limit(limit).scroll(position));
+        
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = encode(sort, last.getKeys());
+        }
+        Long total = withTotal ? repository.count(where) : null;
+        return new CursorPage<>(window.getContent(), limit, window.hasNext(), nextCursor, total);
+    }
+    
+    String encode(Sort sort, Map<String, Object> keys) {
+        Map<String, Object> token = new LinkedHashMap<>();
+        token.put("s", sort.toString());
+        token.put("k", keys);
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(token));
+        } catch (Exception e) {
+            throw new RuntimeException("生成分页游标失败", e);
+        }
+    }
+    
+    /**
+     * 解析续传令牌，键值按实体属性类型还原；令牌与本次排序条件不一致时拒绝
+     */
+    Map<String, Object> decode(String cursor, Class<?> entityType, Sort sort) {
+        Map<String, Object> token;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(cursor.trim());
+            token = objectMapper.readValue(new String(json, StandardCharsets.UTF_8), new TypeReference<Map<String, Object>>() {});
+        } catch (Exception e) {
+            throw new RuntimeException("无效的分页游标");
+        }
+        if (!sort.toString().equals(token.get("s")) || !(token.get("k") instanceof Map<?, ?> rawKeys)) {
+            throw new RuntimeException("分页游标与排序条件不匹配，请从第一页重新查询");
+        }
+        
+        EntityType<?> metamodel = entityManager.getMetamodel().entity(entityType);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> entry : rawKeys.entrySet()) {
+            String property = String.valueOf(entry.getKey());
+            Class<?> javaType;
+            try {
+                javaType = metamodel.getAttribute(property).getJavaType();
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("无效的分页游标");
+            }
+            keys.put(property, entry.getValue() == null ? null : objectMapper.convertValue(entry.getValue(), javaType));
+        }
+        return keys;
+    }
+}
\ No newline at end of file
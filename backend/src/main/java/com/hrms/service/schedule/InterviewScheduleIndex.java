@@ -0,0 +1,507 @@
+package com.hrms.service.schedule;
+
+import com.hrms.entity.Interview;
+import com.hrms.repository.InterviewRepository;
+import com.hrms.service.cache.AfterCommit;
+import com.hrms.service.cache.ClusterEvents;
+import com.hrms.service.cache.IndexChangeTracker;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * 面试日程的内存区间索引
+ * 按面试官和候选人分别维护按开始时间排序的区间集合，用于空闲时段和备选时间的建议，不访问数据库；
+ * 事务内的改动先记在事务本地，提交后才写入共享索引，回滚的改动不会生效。
+ * 提交后通过 {@link ClusterEvents} 通知其他节点从数据库重新加载这些面试，并定期全量重建对账；
+ * 通知送达前其他节点的安排可能暂未体现，安排和改期时的冲突判断以数据库为准
+ */
+@Component
+public class InterviewScheduleIndex {
+    
+    private static final Logger log = LoggerFactory.getLogger(InterviewScheduleIndex.class);
+    
+    /** 未设置时长的面试按60分钟计算 */
+    public static final int DEFAULT_DURATION_MINUTES = 60;
+    
+    /** 空闲时段的开始时间按15分钟对齐 */
+    private static final int SLOT_GRANULARITY_MINUTES = 15;
+    
+    private static final Object PENDING_KEY = new Object();
+    
+    private static final String CHANGED_TOPIC = "interview-schedule-changed";
+    private static final String INTERVIEW = "interview";
+    
+    @Autowired
+    private InterviewRepository interviewRepository;
+    
+    @Autowired
+    private ClusterEvents clusterEvents;
+    
+    @Value("${interview-schedule.reconcile-interval-minutes:10}")
+    private long reconcileIntervalMinutes;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Booking> bookings = new HashMap<>();
+    private final Map<Long, IntervalSet> byInterviewer = new HashMap<>();
+    private final Map<Long, IntervalSet> byCandidate = new HashMap<>();
+    private final IndexChangeTracker changes = new IndexChangeTracker();
+    
+    private ScheduledExecutorService reconciler;
+    
+    @PostConstruct
+    public void load() {
+        rebuild();
+        clusterEvents.subscribe(CHANGED_TOPIC, payload -> reload(parseIds(payload)));
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (reconcileIntervalMinutes <= 0) {
+            return;
+        }
+        reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "interview-schedule-reconcile");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcile, reconcileIntervalMinutes, reconcileIntervalMinutes, TimeUnit.MINUTES);
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (reconciler != null) {
+            reconciler.shutdownNow();
+        }
+    }
+    
+    /**
+     * 从数据库全量重建，期间被修改的面试随后按数据库最新状态重新加载
+     */
+    public synchronized void rebuild() {
+        Map<String, Set<Long>> changed = changes.watch();
+        try {
+            List<Interview> active = interviewRepository.findActiveInterviews();
+            changes.finish(changed, () -> {
+                lock.writeLock().lock();
+                try {
+                    bookings.clear();
+                    byInterviewer.clear();
+                    byCandidate.clear();
+                    for (Interview interview : active) {
+                        Booking booking = Booking.of(interview);
+                        if (booking != null) {
+                            addInternal(booking);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            });
+            changed.forEach((type, ids) -> reload(ids));
+            log.info("面试日程索引加载完成，共 {} 场有效面试", active.size());
+        } finally {
+            changes.unwatch(changed);
+        }
+    }
+    
+    private void reconcile() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("面试日程索引对账失败: {}", e.getMessage());
+        }
+    }
+    
+    /**
+     * 其他节点修改了面试，或重建期间面试被修改，按数据库当前状态重新加载
+     */
+    private void reload(Collection<Long> interviewIds) {
+        changes.reload(INTERVIEW, interviewIds, interviewRepository::findAllById, entity -> ((Interview) entity).getId(),
+                entity -> applyShared(((Interview) entity).getId(), Booking.of((Interview) entity)),
+                interviewId -> applyShared(interviewId, null));
+    }
+    
+    // ========== 同步 ==========
+    
+    /**
+     * 面试新增或修改后调用，事务中时在提交后生效
+     */
+    public void onSaved(Interview interview) {
+        if (interview.getId() != null) {
+            apply(interview.getId(), Booking.of(interview));
+        }
+    }
+    
+    public void onRemoved(Interview interview) {
+        if (interview.getId() != null) {
+            apply(interview.getId(), null);
+        }
+    }
+    
+    /**
+     * 批量更新状态（JPQL批量更新不会触发实体监听器）后调用
+     */
+    public void onStatusChanged(Collection<Long> interviewIds, Interview.InterviewStatus status) {
+        if (!isBlocking(status)) {
+            for (Long id : interviewIds) {
+                apply(id, null);
+            }
+            return;
+        }
+        // 重新占用时间的面试（如已取消改回已安排）不在索引中，需要从数据库读取时间
+        List<Long> missing = new ArrayList<>();
+        for (Long id : interviewIds) {
+            if (find(id) == null) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Interview interview : interviewRepository.findAllById(missing)) {
+                apply(interview.getId(), Booking.of(interview));
+            }
+        }
+    }
+    
+    private void apply(Long id, Booking booking) {
+        Map<Long, Optional<Booking>> pending = AfterCommit.pending(PENDING_KEY, LinkedHashMap::new, this::applyCommitted);
+        if (pending != null) {
+            pending.put(id, Optional.ofNullable(booking));
+        } else {
+            applyCommitted(Map.of(id, Optional.ofNullable(booking)));
+        }
+    }
+    
+    /**
+     * 写入本节点已提交的改动，并通知其他节点重新加载
+     */
+    private void applyCommitted(Map<Long, Optional<Booking>> committed) {
+        committed.forEach((id, booking) -> changes.apply(INTERVIEW, id, () -> applyShared(id, booking.orElse(null))));
+        clusterEvents.publish(CHANGED_TOPIC, committed.keySet().stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+    
+    private static List<Long> parseIds(String payload) {
+        List<Long> ids = new ArrayList<>();
+        for (String id : payload.split(",")) {
+            if (!id.isBlank()) {
+                ids.add(Long.valueOf(id.trim()));
+            }
+        }
+        return ids;
+    }
+    
+    private void applyShared(Long id, Booking booking) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            if (booking != null) {
+                addInternal(booking);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private Map<Long, Optional<Booking>> currentPending() {
+        Map<Long, Optional<Booking>> pending = AfterCommit.current(PENDING_KEY);
+        return pending != null ? pending : Collections.emptyMap();
+    }
+    
+    private Booking find(Long id) {
+        Optional<Booking> pending = currentPending().get(id);
+        if (pending != null) {
+            return pending.orElse(null);
+        }
+        lock.readLock().lock();
+        try {
+            return bookings.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // ========== 查询 ==========
+    
+    /**
+     * 查找与 [startTime, endTime) 重叠的面试ID
+     *
+     * @param excludeId 忽略的面试（如改期时的面试本身），可为 null
+     */
+    public List<Long> findConflicts(Long interviewerId, Long candidateId, LocalDateTime startTime,
+                                    LocalDateTime endTime, Long excludeId) {
+        Map<Long, Optional<Booking>> pending = currentPending();
+        Set<Long> conflicts = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            for (Booking booking : overlapping(interviewerId, candidateId, startTime, endTime)) {
+                if (!pending.containsKey(booking.id)) {
+                    conflicts.add(booking.id);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (Optional<Booking> entry : pending.values()) {
+            entry.filter(booking -> booking.belongsTo(interviewerId, candidateId) && booking.overlaps(startTime, endTime))
+                .ifPresent(booking -> conflicts.add(booking.id));
+        }
+        if (excludeId != null) {
+            conflicts.remove(excludeId);
+        }
+        return new ArrayList<>(conflicts);
+    }
+    
+    public boolean hasConflict(Long interviewerId, Long candidateId, LocalDateTime startTime,
+                               LocalDateTime endTime, Long excludeId) {
+        return !findConflicts(interviewerId, candidateId, startTime, endTime, excludeId).isEmpty();
+    }
+    
+    /**
+     * 从 from 开始查找面试官和候选人都空闲的前 count 个时段
+     *
+     * @return 各时段的开始时间，按时间升序
+     */
+    public List<LocalDateTime> findFreeSlots(Long interviewerId, Long candidateId, LocalDateTime from,
+                                             int durationMinutes, int count, Long excludeId) {
+        List<LocalDateTime> slots = new ArrayList<>();
+        if (count <= 0 || durationMinutes <= 0) {
+            return slots;
+        }
+        
+        // 当前事务内的改动覆盖共享索引中的同一场面试
+        Map<Long, Optional<Booking>> pending = currentPending();
+        List<Booking> busy = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            addFrom(busy, byInterviewer.get(interviewerId), from, pending);
+            addFrom(busy, byCandidate.get(candidateId), from, pending);
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (Optional<Booking> entry : pending.values()) {
+            entry.filter(booking -> booking.belongsTo(interviewerId, candidateId) && booking.end.isAfter(from))
+                .ifPresent(busy::add);
+        }
+        if (excludeId != null) {
+            busy.removeIf(booking -> booking.id.equals(excludeId));
+        }
+        busy.sort(Booking.ORDER);
+        
+        LocalDateTime cursor = from;
+        for (Booking booking : busy) {
+            while (slots.size() < count && !cursor.plusMinutes(durationMinutes).isAfter(booking.start)) {
+                slots.add(cursor);
+                cursor = cursor.plusMinutes(durationMinutes);
+            }
+            if (slots.size() >= count) {
+                return slots;
+            }
+            if (booking.end.isAfter(cursor)) {
+                cursor = alignUp(booking.end);
+            }
+        }
+        while (slots.size() < count) {
+            slots.add(cursor);
+            cursor = cursor.plusMinutes(durationMinutes);
+        }
+        return slots;
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return bookings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private List<Booking> overlapping(Long interviewerId, Long candidateId, LocalDateTime startTime, LocalDateTime endTime) {
+        List<Booking> result = new ArrayList<>();
+        if (interviewerId != null) {
+            IntervalSet set = byInterviewer.get(interviewerId);
+            if (set != null) {
+                set.collectOverlapping(startTime, endTime, result);
+            }
+        }
+        if (candidateId != null) {
+            IntervalSet set = byCandidate.get(candidateId);
+            if (set != null) {
+                set.collectOverlapping(startTime, endTime, result);
+            }
+        }
+        return result;
+    }
+    
+    private static void addFrom(List<Booking> busy, IntervalSet set, LocalDateTime from, Map<Long, Optional<Booking>> pending) {
+        if (set == null) {
+            return;
+        }
+        for (Booking booking : set.endingAfter(from)) {
+            if (!pending.containsKey(booking.id)) {
+                busy.add(booking);
+            }
+        }
+    }
+    
+    private static LocalDateTime alignUp(LocalDateTime time) {
+        LocalDateTime truncated = time.truncatedTo(ChronoUnit.MINUTES);
+        if (truncated.isBefore(time)) {
+            truncated = truncated.plusMinutes(1);
+        }
+        int remainder = truncated.getMinute() % SLOT_GRANULARITY_MINUTES;
+        return remainder == 0 ? truncated : truncated.plusMinutes(SLOT_GRANULARITY_MINUTES - remainder);
+    }
+    
+    private void addInternal(Booking booking) {
+        bookings.put(booking.id, booking);
+        if (booking.interviewerId != null) {
+            byInterviewer.computeIfAbsent(booking.interviewerId, k -> new IntervalSet()).add(booking);
+        }
+        if (booking.candidateId != null) {
+            byCandidate.computeIfAbsent(booking.candidateId, k -> new IntervalSet()).add(booking);
+        }
+    }
+    
+    private void removeInternal(Long id) {
+        Booking booking = bookings.remove(id);
+        if (booking == null) {
+            return;
+        }
+        removeFrom(byInterviewer, booking.interviewerId, booking);
+        removeFrom(byCandidate, booking.candidateId, booking);
+    }
+    
+    private static void removeFrom(Map<Long, IntervalSet> owners, Long ownerId, Booking booking) {
+        if (ownerId == null) {
+            return;
+        }
+        IntervalSet set = owners.get(ownerId);
+        if (set != null && set.remove(booking) && set.isEmpty()) {
+            owners.remove(ownerId);
+        }
+    }
+    
+    /**
+     * 与原冲突查询一致：已取消和已完成的面试不占用时间
+     */
+    static boolean isBlocking(Interview.InterviewStatus status) {
+        return status != Interview.InterviewStatus.CANCELLED && status != Interview.InterviewStatus.COMPLETED;
+    }
+    
+    /**
+     * 一场面试占用的时间区间 [start, end)
+     */
+    private static final class Booking {
+        
+        static final Comparator<Booking> ORDER = Comparator.comparing((Booking b) -> b.start).thenComparing(b -> b.id);
+        
+        final Long id;
+        final Long interviewerId;
+        final Long candidateId;
+        final LocalDateTime start;
+        final LocalDateTime end;
+        
+        Booking(Long id, Long interviewerId, Long candidateId, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.interviewerId = interviewerId;
+            this.candidateId = candidateId;
+            this.start = start;
+            this.end = end;
+        }
+        
+        /**
+         * 不占用时间的面试（已取消、已完成或没有时间）返回 null
+         */
+        static Booking of(Interview interview) {
+            if (interview.getId() == null || interview.getScheduledTime() == null || !isBlocking(interview.getStatus())) {
+                return null;
+            }
+            int duration = interview.getDurationMinutes() != null ? interview.getDurationMinutes() : DEFAULT_DURATION_MINUTES;
+            return new Booking(interview.getId(), interview.getInterviewerId(), interview.getCandidateId(),
+                interview.getScheduledTime(), interview.getScheduledTime().plusMinutes(duration));
+        }
+        
+        boolean belongsTo(Long interviewerId, Long candidateId) {
+            return (interviewerId != null && interviewerId.equals(this.interviewerId))
+                || (candidateId != null && candidateId.equals(this.candidateId));
+        }
+        
+        boolean overlaps(LocalDateTime startTime, LocalDateTime endTime) {
+            return start.isBefore(endTime) && end.isAfter(startTime);
+        }
+        
+        long durationMinutes() {
+            return ChronoUnit.MINUTES.between(start, end);
+        }
+    }
+    
+    /**
+     * 单个面试官或候选人的面试区间，按开始时间排序，并记录最长时长，
+     * 重叠查询只需扫描开始时间落在 [startTime - 最长时长, endTime) 内的区间
+     */
+    private static final class IntervalSet {
+        
+        private final TreeSet<Booking> intervals = new TreeSet<>(Booking.ORDER);
+        private long maxDurationMinutes;
+        
+        void add(Booking booking) {
+            intervals.add(booking);
+            maxDurationMinutes = Math.max(maxDurationMinutes, booking.durationMinutes());
+        }
+        
+        boolean remove(Booking booking) {
+            return intervals.remove(booking);
+        }
+        
+        boolean isEmpty() {
+            return intervals.isEmpty();
+        }
+        
+        void collectOverlapping(LocalDateTime startTime, LocalDateTime endTime, List<Booking> result) {
+            for (Booking booking : candidates(startTime, endTime)) {
+                if (booking.overlaps(startTime, endTime)) {
+                    result.add(booking);
+                }
+            }
+        }
+        
+        List<Booking> endingAfter(LocalDateTime time) {
+            List<Booking> result = new ArrayList<>();
+            for (Booking booking : intervals.tailSet(probe(time.minusMinutes(maxDurationMinutes)), true)) {
+                if (booking.end.isAfter(time)) {
+                    result.add(booking);
+                }
+            }
+            return result;
+        }
+        
+        private NavigableSet<Booking> candidates(LocalDateTime startTime, LocalDateTime endTime) {
+            Booking from = probe(startTime.minusMinutes(maxDurationMinutes));
+            Booking to = probe(endTime);
+            if (Booking.ORDER.compare(from, to) >= 0) {
+                return Collections.emptyNavigableSet();
+            }
+            return intervals.subSet(from, true, to, false);
+        }
+        
+        private static Booking probe(LocalDateTime time) {
+            return new Booking(Long.MIN_VALUE, null, null, time, time);
+        }
+    }
+}
\ No newline at end of file
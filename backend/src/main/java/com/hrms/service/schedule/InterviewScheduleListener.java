@@ -0,0 +1,30 @@
+package com.hrms.service.schedule;
+
+import com.hrms.entity.Interview;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 实体监听器，面试保存或删除后同步日程索引
+ */
+@Component
+public class InterviewScheduleListener {
+    
+    @Autowired
+    private ObjectProvider<InterviewScheduleIndex> scheduleIndex;
+    
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Interview interview) {
+        scheduleIndex.ifAvailable(index -> index.onSaved(interview));
+    }
+    
+    @PostRemove
+    public void onRemoved(Interview interview) {
+        scheduleIndex.ifAvailable(index -> index.onRemoved(interview));
+    }
+}
\ No newline at end of file
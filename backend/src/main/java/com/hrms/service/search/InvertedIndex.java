@@ -0,0 +1,232 @@
+package com.hrms.service.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 内存倒排索引
+ * 每个词对应一个按文档ID升序排列的倒排表，支持增量更新和删除；
+ * 检索时所有查询词必须同时命中，按 BM25 计算相关度，只保留当前页所需的前 N 条
+ */
+public class InvertedIndex {
+    
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, DocEntry> documents = new HashMap<>();
+    private long totalLength;
+    
+    /**
+     * 新增或替换文档
+     *
+     * @param termFrequencies 词及其（已加权的）词频
+     */
+    public void put(long docId, Map<String, Integer> termFrequencies) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+            if (termFrequencies.isEmpty()) {
+                return;
+            }
+            String[] terms = new String[termFrequencies.size()];
+            int length = 0;
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+                terms[i++] = entry.getKey();
+                length += entry.getValue();
+                postings.computeIfAbsent(entry.getKey(), k -> new PostingList()).add(docId, entry.getValue());
+            }
+            documents.put(docId, new DocEntry(terms, length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 检索同时包含所有查询词的文档
+     *
+     * @param offset 跳过的条数
+     * @param limit  返回的最大条数
+     */
+    public SearchResult search(Collection<String> queryTerms, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(queryTerms);
+        if (terms.isEmpty() || limit <= 0) {
+            return SearchResult.empty();
+        }
+        
+        lock.readLock().lock();
+        try {
+            List<PostingList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null || list.size == 0) {
+                    return SearchResult.empty();
+                }
+                lists.add(list);
+            }
+            // 从最短的倒排表开始求交集
+            lists.sort(Comparator.comparingInt(list -> list.size));
+            
+            int docCount = documents.size();
+            double avgLength = docCount > 0 ? (double) totalLength / docCount : 1;
+            double[] idf = new double[lists.size()];
+            for (int t = 0; t < lists.size(); t++) {
+                int df = lists.get(t).size;
+                idf[t] = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+            }
+            
+            int keep = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+            // 小顶堆保留得分最高的 keep 条，同分时ID小的优先
+            PriorityQueue<long[]> heap = new PriorityQueue<>((a, b) -> {
+                int cmp = Double.compare(Double.longBitsToDouble(a[1]), Double.longBitsToDouble(b[1]));
+                return cmp != 0 ? cmp : Long.compare(b[0], a[0]);
+            });
+            int total = 0;
+            
+            PostingList shortest = lists.get(0);
+            for (int i = 0; i < shortest.size; i++) {
+                long docId = shortest.ids[i];
+                DocEntry doc = documents.get(docId);
+                double norm = K1 * (1 - B + B * doc.length / avgLength);
+                double score = idf[0] * bm25(shortest.freqs[i], norm);
+                boolean matched = true;
+                for (int t = 1; t < lists.size(); t++) {
+                    int tf = lists.get(t).frequency(docId);
+                    if (tf == 0) {
+                        matched = false;
+                        break;
+                    }
+                    score += idf[t] * bm25(tf, norm);
+                }
+                if (!matched) {
+                    continue;
+                }
+                total++;
+                long[] entry = {docId, Double.doubleToLongBits(score)};
+                if (heap.size() < keep) {
+                    heap.add(entry);
+                } else if (heap.comparator().compare(entry, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(entry);
+                }
+            }
+            
+            int size = Math.max(0, heap.size() - offset);
+            long[] ids = new long[size];
+            double[] scores = new double[size];
+            List<long[]> ranked = new ArrayList<>(heap);
+            ranked.sort(heap.comparator().reversed());
+            for (int i = 0; i < size; i++) {
+                long[] entry = ranked.get(offset + i);
+                ids[i] = entry[0];
+                scores[i] = Double.longBitsToDouble(entry[1]);
+            }
+            return new SearchResult(ids, scores, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private static double bm25(int tf, double norm) {
+        return tf * (K1 + 1) / (tf + norm);
+    }
+    
+    private void removeInternal(long docId) {
+        DocEntry doc = documents.remove(docId);
+        if (doc == null) {
+            return;
+        }
+        for (String term : doc.terms) {
+            PostingList list = postings.get(term);
+            if (list != null && list.remove(docId) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= doc.length;
+    }
+    
+    private static final class DocEntry {
+        final String[] terms;
+        final int length;
+        
+        DocEntry(String[] terms, int length) {
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+    
+    /**
+     * 按文档ID升序排列的倒排表，ID通常递增写入，追加为 O(1)
+     */
+    private static final class PostingList {
+        long[] ids = new long[4];
+        int[] freqs = new int[4];
+        int size;
+        
+        void add(long docId, int frequency) {
+            int pos = size > 0 && ids[size - 1] < docId ? -(size + 1) : Arrays.binarySearch(ids, 0, size, docId);
+            if (pos >= 0) {
+                freqs[pos] = frequency;
+                return;
+            }
+            int insertAt = -(pos + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(freqs, insertAt, freqs, insertAt + 1, size - insertAt);
+            ids[insertAt] = docId;
+            freqs[insertAt] = frequency;
+            size++;
+        }
+        
+        boolean remove(long docId) {
+            int pos = Arrays.binarySearch(ids, 0, size, docId);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            System.arraycopy(freqs, pos + 1, freqs, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+        
+        int frequency(long docId) {
+            int pos = Arrays.binarySearch(ids, 0, size, docId);
+            return pos >= 0 ? freqs[pos] : 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.hrms.service.search;
+
+import com.hrms.service.cache.AfterCommit;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 实体监听器，实体保存或删除后增量更新搜索索引
+ * 在事务中时推迟到提交之后再更新，回滚的修改不会进入索引
+ */
+@Component
+public class SearchIndexListener {
+    
+    @Autowired
+    private ObjectProvider<SearchIndexService> searchIndexService;
+    
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        AfterCommit.run(() -> searchIndexService.ifAvailable(service -> service.onSaved(entity)));
+    }
+    
+    @PostRemove
+    public void onRemoved(Object entity) {
+        AfterCommit.run(() -> searchIndexService.ifAvailable(service -> service.onRemoved(entity)));
+    }
+}
\ No newline at end of file
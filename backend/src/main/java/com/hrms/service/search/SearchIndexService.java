@@ -0,0 +1,400 @@
+package com.hrms.service.search;
+
+import com.hrms.entity.Candidate;
+import com.hrms.entity.InterviewQuestion;
+import com.hrms.entity.Resume;
+import com.hrms.repository.CandidateRepository;
+import com.hrms.repository.InterviewQuestionRepository;
+import com.hrms.repository.ResumeRepository;
+import com.hrms.service.cache.ClusterEvents;
+import com.hrms.service.cache.IndexChangeTracker;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.*;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * 全文检索服务
+ * 为候选人、简历和面试题维护内存倒排索引，替代 LIKE '%关键词%' 的全表扫描；
+ * 启动后在后台分批重建索引，重建完成前回退到原有的数据库模糊查询。
+ * 索引在每个实例的内存中各有一份：本实例的修改通过 {@link ClusterEvents} 通知其他实例从数据库重新加载，
+ * 另外定期全量重建对账，兜底丢失的通知
+ */
+@Service
+public class SearchIndexService {
+    
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexService.class);
+    
+    private static final String CHANGED_TOPIC = "search-index-changed";
+    private static final String CANDIDATE = "candidate";
+    private static final String RESUME = "resume";
+    private static final String QUESTION = "question";
+    
+    @Autowired
+    private CandidateRepository candidateRepository;
+    
+    @Autowired
+    private ResumeRepository resumeRepository;
+    
+    @Autowired
+    private InterviewQuestionRepository interviewQuestionRepository;
+    
+    @Autowired
+    private ClusterEvents clusterEvents;
+    
+    @Value("${search.index.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${search.index.rebuild-batch-size:500}")
+    private int rebuildBatchSize;
+    
+    @Value("${search.index.reconcile-interval-minutes:60}")
+    private long reconcileIntervalMinutes;
+    
+    private volatile Indexes indexes = new Indexes();
+    private volatile boolean ready;
+    
+    private final IndexChangeTracker changes = new IndexChangeTracker();
+    
+    private ScheduledExecutorService rebuilder;
+    
+    @PostConstruct
+    public void init() {
+        if (enabled) {
+            clusterEvents.subscribe(CHANGED_TOPIC, this::onRemoteChange);
+        }
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        rebuilder = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "search-index-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (reconcileIntervalMinutes > 0) {
+            rebuilder.scheduleWithFixedDelay(this::rebuild, 0, reconcileIntervalMinutes, TimeUnit.MINUTES);
+        } else {
+            rebuilder.execute(this::rebuild);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (rebuilder != null) {
+            rebuilder.shutdownNow();
+        }
+    }
+    
+    /**
+     * 从数据库全量重建索引
+     * 建在新的索引上，完成后整体切换，重建期间检索继续使用旧索引；
+     * 重建期间被修改的文档在切换后按数据库最新状态重新加载
+     */
+    public synchronized void rebuild() {
+        Map<String, Set<Long>> changed = changes.watch();
+        try {
+            long start = System.currentTimeMillis();
+            Indexes fresh = new Indexes();
+            int candidates = rebuild(candidateRepository::findByIdGreaterThanOrderByIdAsc, Candidate::getId, fresh);
+            int resumes = rebuild(resumeRepository::findByIdGreaterThanOrderByIdAsc, Resume::getId, fresh);
+            int questions = rebuild(interviewQuestionRepository::findByIdGreaterThanOrderByIdAsc, InterviewQuestion::getId, fresh);
+            changes.finish(changed, () -> indexes = fresh);
+            changed.forEach(this::reload);
+            ready = true;
+            log.info("搜索索引重建完成：候选人 {}，简历 {}，面试题 {}，耗时 {} ms",
+                    candidates, resumes, questions, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("搜索索引重建失败，继续使用{}", ready ? "现有索引" : "数据库模糊查询", e);
+        } finally {
+            changes.unwatch(changed);
+        }
+    }
+    
+    private <T> int rebuild(BiFunction<Long, Pageable, List<T>> pager, Function<T, Long> idGetter, Indexes target) {
+        int count = 0;
+        long lastId = 0;
+        Pageable pageable = PageRequest.of(0, Math.max(1, rebuildBatchSize));
+        List<T> page;
+        do {
+            // 按ID游标翻页，避免偏移分页在重建期间因插入删除而跳过或重复
+            page = pager.apply(lastId, pageable);
+            for (T entity : page) {
+                if (index(target, entity)) {
+                    count++;
+                }
+                lastId = idGetter.apply(entity);
+            }
+        } while (page.size() == pageable.getPageSize());
+        return count;
+    }
+    
+    public boolean isReady() {
+        return enabled && ready;
+    }
+    
+    // ========== 增量更新 ==========
+    
+    public void onSaved(Object entity) {
+        String type = typeOf(entity);
+        Long id = idOf(entity);
+        if (!enabled || type == null || id == null) {
+            return;
+        }
+        changes.apply(type, id, () -> index(indexes, entity));
+        clusterEvents.publish(CHANGED_TOPIC, type + ":" + id);
+    }
+    
+    public void onRemoved(Object entity) {
+        String type = typeOf(entity);
+        Long id = idOf(entity);
+        if (!enabled || type == null || id == null) {
+            return;
+        }
+        changes.apply(type, id, () -> remove(indexes, type, id));
+        clusterEvents.publish(CHANGED_TOPIC, type + ":" + id);
+    }
+    
+    /**
+     * 其他实例修改了文档，按数据库当前状态重新加载
+     */
+    private void onRemoteChange(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator <= 0) {
+            return;
+        }
+        reload(payload.substring(0, separator), List.of(Long.valueOf(payload.substring(separator + 1))));
+    }
+    
+    /**
+     * 从数据库重新加载指定文档，已删除的从索引中移除
+     */
+    private void reload(String type, Collection<Long> ids) {
+        changes.reload(type, ids, repository(type)::findAllById, SearchIndexService::idOf,
+                entity -> index(indexes, entity), id -> remove(indexes, type, id));
+    }
+    
+    private JpaRepository<?, Long> repository(String type) {
+        switch (type) {
+            case CANDIDATE:
+                return candidateRepository;
+            case RESUME:
+                return resumeRepository;
+            case QUESTION:
+                return interviewQuestionRepository;
+            default:
+                throw new IllegalArgumentException("未知的索引类型: " + type);
+        }
+    }
+    
+    private static String typeOf(Object entity) {
+        if (entity instanceof Candidate) {
+            return CANDIDATE;
+        } else if (entity instanceof Resume) {
+            return RESUME;
+        } else if (entity instanceof InterviewQuestion) {
+            return QUESTION;
+        }
+        return null;
+    }
+    
+    private static Long idOf(Object entity) {
+        if (entity instanceof Candidate candidate) {
+            return candidate.getId();
+        } else if (entity instanceof Resume resume) {
+            return resume.getId();
+        } else if (entity instanceof InterviewQuestion question) {
+            return question.getId();
+        }
+        return null;
+    }
+    
+    private static boolean index(Indexes target, Object entity) {
+        if (entity instanceof Candidate candidate) {
+            return indexCandidate(target, candidate);
+        } else if (entity instanceof Resume resume) {
+            return indexResume(target, resume);
+        } else if (entity instanceof InterviewQuestion question) {
+            return indexQuestion(target, question);
+        }
+        return false;
+    }
+    
+    private static void remove(Indexes target, String type, long id) {
+        switch (type) {
+            case CANDIDATE:
+                target.candidates.remove(id);
+                target.candidateSkills.remove(id);
+                break;
+            case RESUME:
+                target.resumes.remove(id);
+                break;
+            case QUESTION:
+                target.questions.remove(id);
+                break;
+            default:
+                break;
+        }
+    }
+    
+    private static boolean indexCandidate(Indexes target, Candidate candidate) {
+        if (candidate.getId() == null) {
+            return false;
+        }
+        Map<String, Integer> terms = new HashMap<>();
+        addField(terms, candidate.getName(), 3);
+        addField(terms, candidate.getSkills(), 3);
+        addField(terms, candidate.getCurrentPosition(), 2);
+        addField(terms, candidate.getExpectedPosition(), 2);
+        addField(terms, candidate.getCurrentCompany(), 1);
+        addField(terms, candidate.getMajor(), 1);
+        target.candidates.put(candidate.getId(), terms);
+        
+        Map<String, Integer> skills = new HashMap<>();
+        addField(skills, candidate.getSkills(), 1);
+        target.candidateSkills.put(candidate.getId(), skills);
+        return !terms.isEmpty();
+    }
+    
+    private static boolean indexResume(Indexes target, Resume resume) {
+        if (resume.getId() == null) {
+            return false;
+        }
+        Map<String, Integer> terms = new HashMap<>();
+        addField(terms, resume.getExtractedName(), 3);
+        addField(terms, resume.getExtractedSkills(), 3);
+        addField(terms, resume.getFileName(), 2);
+        addField(terms, resume.getExtractedExperience(), 1);
+        addField(terms, resume.getExtractedEducation(), 1);
+        target.resumes.put(resume.getId(), terms);
+        return !terms.isEmpty();
+    }
+    
+    private static boolean indexQuestion(Indexes target, InterviewQuestion question) {
+        if (question.getId() == null) {
+            return false;
+        }
+        // 与原查询保持一致，只检索启用的题目
+        if (!Boolean.TRUE.equals(question.getIsActive())) {
+            target.questions.remove(question.getId());
+            return false;
+        }
+        Map<String, Integer> terms = new HashMap<>();
+        addField(terms, question.getQuestion(), 3);
+        addField(terms, question.getSkills(), 2);
+        addField(terms, question.getTags(), 2);
+        addField(terms, question.getDescription(), 1);
+        target.questions.put(question.getId(), terms);
+        return !terms.isEmpty();
+    }
+    
+    private static void addField(Map<String, Integer> terms, String value, int weight) {
+        for (String token : SearchTokenizer.indexTerms(value)) {
+            terms.merge(token, weight, Integer::sum);
+        }
+    }
+    
+    // ========== 检索 ==========
+    
+    /**
+     * 按姓名、技能、职位、公司和专业综合检索候选人
+     */
+    public Page<Candidate> searchCandidates(String keyword, Pageable pageable) {
+        if (!isReady()) {
+            return toPage(candidateRepository.findBySkillsContaining(keyword), pageable);
+        }
+        return search(indexes.candidates, keyword, pageable, candidateRepository, Candidate::getId);
+    }
+    
+    /**
+     * 只在技能字段中检索候选人
+     */
+    public List<Candidate> searchCandidatesBySkill(String skill) {
+        if (!isReady()) {
+            return candidateRepository.findBySkillsContaining(skill);
+        }
+        return search(indexes.candidateSkills, skill, Pageable.unpaged(), candidateRepository, Candidate::getId).getContent();
+    }
+    
+    public Page<Resume> searchResumes(String keyword, Pageable pageable) {
+        if (!isReady()) {
+            return resumeRepository.findByFileNameContainingIgnoreCase(keyword, pageable);
+        }
+        return search(indexes.resumes, keyword, pageable, resumeRepository, Resume::getId);
+    }
+    
+    public Page<InterviewQuestion> searchQuestions(String keyword, Pageable pageable) {
+        if (!isReady()) {
+            return toPage(interviewQuestionRepository.searchQuestions(keyword), pageable);
+        }
+        return search(indexes.questions, keyword, pageable, interviewQuestionRepository, InterviewQuestion::getId);
+    }
+    
+    private <T> Page<T> search(InvertedIndex index, String keyword, Pageable pageable,
+                               JpaRepository<T, Long> repository, Function<T, Long> idGetter) {
+        List<String> terms = SearchTokenizer.tokenize(keyword);
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        int offset = pageable.isPaged() ? (int) pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE - offset;
+        SearchResult result = index.search(terms, offset, limit);
+        if (result.getIds().length == 0) {
+            return new PageImpl<>(Collections.emptyList(), pageable, result.getTotal());
+        }
+        
+        List<Long> ids = new ArrayList<>(result.getIds().length);
+        for (long id : result.getIds()) {
+            ids.add(id);
+        }
+        // 按索引给出的相关度顺序返回
+        Map<Long, T> loaded = new HashMap<>();
+        for (T entity : repository.findAllById(ids)) {
+            loaded.put(idGetter.apply(entity), entity);
+        }
+        List<T> content = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T entity = loaded.get(id);
+            if (entity != null) {
+                content.add(entity);
+            }
+        }
+        return new PageImpl<>(content, pageable, result.getTotal());
+    }
+    
+    private static <T> Page<T> toPage(List<T> all, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+    
+    /**
+     * 一组索引，重建时整体替换
+     */
+    private static final class Indexes {
+        final InvertedIndex candidates = new InvertedIndex();
+        final InvertedIndex candidateSkills = new InvertedIndex();
+        final InvertedIndex resumes = new InvertedIndex();
+        final InvertedIndex questions = new InvertedIndex();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.hrms.service.search;
+
+/**
+ * 一次检索的结果：当前页的文档ID（按相关度降序）、对应得分以及命中总数
+ */
+public class SearchResult {
+    
+    private final long[] ids;
+    private final double[] scores;
+    private final int total;
+    
+    public SearchResult(long[] ids, double[] scores, int total) {
+        this.ids = ids;
+        this.scores = scores;
+        this.total = total;
+    }
+    
+    public static SearchResult empty() {
+        return new SearchResult(new long[0], new double[0], 0);
+    }
+    
+    public long[] getIds() {
+        return ids;
+    }
+    
+    public double[] getScores() {
+        return scores;
+    }
+    
+    public int getTotal() {
+        return total;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.hrms.service.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 搜索分词器
+ * 英文和数字按词切分（保留 c++、c#、node.js 这类技术名词），中日韩文字按相邻两字切分（bigram），
+ * 单独出现的一个汉字作为一个词；建索引时另外收录每个汉字，使单字查询（如姓氏）也能命中
+ */
+public final class SearchTokenizer {
+    
+    private SearchTokenizer() {}
+    
+    /**
+     * 分词，结果按出现顺序排列，可能包含重复词
+     */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false);
+    }
+    
+    /**
+     * 建索引用的分词，在 tokenize 的基础上为连续的中日韩文字额外输出每个单字
+     */
+    public static List<String> indexTerms(String text) {
+        return tokenize(text, true);
+    }
+    
+    private static List<String> tokenize(String text, boolean unigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        
+        StringBuilder word = new StringBuilder();
+        StringBuilder cjk = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            if (isCjk(c)) {
+                flushWord(word, tokens);
+                cjk.append(c);
+            } else if (Character.isLetterOrDigit(c) || (word.length() > 0 && isWordSymbol(c))) {
+                flushCjk(cjk, tokens, unigrams);
+                word.append(c);
+            } else {
+                flushWord(word, tokens);
+                flushCjk(cjk, tokens, unigrams);
+            }
+        }
+        flushWord(word, tokens);
+        flushCjk(cjk, tokens, unigrams);
+        return tokens;
+    }
+    
+    /**
+     * 分词并统计词频
+     */
+    public static Map<String, Integer> termFrequencies(String text) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>();
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        return frequencies;
+    }
+    
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        // 去掉结尾的标点（如句末的点号），保留 c++、c# 这类结尾符号
+        int end = word.length();
+        while (end > 0 && word.charAt(end - 1) == '.') {
+            end--;
+        }
+        if (end > 0) {
+            tokens.add(word.substring(0, end));
+        }
+        word.setLength(0);
+    }
+    
+    private static void flushCjk(StringBuilder cjk, List<String> tokens, boolean unigrams) {
+        if (cjk.length() == 1) {
+            tokens.add(cjk.toString());
+        } else {
+            for (int i = 0; i + 1 < cjk.length(); i++) {
+                tokens.add(cjk.substring(i, i + 2));
+            }
+            if (unigrams) {
+                for (int i = 0; i < cjk.length(); i++) {
+                    tokens.add(String.valueOf(cjk.charAt(i)));
+                }
+            }
+        }
+        cjk.setLength(0);
+    }
+    
+    private static boolean isWordSymbol(char c) {
+        return c == '+' || c == '#' || c == '.';
+    }
+    
+    private static boolean isCjk(char c) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(c);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,166 @@
+package com.hrms.service.storage;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * 按内容寻址的简历文件存储
+ * 上传和平台下载的文件以流的方式写入磁盘，写入的同时计算 SHA-256，
+ * 文件按摘要存放（{root}/ab/cd/abcd...），内容相同的简历只保存一份
+ */
+@Component
+public class ResumeFileStore {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    @Value("${storage.resume-dir:uploads/resumes}")
+    private String rootDir;
+    
+    private Path root;
+    private Path tmpDir;
+    
+    @PostConstruct
+    public void init() throws IOException {
+        root = Paths.get(rootDir).toAbsolutePath();
+        tmpDir = root.resolve("tmp");
+        Files.createDirectories(tmpDir);
+    }
+    
+    /**
+     * 将输入流写入存储，调用方负责关闭输入流
+     */
+    public StoredFile store(InputStream in) {
+        Path tmp = tmpDir.resolve(UUID.randomUUID() + ".part");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size = 0;
+            ReadableByteChannel source = Channels.newChannel(in);
+            try (FileChannel target = FileChannel.open(tmp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+                while (source.read(buffer) != -1) {
+                    buffer.flip();
+                    digest.update(buffer.duplicate());
+                    while (buffer.hasRemaining()) {
+                        size += target.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+            
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            Path blob = resolve(sha256);
+            boolean deduplicated = Files.exists(blob);
+            if (deduplicated) {
+                Files.delete(tmp);
+            } else {
+                Files.createDirectories(blob.getParent());
+                try {
+                    Files.move(tmp, blob, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // 并发写入了相同内容
+                    Files.delete(tmp);
+                    deduplicated = true;
+                }
+            }
+            return new StoredFile(sha256, blob, size, deduplicated);
+        } catch (IOException e) {
+            deleteQuietly(tmp);
+            throw new RuntimeException("保存简历文件失败: " + e.getMessage());
+        } catch (NoSuchAlgorithmException e) {
+            deleteQuietly(tmp);
+            throw new RuntimeException("不支持SHA-256算法", e);
+        }
+    }
+    
+    /**
+     * 将文件内容写入目标通道
+     * 目标是 FileChannel 或 SocketChannel 时由内核直接拷贝，其他通道（如包装的 Servlet 输出流）退化为缓冲拷贝
+     *
+     * @return 写入的字节数
+     */
+    public long transferTo(String sha256, WritableByteChannel target) {
+        Path blob = resolve(sha256);
+        try (FileChannel source = FileChannel.open(blob, StandardOpenOption.READ)) {
+            long size = source.size();
+            long position = 0;
+            while (position < size) {
+                position += source.transferTo(position, size - position, target);
+            }
+            return position;
+        } catch (NoSuchFileException e) {
+            throw new RuntimeException("简历文件不存在");
+        } catch (IOException e) {
+            throw new RuntimeException("读取简历文件失败: " + e.getMessage());
+        }
+    }
+    
+    public boolean exists(String sha256) {
+        return Files.exists(resolve(sha256));
+    }
+    
+    public Path resolve(String sha256) {
+        if (sha256 == null || !sha256.matches("[0-9a-f]{64}")) {
+            throw new RuntimeException("无效的文件摘要");
+        }
+        return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+    }
+    
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            // 忽略
+        }
+    }
+    
+    /**
+     * 已存储文件的摘要、位置和大小
+     */
+    public static class StoredFile {
+        
+        private final String sha256;
+        private final Path path;
+        private final long size;
+        private final boolean deduplicated;
+        
+        public StoredFile(String sha256, Path path, long size, boolean deduplicated) {
+            this.sha256 = sha256;
+            this.path = path;
+            this.size = size;
+            this.deduplicated = deduplicated;
+        }
+        
+        public String getSha256() {
+            return sha256;
+        }
+        
+        public Path getPath() {
+            return path;
+        }
+        
+        public long getSize() {
+            return size;
+        }
+        
+        /**
+         * 存储中已有相同内容的文件，本次没有新写入
+         */
+        public boolean isDeduplicated() {
+            return deduplicated;
+        }
+    }
+}
\ No newline at end of file
@@ -1,7 +1,11 @@
 package com.hrms.service.thirdparty;
 
 import com.hrms.entity.ThirdPartyPlatform;
+import com.hrms.service.http.PlatformHttpSettingsRegistry;
 import com.hrms.service.thirdparty.impl.BossApiServiceImpl;
+import com.hrms.service.thirdparty.limit.PlatformRateLimiterRegistry;
+import com.hrms.service.thirdparty.resilience.PlatformResilienceRegistry;
+import com.hrms.service.thirdparty.resilience.ResilientPlatformApiService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
@@ -15,6 +19,15 @@ public class ThirdPartyPlatformApiFactory {
     @Autowired
     private ApplicationContext applicationContext;
     
+    @Autowired
+    private PlatformRateLimiterRegistry rateLimiterRegistry;
+    
+    @Autowired
+    private PlatformHttpSettingsRegistry httpSettingsRegistry;
+    
+    @Autowired
+    private PlatformResilienceRegistry resilienceRegistry;
+    
     private final Map<String, String> platformServiceMap = new HashMap<>();
     
     public ThirdPartyPlatformApiFactory() {
@@ -36,8 +49,14 @@ public class ThirdPartyPlatformApiFactory {
             throw new RuntimeException("不支持的第三方平台: " + platformCode);
         }
         
+        // 登记平台限流和超时参数，之后发往该平台的请求按这些参数执行
+        rateLimiterRegistry.register(platform);
+        httpSettingsRegistry.register(platform);
+        
         try {
-            return (ThirdPartyPlatformApiService) applicationContext.getBean(serviceName);
+            // 外层包装熔断、舱壁和重试
+            ThirdPartyPlatformApiService apiService = (ThirdPartyPlatformApiService) applicationContext.getBean(serviceName);
+            return new ResilientPlatformApiService(apiService, resilienceRegistry);
         } catch (Exception e) {
             throw new RuntimeException("获取平台API服务失败: " + platformCode, e);
         }
@@ -54,7 +73,9 @@ public class ThirdPartyPlatformApiFactory {
         }
         
         try {
-            return (ThirdPartyPlatformApiService) applicationContext.getBean(serviceName);
+            // 外层包装熔断、舱壁和重试
+            ThirdPartyPlatformApiService apiService = (ThirdPartyPlatformApiService) applicationContext.getBean(serviceName);
+            return new ResilientPlatformApiService(apiService, resilienceRegistry);
         } catch (Exception e) {
             throw new RuntimeException("获取平台API服务失败: " + platformCode, e);
         }
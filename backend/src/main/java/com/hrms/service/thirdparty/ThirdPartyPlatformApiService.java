@@ -4,6 +4,7 @@ import com.hrms.entity.ThirdPartyPlatform;
 import com.hrms.entity.Job;
 import com.hrms.entity.Candidate;
 import com.hrms.entity.Resume;
+import com.hrms.service.storage.ResumeFileStore;
 
 import java.util.List;
 import java.util.Map;
@@ -45,21 +46,37 @@ public interface ThirdPartyPlatformApiService {
      */
     Map<String, Object> getJobStatus(ThirdPartyPlatform platform, String externalJobId);
     
+    /**
+     * 获取平台上的职位列表
+     */
+    List<Map<String, Object>> getJobs(ThirdPartyPlatform platform, Map<String, Object> params);
+    
     /**
      * 同步简历数据
      */
     List<Map<String, Object>> syncResumes(ThirdPartyPlatform platform, String jobId, int limit);
     
+    /**
+     * 按游标从旧到新分页拉取简历
+     * 返回 data（本页简历）、nextCursor（下一页游标）、hasMore（是否还有后续页），请求失败时抛出异常
+     */
+    Map<String, Object> fetchResumePage(ThirdPartyPlatform platform, String jobId, String cursor, int pageSize);
+    
     /**
      * 获取候选人详细信息
      */
     Map<String, Object> getCandidateDetails(ThirdPartyPlatform platform, String candidateId);
     
     /**
-     * 下载简历文件
+     * 下载简历文件（整个文件读入内存）
      */
     byte[] downloadResume(ThirdPartyPlatform platform, String resumeId);
     
+    /**
+     * 下载简历文件并以流的方式写入文件存储，失败时返回 null
+     */
+    ResumeFileStore.StoredFile downloadResumeFile(ThirdPartyPlatform platform, String resumeId);
+    
     /**
      * 同步消息数据
      */
@@ -94,4 +111,9 @@ public interface ThirdPartyPlatformApiService {
      * 根据数据类型同步特定数据
      */
     Map<String, Object> syncSpecificDataType(ThirdPartyPlatform platform, String dataType, Map<String, Object> params);
+    
+    /**
+     * 把平台推送的原始简历数据转换为与拉取同步相同的标准字段
+     */
+    Map<String, Object> normalizeResume(Map<String, Object> rawResume);
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.hrms.service.thirdparty.limit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 第三方平台请求的限流拦截器
+ * 请求发往已登记的平台主机时，先取得该平台的令牌和并发许可再发出，其余请求不受影响
+ */
+@Component
+public class PlatformRateLimitInterceptor implements ClientHttpRequestInterceptor {
+    
+    @Autowired
+    private PlatformRateLimiterRegistry registry;
+    
+    @Value("${platform-sync.rate-limit.acquire-timeout-ms:30000}")
+    private long acquireTimeoutMs;
+    
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        PlatformRateLimiterRegistry.PlatformLimits limits = registry.findByHost(request.getURI().getHost());
+        if (limits == null) {
+            return execution.execute(request, body);
+        }
+        
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMs);
+        try {
+            if (!limits.getConcurrency().tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("平台 " + limits.getPlatformCode() + " 并发请求已满，等待超时");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("等待平台请求许可时被中断");
+        }
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            if (!limits.getTokenBucket().acquire(remaining, TimeUnit.NANOSECONDS)) {
+                throw new RuntimeException("平台 " + limits.getPlatformCode() + " 请求频率超限，等待超时");
+            }
+            return execution.execute(request, body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("等待平台请求许可时被中断");
+        } finally {
+            limits.getConcurrency().release();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,145 @@
+package com.hrms.service.thirdparty.limit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.entity.ThirdPartyPlatform;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 各第三方平台的限流配置
+ * 每个平台一个令牌桶和一个并发信号量，参数取自平台的 configJson：
+ * rateLimitPerSecond（每秒请求数）、rateLimitBurst（突发容量）、maxConcurrentRequests（最大并发请求数），
+ * 未配置时使用全局默认值；按平台 API 地址的主机名查找，供 HTTP 拦截器使用
+ */
+@Component
+public class PlatformRateLimiterRegistry {
+    
+    @Value("${platform-sync.rate-limit.default-per-second:5}")
+    private double defaultPerSecond;
+    
+    @Value("${platform-sync.rate-limit.default-burst:10}")
+    private int defaultBurst;
+    
+    @Value("${platform-sync.rate-limit.default-max-concurrency:4}")
+    private int defaultMaxConcurrency;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, PlatformLimits> byPlatformCode = new ConcurrentHashMap<>();
+    private final Map<String, PlatformLimits> byHost = new ConcurrentHashMap<>();
+    
+    /**
+     * 登记平台（或在配置变化后更新），返回该平台的限流器
+     */
+    public PlatformLimits register(ThirdPartyPlatform platform) {
+        String code = platform.getPlatformCode().toUpperCase();
+        Map<String, Object> config = parseConfig(platform.getConfigJson());
+        double perSecond = toDouble(config.get("rateLimitPerSecond"), defaultPerSecond);
+        int burst = toInt(config.get("rateLimitBurst"), defaultBurst);
+        int maxConcurrency = toInt(config.get("maxConcurrentRequests"), defaultMaxConcurrency);
+        
+        PlatformLimits limits = byPlatformCode.compute(code, (key, existing) ->
+            existing != null && existing.matches(perSecond, burst, maxConcurrency)
+                ? existing : new PlatformLimits(code, perSecond, burst, maxConcurrency));
+        
+        String host = hostOf(platform.getApiBaseUrl());
+        if (host != null) {
+            byHost.put(host, limits);
+        }
+        return limits;
+    }
+    
+    public PlatformLimits findByHost(String host) {
+        return host != null ? byHost.get(host.toLowerCase()) : null;
+    }
+    
+    public PlatformLimits findByPlatformCode(String platformCode) {
+        return byPlatformCode.get(platformCode.toUpperCase());
+    }
+    
+    private Map<String, Object> parseConfig(String configJson) {
+        try {
+            if (configJson != null && !configJson.isBlank()) {
+                return objectMapper.readValue(configJson, new TypeReference<Map<String, Object>>() {});
+            }
+        } catch (Exception e) {
+            // 配置格式错误时使用默认值
+        }
+        return new HashMap<>();
+    }
+    
+    private static String hostOf(String url) {
+        try {
+            String host = url != null ? URI.create(url.trim()).getHost() : null;
+            return host != null ? host.toLowerCase() : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private static double toDouble(Object value, double defaultValue) {
+        if (value instanceof Number number && number.doubleValue() > 0) {
+            return number.doubleValue();
+        }
+        return defaultValue;
+    }
+    
+    private static int toInt(Object value, int defaultValue) {
+        if (value instanceof Number number && number.intValue() > 0) {
+            return number.intValue();
+        }
+        return defaultValue;
+    }
+    
+    /**
+     * 单个平台的令牌桶和并发上限
+     */
+    public static class PlatformLimits {
+        
+        private final String platformCode;
+        private final TokenBucket tokenBucket;
+        private final Semaphore concurrency;
+        private final int maxConcurrency;
+        
+        PlatformLimits(String platformCode, double perSecond, int burst, int maxConcurrency) {
+            this.platformCode = platformCode;
+            this.tokenBucket = new TokenBucket(perSecond, burst);
+            this.maxConcurrency = maxConcurrency;
+            this.concurrency = new Semaphore(maxConcurrency, true);
+        }
+        
+        boolean matches(double perSecond, int burst, int maxConcurrency) {
+            return tokenBucket.getPermitsPerSecond() == perSecond
+                && tokenBucket.getCapacity() == burst
+                && this.maxConcurrency == maxConcurrency;
+        }
+        
+        public String getPlatformCode() {
+            return platformCode;
+        }
+        
+        public TokenBucket getTokenBucket() {
+            return tokenBucket;
+        }
+        
+        public Semaphore getConcurrency() {
+            return concurrency;
+        }
+        
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+        
+        @Override
+        public String toString() {
+            return platformCode + "(" + tokenBucket.getPermitsPerSecond() + "/s, burst="
+                + tokenBucket.getCapacity() + ", concurrency=" + maxConcurrency + ")";
+        }
+    }
+}
\ No newline at end of file
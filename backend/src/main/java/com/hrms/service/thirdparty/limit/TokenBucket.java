@@ -0,0 +1,78 @@
+package com.hrms.service.thirdparty.limit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 令牌桶限流器
+ * 以固定速率补充令牌，桶容量决定允许的突发请求数
+ */
+public class TokenBucket {
+    
+    private final double permitsPerSecond;
+    private final double capacity;
+    private double tokens;
+    private long lastRefillNanos;
+    
+    public TokenBucket(double permitsPerSecond, int capacity) {
+        if (permitsPerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("限流速率和容量必须大于0");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+    
+    /**
+     * 立即尝试获取一个令牌
+     */
+    public synchronized boolean tryAcquire() {
+        refill(System.nanoTime());
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * 获取一个令牌，最多等待 timeout
+     *
+     * @return 超时仍未获取到时返回 false
+     */
+    public boolean acquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                refill(now);
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return true;
+                }
+                waitNanos = (long) ((1 - tokens) / permitsPerSecond * 1_000_000_000L);
+                if (now + waitNanos > deadline) {
+                    return false;
+                }
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.max(waitNanos, 100_000L));
+        }
+    }
+    
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+    
+    public int getCapacity() {
+        return (int) capacity;
+    }
+    
+    private void refill(long now) {
+        long elapsed = now - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * permitsPerSecond / 1_000_000_000L);
+            lastRefillNanos = now;
+        }
+    }
+}
\ No newline at end of file
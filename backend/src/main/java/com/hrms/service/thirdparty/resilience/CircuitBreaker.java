@@ -0,0 +1,150 @@
+package com.hrms.service.thirdparty.resilience;
+
+/**
+ * 基于滑动窗口失败率的熔断器
+ * 最近 windowSize 次调用中失败比例达到阈值后断开，断开期间直接拒绝；
+ * 等待 openDuration 后进入半开状态，只放行一次探测调用，成功则恢复，失败则重新断开
+ */
+public class CircuitBreaker {
+    
+    public enum State {
+        CLOSED,     // 正常
+        OPEN,       // 熔断中
+        HALF_OPEN   // 半开探测
+    }
+    
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long openDurationNanos;
+    
+    // 环形窗口，true 表示失败
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private boolean probeInFlight;
+    private String lastError;
+    
+    /**
+     * @param failureRateThreshold 失败率阈值（百分比）
+     */
+    public CircuitBreaker(int windowSize, int minimumCalls, int failureRateThreshold, long openDurationMillis) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDurationMillis * 1_000_000L;
+        this.window = new boolean[this.windowSize];
+    }
+    
+    /**
+     * 申请一次调用许可；返回 false 时应直接快速失败
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openDurationNanos) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * 记录一次成功调用，返回状态是否由此变化
+     */
+    public synchronized boolean onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset();
+            return true;
+        }
+        record(false);
+        return false;
+    }
+    
+    /**
+     * 记录一次失败调用，返回状态是否由此变为断开
+     */
+    public synchronized boolean onFailure(String error) {
+        lastError = error;
+        if (state == State.HALF_OPEN) {
+            open();
+            return true;
+        }
+        if (state == State.OPEN) {
+            return false;
+        }
+        record(true);
+        if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) {
+            open();
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * 调用结束但结果不计入统计（如本地错误）时归还半开探测许可
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+    
+    public synchronized State getState() {
+        return state;
+    }
+    
+    public synchronized String getLastError() {
+        return lastError;
+    }
+    
+    /**
+     * 当前窗口内的失败率（百分比）
+     */
+    public synchronized int getFailureRate() {
+        return windowCount == 0 ? 0 : windowFailures * 100 / windowCount;
+    }
+    
+    public long getOpenDurationMillis() {
+        return openDurationNanos / 1_000_000L;
+    }
+    
+    private void record(boolean failure) {
+        if (windowCount == windowSize) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % windowSize;
+    }
+    
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+        probeInFlight = false;
+    }
+    
+    private void reset() {
+        state = State.CLOSED;
+        probeInFlight = false;
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+        lastError = null;
+    }
+}
\ No newline at end of file
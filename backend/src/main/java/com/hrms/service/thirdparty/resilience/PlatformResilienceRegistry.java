@@ -0,0 +1,144 @@
+package com.hrms.service.thirdparty.resilience;
+
+import com.hrms.entity.ThirdPartyPlatform;
+import com.hrms.repository.ThirdPartyPlatformRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 各第三方平台的熔断器和舱壁
+ * 熔断器断开时把平台状态置为 ERROR 并写入原因，探测恢复后改回 ACTIVE，
+ * 平台列表和详情中可以直接看到熔断状态
+ */
+@Component
+public class PlatformResilienceRegistry {
+    
+    private static final Logger log = LoggerFactory.getLogger(PlatformResilienceRegistry.class);
+    
+    static final String CIRCUIT_OPEN_PREFIX = "熔断中";
+    
+    @Autowired
+    private ThirdPartyPlatformRepository platformRepository;
+    
+    @Value("${platform-resilience.circuit-breaker.window-size:20}")
+    private int windowSize;
+    
+    @Value("${platform-resilience.circuit-breaker.minimum-calls:5}")
+    private int minimumCalls;
+    
+    @Value("${platform-resilience.circuit-breaker.failure-rate-threshold:50}")
+    private int failureRateThreshold;
+    
+    @Value("${platform-resilience.circuit-breaker.open-duration-ms:30000}")
+    private long openDurationMs;
+    
+    @Value("${platform-resilience.bulkhead.max-concurrent-calls:8}")
+    private int maxConcurrentCalls;
+    
+    @Value("${platform-resilience.bulkhead.max-wait-ms:100}")
+    private long bulkheadMaxWaitMs;
+    
+    @Value("${platform-resilience.retry.max-attempts:3}")
+    private int retryMaxAttempts;
+    
+    @Value("${platform-resilience.retry.base-backoff-ms:200}")
+    private long retryBaseBackoffMs;
+    
+    @Value("${platform-resilience.retry.max-backoff-ms:2000}")
+    private long retryMaxBackoffMs;
+    
+    private final Map<String, PlatformGuard> guards = new ConcurrentHashMap<>();
+    
+    PlatformGuard guardFor(ThirdPartyPlatform platform) {
+        String code = platform.getPlatformCode().toUpperCase();
+        PlatformGuard guard = guards.computeIfAbsent(code, key -> new PlatformGuard(key,
+            new CircuitBreaker(windowSize, minimumCalls, failureRateThreshold, openDurationMs),
+            new Semaphore(Math.max(1, maxConcurrentCalls))));
+        guard.platformId = platform.getId();
+        return guard;
+    }
+    
+    /**
+     * 各平台熔断器状态快照
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new TreeMap<>();
+        guards.forEach((code, guard) -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("state", guard.breaker.getState());
+            item.put("failureRate", guard.breaker.getFailureRate());
+            item.put("lastError", guard.breaker.getLastError());
+            item.put("activeCalls", maxConcurrentCalls - guard.bulkhead.availablePermits());
+            item.put("maxConcurrentCalls", maxConcurrentCalls);
+            result.put(code, item);
+        });
+        return result;
+    }
+    
+    int getRetryMaxAttempts() {
+        return Math.max(1, retryMaxAttempts);
+    }
+    
+    long getRetryBaseBackoffMs() {
+        return retryBaseBackoffMs;
+    }
+    
+    long getRetryMaxBackoffMs() {
+        return retryMaxBackoffMs;
+    }
+    
+    long getBulkheadMaxWaitMs() {
+        return bulkheadMaxWaitMs;
+    }
+    
+    void onCircuitOpened(PlatformGuard guard, String error) {
+        log.warn("平台 {} 熔断器断开，{} ms 内快速失败，最近错误：{}",
+                guard.platformCode, guard.breaker.getOpenDurationMillis(), error);
+        updateStatus(guard, ThirdPartyPlatform.PlatformStatus.ACTIVE, ThirdPartyPlatform.PlatformStatus.ERROR,
+            CIRCUIT_OPEN_PREFIX + "：调用失败率过高，" + guard.breaker.getOpenDurationMillis() / 1000
+                + " 秒后探测恢复。最近错误：" + error);
+    }
+    
+    void onCircuitClosed(PlatformGuard guard) {
+        log.info("平台 {} 熔断器探测成功，恢复调用", guard.platformCode);
+        updateStatus(guard, ThirdPartyPlatform.PlatformStatus.ERROR, ThirdPartyPlatform.PlatformStatus.ACTIVE, null);
+    }
+    
+    private void updateStatus(PlatformGuard guard, ThirdPartyPlatform.PlatformStatus from,
+                              ThirdPartyPlatform.PlatformStatus to, String errorMessage) {
+        if (guard.platformId == null) {
+            return;
+        }
+        try {
+            platformRepository.transitionStatus(guard.platformId, from, to, errorMessage);
+        } catch (Exception e) {
+            log.warn("更新平台 {} 熔断状态失败：{}", guard.platformCode, e.getMessage());
+        }
+    }
+    
+    /**
+     * 单个平台的熔断器和舱壁信号量
+     */
+    static class PlatformGuard {
+        
+        final String platformCode;
+        final CircuitBreaker breaker;
+        final Semaphore bulkhead;
+        volatile Long platformId;
+        
+        PlatformGuard(String platformCode, CircuitBreaker breaker, Semaphore bulkhead) {
+            this.platformCode = platformCode;
+            this.breaker = breaker;
+            this.bulkhead = bulkhead;
+        }
+    }
+}
\ No newline at end of file
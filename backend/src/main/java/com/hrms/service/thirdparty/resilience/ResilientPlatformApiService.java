@@ -0,0 +1,261 @@
+package com.hrms.service.thirdparty.resilience;
+
+import com.hrms.entity.Job;
+import com.hrms.entity.ThirdPartyPlatform;
+import com.hrms.service.storage.ResumeFileStore;
+import com.hrms.service.thirdparty.ThirdPartyPlatformApiService;
+import com.hrms.service.thirdparty.sync.PlatformDataSync;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 平台 API 的容错包装
+ * 每次调用先经过舱壁（限制单个平台占用的线程数）和熔断器，平台故障时快速失败而不是等满读超时；
+ * 幂等调用遇到网络错误、5xx 或 429 时按抖动退避重试；失败时返回与原实现一致的空结果。
+ * 组合同步调用的每一步单独经过熔断器，某一步失败时组合调用返回失败，而不是按空结果继续
+ */
+public class ResilientPlatformApiService implements ThirdPartyPlatformApiService {
+    
+    private final ThirdPartyPlatformApiService delegate;
+    private final PlatformResilienceRegistry registry;
+    
+    // 为 true 时失败直接抛出异常而不是返回空结果
+    private final boolean rethrowFailures;
+    
+    // 失败时抛出异常的视图，与本实例共用同一平台的熔断器和舱壁，供组合调用使用
+    private final ResilientPlatformApiService failFast;
+    
+    public ResilientPlatformApiService(ThirdPartyPlatformApiService delegate, PlatformResilienceRegistry registry) {
+        this(delegate, registry, false);
+    }
+    
+    private ResilientPlatformApiService(ThirdPartyPlatformApiService delegate, PlatformResilienceRegistry registry,
+                                        boolean rethrowFailures) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.rethrowFailures = rethrowFailures;
+        this.failFast = rethrowFailures ? this : new ResilientPlatformApiService(delegate, registry, true);
+    }
+    
+    @Override
+    public boolean testConnection(ThirdPartyPlatform platform) {
+        return call(platform, true, true, e -> false, () -> delegate.testConnection(platform));
+    }
+    
+    @Override
+    public Map<String, String> refreshAccessToken(ThirdPartyPlatform platform) {
+        // 刷新令牌会使旧的 refresh_token 失效，不重试
+        return call(platform, false, true, ResilientPlatformApiService::rethrow, () -> delegate.refreshAccessToken(platform));
+    }
+    
+    @Override
+    public boolean validateToken(ThirdPartyPlatform platform) {
+        return call(platform, true, true, e -> false, () -> delegate.validateToken(platform));
+    }
+    
+    @Override
+    public Map<String, Object> publishJob(ThirdPartyPlatform platform, Job job) {
+        return call(platform, false, true, e -> failure("职位发布失败: " + e.getMessage()),
+                () -> delegate.publishJob(platform, job));
+    }
+    
+    @Override
+    public Map<String, Object> updateJob(ThirdPartyPlatform platform, Job job, String externalJobId) {
+        return call(platform, true, true, e -> failure("职位更新失败: " + e.getMessage()),
+                () -> delegate.updateJob(platform, job, externalJobId));
+    }
+    
+    @Override
+    public boolean closeJob(ThirdPartyPlatform platform, String externalJobId) {
+        return call(platform, true, true, e -> false, () -> delegate.closeJob(platform, externalJobId));
+    }
+    
+    @Override
+    public Map<String, Object> getJobStatus(ThirdPartyPlatform platform, String externalJobId) {
+        return call(platform, true, true, e -> new HashMap<>(), () -> delegate.getJobStatus(platform, externalJobId));
+    }
+    
+    @Override
+    public List<Map<String, Object>> getJobs(ThirdPartyPlatform platform, Map<String, Object> params) {
+        return call(platform, true, true, e -> new ArrayList<>(), () -> delegate.getJobs(platform, params));
+    }
+    
+    @Override
+    public List<Map<String, Object>> syncResumes(ThirdPartyPlatform platform, String jobId, int limit) {
+        return call(platform, true, true, e -> new ArrayList<>(), () -> delegate.syncResumes(platform, jobId, limit));
+    }
+    
+    @Override
+    public Map<String, Object> fetchResumePage(ThirdPartyPlatform platform, String jobId, String cursor, int pageSize) {
+        return call(platform, true, true, ResilientPlatformApiService::rethrow,
+                () -> delegate.fetchResumePage(platform, jobId, cursor, pageSize));
+    }
+    
+    @Override
+    public Map<String, Object> getCandidateDetails(ThirdPartyPlatform platform, String candidateId) {
+        return call(platform, true, true, e -> new HashMap<>(), () -> delegate.getCandidateDetails(platform, candidateId));
+    }
+    
+    @Override
+    public byte[] downloadResume(ThirdPartyPlatform platform, String resumeId) {
+        return call(platform, true, true, e -> new byte[0], () -> delegate.downloadResume(platform, resumeId));
+    }
+    
+    @Override
+    public ResumeFileStore.StoredFile downloadResumeFile(ThirdPartyPlatform platform, String resumeId) {
+        // 文件按内容寻址存储，重复下载不会产生重复文件
+        return call(platform, true, true, e -> null, () -> delegate.downloadResumeFile(platform, resumeId));
+    }
+    
+    @Override
+    public List<Map<String, Object>> syncMessages(ThirdPartyPlatform platform, String jobId, Long lastSyncTime) {
+        return call(platform, true, true, e -> new ArrayList<>(), () -> delegate.syncMessages(platform, jobId, lastSyncTime));
+    }
+    
+    @Override
+    public boolean sendMessage(ThirdPartyPlatform platform, String candidateId, String message) {
+        return call(platform, false, true, e -> false, () -> delegate.sendMessage(platform, candidateId, message));
+    }
+    
+    @Override
+    public List<Map<String, Object>> searchCandidates(ThirdPartyPlatform platform, Map<String, Object> searchCriteria) {
+        // 搜索虽然是 POST，但只读，可以安全重试
+        return call(platform, true, true, e -> new ArrayList<>(), () -> delegate.searchCandidates(platform, searchCriteria));
+    }
+    
+    @Override
+    public Map<String, Object> getPlatformStatistics(ThirdPartyPlatform platform) {
+        return call(platform, true, true, e -> new HashMap<>(), () -> delegate.getPlatformStatistics(platform));
+    }
+    
+    @Override
+    public Map<String, Object> syncAllData(ThirdPartyPlatform platform) {
+        return PlatformDataSync.syncAllData(failFast, platform);
+    }
+    
+    @Override
+    public List<String> getSupportedDataTypes() {
+        return delegate.getSupportedDataTypes();
+    }
+    
+    @Override
+    public Map<String, Object> syncSpecificDataType(ThirdPartyPlatform platform, String dataType, Map<String, Object> params) {
+        return PlatformDataSync.syncSpecificDataType(failFast, platform, dataType, params);
+    }
+    
+    @Override
+    public Map<String, Object> normalizeResume(Map<String, Object> rawResume) {
+        // 纯本地转换，不经过熔断器
+        return delegate.normalizeResume(rawResume);
+    }
+    
+    /**
+     * @param idempotent    是否允许重试
+     * @param recordSuccess 正常返回时是否计为一次成功调用
+     * @param fallback      快速失败或最终失败时的返回值（失败抛出模式下忽略）
+     */
+    private <T> T call(ThirdPartyPlatform platform, boolean idempotent, boolean recordSuccess,
+                       Function<RuntimeException, T> fallback, Supplier<T> action) {
+        if (rethrowFailures) {
+            fallback = ResilientPlatformApiService::rethrow;
+        }
+        PlatformResilienceRegistry.PlatformGuard guard = registry.guardFor(platform);
+        try {
+            if (!guard.bulkhead.tryAcquire(registry.getBulkheadMaxWaitMs(), TimeUnit.MILLISECONDS)) {
+                return fallback.apply(new RuntimeException("平台 " + guard.platformCode + " 并发调用已满，快速失败"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return fallback.apply(new RuntimeException("等待平台调用许可时被中断"));
+        }
+        
+        try {
+            int maxAttempts = idempotent ? registry.getRetryMaxAttempts() : 1;
+            for (int attempt = 1; ; attempt++) {
+                if (!guard.breaker.tryAcquirePermission()) {
+                    return fallback.apply(new RuntimeException(PlatformResilienceRegistry.CIRCUIT_OPEN_PREFIX + "，平台 "
+                            + guard.platformCode + " 暂停调用。最近错误：" + guard.breaker.getLastError()));
+                }
+                try {
+                    T result = action.get();
+                    recordSuccess(guard, recordSuccess);
+                    return result;
+                } catch (RuntimeException e) {
+                    if (!isPlatformFailure(e)) {
+                        // 4xx 说明平台可达，本地错误（如限流等待超时、数据解析失败）不归咎于平台
+                        recordSuccess(guard, recordSuccess && e instanceof HttpClientErrorException);
+                        return fallback.apply(e);
+                    }
+                    if (guard.breaker.onFailure(e.getMessage())) {
+                        registry.onCircuitOpened(guard, e.getMessage());
+                    }
+                    if (attempt >= maxAttempts || guard.breaker.getState() != CircuitBreaker.State.CLOSED) {
+                        return fallback.apply(e);
+                    }
+                    if (!backoff(attempt)) {
+                        return fallback.apply(e);
+                    }
+                }
+            }
+        } finally {
+            guard.bulkhead.release();
+        }
+    }
+    
+    private void recordSuccess(PlatformResilienceRegistry.PlatformGuard guard, boolean countAsSuccess) {
+        if (!countAsSuccess) {
+            guard.breaker.releasePermission();
+        } else if (guard.breaker.onSuccess()) {
+            registry.onCircuitClosed(guard);
+        }
+    }
+    
+    /**
+     * 指数退避加随机抖动，避免多个线程同时重试；被中断时返回 false
+     */
+    private boolean backoff(int attempt) {
+        long ceiling = Math.min(registry.getRetryMaxBackoffMs(), registry.getRetryBaseBackoffMs() << (attempt - 1));
+        long delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+        try {
+            TimeUnit.MILLISECONDS.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    /**
+     * 网络错误、5xx 和 429 视为平台故障，计入熔断统计并允许重试
+     */
+    private static boolean isPlatformFailure(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof HttpClientErrorException clientError) {
+                return clientError.getStatusCode().value() == 429;
+            }
+            if (t instanceof HttpServerErrorException || t instanceof ResourceAccessException || t instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static <T> T rethrow(RuntimeException e) {
+        throw e;
+    }
+    
+    private static Map<String, Object> failure(String message) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", false);
+        result.put("message", message);
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,406 @@
+package com.hrms.service.thirdparty.sync;
+
+import com.hrms.entity.Candidate;
+import com.hrms.entity.PlatformSyncCheckpoint;
+import com.hrms.entity.ThirdPartyPlatform;
+import com.hrms.repository.CandidateRepository;
+import com.hrms.repository.PlatformSyncCheckpointRepository;
+import com.hrms.repository.ResumeRepository;
+import com.hrms.service.ingest.ResumeIngestionService;
+import com.hrms.service.storage.ResumeFileStore;
+import com.hrms.service.thirdparty.ThirdPartyPlatformApiService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.Validator;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 按检查点增量同步平台简历
+ * 每个职位从上次提交的游标继续，逐页拉取；每页的候选人写入和游标推进在同一个事务中提交，
+ * 进程中断后从最后一个已提交页继续，重复拉到的记录按（来源, 外部ID）幂等写入；
+ * 每页提交后为还没有简历文件的候选人下载平台简历原件，流式写入文件存储并交给解析流水线
+ */
+@Service
+public class IncrementalResumeSyncService {
+    
+    private static final Logger log = LoggerFactory.getLogger(IncrementalResumeSyncService.class);
+    
+    public static final String DATA_TYPE_RESUMES = "resumes";
+    
+    @Autowired
+    private PlatformSyncCheckpointRepository checkpointRepository;
+    
+    @Autowired
+    private CandidateRepository candidateRepository;
+    
+    @Autowired
+    private ResumeRepository resumeRepository;
+    
+    @Autowired
+    private ResumeIngestionService resumeIngestionService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Value("${platform-sync.resume.page-size:50}")
+    private int pageSize;
+    
+    @Value("${platform-sync.resume.max-pages-per-run:20}")
+    private int maxPagesPerRun;
+    
+    @Value("${platform-sync.resume.download-files:true}")
+    private boolean downloadFiles;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    public void init() {
+        // 每页独立提交，即使调用方处于事务中也不并入外层事务
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    /**
+     * 增量同步平台上多个职位的简历
+     *
+     * @param jobs 平台返回的职位列表，职位ID取 job_id 或 id 字段
+     */
+    public Map<String, Object> syncJobs(ThirdPartyPlatform platform, ThirdPartyPlatformApiService apiService,
+                                        List<Map<String, Object>> jobs) {
+        List<Map<String, Object>> jobResults = new ArrayList<>();
+        int created = 0;
+        int updated = 0;
+        int skipped = 0;
+        int files = 0;
+        for (String jobId : externalJobIds(jobs)) {
+            Map<String, Object> jobResult = syncJob(platform, apiService, jobId);
+            created += (Integer) jobResult.get("created");
+            updated += (Integer) jobResult.get("updated");
+            skipped += (Integer) jobResult.get("skipped");
+            files += (Integer) jobResult.get("files");
+            jobResults.add(jobResult);
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("dataType", DATA_TYPE_RESUMES);
+        result.put("jobCount", jobResults.size());
+        result.put("created", created);
+        result.put("updated", updated);
+        result.put("skipped", skipped);
+        result.put("files", files);
+        result.put("jobs", jobResults);
+        return result;
+    }
+    
+    /**
+     * 从检查点继续同步单个职位的简历，单次最多拉取 maxPagesPerRun 页，剩余部分留给下一次同步
+     */
+    public Map<String, Object> syncJob(ThirdPartyPlatform platform, ThirdPartyPlatformApiService apiService, String externalJobId) {
+        PlatformSyncCheckpoint checkpoint = loadOrCreateCheckpoint(platform.getId(), externalJobId);
+        Candidate.CandidateSource source = sourceOf(platform);
+        String cursor = checkpoint.getCursor();
+        int pages = 0;
+        int created = 0;
+        int updated = 0;
+        int skipped = 0;
+        int files = 0;
+        boolean hasMore = true;
+        String error = null;
+        
+        while (hasMore && pages < maxPagesPerRun) {
+            try {
+                Map<String, Object> page = apiService.fetchResumePage(platform, externalJobId, cursor, pageSize);
+                List<Map<String, Object>> items = PlatformDataSync.asMapList(page.get("data"));
+                String nextCursor = (String) page.get("nextCursor");
+                Map<Long, Map<String, Object>> saved = new LinkedHashMap<>();
+                int[] counts = transactionTemplate.execute(status ->
+                        applyPage(checkpoint.getId(), source, items, nextCursor, saved));
+                
+                created += counts[0];
+                updated += counts[1];
+                skipped += counts[2];
+                pages++;
+                cursor = nextCursor;
+                hasMore = Boolean.TRUE.equals(page.get("hasMore")) && !items.isEmpty();
+                // 页事务已提交，文件下载不占用数据库连接，失败也不影响游标
+                files += downloadResumeFiles(platform, apiService, saved);
+            } catch (Exception e) {
+                // 当前页未提交，游标停在上一页，下次同步从这里重试
+                error = e.getMessage();
+                recordError(checkpoint.getId(), error);
+                log.warn("平台 {} 职位 {} 简历增量同步中断：{}", platform.getPlatformCode(), externalJobId, error);
+                break;
+            }
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("jobId", externalJobId);
+        result.put("pages", pages);
+        result.put("created", created);
+        result.put("updated", updated);
+        result.put("skipped", skipped);
+        result.put("files", files);
+        result.put("cursor", cursor);
+        result.put("completed", error == null && !hasMore);
+        if (error != null) {
+            result.put("error", error);
+        }
+        return result;
+    }
+    
+    /**
+     * 清除检查点，下次同步从头拉取
+     */
+    public void resetCheckpoint(Long platformId, String externalJobId) {
+        checkpointRepository.findByPlatformIdAndExternalJobIdAndDataType(platformId, externalJobId, DATA_TYPE_RESUMES)
+                .ifPresent(checkpointRepository::delete);
+    }
+    
+    public List<PlatformSyncCheckpoint> getCheckpoints(Long platformId) {
+        return checkpointRepository.findByPlatformIdOrderByUpdatedAtDesc(platformId);
+    }
+    
+    /**
+     * 写入平台推送的简历（不涉及检查点），在独立事务中提交，提交后下载简历原件，
+     * 返回 {新建数, 更新数, 跳过数, 下载文件数}
+     */
+    public int[] upsertResumes(ThirdPartyPlatform platform, ThirdPartyPlatformApiService apiService,
+                               List<Map<String, Object>> items) {
+        Candidate.CandidateSource source = sourceOf(platform);
+        Map<Long, Map<String, Object>> saved = new LinkedHashMap<>();
+        int[] counts = transactionTemplate.execute(status -> upsertCandidates(source, items, saved));
+        int files = downloadResumeFiles(platform, apiService, saved);
+        return new int[]{counts[0], counts[1], counts[2], files};
+    }
+    
+    /**
+     * 在一个事务中写入一页候选人并推进检查点，返回 {新建数, 更新数, 跳过数}
+     */
+    private int[] applyPage(Long checkpointId, Candidate.CandidateSource source,
+                            List<Map<String, Object>> items, String nextCursor,
+                            Map<Long, Map<String, Object>> saved) {
+        int[] counts = upsertCandidates(source, items, saved);
+        
+        PlatformSyncCheckpoint checkpoint = checkpointRepository.findById(checkpointId)
+                .orElseThrow(() -> new RuntimeException("同步检查点不存在: " + checkpointId));
+        checkpoint.setCursor(nextCursor);
+        checkpoint.setPagesSynced(checkpoint.getPagesSynced() + 1);
+        checkpoint.setItemsSynced(checkpoint.getItemsSynced() + items.size());
+        checkpoint.setLastPageAt(LocalDateTime.now());
+        checkpoint.setLastError(null);
+        checkpointRepository.save(checkpoint);
+        
+        return counts;
+    }
+    
+    /**
+     * 按（来源, 外部ID）幂等写入候选人，返回 {新建数, 更新数, 跳过数}，写入的候选人ID及对应数据放入 saved
+     * 字段校验不通过的记录跳过，避免一条脏数据让整页反复失败、游标无法前进
+     */
+    private int[] upsertCandidates(Candidate.CandidateSource source, List<Map<String, Object>> items,
+                                   Map<Long, Map<String, Object>> saved) {
+        Map<String, Map<String, Object>> byExternalId = new LinkedHashMap<>();
+        for (Map<String, Object> item : items) {
+            Object externalId = item.get("externalId");
+            if (externalId != null) {
+                byExternalId.put(String.valueOf(externalId), item);
+            }
+        }
+        
+        // 整页一次查询已有候选人，而不是逐条查找
+        Map<String, Candidate> existing = byExternalId.isEmpty() ? Map.of()
+                : candidateRepository.findBySourceAndExternalIdIn(source, byExternalId.keySet()).stream()
+                        .collect(Collectors.toMap(Candidate::getExternalId, Function.identity()));
+        
+        int created = 0;
+        int updated = 0;
+        int skipped = items.size() - byExternalId.size();
+        List<Candidate> toSave = new ArrayList<>();
+        List<Map<String, Object>> toSaveData = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Object>> entry : byExternalId.entrySet()) {
+            Candidate probe = new Candidate();
+            applyResumeData(probe, entry.getValue());
+            if (!validator.validate(probe).isEmpty()) {
+                skipped++;
+                continue;
+            }
+            
+            Candidate candidate = existing.get(entry.getKey());
+            if (candidate == null) {
+                candidate = new Candidate();
+                candidate.setSource(source);
+                candidate.setExternalId(entry.getKey());
+                created++;
+            } else {
+                updated++;
+            }
+            applyResumeData(candidate, entry.getValue());
+            toSave.add(candidate);
+            toSaveData.add(entry.getValue());
+        }
+        List<Candidate> persisted = candidateRepository.saveAll(toSave);
+        for (int i = 0; i < persisted.size(); i++) {
+            saved.put(persisted.get(i).getId(), toSaveData.get(i));
+        }
+        return new int[]{created, updated, skipped};
+    }
+    
+    /**
+     * 为还没有简历文件的候选人下载平台简历原件（平台简历ID即外部ID），
+     * 响应体直接流式写入文件存储，内容相同的文件只保存和解析一次；单个文件下载失败只记录日志
+     *
+     * @return 新登记的简历文件数
+     */
+    private int downloadResumeFiles(ThirdPartyPlatform platform, ThirdPartyPlatformApiService apiService,
+                                    Map<Long, Map<String, Object>> candidates) {
+        if (!downloadFiles) {
+            return 0;
+        }
+        int registered = 0;
+        for (Map.Entry<Long, Map<String, Object>> entry : candidates.entrySet()) {
+            String externalId = String.valueOf(entry.getValue().get("externalId"));
+            try {
+                if (resumeRepository.countByCandidateId(entry.getKey()) > 0) {
+                    continue;
+                }
+                ResumeFileStore.StoredFile stored = apiService.downloadResumeFile(platform, externalId);
+                if (stored == null) {
+                    continue;
+                }
+                String fileName = resumeFileName(platform, externalId, entry.getValue().get("resumeUrl"));
+                resumeIngestionService.register(stored, fileName, entry.getKey());
+                registered++;
+            } catch (Exception e) {
+                log.warn("平台 {} 简历 {} 原件下载失败：{}", platform.getPlatformCode(), externalId, e.getMessage());
+            }
+        }
+        return registered;
+    }
+    
+    /**
+     * 只覆盖平台返回了值的字段，已有的本地数据不会被空值清掉
+     */
+    private void applyResumeData(Candidate candidate, Map<String, Object> data) {
+        String name = stringValue(data.get("candidateName"));
+        if (name != null) {
+            candidate.setName(name);
+        } else if (candidate.getName() == null) {
+            candidate.setName("未知");
+        }
+        String email = stringValue(data.get("candidateEmail"));
+        if (email != null) {
+            candidate.setEmail(email);
+        }
+        String phone = stringValue(data.get("candidatePhone"));
+        if (phone != null) {
+            candidate.setPhone(phone);
+        }
+        String position = stringValue(data.get("position"));
+        if (position != null) {
+            candidate.setCurrentPosition(truncate(position, 100));
+        }
+        String company = stringValue(data.get("company"));
+        if (company != null) {
+            candidate.setCurrentCompany(truncate(company, 100));
+        }
+        if (data.get("education") instanceof String education && !education.isBlank()) {
+            candidate.setEducationLevel(truncate(education.trim(), 50));
+        }
+        String skills = stringValue(data.get("skills"));
+        if (skills != null) {
+            candidate.setSkills(skills);
+        }
+    }
+    
+    private PlatformSyncCheckpoint loadOrCreateCheckpoint(Long platformId, String externalJobId) {
+        Optional<PlatformSyncCheckpoint> existing = checkpointRepository
+                .findByPlatformIdAndExternalJobIdAndDataType(platformId, externalJobId, DATA_TYPE_RESUMES);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        try {
+            return checkpointRepository.save(new PlatformSyncCheckpoint(platformId, externalJobId, DATA_TYPE_RESUMES));
+        } catch (DataIntegrityViolationException e) {
+            // 并发创建时以已提交的那一行为准
+            return checkpointRepository
+                    .findByPlatformIdAndExternalJobIdAndDataType(platformId, externalJobId, DATA_TYPE_RESUMES)
+                    .orElseThrow(() -> e);
+        }
+    }
+    
+    private void recordError(Long checkpointId, String error) {
+        try {
+            checkpointRepository.findById(checkpointId).ifPresent(checkpoint -> {
+                checkpoint.setLastError(error);
+                checkpointRepository.save(checkpoint);
+            });
+        } catch (Exception e) {
+            log.warn("记录同步检查点错误失败：{}", e.getMessage());
+        }
+    }
+    
+    private static List<String> externalJobIds(List<Map<String, Object>> jobs) {
+        if (jobs == null) {
+            return List.of();
+        }
+        Set<String> ids = new LinkedHashSet<>();
+        for (Map<String, Object> job : jobs) {
+            Object id = job.get("job_id") != null ? job.get("job_id") : job.get("id");
+            if (id != null) {
+                ids.add(String.valueOf(id));
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+    
+    /**
+     * 文件名取简历链接的最后一段，链接中没有扩展名时按 PDF 处理
+     */
+    private static String resumeFileName(ThirdPartyPlatform platform, String externalId, Object resumeUrl) {
+        if (resumeUrl instanceof String url && !url.isBlank()) {
+            String path = url.split("[?#]", 2)[0];
+            String name = path.substring(path.lastIndexOf('/') + 1);
+            if (name.lastIndexOf('.') > 0) {
+                return name;
+            }
+        }
+        return platform.getPlatformCode().toLowerCase() + "-" + externalId + ".pdf";
+    }
+    
+    private static Candidate.CandidateSource sourceOf(ThirdPartyPlatform platform) {
+        try {
+            return Candidate.CandidateSource.valueOf(platform.getPlatformCode().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return Candidate.CandidateSource.OTHER;
+        }
+    }
+    
+    private static String truncate(String text, int maxLength) {
+        return text.length() > maxLength ? text.substring(0, maxLength) : text;
+    }
+    
+    private static String stringValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String text = value instanceof Collection<?> collection
+                ? collection.stream().map(String::valueOf).collect(Collectors.joining(","))
+                : String.valueOf(value);
+        return text.isBlank() ? null : text.trim();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.hrms.service.thirdparty.sync;
+
+import com.hrms.entity.ThirdPartyPlatform;
+import com.hrms.service.thirdparty.ThirdPartyPlatformApiService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 平台数据的组合同步
+ * 组合调用中的每一步都通过传入的 api 发起，api 为容错包装时每一步单独经过熔断器；
+ * 任一步失败时整个组合调用返回 success=false 和错误信息
+ */
+public final class PlatformDataSync {
+    
+    private PlatformDataSync() {}
+    
+    /**
+     * 同步职位和消息数据（简历由服务层按职位从检查点增量同步）
+     */
+    public static Map<String, Object> syncAllData(ThirdPartyPlatformApiService api, ThirdPartyPlatform platform) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("platform", platform.getPlatformCode());
+        result.put("startTime", LocalDateTime.now());
+        
+        try {
+            result.put("jobs", fetch(api, platform, "jobs", new HashMap<>()));
+            result.put("messages", fetch(api, platform, "messages", new HashMap<>()));
+            result.put("success", true);
+        } catch (Exception e) {
+            result.put("success", false);
+            result.put("error", e.getMessage());
+        }
+        
+        result.put("endTime", LocalDateTime.now());
+        return result;
+    }
+    
+    /**
+     * 根据数据类型同步特定数据
+     */
+    public static Map<String, Object> syncSpecificDataType(ThirdPartyPlatformApiService api, ThirdPartyPlatform platform,
+                                                           String dataType, Map<String, Object> params) {
+        Map<String, Object> result;
+        try {
+            result = fetch(api, platform, dataType, params);
+        } catch (Exception e) {
+            result = new HashMap<>();
+            result.put("dataType", dataType);
+            result.put("platform", platform.getPlatformCode());
+            result.put("success", false);
+            result.put("error", e.getMessage());
+            result.put("timestamp", LocalDateTime.now());
+        }
+        return result;
+    }
+    
+    /**
+     * 把平台返回的 JSON 对象转为 Map，不是对象时返回空 Map
+     */
+    public static Map<String, Object> asMap(Object value) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        if (value instanceof Map<?, ?> source) {
+            source.forEach((key, item) -> map.put(String.valueOf(key), item));
+        }
+        return map;
+    }
+    
+    /**
+     * 把平台返回的 JSON 对象数组转为 Map 列表，跳过不是对象的元素；不是数组时返回空列表
+     */
+    public static List<Map<String, Object>> asMapList(Object value) {
+        List<Map<String, Object>> list = new ArrayList<>();
+        if (value instanceof List<?> items) {
+            for (Object item : items) {
+                if (item instanceof Map<?, ?>) {
+                    list.add(asMap(item));
+                }
+            }
+        }
+        return list;
+    }
+    
+    /**
+     * 拉取一种数据，失败时抛出异常
+     */
+    private static Map<String, Object> fetch(ThirdPartyPlatformApiService api, ThirdPartyPlatform platform,
+                                             String dataType, Map<String, Object> params) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("dataType", dataType);
+        result.put("platform", platform.getPlatformCode());
+        
+        switch (dataType.toLowerCase()) {
+            case "jobs":
+                List<Map<String, Object>> jobs = api.getJobs(platform, params);
+                result.put("count", jobs.size());
+                result.put("data", jobs);
+                break;
+            case "resumes":
+                String jobId = (String) params.get("jobId");
+                int limit = (Integer) params.getOrDefault("limit", 100);
+                List<Map<String, Object>> resumes = api.syncResumes(platform, jobId, limit);
+                result.put("count", resumes.size());
+                result.put("data", resumes);
+                break;
+            case "messages":
+                String messageJobId = (String) params.get("jobId");
+                Long lastSyncTime = (Long) params.get("lastSyncTime");
+                List<Map<String, Object>> messages = api.syncMessages(platform, messageJobId, lastSyncTime);
+                result.put("count", messages.size());
+                result.put("data", messages);
+                break;
+            case "candidates":
+                List<Map<String, Object>> candidates = api.searchCandidates(platform, params);
+                result.put("count", candidates.size());
+                result.put("data", candidates);
+                break;
+            case "statistics":
+                Map<String, Object> stats = api.getPlatformStatistics(platform);
+                result.put("data", stats);
+                break;
+            default:
+                throw new IllegalArgumentException("不支持的数据类型: " + dataType);
+        }
+        
+        result.put("success", true);
+        result.put("timestamp", LocalDateTime.now());
+        return result;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,121 @@
+package com.hrms.service.thirdparty.sync;
+
+import com.hrms.entity.ThirdPartyPlatform;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 第三方平台并行同步调度
+ * 各平台在独立线程上同时同步，整体耗时取决于最慢的平台而不是所有平台之和；
+ * 超过同步窗口仍未完成的平台记为超时，不阻塞其他平台的结果返回
+ */
+@Component
+public class PlatformSyncOrchestrator {
+    
+    private static final Logger log = LoggerFactory.getLogger(PlatformSyncOrchestrator.class);
+    
+    @Value("${platform-sync.parallelism:8}")
+    private int parallelism;
+    
+    @Value("${platform-sync.timeout-seconds:600}")
+    private long timeoutSeconds;
+    
+    private ExecutorService executor;
+    
+    /** 正在同步的平台，避免同一平台被重复触发 */
+    private final Set<Long> running = ConcurrentHashMap.newKeySet();
+    
+    @PostConstruct
+    public void init() {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, parallelism), r -> {
+            Thread thread = new Thread(r, "platform-sync-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    /**
+     * 并行同步多个平台
+     *
+     * @param syncTask 单个平台的同步逻辑，返回结果中 success 表示是否成功
+     */
+    public Map<String, Object> syncAll(List<ThirdPartyPlatform> platforms,
+                                       Function<ThirdPartyPlatform, Map<String, Object>> syncTask) {
+        long start = System.currentTimeMillis();
+        Map<ThirdPartyPlatform, Future<Map<String, Object>>> futures = new LinkedHashMap<>();
+        for (ThirdPartyPlatform platform : platforms) {
+            futures.put(platform, executor.submit(() -> runExclusive(platform, syncTask)));
+        }
+        
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        List<Map<String, Object>> syncResults = new ArrayList<>();
+        int successCount = 0;
+        int failureCount = 0;
+        for (Map.Entry<ThirdPartyPlatform, Future<Map<String, Object>>> entry : futures.entrySet()) {
+            ThirdPartyPlatform platform = entry.getKey();
+            Map<String, Object> syncResult;
+            try {
+                syncResult = entry.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // 超时的平台继续在后台完成，结果由平台自身的同步状态记录
+                syncResult = Map.of("success", false, "message", "同步超时，仍在后台进行");
+            } catch (ExecutionException e) {
+                syncResult = Map.of("success", false, "message", String.valueOf(e.getCause().getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                syncResult = Map.of("success", false, "message", "同步被中断");
+            }
+            
+            if (Boolean.TRUE.equals(syncResult.get("success"))) {
+                successCount++;
+            } else {
+                failureCount++;
+            }
+            syncResults.add(Map.of(
+                "platformId", platform.getId(),
+                "platformName", platform.getPlatformName(),
+                "result", syncResult
+            ));
+        }
+        
+        log.info("平台并行同步完成：共 {} 个，成功 {}，失败 {}，耗时 {} ms",
+                platforms.size(), successCount, failureCount, System.currentTimeMillis() - start);
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("totalCount", platforms.size());
+        result.put("successCount", successCount);
+        result.put("failureCount", failureCount);
+        result.put("results", syncResults);
+        result.put("durationMs", System.currentTimeMillis() - start);
+        result.put("timestamp", LocalDateTime.now());
+        return result;
+    }
+    
+    private Map<String, Object> runExclusive(ThirdPartyPlatform platform,
+                                             Function<ThirdPartyPlatform, Map<String, Object>> syncTask) {
+        if (!running.add(platform.getId())) {
+            return Map.of("success", false, "message", "该平台正在同步中");
+        }
+        try {
+            return syncTask.apply(platform);
+        } finally {
+            running.remove(platform.getId());
+        }
+    }
+}
\ No newline at end of file
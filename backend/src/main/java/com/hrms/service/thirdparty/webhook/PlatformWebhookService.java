@@ -0,0 +1,197 @@
+package com.hrms.service.thirdparty.webhook;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.entity.PlatformWebhookEvent;
+import com.hrms.entity.ThirdPartyPlatform;
+import com.hrms.repository.PlatformWebhookEventRepository;
+import com.hrms.repository.ThirdPartyPlatformRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ * 接收第三方平台推送的 Webhook 事件
+ * 校验签名后只做幂等入库就立即返回，实际处理交给 {@link WebhookEventProcessor} 异步执行，
+ * 平台不会因为处理耗时而超时重推
+ *
+ * 签名规则：HMAC-SHA256(appSecret, 时间戳 + "." + 原始请求体)，十六进制小写，可带 "sha256=" 前缀
+ */
+@Service
+public class PlatformWebhookService {
+    
+    private static final Logger log = LoggerFactory.getLogger(PlatformWebhookService.class);
+    
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String SIGNATURE_PREFIX = "sha256=";
+    
+    @Autowired
+    private ThirdPartyPlatformRepository platformRepository;
+    
+    @Autowired
+    private PlatformWebhookEventRepository eventRepository;
+    
+    @Autowired
+    private WebhookEventProcessor eventProcessor;
+    
+    @Value("${webhook.max-clock-skew-seconds:300}")
+    private long maxClockSkewSeconds;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    /**
+     * 校验并接收一个事件
+     *
+     * @param timestamp 请求头中的时间戳（秒），超出允许偏差的请求视为重放
+     * @param eventId   请求头中的事件ID，为空时取请求体的 event_id / id，都没有时按请求体内容生成
+     * @throws SecurityException 签名或时间戳校验不通过
+     */
+    public Map<String, Object> receive(String platformCode, String timestamp, String signature,
+                                       String eventId, byte[] rawBody) {
+        ThirdPartyPlatform platform = platformRepository.findByPlatformCode(platformCode)
+                .or(() -> platformRepository.findByPlatformCode(platformCode.toUpperCase()))
+                .orElseThrow(() -> new RuntimeException("平台不存在: " + platformCode));
+        verifySignature(platform, timestamp, signature, rawBody);
+        
+        String body = new String(rawBody, StandardCharsets.UTF_8);
+        Map<String, Object> payload = parsePayload(body);
+        String key = resolveEventId(eventId, payload, rawBody);
+        PlatformWebhookEvent.EventType eventType = resolveEventType(payload);
+        
+        boolean duplicate = eventRepository.existsByPlatformIdAndEventId(platform.getId(), key);
+        if (!duplicate) {
+            try {
+                eventRepository.save(new PlatformWebhookEvent(platform.getId(), key, eventType, body));
+            } catch (DataIntegrityViolationException e) {
+                // 平台并发重推同一事件，以先入库的为准
+                duplicate = true;
+            }
+        }
+        if (duplicate) {
+            log.debug("平台 {} 重复推送事件 {}，忽略", platform.getPlatformCode(), key);
+        } else {
+            eventProcessor.wakeUp();
+        }
+        
+        Map<String, Object> result = new HashMap<>();
+        result.put("eventId", key);
+        result.put("eventType", eventType);
+        result.put("duplicate", duplicate);
+        return result;
+    }
+    
+    /**
+     * 平台最近接收的事件
+     */
+    public List<PlatformWebhookEvent> getRecentEvents(Long platformId, int limit) {
+        return eventRepository.findByPlatformIdOrderByIdDesc(platformId, PageRequest.of(0, Math.max(1, limit)));
+    }
+    
+    /**
+     * 各状态事件数量
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (PlatformWebhookEvent.EventStatus status : PlatformWebhookEvent.EventStatus.values()) {
+            stats.put(status.name(), eventRepository.countByStatus(status));
+        }
+        return stats;
+    }
+    
+    private void verifySignature(ThirdPartyPlatform platform, String timestamp, String signature, byte[] rawBody) {
+        String secret = platform.getAppSecret();
+        if (secret == null || secret.isEmpty()) {
+            throw new SecurityException("平台未配置AppSecret，无法校验推送签名");
+        }
+        if (timestamp == null || signature == null) {
+            throw new SecurityException("缺少签名或时间戳");
+        }
+        long sentAt;
+        try {
+            sentAt = Long.parseLong(timestamp.trim());
+        } catch (NumberFormatException e) {
+            throw new SecurityException("时间戳格式错误");
+        }
+        if (Math.abs(System.currentTimeMillis() / 1000 - sentAt) > maxClockSkewSeconds) {
+            throw new SecurityException("时间戳超出允许范围");
+        }
+        
+        String provided = signature.trim().toLowerCase();
+        if (provided.startsWith(SIGNATURE_PREFIX)) {
+            provided = provided.substring(SIGNATURE_PREFIX.length());
+        }
+        // 按原始字节计算，避免字符集转换改变签名内容
+        String expected = hmacHex(secret, (timestamp.trim() + ".").getBytes(StandardCharsets.UTF_8), rawBody);
+        // 定长比较，避免按耗时推测签名
+        if (!MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII), provided.getBytes(StandardCharsets.US_ASCII))) {
+            throw new SecurityException("签名校验失败");
+        }
+    }
+    
+    private Map<String, Object> parsePayload(String rawBody) {
+        try {
+            if (rawBody != null && !rawBody.isBlank()) {
+                return objectMapper.readValue(rawBody, new TypeReference<Map<String, Object>>() {});
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("推送内容不是有效的JSON: " + e.getMessage());
+        }
+        throw new RuntimeException("推送内容为空");
+    }
+    
+    private static String resolveEventId(String eventId, Map<String, Object> payload, byte[] rawBody) {
+        Object id = eventId != null && !eventId.isBlank() ? eventId.trim()
+                : payload.get("event_id") != null ? payload.get("event_id") : payload.get("id");
+        if (id != null) {
+            String text = String.valueOf(id);
+            return text.length() > 100 ? text.substring(0, 100) : text;
+        }
+        // 平台未提供事件ID时按内容去重，完全相同的重推只处理一次
+        return "sha256:" + sha256Hex(rawBody);
+    }
+    
+    private static PlatformWebhookEvent.EventType resolveEventType(Map<String, Object> payload) {
+        Object type = payload.get("event_type") != null ? payload.get("event_type") : payload.get("type");
+        String text = type != null ? type.toString().toLowerCase() : "";
+        if (text.contains("resume") || text.contains("apply") || text.contains("candidate")) {
+            return PlatformWebhookEvent.EventType.RESUME;
+        }
+        if (text.contains("message")) {
+            return PlatformWebhookEvent.EventType.MESSAGE;
+        }
+        if (text.contains("job")) {
+            return PlatformWebhookEvent.EventType.JOB_STATUS;
+        }
+        return PlatformWebhookEvent.EventType.UNKNOWN;
+    }
+    
+    private static String hmacHex(String secret, byte[] prefix, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            mac.update(prefix);
+            return HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (Exception e) {
+            throw new RuntimeException("计算推送签名失败", e);
+        }
+    }
+    
+    private static String sha256Hex(byte[] data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(data));
+        } catch (Exception e) {
+            throw new RuntimeException("计算事件摘要失败", e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,238 @@
+package com.hrms.service.thirdparty.webhook;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hrms.entity.PlatformWebhookEvent;
+import com.hrms.entity.PlatformWebhookEvent.EventStatus;
+import com.hrms.entity.ThirdPartyPlatform;
+import com.hrms.repository.PlatformWebhookEventRepository;
+import com.hrms.repository.ThirdPartyPlatformRepository;
+import com.hrms.service.thirdparty.ThirdPartyPlatformApiFactory;
+import com.hrms.service.thirdparty.ThirdPartyPlatformApiService;
+import com.hrms.service.thirdparty.sync.IncrementalResumeSyncService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Webhook 事件异步处理队列
+ * 以 PlatformWebhookEvent.status 作为持久化队列：接收后为 RECEIVED，处理前用条件更新领取为 PROCESSING，
+ * 处理成功置为 PROCESSED，多次失败后置为 FAILED；多个节点同时拉取时每个事件只会被一个节点领取。
+ * 接收时立即唤醒拉取，另有低频轮询兜底，领取后超时未完成的事件会被放回队列重新处理
+ */
+@Component
+public class WebhookEventProcessor {
+    
+    private static final Logger log = LoggerFactory.getLogger(WebhookEventProcessor.class);
+    
+    @Autowired
+    private PlatformWebhookEventRepository eventRepository;
+    
+    @Autowired
+    private ThirdPartyPlatformRepository platformRepository;
+    
+    @Autowired
+    private ThirdPartyPlatformApiFactory apiFactory;
+    
+    @Autowired
+    private IncrementalResumeSyncService resumeSyncService;
+    
+    @Value("${webhook.worker-threads:2}")
+    private int workerThreads;
+    
+    @Value("${webhook.queue-capacity:200}")
+    private int queueCapacity;
+    
+    @Value("${webhook.poll-interval-ms:10000}")
+    private long pollIntervalMs;
+    
+    @Value("${webhook.max-attempts:3}")
+    private int maxAttempts;
+    
+    @Value("${webhook.processing-timeout-ms:600000}")
+    private long processingTimeoutMs;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    
+    private ThreadPoolExecutor executor;
+    private ScheduledExecutorService poller;
+    
+    @PostConstruct
+    public void init() {
+        int threads = Math.max(1, workerThreads);
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+                Thread thread = new Thread(r, "webhook-worker-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        poller = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "webhook-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        poller.scheduleWithFixedDelay(this::pollSafely, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    /**
+     * 有新事件时立即拉取一次，不必等到下一个轮询周期
+     */
+    public void wakeUp() {
+        try {
+            poller.execute(this::pollSafely);
+        } catch (RejectedExecutionException e) {
+            // 已关闭
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+        executor.shutdownNow();
+    }
+    
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (Exception e) {
+            log.warn("Webhook 事件拉取失败", e);
+        }
+    }
+    
+    private void poll() {
+        int released = eventRepository.releaseStaleClaims(LocalDateTime.now().minus(Duration.ofMillis(processingTimeoutMs)));
+        if (released > 0) {
+            log.warn("{} 个 Webhook 事件领取后超时未完成，已放回队列", released);
+        }
+        int free = executor.getMaximumPoolSize() + Math.max(1, queueCapacity) - inFlight.size();
+        if (free <= 0) {
+            return;
+        }
+        // 已在处理中的事件仍处于 RECEIVED 状态，多取这部分以免被它们占满
+        List<Long> ids = eventRepository.findIdsByStatus(EventStatus.RECEIVED, PageRequest.of(0, free + inFlight.size()));
+        for (Long id : ids) {
+            if (!inFlight.add(id)) {
+                continue;
+            }
+            try {
+                executor.execute(() -> process(id));
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(id);
+                break;
+            }
+        }
+    }
+    
+    private void process(Long eventId) {
+        try {
+            // 领取时间取整到秒，数据库列精度不同也能原样比较
+            LocalDateTime claimedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+            if (eventRepository.claim(eventId, claimedAt) == 0) {
+                return;
+            }
+            PlatformWebhookEvent event = eventRepository.findById(eventId).orElse(null);
+            if (event == null) {
+                return;
+            }
+            EventStatus status;
+            String errorMessage = null;
+            LocalDateTime processedAt = null;
+            try {
+                handle(event);
+                status = EventStatus.PROCESSED;
+                processedAt = LocalDateTime.now();
+            } catch (Exception e) {
+                log.warn("Webhook 事件处理失败: eventId={}, attempt={}", event.getEventId(), event.getAttempts(), e);
+                errorMessage = e.getMessage();
+                // 未达到重试上限的放回 RECEIVED，下一轮拉取时重试
+                status = EventStatus.RECEIVED;
+                if (event.getAttempts() >= Math.max(1, maxAttempts)) {
+                    status = EventStatus.FAILED;
+                    processedAt = LocalDateTime.now();
+                }
+            }
+            if (eventRepository.complete(eventId, claimedAt, status, errorMessage, processedAt) == 0) {
+                log.warn("Webhook 事件处理超时已被重新领取，本次结果未写入: eventId={}", event.getEventId());
+            }
+        } catch (Exception e) {
+            log.error("记录 Webhook 事件处理状态出错: id={}", eventId, e);
+        } finally {
+            inFlight.remove(eventId);
+        }
+    }
+    
+    private void handle(PlatformWebhookEvent event) {
+        switch (event.getEventType()) {
+            case RESUME -> handleResume(event);
+            case MESSAGE, JOB_STATUS, UNKNOWN -> {
+                // 本地没有对应的消息表和职位外部ID映射，事件原文保留在事件表中供查询，定时对账时再同步
+                log.debug("平台 {} 事件 {} 已记录: type={}", event.getPlatformId(), event.getEventId(), event.getEventType());
+            }
+        }
+    }
+    
+    /**
+     * 推送中直接携带简历数据（data 为单条或列表），按（来源, 外部ID）幂等写入候选人
+     */
+    private void handleResume(PlatformWebhookEvent event) {
+        ThirdPartyPlatform platform = platformRepository.findById(event.getPlatformId())
+                .orElseThrow(() -> new RuntimeException("平台不存在: " + event.getPlatformId()));
+        ThirdPartyPlatformApiService apiService = apiFactory.getApiService(platform);
+        
+        Map<String, Object> payload = parseJson(event.getPayload());
+        Object data = payload.getOrDefault("data", payload.get("resume"));
+        List<Map<String, Object>> items = new ArrayList<>();
+        if (data instanceof Map<?, ?>) {
+            items.add(apiService.normalizeResume(asMap(data)));
+        } else if (data instanceof List<?> list) {
+            for (Object item : list) {
+                if (item instanceof Map<?, ?>) {
+                    items.add(apiService.normalizeResume(asMap(item)));
+                }
+            }
+        }
+        if (items.isEmpty()) {
+            throw new RuntimeException("简历事件中没有简历数据");
+        }
+        
+        int[] counts = resumeSyncService.upsertResumes(platform, apiService, items);
+        log.debug("平台 {} 推送简历写入完成: 新建 {}，更新 {}，跳过 {}，下载文件 {}",
+                platform.getPlatformCode(), counts[0], counts[1], counts[2], counts[3]);
+    }
+    
+    private Map<String, Object> parseJson(String json) {
+        try {
+            if (json != null && !json.isEmpty()) {
+                return objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+            }
+        } catch (Exception e) {
+            // 非JSON内容视为空
+        }
+        return new HashMap<>();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Collections.emptyMap();
+    }
+}
\ No newline at end of file
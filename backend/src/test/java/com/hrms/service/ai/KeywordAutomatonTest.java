@@ -0,0 +1,96 @@
+package com.hrms.service.ai;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 自动机的命中次数和位置与逐个关键词 indexOf 不重叠查找的结果对照
+ */
+class KeywordAutomatonTest {
+    
+    private static final String ALPHABET = "abcAB ";
+    
+    @Test
+    void countsAndPositionsMatchIndexOfOracle() {
+        Random random = new Random(42);
+        for (int round = 0; round < 2000; round++) {
+            List<String> keywords = new ArrayList<>();
+            int keywordCount = 1 + random.nextInt(8);
+            for (int i = 0; i < keywordCount; i++) {
+                keywords.add(randomString(random, 1 + random.nextInt(4)));
+            }
+            KeywordAutomaton automaton = KeywordAutomaton.build(keywords);
+            String text = randomString(random, random.nextInt(60));
+            
+            KeywordMatches matches = automaton.match(text, null, true);
+            for (String keyword : keywords) {
+                if (keyword.isBlank()) {
+                    continue;
+                }
+                int[] expected = indexOfPositions(lower(text), lower(keyword));
+                String context = "text=\"" + text + "\" keyword=\"" + keyword + "\"";
+                assertEquals(expected.length, matches.count(keyword), context);
+                assertArrayEquals(expected, matches.positions(keyword), context);
+            }
+        }
+    }
+    
+    @Test
+    void reusedMatchesAreResetBetweenScans() {
+        KeywordAutomaton automaton = KeywordAutomaton.build(List.of("java", "spring"));
+        KeywordMatches reuse = automaton.match("Java Spring java");
+        assertEquals(2, reuse.count("java"));
+        
+        KeywordMatches matches = automaton.match("spring", reuse, false);
+        assertSame(reuse, matches);
+        assertEquals(0, matches.count("java"));
+        assertEquals(1, matches.count("spring"));
+        assertEquals(1, matches.totalHits());
+    }
+    
+    @Test
+    void termIdsIgnoreCaseAndSkipDuplicates() {
+        KeywordAutomaton automaton = KeywordAutomaton.build(Arrays.asList("Java", "java", " ", null, "SQL"));
+        assertEquals(2, automaton.size());
+        assertEquals(automaton.termId("java"), automaton.termId("JAVA"));
+        assertEquals("sql", automaton.term(automaton.termId("SQL")));
+        assertEquals(-1, automaton.termId("go"));
+    }
+    
+    @Test
+    void positionsRequireRecording() {
+        KeywordAutomaton automaton = KeywordAutomaton.build(List.of("java"));
+        KeywordMatches matches = automaton.match("java");
+        assertThrows(IllegalStateException.class, () -> matches.positions("java"));
+    }
+    
+    private static String randomString(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+    
+    private static String lower(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            sb.append(Character.toLowerCase(s.charAt(i)));
+        }
+        return sb.toString();
+    }
+    
+    private static int[] indexOfPositions(String text, String keyword) {
+        List<Integer> positions = new ArrayList<>();
+        int from = 0;
+        int index;
+        while ((index = text.indexOf(keyword, from)) >= 0) {
+            positions.add(index);
+            from = index + keyword.length();
+        }
+        return positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.hrms.service.ai;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 各工作线程本地前 K 名合并后应与全量稳定排序取前 K 名一致
+ */
+class ParallelRankerTest {
+    
+    private ParallelRanker ranker;
+    
+    @BeforeEach
+    void setUp() {
+        ranker = new ParallelRanker();
+        ReflectionTestUtils.setField(ranker, "parallelism", 4);
+        ReflectionTestUtils.setField(ranker, "parallelThreshold", 1);
+        ranker.init();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        ranker.shutdown();
+    }
+    
+    @Test
+    void topKMergeMatchesFullSort() {
+        Random random = new Random(7);
+        for (int round = 0; round < 200; round++) {
+            // 分数取值范围小，保证有大量同分，同分应按原始顺序排列
+            int size = random.nextInt(300);
+            List<Integer> items = IntStream.range(0, size).mapToObj(i -> random.nextInt(20)).toList();
+            int topK = random.nextInt(size + 5) - 2;
+            
+            List<Integer> expected = expectedOrder(items, topK);
+            List<Integer> ranked = ranker.rank(indexes(size), Function.identity(), items::get, topK);
+            assertEquals(expected, ranked, "size=" + size + " topK=" + topK);
+        }
+    }
+    
+    @Test
+    void sequentialPathMatchesFullSort() {
+        ReflectionTestUtils.setField(ranker, "parallelThreshold", Integer.MAX_VALUE);
+        Random random = new Random(11);
+        List<Integer> items = IntStream.range(0, 100).mapToObj(i -> random.nextInt(10)).toList();
+        assertEquals(expectedOrder(items, 7), ranker.rank(indexes(100), Function.identity(), items::get, 7));
+        assertEquals(expectedOrder(items, 0), ranker.rank(indexes(100), Function.identity(), items::get, 0));
+    }
+    
+    @Test
+    void onScoredReceivesEveryResultOnce() {
+        List<Integer> items = indexes(500);
+        Map<Integer, AtomicInteger> seen = new ConcurrentHashMap<>();
+        List<Integer> ranked = ranker.rank(items, Function.identity(), i -> i, 10,
+                result -> seen.computeIfAbsent(result, k -> new AtomicInteger()).incrementAndGet());
+        
+        assertEquals(500, seen.size());
+        assertTrue(seen.values().stream().allMatch(count -> count.get() == 1));
+        assertEquals(IntStream.range(0, 10).map(i -> 499 - i).boxed().toList(), ranked);
+    }
+    
+    @Test
+    void scorerFailureIsReported() {
+        List<Integer> items = indexes(100);
+        RuntimeException error = assertThrows(RuntimeException.class, () -> ranker.rank(items, i -> {
+            if (i == 50) {
+                throw new IllegalStateException("boom");
+            }
+            return i;
+        }, i -> i, 5));
+        assertInstanceOf(IllegalStateException.class, error.getCause());
+    }
+    
+    private static List<Integer> indexes(int size) {
+        return IntStream.range(0, size).boxed().collect(Collectors.toList());
+    }
+    
+    /**
+     * 返回排名后的原始下标；分数降序，同分按下标升序
+     */
+    private static List<Integer> expectedOrder(List<Integer> scores, int topK) {
+        List<Integer> order = indexes(scores.size());
+        order.sort(Comparator.comparing(scores::get, Comparator.reverseOrder()));
+        int limit = topK > 0 ? Math.min(topK, order.size()) : order.size();
+        return order.subList(0, limit);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.hrms.service.analytics;
+
+import com.hrms.entity.AnalyticsRollup;
+import com.hrms.entity.AnalyticsRollup.Granularity;
+import com.hrms.entity.Candidate;
+import com.hrms.repository.AnalyticsRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AnalyticsRollupServiceTest {
+    
+    private static final String METRIC = AnalyticsMetrics.CANDIDATE_STATUS;
+    
+    private AnalyticsRollupRepository repository;
+    private AnalyticsRollupService service;
+    
+    @BeforeEach
+    void setUp() {
+        repository = mock(AnalyticsRollupRepository.class);
+        when(repository.sumByDimension(any(), anyString(), any(), any())).thenReturn(List.of());
+        service = new AnalyticsRollupService();
+        ReflectionTestUtils.setField(service, "rollupRepository", repository);
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+        service.init();
+    }
+    
+    @Test
+    void querySplitsRangeIntoHourAndDayBuckets() {
+        service.query(METRIC, LocalDateTime.of(2024, 1, 1, 10, 30), LocalDateTime.of(2024, 1, 3, 5, 10));
+        
+        verify(repository).sumByDimension(Granularity.HOUR, METRIC,
+                LocalDateTime.of(2024, 1, 1, 10, 0), LocalDateTime.of(2024, 1, 2, 0, 0));
+        verify(repository).sumByDimension(Granularity.DAY, METRIC,
+                LocalDateTime.of(2024, 1, 2, 0, 0), LocalDateTime.of(2024, 1, 3, 0, 0));
+        verify(repository).sumByDimension(Granularity.HOUR, METRIC,
+                LocalDateTime.of(2024, 1, 3, 0, 0), LocalDateTime.of(2024, 1, 3, 6, 0));
+        verifyNoMoreInteractions(repository);
+    }
+    
+    @Test
+    void rangeWithinOneDayReadsHourBucketsOnly() {
+        service.query(METRIC, LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 23, 0));
+        
+        verify(repository).sumByDimension(Granularity.HOUR, METRIC,
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 1, 23, 0));
+        verifyNoMoreInteractions(repository);
+    }
+    
+    @Test
+    void alignedWholeDaysReadDayBucketsOnly() {
+        service.query(METRIC, LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 4, 0, 0));
+        
+        verify(repository).sumByDimension(Granularity.DAY, METRIC,
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 4, 0, 0));
+        verifyNoMoreInteractions(repository);
+    }
+    
+    @Test
+    void queryMergesTotalsAcrossGranularities() {
+        when(repository.sumByDimension(eq(Granularity.HOUR), eq(METRIC), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{"NEW", 2L, 0.0}));
+        when(repository.sumByDimension(eq(Granularity.DAY), eq(METRIC), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[]{"NEW", 5L, 0.0}, new Object[]{"HIRED", 0L, 0.0}));
+        
+        Map<String, Long> counts = service.counts(METRIC,
+                LocalDateTime.of(2024, 1, 1, 10, 0), LocalDateTime.of(2024, 1, 3, 5, 0));
+        
+        // 两段小时桶各 2，中间天桶 5；计数为 0 的维度省略
+        assertEquals(Map.of("NEW", 9L), counts);
+    }
+    
+    @Test
+    void flushWritesNetDeltasToHourAndDayBuckets() {
+        when(repository.increment(any(), anyString(), any(), anyString(), anyLong(), anyDouble())).thenReturn(1);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 10, 30);
+        
+        service.record(Candidate.class, state(createdAt, "NEW"), 1);
+        service.record(Candidate.class, state(createdAt, "NEW"), 1);
+        // 状态变更：撤销旧状态、计入新状态
+        service.record(Candidate.class, state(createdAt, "NEW"), -1);
+        service.record(Candidate.class, state(createdAt, "HIRED"), 1);
+        // 同一周期内计入又撤销，不写库
+        service.record(Candidate.class, state(createdAt, "REJECTED"), 1);
+        service.record(Candidate.class, state(createdAt, "REJECTED"), -1);
+        service.flush();
+        
+        LocalDateTime hour = LocalDateTime.of(2024, 1, 1, 10, 0);
+        LocalDateTime day = LocalDateTime.of(2024, 1, 1, 0, 0);
+        verify(repository).increment(Granularity.HOUR, METRIC, hour, "NEW", 1L, 0.0);
+        verify(repository).increment(Granularity.DAY, METRIC, day, "NEW", 1L, 0.0);
+        verify(repository).increment(Granularity.HOUR, METRIC, hour, "HIRED", 1L, 0.0);
+        verify(repository).increment(Granularity.DAY, METRIC, day, "HIRED", 1L, 0.0);
+        verify(repository, never()).increment(any(), anyString(), any(), eq("REJECTED"), anyLong(), anyDouble());
+        verify(repository, never()).save(any());
+        
+        // 已写入的增量不再重复写
+        clearInvocations(repository);
+        service.flush();
+        verifyNoInteractions(repository);
+    }
+    
+    @Test
+    void newBucketIsInsertedWhenIncrementFindsNoRow() {
+        when(repository.increment(any(), anyString(), any(), anyString(), anyLong(), anyDouble())).thenReturn(0);
+        service.record(Candidate.class, state(LocalDateTime.of(2024, 1, 1, 10, 30), "NEW"), 1);
+        service.flush();
+        
+        verify(repository, times(2)).save(any(AnalyticsRollup.class));
+    }
+    
+    @Test
+    void failedFlushKeepsDeltasForRetry() {
+        when(repository.increment(any(), anyString(), any(), anyString(), anyLong(), anyDouble()))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(1);
+        service.record(Candidate.class, state(LocalDateTime.of(2024, 1, 1, 10, 30), "NEW"), 1);
+        
+        assertThrows(RuntimeException.class, service::flush);
+        clearInvocations(repository);
+        service.flush();
+        
+        verify(repository, times(2)).increment(any(), eq(METRIC), any(), eq("NEW"), eq(1L), eq(0.0));
+    }
+    
+    @Test
+    void scoreBandsAreTenPointsWide() {
+        assertEquals(0, AnalyticsMetrics.scoreBand(-5));
+        assertEquals(0, AnalyticsMetrics.scoreBand(9.99));
+        assertEquals(60, AnalyticsMetrics.scoreBand(60));
+        assertEquals(90, AnalyticsMetrics.scoreBand(100));
+    }
+    
+    private static Map<String, Object> state(LocalDateTime createdAt, String status) {
+        Map<String, Object> state = new HashMap<>();
+        state.put("createdAt", createdAt);
+        state.put("status", status);
+        return state;
+    }
+}
\ No newline at end of file
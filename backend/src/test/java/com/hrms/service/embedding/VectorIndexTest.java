@@ -0,0 +1,124 @@
+package com.hrms.service.embedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 聚类索引在探测全部簇时应与暴力扫描结果一致；插入、删除、替换和重新训练后仍保持一致
+ */
+class VectorIndexTest {
+    
+    private static final int DIMENSIONS = 16;
+    
+    @Test
+    void fullProbeMatchesBruteForce() {
+        Random random = new Random(1);
+        VectorIndex ivf = new VectorIndex(DIMENSIONS, Integer.MAX_VALUE, 100);
+        VectorIndex exact = new VectorIndex(DIMENSIONS, 1, Integer.MAX_VALUE);
+        for (long id = 1; id <= 2000; id++) {
+            float[] vector = randomUnit(random);
+            ivf.put(id, vector);
+            exact.put(id, vector);
+        }
+        
+        assertSameNeighbors(random, ivf, exact);
+    }
+    
+    @Test
+    void partialProbeScansFewerVectors() {
+        Random random = new Random(2);
+        VectorIndex index = new VectorIndex(DIMENSIONS, 1, 100);
+        for (long id = 1; id <= 2000; id++) {
+            index.put(id, randomUnit(random));
+        }
+        Neighbors neighbors = index.search(randomUnit(random), 5);
+        assertTrue(neighbors.getScanned() < index.size(), "scanned=" + neighbors.getScanned());
+        assertTrue(neighbors.getIds().length <= 5);
+    }
+    
+    @Test
+    void removedAndReplacedVectorsStayConsistent() {
+        Random random = new Random(3);
+        VectorIndex ivf = new VectorIndex(DIMENSIONS, Integer.MAX_VALUE, 100);
+        VectorIndex exact = new VectorIndex(DIMENSIONS, 1, Integer.MAX_VALUE);
+        for (long id = 1; id <= 1500; id++) {
+            float[] vector = randomUnit(random);
+            ivf.put(id, vector);
+            exact.put(id, vector);
+        }
+        // 删除一半，替换一部分，再插入新向量复用空出的槽位
+        Set<Long> removed = new HashSet<>();
+        for (long id = 1; id <= 1500; id += 2) {
+            ivf.remove(id);
+            exact.remove(id);
+            removed.add(id);
+        }
+        for (long id = 2; id <= 600; id += 4) {
+            float[] vector = randomUnit(random);
+            ivf.put(id, vector);
+            exact.put(id, vector);
+        }
+        for (long id = 2001; id <= 2400; id++) {
+            float[] vector = randomUnit(random);
+            ivf.put(id, vector);
+            exact.put(id, vector);
+        }
+        ivf.remove(999_999L);
+        
+        assertEquals(1150, ivf.size());
+        assertNull(ivf.get(1L));
+        assertNotNull(ivf.get(2L));
+        assertSameNeighbors(random, ivf, exact);
+        for (int i = 0; i < 50; i++) {
+            for (long id : ivf.search(randomUnit(random), 20).getIds()) {
+                assertFalse(removed.contains(id), "removed id returned: " + id);
+            }
+        }
+        
+        ivf.retrain();
+        assertEquals(1150, ivf.size());
+        assertSameNeighbors(random, ivf, exact);
+    }
+    
+    @Test
+    void storedVectorIsCloseToOriginal() {
+        Random random = new Random(4);
+        VectorIndex index = new VectorIndex(DIMENSIONS, 4, 10);
+        float[] vector = randomUnit(random);
+        index.put(7L, vector);
+        float[] stored = index.get(7L);
+        for (int i = 0; i < DIMENSIONS; i++) {
+            assertEquals(vector[i], stored[i], 0.02);
+        }
+        Neighbors self = index.search(vector, 1);
+        assertArrayEquals(new long[]{7L}, self.getIds());
+        assertEquals(1.0, self.getSimilarities()[0], 0.02);
+    }
+    
+    private static void assertSameNeighbors(Random random, VectorIndex ivf, VectorIndex exact) {
+        for (int i = 0; i < 50; i++) {
+            float[] query = randomUnit(random);
+            Neighbors actual = ivf.search(query, 10);
+            Neighbors expected = exact.search(query, 10);
+            assertArrayEquals(expected.getIds(), actual.getIds());
+            assertArrayEquals(expected.getSimilarities(), actual.getSimilarities(), 1e-9);
+        }
+    }
+    
+    private static float[] randomUnit(Random random) {
+        float[] vector = new float[DIMENSIONS];
+        double norm = 0;
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] = (float) random.nextGaussian();
+            norm += vector[i] * vector[i];
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector[i] *= scale;
+        }
+        return vector;
+    }
+}
\ No newline at end of file
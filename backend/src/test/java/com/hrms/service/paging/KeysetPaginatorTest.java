@@ -0,0 +1,96 @@
+package com.hrms.service.paging;
+
+import com.hrms.entity.Job;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 续传令牌编码后再解码应还原出类型一致的定位键值
+ */
+class KeysetPaginatorTest {
+    
+    private static final Sort SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.asc("id"));
+    
+    private KeysetPaginator paginator;
+    
+    @BeforeEach
+    void setUp() {
+        EntityType<?> jobType = mock(EntityType.class);
+        attribute(jobType, "id", Long.class);
+        attribute(jobType, "createdAt", LocalDateTime.class);
+        attribute(jobType, "salaryMin", BigDecimal.class);
+        attribute(jobType, "title", String.class);
+        doThrow(new IllegalArgumentException("unknown")).when(jobType).getAttribute("password");
+        
+        Metamodel metamodel = mock(Metamodel.class);
+        doReturn(jobType).when(metamodel).entity(Job.class);
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.getMetamodel()).thenReturn(metamodel);
+        
+        paginator = new KeysetPaginator();
+        ReflectionTestUtils.setField(paginator, "entityManager", entityManager);
+    }
+    
+    @Test
+    void cursorRoundTripRestoresTypedKeys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdAt", LocalDateTime.of(2024, 3, 5, 14, 30, 15, 123_000_000));
+        keys.put("id", 9_007_199_254_740_993L);
+        keys.put("salaryMin", new BigDecimal("12345.67"));
+        keys.put("title", "后端工程师 \"Java\"");
+        
+        String cursor = paginator.encode(SORT, keys);
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+        
+        Map<String, Object> decoded = paginator.decode(cursor, Job.class, SORT);
+        assertEquals(keys, decoded);
+        assertEquals(List.copyOf(keys.keySet()), List.copyOf(decoded.keySet()));
+        assertInstanceOf(Long.class, decoded.get("id"));
+        assertInstanceOf(LocalDateTime.class, decoded.get("createdAt"));
+    }
+    
+    @Test
+    void nullKeysSurviveRoundTrip() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdAt", null);
+        keys.put("id", 1L);
+        Map<String, Object> decoded = paginator.decode(paginator.encode(SORT, keys), Job.class, SORT);
+        assertTrue(decoded.containsKey("createdAt"));
+        assertNull(decoded.get("createdAt"));
+        assertEquals(1L, decoded.get("id"));
+    }
+    
+    @Test
+    void rejectsCursorFromAnotherSort() {
+        String cursor = paginator.encode(SORT, Map.of("id", 1L));
+        RuntimeException error = assertThrows(RuntimeException.class,
+                () -> paginator.decode(cursor, Job.class, Sort.by("id")));
+        assertTrue(error.getMessage().contains("排序条件不匹配"));
+    }
+    
+    @Test
+    void rejectsMalformedCursor() {
+        assertThrows(RuntimeException.class, () -> paginator.decode("not a cursor!", Job.class, SORT));
+        String unknownProperty = paginator.encode(SORT, Map.of("password", "x"));
+        assertThrows(RuntimeException.class, () -> paginator.decode(unknownProperty, Job.class, SORT));
+    }
+    
+    private static void attribute(EntityType<?> type, String name, Class<?> javaType) {
+        Attribute<?, ?> attribute = mock(Attribute.class);
+        doReturn(javaType).when(attribute).getJavaType();
+        doReturn(attribute).when(type).getAttribute(name);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.hrms.service.thirdparty.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+    
+    @Test
+    void allowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(0.001, 3);
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+    
+    @Test
+    void refillsAtConfiguredRate() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(200, 1);
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+        Thread.sleep(20);
+        assertTrue(bucket.tryAcquire());
+    }
+    
+    @Test
+    void acquireWaitsForNextToken() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(50, 1);
+        assertTrue(bucket.tryAcquire());
+        long start = System.nanoTime();
+        assertTrue(bucket.acquire(1, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(10));
+    }
+    
+    @Test
+    void acquireGivesUpWhenTokenCannotArriveInTime() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(0.5, 1);
+        assertTrue(bucket.tryAcquire());
+        long start = System.nanoTime();
+        assertFalse(bucket.acquire(100, TimeUnit.MILLISECONDS));
+        // 等不到令牌时立即返回，不会先睡满超时
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(100));
+    }
+    
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.hrms.service.thirdparty.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+    
+    private static final long LONG_OPEN = 60_000;
+    
+    @Test
+    void staysClosedUntilMinimumCalls() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 5, 50, LONG_OPEN);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(breaker.tryAcquirePermission());
+            assertFalse(breaker.onFailure("timeout"));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(100, breaker.getFailureRate());
+        
+        assertTrue(breaker.onFailure("timeout"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals("timeout", breaker.getLastError());
+    }
+    
+    @Test
+    void opensAtFailureRateThreshold() {
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 50, LONG_OPEN);
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure("e1");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.onFailure("e2"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+    
+    @Test
+    void slidingWindowForgetsOldFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 75, LONG_OPEN);
+        breaker.onFailure("old");
+        breaker.onFailure("old");
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(50, breaker.getFailureRate());
+        // 两次成功挤掉两次旧失败
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(0, breaker.getFailureRate());
+        breaker.onFailure("new");
+        breaker.onFailure("new");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.onFailure("new"));
+    }
+    
+    @Test
+    void rejectsWhileOpen() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 1, 50, LONG_OPEN);
+        breaker.onFailure("down");
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertFalse(breaker.onFailure("late failure"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+    
+    @Test
+    void halfOpenAllowsSingleProbeAndClosesOnSuccess() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 2, 50, 0);
+        breaker.onFailure("down");
+        breaker.onFailure("down");
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        
+        assertTrue(breaker.onSuccess());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getFailureRate());
+        assertNull(breaker.getLastError());
+        // 恢复后窗口清空，需要重新攒够最少调用数才会断开
+        assertFalse(breaker.onFailure("again"));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+    
+    @Test
+    void failedProbeReopens() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 1, 50, 0);
+        breaker.onFailure("down");
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.onFailure("still down"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals("still down", breaker.getLastError());
+    }
+    
+    @Test
+    void releasedProbePermissionCanBeReacquired() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 1, 50, 0);
+        breaker.onFailure("down");
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        breaker.releasePermission();
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+-- 平台同步断点、回调事件、统计汇总表，以及候选人平台ID、简历内容摘要列；已有库需执行一次
+-- 新建库直接使用 init-db.sql，无需执行本脚本
+
+ALTER TABLE candidates ADD COLUMN IF NOT EXISTS external_id VARCHAR(100);
+ALTER TABLE candidates DROP CONSTRAINT IF EXISTS uk_candidates_source_external_id;
+ALTER TABLE candidates ADD CONSTRAINT uk_candidates_source_external_id UNIQUE (source, external_id);
+
+ALTER TABLE resumes ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+CREATE INDEX IF NOT EXISTS idx_resumes_content_hash ON resumes(content_hash);
+
+CREATE TABLE IF NOT EXISTS platform_sync_checkpoints (
+    id BIGSERIAL PRIMARY KEY,
+    platform_id BIGINT NOT NULL,
+    external_job_id VARCHAR(100) NOT NULL,
+    data_type VARCHAR(20) NOT NULL,
+    sync_cursor VARCHAR(500),
+    pages_synced BIGINT DEFAULT 0,
+    items_synced BIGINT DEFAULT 0,
+    last_page_at TIMESTAMP,
+    last_error TEXT,
+    version BIGINT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_sync_checkpoint_platform_job_type UNIQUE (platform_id, external_job_id, data_type)
+);
+
+CREATE TABLE IF NOT EXISTS platform_webhook_events (
+    id BIGSERIAL PRIMARY KEY,
+    platform_id BIGINT NOT NULL,
+    event_id VARCHAR(100) NOT NULL,
+    event_type VARCHAR(20) NOT NULL CHECK (event_type IN ('RESUME', 'MESSAGE', 'JOB_STATUS', 'UNKNOWN')),
+    payload TEXT,
+    status VARCHAR(20) NOT NULL DEFAULT 'RECEIVED' CHECK (status IN ('RECEIVED', 'PROCESSING', 'PROCESSED', 'FAILED')),
+    attempts INTEGER DEFAULT 0,
+    error_message TEXT,
+    received_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP,
+    claimed_at TIMESTAMP,
+    CONSTRAINT uk_webhook_event_platform_event UNIQUE (platform_id, event_id)
+);
+CREATE INDEX IF NOT EXISTS idx_webhook_event_status ON platform_webhook_events(status);
+
+CREATE TABLE IF NOT EXISTS analytics_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    granularity VARCHAR(10) NOT NULL CHECK (granularity IN ('HOUR', 'DAY')),
+    metric VARCHAR(50) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    dimension VARCHAR(100) NOT NULL,
+    event_count BIGINT NOT NULL DEFAULT 0,
+    value_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    CONSTRAINT uk_analytics_rollup_bucket UNIQUE (granularity, metric, bucket_start, dimension)
+);
+
+DROP TRIGGER IF EXISTS update_platform_sync_checkpoints_updated_at ON platform_sync_checkpoints;
+CREATE TRIGGER update_platform_sync_checkpoints_updated_at BEFORE UPDATE ON platform_sync_checkpoints FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
\ No newline at end of file
@@ -0,0 +1,4 @@
+-- 简历解析流水线改为先领取再处理后，已有库需执行一次
+
+ALTER TABLE resumes ADD COLUMN IF NOT EXISTS claimed_at TIMESTAMP;
+CREATE INDEX IF NOT EXISTS idx_resumes_claimed_at ON resumes(claimed_at);
\ No newline at end of file
@@ -0,0 +1,5 @@
+-- 面试、候选人主键改为序列预分配（allocationSize = 50）后，已有库需执行一次
+-- BIGSERIAL 建表时已自动创建 *_id_seq 序列，只需调整步长；调整后序列下一个值之前的ID不会被重复使用
+
+ALTER SEQUENCE interviews_id_seq INCREMENT BY 50;
+ALTER SEQUENCE candidates_id_seq INCREMENT BY 50;
\ No newline at end of file
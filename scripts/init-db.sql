@@ -85,10 +85,12 @@ CREATE TABLE candidates (
     current_position VARCHAR(100),
     expected_salary INTEGER,
     source VARCHAR(50) DEFAULT 'UPLOAD' CHECK (source IN ('UPLOAD', 'BOSS', 'LIEPIN', 'ZHILIAN', 'LAGOU', 'REFERRAL', 'OTHER')),
+    external_id VARCHAR(100),
     status VARCHAR(20) DEFAULT 'NEW' CHECK (status IN ('NEW', 'SCREENING', 'INTERVIEW', 'OFFER', 'HIRED', 'REJECTED')),
     notes TEXT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_candidates_source_external_id UNIQUE (source, external_id)
 );
 
 -- 简历表
@@ -99,9 +101,11 @@ CREATE TABLE resumes (
     file_path VARCHAR(500),
     file_size BIGINT,
     file_type VARCHAR(50),
+    content_hash VARCHAR(64),
     parsed_content JSONB,
     ai_score INTEGER CHECK (ai_score >= 0 AND ai_score <= 100),
     ai_summary TEXT,
+    claimed_at TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
@@ -171,6 +175,51 @@ CREATE TABLE system_configs (
     UNIQUE(company_id, config_key)
 );
 
+-- 招聘平台同步断点表
+CREATE TABLE platform_sync_checkpoints (
+    id BIGSERIAL PRIMARY KEY,
+    platform_id BIGINT NOT NULL,
+    external_job_id VARCHAR(100) NOT NULL,
+    data_type VARCHAR(20) NOT NULL,
+    sync_cursor VARCHAR(500),
+    pages_synced BIGINT DEFAULT 0,
+    items_synced BIGINT DEFAULT 0,
+    last_page_at TIMESTAMP,
+    last_error TEXT,
+    version BIGINT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_sync_checkpoint_platform_job_type UNIQUE (platform_id, external_job_id, data_type)
+);
+
+-- 招聘平台回调事件表
+CREATE TABLE platform_webhook_events (
+    id BIGSERIAL PRIMARY KEY,
+    platform_id BIGINT NOT NULL,
+    event_id VARCHAR(100) NOT NULL,
+    event_type VARCHAR(20) NOT NULL CHECK (event_type IN ('RESUME', 'MESSAGE', 'JOB_STATUS', 'UNKNOWN')),
+    payload TEXT,
+    status VARCHAR(20) NOT NULL DEFAULT 'RECEIVED' CHECK (status IN ('RECEIVED', 'PROCESSING', 'PROCESSED', 'FAILED')),
+    attempts INTEGER DEFAULT 0,
+    error_message TEXT,
+    received_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP,
+    claimed_at TIMESTAMP,
+    CONSTRAINT uk_webhook_event_platform_event UNIQUE (platform_id, event_id)
+);
+
+-- 统计汇总表（按小时/天分桶）
+CREATE TABLE analytics_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    granularity VARCHAR(10) NOT NULL CHECK (granularity IN ('HOUR', 'DAY')),
+    metric VARCHAR(50) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    dimension VARCHAR(100) NOT NULL,
+    event_count BIGINT NOT NULL DEFAULT 0,
+    value_sum DOUBLE PRECISION NOT NULL DEFAULT 0,
+    CONSTRAINT uk_analytics_rollup_bucket UNIQUE (granularity, metric, bucket_start, dimension)
+);
+
 -- 创建索引
 CREATE INDEX idx_users_company_id ON users(company_id);
 CREATE INDEX idx_users_email ON users(email);
@@ -188,6 +237,10 @@ CREATE INDEX idx_candidates_status ON candidates(status);
 CREATE INDEX idx_candidates_email ON candidates(email);
 
 CREATE INDEX idx_resumes_candidate_id ON resumes(candidate_id);
+CREATE INDEX idx_resumes_content_hash ON resumes(content_hash);
+CREATE INDEX idx_resumes_claimed_at ON resumes(claimed_at);
+
+CREATE INDEX idx_webhook_event_status ON platform_webhook_events(status);
 
 CREATE INDEX idx_applications_job_id ON job_applications(job_id);
 CREATE INDEX idx_applications_candidate_id ON job_applications(candidate_id);
@@ -235,4 +288,9 @@ CREATE TRIGGER update_resumes_updated_at BEFORE UPDATE ON resumes FOR EACH ROW E
 CREATE TRIGGER update_job_applications_updated_at BEFORE UPDATE ON job_applications FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
 CREATE TRIGGER update_interviews_updated_at BEFORE UPDATE ON interviews FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
 CREATE TRIGGER update_employees_updated_at BEFORE UPDATE ON employees FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
-CREATE TRIGGER update_system_configs_updated_at BEFORE UPDATE ON system_configs FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
\ No newline at end of file
+CREATE TRIGGER update_system_configs_updated_at BEFORE UPDATE ON system_configs FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+CREATE TRIGGER update_platform_sync_checkpoints_updated_at BEFORE UPDATE ON platform_sync_checkpoints FOR EACH ROW EXECUTE FUNCTION update_updated_at_column();
+
+-- 面试、候选人主键由应用按 50 个一段预分配（见 alter-id-sequences.sql）
+ALTER SEQUENCE interviews_id_seq INCREMENT BY 50;
+ALTER SEQUENCE candidates_id_seq INCREMENT BY 50;
\ No newline at end of file